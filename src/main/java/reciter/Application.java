@@ -284,7 +284,9 @@ public class Application {
 	        log.info("Loading GenderProbability to Engine Parameters");
 	        List<Gender> genders = genderService.findAll();
 	        if(genders != null && !genders.isEmpty()) {
+	        	//Also indexes the genders by name for the gender strategy
 	        	EngineParameters.setGenders(genders);
+	        	log.info("Indexed " + genders.size() + " gender names");
 	        }
         }
         
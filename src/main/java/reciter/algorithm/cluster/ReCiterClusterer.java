@@ -36,6 +36,8 @@ import reciter.algorithm.cluster.similarity.clusteringstrategy.article.MeshMajor
 import reciter.algorithm.cluster.similarity.clusteringstrategy.article.TepidClusteringStrategy;
 import reciter.algorithm.cluster.similarity.clusteringstrategy.article.BaselineClusteringStrategy;
 import reciter.algorithm.cluster.similarity.clusteringstrategy.article.CitesFeatureClusteringStrategy;
+import reciter.algorithm.tfidf.SparseTfIdf;
+import reciter.engine.EngineContext;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.identity.Identity;
 
@@ -48,11 +50,24 @@ public class ReCiterClusterer extends AbstractClusterer {
 	private Identity identity;
 	private Map<Long, ReCiterCluster> clusters;
 	private ClusteringStrategy clusteringStrategy;
-	public static int baselineClusterSize;
+	/**
+	 * Per-run state carried to the feature clustering strategies.
+	 */
+	private final EngineContext engineContext;
+	/**
+	 * TF-IDF vectors of the articles used by the tepid clustering, null when content similarity is disabled.
+	 */
+	private final SparseTfIdf contentModel;
 	
-	public ReCiterClusterer(Identity identity, List<ReCiterArticle> reCiterArticles) {
+	public ReCiterClusterer(Identity identity, List<ReCiterArticle> reCiterArticles, EngineContext engineContext) {
+		this(identity, reCiterArticles, engineContext, null);
+	}
+	
+	public ReCiterClusterer(Identity identity, List<ReCiterArticle> reCiterArticles, EngineContext engineContext, SparseTfIdf contentModel) {
 		this.reCiterArticles = reCiterArticles;
 		this.identity = identity;
+		this.engineContext = engineContext;
+		this.contentModel = contentModel;
 		clusters = new HashMap<Long, ReCiterCluster>();
 		//clusteringStrategy = new NameMatchingClusteringStrategy(identity);
 		clusteringStrategy = new BaselineClusteringStrategy();
@@ -73,34 +88,32 @@ public class ReCiterClusterer extends AbstractClusterer {
 		log.info("Number of clusters after Baseline clustering: " + clusters.size());
 		log.info("Baseline Clustering Strategy results: " + toString());
 		
-		baselineClusterSize = clusters.size();
-		
 		//Tepid Clustering Strategy
-		clusteringStrategy = new TepidClusteringStrategy();
+		clusteringStrategy = new TepidClusteringStrategy(engineContext, contentModel);
 		clusters = clusteringStrategy.cluster(clusters);
 		log.info("Number of clusters after tepid strategy clustering: " + clusters.size());
 		log.info("tepid strategy Clustering Strategy results: " + toString());
 		
 		//Email Clustering Strategy
-		clusteringStrategy = new EmailFeatureClusteringStrategy();
+		clusteringStrategy = new EmailFeatureClusteringStrategy(engineContext);
 		clusters = clusteringStrategy.cluster(clusters);
 		log.info("Number of clusters after email strategy clustering: " + clusters.size());
 		log.info("email strategy Clustering Strategy results: " + toString());
 		
 		//Grant Clustering Strategy
-		clusteringStrategy = new GrantFeatureClusteringStrategy();
+		clusteringStrategy = new GrantFeatureClusteringStrategy(engineContext);
 		clusters = clusteringStrategy.cluster(clusters);
 		log.info("Number of clusters after grant strategy clustering: " + clusters.size());
 		log.info("grant strategy Clustering Strategy results: " + toString());
 		
 		//Cites or Cited by Clustering Strategy
-		clusteringStrategy = new CitesFeatureClusteringStrategy();
+		clusteringStrategy = new CitesFeatureClusteringStrategy(engineContext);
 		clusters = clusteringStrategy.cluster(clusters);
 		log.info("Number of clusters after cites strategy clustering: " + clusters.size());
 		log.info("cites strategy Clustering Strategy results: " + toString());
 		
 		//Mesh Major Clustering Strategy
-		clusteringStrategy = new MeshMajorClusteringStrategy();
+		clusteringStrategy = new MeshMajorClusteringStrategy(engineContext);
 		clusters = clusteringStrategy.cluster(clusters);
 		log.info("Number of clusters after mesh major strategy clustering: " + clusters.size());
 		log.info("Mesh Major strategy Clustering Strategy results: " + toString());
@@ -0,0 +1,83 @@
+package reciter.algorithm.cluster.article.scorer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import reciter.engine.StrategyParameters;
+
+/**
+ * Work-stealing pool of scoring.parallel.threads workers scoring the clusters of a person. The pool is shared by all
+ * feature generation requests, so scoring the clusters of several people at once does not start a pool per person.
+ */
+@Component
+public class ClusterScoringExecutor {
+
+	@Autowired
+	private StrategyParameters strategyParameters;
+
+	private ExecutorService executorService;
+
+	public ClusterScoringExecutor() {
+	}
+
+	/**
+	 * @param threads number of workers, 0 for the number of available processors
+	 */
+	public ClusterScoringExecutor(int threads) {
+		start(threads);
+	}
+
+	@PostConstruct
+	public void start() {
+		if (executorService == null) {
+			start(strategyParameters.getParallelClusterScoringThreads());
+		}
+	}
+
+	private void start(int threads) {
+		executorService = Executors.newWorkStealingPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+	}
+
+	@PreDestroy
+	public void stop() {
+		executorService.shutdownNow();
+	}
+
+	/**
+	 * Runs the tasks on the pool and waits for all of them. The first failure is rethrown once the other tasks are cancelled.
+	 * @param uid person whose clusters are scored, for the error messages
+	 */
+	public void invokeAll(List<Runnable> tasks, String uid) {
+		List<Future<?>> futures = new ArrayList<>(tasks.size());
+		try {
+			for (Runnable task : tasks) {
+				futures.add(executorService.submit(task));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while scoring clusters for " + uid, e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Unable to score clusters for " + uid, e.getCause());
+		} finally {
+			for (Future<?> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+}
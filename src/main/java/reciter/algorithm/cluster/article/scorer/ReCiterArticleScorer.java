@@ -47,6 +47,9 @@ import reciter.algorithm.evidence.targetauthor.name.ScoreByNameStrategyContext;
 import reciter.algorithm.evidence.targetauthor.name.strategy.ScoreByNameStrategy;
 import reciter.algorithm.evidence.targetauthor.persontype.PersonTypeStrategyContext;
 import reciter.algorithm.evidence.targetauthor.persontype.strategy.PersonTypeStrategy;
+import reciter.algorithm.tfidf.SparseTfIdf;
+import reciter.engine.EngineContext;
+import reciter.engine.EngineRunSnapshot;
 import reciter.engine.StrategyParameters;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.identity.Identity;
@@ -180,38 +183,52 @@ public class ReCiterArticleScorer extends AbstractArticleScorer {
 
 	private Set<Long> selectedClusterIds; // List of currently selected cluster ids.
 	
-	public static StrategyParameters strategyParameters;
+	private final StrategyParameters strategyParameters;
 	
-	public ReCiterArticleScorer(Map<Long, ReCiterCluster> clusters, Identity identity, StrategyParameters strategyParameters) {
+	/**
+	 * Per-run state, every strategy of this scorer is created with it.
+	 */
+	private final EngineContext engineContext;
+	
+	/**
+	 * Shared pool scoring the clusters in parallel, null to score them one after another.
+	 */
+	private final ClusterScoringExecutor clusterScoringExecutor;
+	
+	public ReCiterArticleScorer(Map<Long, ReCiterCluster> clusters, Identity identity, EngineContext engineContext, EngineRunSnapshot runSnapshot,
+			SparseTfIdf contentModel) {
+		this(clusters, identity, engineContext, runSnapshot, contentModel, null);
+	}
+	
+	public ReCiterArticleScorer(Map<Long, ReCiterCluster> clusters, Identity identity, EngineContext engineContext, EngineRunSnapshot runSnapshot,
+			SparseTfIdf contentModel, ClusterScoringExecutor clusterScoringExecutor) {
 		
-		ReCiterArticleScorer.strategyParameters = strategyParameters;
+		this.engineContext = engineContext;
+		this.clusterScoringExecutor = clusterScoringExecutor;
+		this.strategyParameters = engineContext.getStrategyParameters();
 		
 		// Strategies that select clusters that are similar to the target author.
-		this.emailStrategyContext = new EmailStrategyContext(new EmailStringMatchStrategy());
-		this.nameStrategyContext = new ScoreByNameStrategyContext(new ScoreByNameStrategy());
-		this.departmentStringMatchStrategyContext = new DepartmentStrategyContext(new DepartmentStringMatchStrategy());
-		this.journalCategoryStrategyContext = new JournalCategoryStrategyContext(new JournalCategoryStrategy());
-		this.knownRelationshipsStrategyContext = new KnownRelationshipStrategyContext(new KnownRelationshipStrategy());
-		this.affiliationStrategyContext = new AffiliationStrategyContext(new CommonAffiliationStrategy());
-		this.genderStrategyContext = new GenderStrategyContext(new GenderStrategy());
+		this.emailStrategyContext = new EmailStrategyContext(new EmailStringMatchStrategy(engineContext));
+		this.nameStrategyContext = new ScoreByNameStrategyContext(new ScoreByNameStrategy(engineContext));
+		this.departmentStringMatchStrategyContext = new DepartmentStrategyContext(new DepartmentStringMatchStrategy(engineContext));
+		this.journalCategoryStrategyContext = new JournalCategoryStrategyContext(new JournalCategoryStrategy(engineContext));
+		this.knownRelationshipsStrategyContext = new KnownRelationshipStrategyContext(new KnownRelationshipStrategy(engineContext));
+		this.affiliationStrategyContext = new AffiliationStrategyContext(new CommonAffiliationStrategy(engineContext));
+		this.genderStrategyContext = new GenderStrategyContext(new GenderStrategy(engineContext));
 
 		// Using the following strategy contexts in sequence to reassign individual articles
 		// to selected clusters.
-		this.grantStrategyContext = new GrantStrategyContext(new GrantStrategy());
-		this.acceptedRejectedStrategyContext = new AcceptedRejectedStrategyContext(new AcceptedRejectedStrategy());
-		this.averageClusteringStrategyContext = new AverageClusteringStrategyContext(new AverageClusteringStrategy());
-		this.standardScoreStrategyContext = new StandardScoreStrategyContext(new StandardScoreStrategy());
+		this.grantStrategyContext = new GrantStrategyContext(new GrantStrategy(engineContext));
+		this.acceptedRejectedStrategyContext = new AcceptedRejectedStrategyContext(new AcceptedRejectedStrategy(engineContext));
+		this.averageClusteringStrategyContext = new AverageClusteringStrategyContext(new AverageClusteringStrategy(engineContext, contentModel));
+		this.standardScoreStrategyContext = new StandardScoreStrategyContext(new StandardScoreStrategy(engineContext));
 		
-		int numArticles = 0;
-		for (ReCiterCluster reCiterCluster : clusters.values()) {
-			numArticles += reCiterCluster.getArticleCluster().size();
-		}
-		this.articleSizeStrategyContext = new ArticleSizeStrategyContext(new ArticleSizeStrategy(numArticles));
-		this.personTypeStrategyContext = new PersonTypeStrategyContext(new PersonTypeStrategy());
+		this.articleSizeStrategyContext = new ArticleSizeStrategyContext(new ArticleSizeStrategy(engineContext, runSnapshot));
+		this.personTypeStrategyContext = new PersonTypeStrategyContext(new PersonTypeStrategy(engineContext));
 
 
-		this.bachelorsYearDiscrepancyStrategyContext = new DegreeStrategyContext(new YearDiscrepancyStrategy(DegreeType.BACHELORS));
-		this.doctoralYearDiscrepancyStrategyContext = new DegreeStrategyContext(new YearDiscrepancyStrategy(DegreeType.DOCTORAL));
+		this.bachelorsYearDiscrepancyStrategyContext = new DegreeStrategyContext(new YearDiscrepancyStrategy(engineContext, DegreeType.BACHELORS));
+		this.doctoralYearDiscrepancyStrategyContext = new DegreeStrategyContext(new YearDiscrepancyStrategy(engineContext, DegreeType.DOCTORAL));
 
 		this.strategyContexts = new ArrayList<StrategyContext>();
 		
@@ -255,69 +272,87 @@ public class ReCiterArticleScorer extends AbstractArticleScorer {
 
 	@Override
 	public void runArticleScorer(Map<Long, ReCiterCluster> clusters, Identity identity) {
+		if (strategyParameters.isParallelClusterScoring() && clusterScoringExecutor != null && clusters.size() > 1) {
+			runArticleScorerInParallel(clusters, identity);
+		} else {
+			for (Entry<Long, ReCiterCluster> entry : clusters.entrySet()) {
+				scoreCluster(entry.getKey(), entry.getValue(), identity);
+			}
+		}
+	}
+	
+	/**
+	 * Clusters are independent once formed: every article belongs to exactly one cluster and the strategies keep
+	 * no per-article state, so each cluster is scored by its own task.
+	 */
+	private void runArticleScorerInParallel(Map<Long, ReCiterCluster> clusters, Identity identity) {
+		List<Runnable> tasks = new ArrayList<>(clusters.size());
 		for (Entry<Long, ReCiterCluster> entry : clusters.entrySet()) {
-			long clusterId = entry.getKey();
-			slf4jLogger.info("******************** Cluster " + clusterId + " scoring starts **********************");
-			List<ReCiterArticle> reCiterArticles = entry.getValue().getArticleCluster();
-			((TargetAuthorStrategyContext) nameStrategyContext).executeStrategy(reCiterArticles, identity);
+			tasks.add(() -> scoreCluster(entry.getKey(), entry.getValue(), identity));
+		}
+		clusterScoringExecutor.invokeAll(tasks, identity.getUid());
+	}
+	
+	private void scoreCluster(long clusterId, ReCiterCluster reCiterCluster, Identity identity) {
+		slf4jLogger.info("******************** Cluster " + clusterId + " scoring starts **********************");
+		List<ReCiterArticle> reCiterArticles = reCiterCluster.getArticleCluster();
+		((TargetAuthorStrategyContext) nameStrategyContext).executeStrategy(reCiterArticles, identity);
 
-			if (strategyParameters.isEmail()) {
-				((TargetAuthorStrategyContext) emailStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
-			
-			if (strategyParameters.isGrant()) {
-				((TargetAuthorStrategyContext) grantStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
-			
-			if (strategyParameters.isKnownRelationship()) {
-				((TargetAuthorStrategyContext) knownRelationshipsStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
-			
-			if (strategyParameters.isBachelorsYearDiscrepancy()) {
-				((RemoveReCiterArticleStrategyContext) bachelorsYearDiscrepancyStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
-			
-			if (strategyParameters.isDoctoralYearDiscrepancy()) {
-				((RemoveReCiterArticleStrategyContext) doctoralYearDiscrepancyStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
+		if (strategyParameters.isEmail()) {
+			((TargetAuthorStrategyContext) emailStrategyContext).executeStrategy(reCiterArticles, identity);
+		}
+		
+		if (strategyParameters.isGrant()) {
+			((TargetAuthorStrategyContext) grantStrategyContext).executeStrategy(reCiterArticles, identity);
+		}
+		
+		if (strategyParameters.isKnownRelationship()) {
+			((TargetAuthorStrategyContext) knownRelationshipsStrategyContext).executeStrategy(reCiterArticles, identity);
+		}
+		
+		if (strategyParameters.isBachelorsYearDiscrepancy()) {
+			((RemoveReCiterArticleStrategyContext) bachelorsYearDiscrepancyStrategyContext).executeStrategy(reCiterArticles, identity);
+		}
+		
+		if (strategyParameters.isDoctoralYearDiscrepancy()) {
+			((RemoveReCiterArticleStrategyContext) doctoralYearDiscrepancyStrategyContext).executeStrategy(reCiterArticles, identity);
+		}
 
-			if (strategyParameters.isDepartment()) {
-				((TargetAuthorStrategyContext) departmentStringMatchStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
-			
-			if(strategyParameters.isJournalCategory()) {
-				((TargetAuthorStrategyContext) journalCategoryStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
-			
-			if (strategyParameters.isAffiliation()) {
-				((TargetAuthorStrategyContext)affiliationStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
-			
-			if (strategyParameters.isArticleSize()) {
-				((TargetAuthorStrategyContext) articleSizeStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
-			
-			if (strategyParameters.isPersonType()) {
-				((TargetAuthorStrategyContext) personTypeStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
-			
-			if (strategyParameters.isUseGoldStandardEvidence()) {
-				((ReCiterArticleStrategyContext) acceptedRejectedStrategyContext).executeStrategy(reCiterArticles);
-			}
-			
-			if(strategyParameters.isGender()) {
-				((TargetAuthorStrategyContext) genderStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
-			
-			if (strategyParameters.isAverageClustering()) {
-				((ClusterStrategyContext) averageClusteringStrategyContext).executeStrategy(entry.getValue());
-			}
-			
-			((ReCiterArticleStrategyContext) standardScoreStrategyContext).executeStrategy(reCiterArticles);
-			
-			
-			slf4jLogger.info("******************** Cluster " + clusterId + " scoring ends **********************");
+		if (strategyParameters.isDepartment()) {
+			((TargetAuthorStrategyContext) departmentStringMatchStrategyContext).executeStrategy(reCiterArticles, identity);
+		}
+		
+		if(strategyParameters.isJournalCategory()) {
+			((TargetAuthorStrategyContext) journalCategoryStrategyContext).executeStrategy(reCiterArticles, identity);
+		}
+		
+		if (strategyParameters.isAffiliation()) {
+			((TargetAuthorStrategyContext)affiliationStrategyContext).executeStrategy(reCiterArticles, identity);
+		}
+		
+		if (strategyParameters.isArticleSize()) {
+			((TargetAuthorStrategyContext) articleSizeStrategyContext).executeStrategy(reCiterArticles, identity);
+		}
+		
+		if (strategyParameters.isPersonType()) {
+			((TargetAuthorStrategyContext) personTypeStrategyContext).executeStrategy(reCiterArticles, identity);
+		}
+		
+		if (engineContext.isUseGoldStandardEvidence()) {
+			((ReCiterArticleStrategyContext) acceptedRejectedStrategyContext).executeStrategy(reCiterArticles);
 		}
 		
+		if(strategyParameters.isGender()) {
+			((TargetAuthorStrategyContext) genderStrategyContext).executeStrategy(reCiterArticles, identity);
+		}
+		
+		if (strategyParameters.isAverageClustering()) {
+			((ClusterStrategyContext) averageClusteringStrategyContext).executeStrategy(reCiterCluster);
+		}
+		
+		((ReCiterArticleStrategyContext) standardScoreStrategyContext).executeStrategy(reCiterArticles);
+		
+		
+		slf4jLogger.info("******************** Cluster " + clusterId + " scoring ends **********************");
 	}
 }
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.algorithm.cluster.clusteringstrategy.article;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeSet;
+
+import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.engine.EngineContext;
+import reciter.model.article.ReCiterArticle;
+
+/**
+ * Base class for the feature clustering strategies that merge clusters sharing a feature (email, grant, citation, MeSH major...).
+ * <p>
+ * The legacy implementation compares every pair of clusters with {@link ReCiterCluster#compareTo(ReCiterCluster, String)}. When
+ * indexed merging is enabled the strategy instead builds an inverted index from feature key to articles and tracks cluster
+ * membership in a {@link DisjointSet}, so only clusters that actually share a key are ever compared.
+ * <p>
+ * The indexed sweep reproduces the legacy merge order exactly: clusters are visited in ascending id order and each cluster
+ * absorbs, in ascending id order, every later-visited cluster it is linked to at the time it is visited. The resulting
+ * cluster ids and article order inside each cluster are therefore the same as the pairwise loop.
+ * <p>
+ * Links are directional to mirror <code>this.compareTo(other)</code>: an article of the absorbing cluster contributes its
+ * match keys, an article of the candidate cluster contributes its probe keys, and {@link #isLinked(ReCiterArticle, ReCiterArticle)}
+ * can veto a pair for features that are scored rather than matched exactly.
+ */
+public abstract class AbstractIndexedClusteringStrategy extends AbstractClusteringStrategy {
+
+	private final EngineContext engineContext;
+
+	protected AbstractIndexedClusteringStrategy(EngineContext engineContext) {
+		this.engineContext = engineContext;
+	}
+
+	public EngineContext getEngineContext() {
+		return engineContext;
+	}
+
+	public boolean isIndexedMerging() {
+		return engineContext.isIndexedClusterMerging();
+	}
+
+	/**
+	 * Baseline clustering numbers clusters from 1 and feature clustering only ever removes clusters, so the highest
+	 * remaining id bounds the ids to visit.
+	 * @param clusters clusters keyed by cluster id
+	 * @return highest cluster id or 0 if there are no clusters
+	 */
+	protected static long getLastClusterId(Map<Long, ReCiterCluster> clusters) {
+		long lastClusterId = 0;
+		for (Long clusterId : clusters.keySet()) {
+			lastClusterId = Math.max(lastClusterId, clusterId);
+		}
+		return lastClusterId;
+	}
+
+	/**
+	 * Keys under which an article of a candidate cluster (the argument of compareTo) is indexed.
+	 */
+	protected abstract Collection<String> getProbeKeys(ReCiterArticle reCiterArticle);
+
+	/**
+	 * Keys looked up for an article of the absorbing cluster (the receiver of compareTo). Defaults to the probe keys for symmetric features.
+	 */
+	protected Collection<String> getMatchKeys(ReCiterArticle reCiterArticle) {
+		return getProbeKeys(reCiterArticle);
+	}
+
+	/**
+	 * Final check for a pair of articles sharing at least one key.
+	 * @param reCiterArticle article from the absorbing cluster
+	 * @param otherReCiterArticle article from the candidate cluster
+	 * @return true if the two clusters should be merged because of this pair
+	 */
+	protected boolean isLinked(ReCiterArticle reCiterArticle, ReCiterArticle otherReCiterArticle) {
+		return true;
+	}
+
+	/**
+	 * Merge clusters with ids from 1 to <code>clusterSize</code> using the inverted index.
+	 * @param clusters clusters keyed by cluster id
+	 * @param clusterSize highest cluster id to visit
+	 * @return the same map with absorbed clusters removed
+	 */
+	protected Map<Long, ReCiterCluster> indexedCluster(Map<Long, ReCiterCluster> clusters, long clusterSize) {
+		List<ReCiterArticle> articles = new ArrayList<>();
+		Map<Long, List<Integer>> members = new HashMap<>();
+		for (Entry<Long, ReCiterCluster> entry : clusters.entrySet()) {
+			List<Integer> articleIndexes = new ArrayList<>(entry.getValue().getArticleCluster().size());
+			for (ReCiterArticle reCiterArticle : entry.getValue().getArticleCluster()) {
+				articleIndexes.add(articles.size());
+				articles.add(reCiterArticle);
+			}
+			members.put(entry.getKey(), articleIndexes);
+		}
+
+		DisjointSet disjointSet = new DisjointSet(articles.size());
+		for (Entry<Long, List<Integer>> entry : members.entrySet()) {
+			List<Integer> articleIndexes = entry.getValue();
+			if (!articleIndexes.isEmpty()) {
+				disjointSet.setOwner(articleIndexes.get(0), entry.getKey());
+			}
+			for (int articleIndex : articleIndexes) {
+				disjointSet.union(articleIndexes.get(0), articleIndex, entry.getKey());
+			}
+		}
+
+		Map<String, List<Integer>> probeIndex = new HashMap<>();
+		List<Collection<String>> matchKeys = new ArrayList<>(articles.size());
+		for (int i = 0; i < articles.size(); i++) {
+			for (String key : getProbeKeys(articles.get(i))) {
+				probeIndex.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+			}
+			matchKeys.add(getMatchKeys(articles.get(i)));
+		}
+
+		for (long i = 1; i <= clusterSize; i++) {
+			if (clusters.get(i) == null) {
+				continue;
+			}
+			TreeSet<Long> candidates = new TreeSet<>();
+			collectCandidates(members.get(i), i, 1, clusterSize, articles, matchKeys, probeIndex, disjointSet, candidates);
+			Long j;
+			while ((j = candidates.pollFirst()) != null) {
+				clusters.get(i).addAll(clusters.get(j).getArticleCluster());
+				clusters.remove(j);
+				List<Integer> absorbed = members.remove(j);
+				List<Integer> absorbing = members.get(i);
+				for (int articleIndex : absorbed) {
+					disjointSet.union(absorbing.get(0), articleIndex, i);
+				}
+				absorbing.addAll(absorbed);
+				collectCandidates(absorbed, i, j + 1, clusterSize, articles, matchKeys, probeIndex, disjointSet, candidates);
+			}
+		}
+		return clusters;
+	}
+
+	private void collectCandidates(List<Integer> articleIndexes, long clusterId, long minClusterId, long clusterSize,
+			List<ReCiterArticle> articles, List<Collection<String>> matchKeys, Map<String, List<Integer>> probeIndex,
+			DisjointSet disjointSet, TreeSet<Long> candidates) {
+		for (int articleIndex : articleIndexes) {
+			for (String key : matchKeys.get(articleIndex)) {
+				List<Integer> postings = probeIndex.get(key);
+				if (postings == null) {
+					continue;
+				}
+				for (int otherIndex : postings) {
+					long otherClusterId = disjointSet.getOwner(otherIndex);
+					if (otherClusterId == clusterId || otherClusterId < minClusterId || otherClusterId > clusterSize
+							|| candidates.contains(otherClusterId)) {
+						continue;
+					}
+					if (isLinked(articles.get(articleIndex), articles.get(otherIndex))) {
+						candidates.add(otherClusterId);
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.algorithm.cluster.clusteringstrategy.article;
+
+/**
+ * Disjoint-set (union-find) over article indexes with path halving and union by rank.
+ * Each set root additionally remembers the id of the ReCiterCluster that currently owns the set.
+ */
+final class DisjointSet {
+
+	private final int[] parent;
+	private final byte[] rank;
+	private final long[] owner;
+
+	DisjointSet(int size) {
+		parent = new int[size];
+		rank = new byte[size];
+		owner = new long[size];
+		for (int i = 0; i < size; i++) {
+			parent[i] = i;
+		}
+	}
+
+	int find(int element) {
+		while (parent[element] != element) {
+			parent[element] = parent[parent[element]];
+			element = parent[element];
+		}
+		return element;
+	}
+
+	/**
+	 * Merges the sets containing the two elements and assigns the merged set to <code>clusterId</code>.
+	 */
+	void union(int element, int otherElement, long clusterId) {
+		int root = find(element);
+		int otherRoot = find(otherElement);
+		if (root != otherRoot) {
+			if (rank[root] < rank[otherRoot]) {
+				int swap = root;
+				root = otherRoot;
+				otherRoot = swap;
+			}
+			parent[otherRoot] = root;
+			if (rank[root] == rank[otherRoot]) {
+				rank[root]++;
+			}
+		}
+		owner[root] = clusterId;
+	}
+
+	long getOwner(int element) {
+		return owner[find(element)];
+	}
+
+	void setOwner(int element, long clusterId) {
+		owner[find(element)] = clusterId;
+	}
+}
@@ -22,12 +22,12 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.StringUtils;
 import reciter.algorithm.cluster.similarity.clusteringstrategy.article.MeshMajorClusteringStrategy;
+import reciter.algorithm.tfidf.SparseTfIdf;
+import reciter.engine.EngineContext;
 import reciter.engine.EngineParameters;
-import reciter.engine.ReCiterEngine;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterArticleFeatures;
 import reciter.model.article.ReCiterArticleGrant;
@@ -42,11 +42,6 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 	 */
 	private final long clusterId;
 	
-	/**
-	 * Atomic integer counter
-	 */
-	private static AtomicInteger clusterIDCounter = new AtomicInteger(0);
-
 	/**
 	 * List of articles in its cluster.
 	 */
@@ -99,12 +94,13 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 	/**
 	 * Calculates the similarity of this cluster with another cluster.
 	 * @param c
-	 * @return
+	 * @param contentModel TF-IDF vectors of the candidate articles
+	 * @return highest content similarity between an article of <code>c</code> and this cluster, -1 if there is none
 	 */
-	public double similar(ReCiterCluster c) {
+	public double similar(ReCiterCluster c, SparseTfIdf contentModel) {
 		double maxSim = -1;
 		for (ReCiterArticle article : c.getArticleCluster()) {
-			double sim = contentSimilarity(article);
+			double sim = contentSimilarity(article, contentModel);
 			if (sim > maxSim) {
 				maxSim = sim;
 			}
@@ -115,13 +111,17 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 	/**
 	 * Calculates the similarity between an ReCiterArticle and a ReCiterCluster.
 	 * @param currentArticle
-	 * @return
+	 * @param contentModel TF-IDF vectors of the candidate articles
+	 * @return highest cosine similarity between <code>currentArticle</code> and another article of this cluster, -1 if
+	 * there is none
 	 */
-	public double contentSimilarity(ReCiterArticle currentArticle) {
+	public double contentSimilarity(ReCiterArticle currentArticle, SparseTfIdf contentModel) {
 		double similarityScore = -1;
 		for (ReCiterArticle article : articleCluster) {
-//			double sim = article.getDocumentSimmilarity().documentSimilarity(article, currentArticle);
-			double sim = 0;
+			if (article.getArticleId() == currentArticle.getArticleId()) {
+				continue;
+			}
+			double sim = contentModel.cosineSimilarity(article, currentArticle);
 			if (sim > similarityScore) {
 				similarityScore = sim;
 			}
@@ -129,6 +129,23 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 		return similarityScore;
 	}
 
+	/**
+	 * How much the articles of this cluster are about the same subject.
+	 * @param contentModel TF-IDF vectors of the candidate articles
+	 * @return average over the articles of their highest content similarity with another article of this cluster, 1 if
+	 * the cluster has a single article
+	 */
+	public double contentCohesion(SparseTfIdf contentModel) {
+		if (articleCluster.size() < 2) {
+			return 1;
+		}
+		double total = 0;
+		for (ReCiterArticle article : articleCluster) {
+			total += Math.max(contentSimilarity(article, contentModel), 0);
+		}
+		return total / articleCluster.size();
+	}
+
 	/**
 	 * Checks whether this cluster contains an author who has a name variant
 	 * to the target author.
@@ -208,8 +225,11 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 		this.clusterReliabilityScore = clusterReliabilityScore;
 	}
 
-	public ReCiterCluster() {
-		this.clusterId = clusterIDCounter.incrementAndGet();
+	/**
+	 * @param clusterId id of the cluster, assigned by the clustering strategy of the current run
+	 */
+	public ReCiterCluster(long clusterId) {
+		this.clusterId = clusterId;
 		this.articleCluster = new ArrayList<ReCiterArticle>();
 	}
 
@@ -217,10 +237,6 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 		return clusterId;
 	}
 	
-	public static AtomicInteger getClusterIDCounter() {
-		return clusterIDCounter;
-	}
-
 	public long getClusterOriginator() {
 		return clusterOriginator;
 	}
@@ -273,16 +289,17 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 	/**
 	 * @param o The ReCiterCluster to compare to
 	 * @param comparisonType what kind of comparison happening e.g. email or grants etc.
+	 * @param engineContext context of the current engine run holding the clustering thresholds
 	 * @return 1 if equal or 0 if not
 	 */
-	public int compareTo(ReCiterCluster o, String comparisonType) {
+	public int compareTo(ReCiterCluster o, String comparisonType, EngineContext engineContext) {
 		boolean match = false;
 		if(comparisonType.equalsIgnoreCase("grant")) {
 			for(ReCiterArticle reCiterArticle: o.getArticleCluster()) {
-				if(reCiterArticle.getGrantList().stream().filter(articlegrant -> articlegrant.getSanitizedGrantID() != null).count() <= ReCiterEngine.clutseringGrantsThreshold) {
+				if(reCiterArticle.getGrantList().stream().filter(articlegrant -> articlegrant.getSanitizedGrantID() != null).count() <= engineContext.getClusteringGrantsThreshold()) {
 					for(ReCiterArticleGrant granto: reCiterArticle.getGrantList()) {
 						if(granto.getSanitizedGrantID() != null && !granto.getSanitizedGrantID().isEmpty()) {
-							match = this.articleCluster.stream().anyMatch(articleList -> articleList.getGrantList().stream().filter(articlegrant -> articlegrant.getSanitizedGrantID() != null).count() <= ReCiterEngine.clutseringGrantsThreshold
+							match = this.articleCluster.stream().anyMatch(articleList -> articleList.getGrantList().stream().filter(articlegrant -> articlegrant.getSanitizedGrantID() != null).count() <= engineContext.getClusteringGrantsThreshold()
 							&&
 							articleList.getGrantList().stream().anyMatch(grant -> grant.getSanitizedGrantID() != null && !grant.getSanitizedGrantID().isEmpty() 
 							&&
@@ -328,16 +345,10 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 				}
 			}
 		} else if(comparisonType.equalsIgnoreCase("tepid")) {
-			int matchCount = 0;
-			double clusterSimilarityScore = 0;
 			for(ReCiterArticle reCiterArticleo: o.getArticleCluster()) {
 				for(ReCiterArticle reCiterArticle: this.articleCluster) {
-					matchCount = reCiterOverlapCount(reCiterArticle.getReCiterArticleFeatures(), reCiterArticleo.getReCiterArticleFeatures());
-					if(matchCount > 0 && reCiterArticle.getReCiterArticleFeatures().getFeatureCount() >= 3 && reCiterArticleo.getReCiterArticleFeatures().getFeatureCount() >= 3) {
-						clusterSimilarityScore = computeClusterSimilarityScore(reCiterArticle.getReCiterArticleFeatures().getFeatureCount(), reCiterArticleo.getReCiterArticleFeatures().getFeatureCount(), matchCount);
-						if(clusterSimilarityScore > ReCiterEngine.clusterSimilarityThresholdScore) {
-							return 1;
-						}
+					if(isTepidMatch(reCiterArticle, reCiterArticleo, engineContext.getClusterSimilarityThresholdScore())) {
+						return 1;
 					}
 				}
 			}
@@ -345,7 +356,38 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 		return 0;
 	}
 	
-	private int reCiterOverlapCount(ReCiterArticleFeatures reCiterArticleFeature1, ReCiterArticleFeatures reCiterArticleFeature2) {
+	/**
+	 * Tepid comparison of two articles based on the overlap of their journal, meshMajor, co-author and affiliation features.
+	 * @param reCiterArticle article from this cluster
+	 * @param reCiterArticleo article from the cluster being compared to
+	 * @param clusterSimilarityThresholdScore cluster similarity threshold of the current run
+	 * @return true if the cluster similarity score exceeds the cluster similarity threshold
+	 */
+	public static boolean isTepidMatch(ReCiterArticle reCiterArticle, ReCiterArticle reCiterArticleo, double clusterSimilarityThresholdScore) {
+		return isTepidMatch(reCiterArticle, reCiterArticleo, clusterSimilarityThresholdScore, null, 0);
+	}
+	
+	/**
+	 * Tepid comparison where similar content (title, abstract and MeSH) counts as one more shared feature. Content alone
+	 * never links two articles, they still need to share at least one feature.
+	 * @param contentModel TF-IDF vectors of the candidate articles, null to ignore the content
+	 * @param contentSimilarityThresholdScore cosine similarity from which the content counts as shared
+	 */
+	public static boolean isTepidMatch(ReCiterArticle reCiterArticle, ReCiterArticle reCiterArticleo, double clusterSimilarityThresholdScore,
+			SparseTfIdf contentModel, double contentSimilarityThresholdScore) {
+		int matchCount = reCiterOverlapCount(reCiterArticle.getReCiterArticleFeatures(), reCiterArticleo.getReCiterArticleFeatures());
+		if(matchCount > 0 && contentModel != null
+				&& contentModel.cosineSimilarity(reCiterArticle, reCiterArticleo) >= contentSimilarityThresholdScore) {
+			matchCount++;
+		}
+		if(matchCount > 0 && reCiterArticle.getReCiterArticleFeatures().getFeatureCount() >= 3 && reCiterArticleo.getReCiterArticleFeatures().getFeatureCount() >= 3) {
+			double clusterSimilarityScore = computeClusterSimilarityScore(reCiterArticle.getReCiterArticleFeatures().getFeatureCount(), reCiterArticleo.getReCiterArticleFeatures().getFeatureCount(), matchCount);
+			return clusterSimilarityScore > clusterSimilarityThresholdScore;
+		}
+		return false;
+	}
+	
+	private static int reCiterOverlapCount(ReCiterArticleFeatures reCiterArticleFeature1, ReCiterArticleFeatures reCiterArticleFeature2) {
 		int matchCount = 0;
 		//Journal Feature match
 		if(reCiterArticleFeature1.getJournalName() != null && !reCiterArticleFeature1.getJournalName().isEmpty() && 
@@ -383,7 +425,7 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 		return matchCount;
 	}
 	
-	private double computeClusterSimilarityScore(int clusterScore1, int clusterScore2, int overlapScore) {
+	private static double computeClusterSimilarityScore(int clusterScore1, int clusterScore2, int overlapScore) {
 		return Math.pow(overlapScore, 2)/(clusterScore1 * clusterScore2);
 	}
 	
@@ -26,19 +26,19 @@ public class BaselineClusteringStrategy extends AbstractClusteringStrategy {
 	@Override
 	public Map<Long, ReCiterCluster> cluster(List<ReCiterArticle> reCiterArticles) {
 		
-		// Reset ReCiterCluster's static id counter to 0, so that subsequent calls
-		// to cluster method has ReCiterCluster id starts with 0.
-		ReCiterCluster.getClusterIDCounter().set(0);
+		// Cluster ids are local to each call and start with 1, so that concurrent
+		// runs never share an id counter.
+		long clusterId = 0;
 		
 		Map<Long, ReCiterCluster> clusters = new HashMap<>();
 
-		reCiterArticles.forEach(article -> {
+		for(ReCiterArticle article: reCiterArticles) {
 			// create its own cluster.
-			ReCiterCluster newReCiterCluster = new ReCiterCluster();
+			ReCiterCluster newReCiterCluster = new ReCiterCluster(++clusterId);
 			//newReCiterCluster.setClusterOriginator(article.getArticleId());
 			newReCiterCluster.add(article);
 			clusters.put(newReCiterCluster.getClusterID(), newReCiterCluster);
-		});
+		}
 		return clusters;
 	}
 
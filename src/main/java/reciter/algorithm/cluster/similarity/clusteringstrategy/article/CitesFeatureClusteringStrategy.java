@@ -1,21 +1,27 @@
 package reciter.algorithm.cluster.similarity.clusteringstrategy.article;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import reciter.algorithm.cluster.ReCiterClusterer;
-import reciter.algorithm.cluster.clusteringstrategy.article.AbstractClusteringStrategy;
+import reciter.algorithm.cluster.clusteringstrategy.article.AbstractIndexedClusteringStrategy;
 import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.engine.EngineContext;
 import reciter.model.article.ReCiterArticle;
 
 /**
  * @author szd2013
  *
  */
-public class CitesFeatureClusteringStrategy extends AbstractClusteringStrategy {
+public class CitesFeatureClusteringStrategy extends AbstractIndexedClusteringStrategy {
 	
 	//private static final Logger slf4jLogger = LoggerFactory.getLogger(CitesFeatureClusteringStrategy.class);
+	
+	public CitesFeatureClusteringStrategy(EngineContext engineContext) {
+		super(engineContext);
+	}
 
 	@Override
 	public Map<Long, ReCiterCluster> cluster(List<ReCiterArticle> reCiterArticles) {
@@ -38,7 +44,10 @@ public class CitesFeatureClusteringStrategy extends AbstractClusteringStrategy {
 	public Map<Long, ReCiterCluster> cluster(Map<Long, ReCiterCluster> clusters) {
 		
 		//Compare each clusters with all other for matching email
-		long mapSize = ReCiterClusterer.baselineClusterSize;
+		long mapSize = getLastClusterId(clusters);
+		if(isIndexedMerging()) {
+			return indexedCluster(clusters, mapSize);
+		}
 		for(long i = 1 ; i <= mapSize ; i++) {
 			for(long j = 1; j <= mapSize; j++) { // The iteration can be reduced since citation check both ways is done in the compareTo function. Possibly with i+1 for start. Need to test more
 				if(i==j) {
@@ -47,7 +56,7 @@ public class CitesFeatureClusteringStrategy extends AbstractClusteringStrategy {
 				else {
 					if(clusters.get(j) != null && clusters.get(i) != null) {
 						
-						if(clusters.get(i).compareTo(clusters.get(j),"cites") == 1) {
+						if(clusters.get(i).compareTo(clusters.get(j), "cites", getEngineContext()) == 1) {
 							clusters.get(i).addAll(clusters.get(j).getArticleCluster());
 							clusters.remove(j);
 						}
@@ -57,5 +66,43 @@ public class CitesFeatureClusteringStrategy extends AbstractClusteringStrategy {
 		}
 		return clusters;
 	}
+	
+	/**
+	 * An article of the other cluster is indexed by the pmids it cites ("cites:") and by its own pmid ("citedBy:").
+	 */
+	@Override
+	protected Collection<String> getProbeKeys(ReCiterArticle reCiterArticle) {
+		Set<String> keys = new LinkedHashSet<>();
+		if(reCiterArticle.getCommentsCorrectionsPmids() != null) {
+			for(Long pmid: reCiterArticle.getCommentsCorrectionsPmids()) {
+				if(pmid != null) {
+					keys.add("cites:" + pmid);
+				}
+			}
+		}
+		if(reCiterArticle.getArticleId() != 0) {
+			keys.add("citedBy:" + reCiterArticle.getArticleId());
+		}
+		return keys;
+	}
+	
+	/**
+	 * An article of this cluster matches other articles citing it (A cites B) and articles it cites (B cites A).
+	 */
+	@Override
+	protected Collection<String> getMatchKeys(ReCiterArticle reCiterArticle) {
+		Set<String> keys = new LinkedHashSet<>();
+		if(reCiterArticle.getArticleId() != 0) {
+			keys.add("cites:" + reCiterArticle.getArticleId());
+		}
+		if(reCiterArticle.getCommentsCorrectionsPmids() != null) {
+			for(Long pmid: reCiterArticle.getCommentsCorrectionsPmids()) {
+				if(pmid != null) {
+					keys.add("citedBy:" + pmid);
+				}
+			}
+		}
+		return keys;
+	}
 
 }
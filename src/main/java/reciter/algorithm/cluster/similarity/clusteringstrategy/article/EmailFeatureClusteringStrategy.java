@@ -1,5 +1,7 @@
 package reciter.algorithm.cluster.similarity.clusteringstrategy.article;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -10,20 +12,25 @@ import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import reciter.algorithm.cluster.ReCiterClusterer;
-import reciter.algorithm.cluster.clusteringstrategy.article.AbstractClusteringStrategy;
+import reciter.algorithm.cluster.clusteringstrategy.article.AbstractIndexedClusteringStrategy;
 import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.engine.EngineContext;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterAuthor;
+import reciter.utils.ReCiterStringUtil;
 
 /**
  * @author szd2013
  * This class parses email addresses of all authors including where targetAuthor is FALSE and TRUE. Preprocess the affiliation string
  * in standardized format and if has a valid email then put that article in the same cluster
  */
-public class EmailFeatureClusteringStrategy extends AbstractClusteringStrategy {
+public class EmailFeatureClusteringStrategy extends AbstractIndexedClusteringStrategy {
 	
 	private static final Logger slf4jLogger = LoggerFactory.getLogger(EmailFeatureClusteringStrategy.class);
+	
+	public EmailFeatureClusteringStrategy(EngineContext engineContext) {
+		super(engineContext);
+	}
 
 	@Override
 	public Map<Long, ReCiterCluster> cluster(List<ReCiterArticle> reCiterArticles) {
@@ -53,7 +60,10 @@ public class EmailFeatureClusteringStrategy extends AbstractClusteringStrategy {
 		}
 		
 		//Compare each clusters with all other for matching email
-		long mapSize = ReCiterClusterer.baselineClusterSize;
+		long mapSize = getLastClusterId(clusters);
+		if(isIndexedMerging()) {
+			return indexedCluster(clusters, mapSize);
+		}
 		for(long i=(long) 1 ; i <= mapSize ; i++) {
 			long index = i;
 			for(long j = 1; j <= mapSize; j++) {
@@ -73,6 +83,22 @@ public class EmailFeatureClusteringStrategy extends AbstractClusteringStrategy {
 		return clusters;
 	}
 	
+	/**
+	 * Articles are indexed by the valid emails of all their authors.
+	 */
+	@Override
+	protected Collection<String> getProbeKeys(ReCiterArticle reCiterArticle) {
+		Set<String> keys = new LinkedHashSet<>();
+		if(reCiterArticle.getArticleCoAuthors() != null && reCiterArticle.getArticleCoAuthors().getAuthors() != null) {
+			for(ReCiterAuthor author: reCiterArticle.getArticleCoAuthors().getAuthors()) {
+				if(author.getValidEmail() != null && !author.getValidEmail().isEmpty()) {
+					keys.add(ReCiterStringUtil.caseFold(author.getValidEmail()));
+				}
+			}
+		}
+		return keys;
+	}
+	
 	private void checkForValidEmail(ReCiterArticle reCiterArticle) {
 		for (ReCiterAuthor author : reCiterArticle.getArticleCoAuthors().getAuthors()) {
 			String affiliation = null;
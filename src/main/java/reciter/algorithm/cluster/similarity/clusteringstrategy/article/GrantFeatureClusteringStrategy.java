@@ -1,5 +1,8 @@
 package reciter.algorithm.cluster.similarity.clusteringstrategy.article;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -7,11 +10,12 @@ import java.util.Map.Entry;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import reciter.algorithm.cluster.ReCiterClusterer;
-import reciter.algorithm.cluster.clusteringstrategy.article.AbstractClusteringStrategy;
+import reciter.algorithm.cluster.clusteringstrategy.article.AbstractIndexedClusteringStrategy;
 import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.engine.EngineContext;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterArticleGrant;
+import reciter.utils.ReCiterStringUtil;
 
 /**
  * @author <b>Sarbajit Dutta(szd2013)</b>
@@ -21,9 +25,13 @@ import reciter.model.article.ReCiterArticleGrant;
  * It also checks for transitive property matches as well. 
  * For full details refer to https://github.com/wcmc-its/ReCiter/issues/217 section 4. - Feature: grant identifiers.
  */
-public class GrantFeatureClusteringStrategy extends AbstractClusteringStrategy {
+public class GrantFeatureClusteringStrategy extends AbstractIndexedClusteringStrategy {
 	
 	//private static final Logger slf4jLogger = LoggerFactory.getLogger(GrantFeatureClusteringStrategy.class);
+	
+	public GrantFeatureClusteringStrategy(EngineContext engineContext) {
+		super(engineContext);
+	}
 
 	@Override
 	public Map<Long, ReCiterCluster> cluster(List<ReCiterArticle> reCiterArticles) {
@@ -53,7 +61,10 @@ public class GrantFeatureClusteringStrategy extends AbstractClusteringStrategy {
 		}
 		
 		//Compare each clusters with all other for matching grant ID
-		long mapSize = ReCiterClusterer.baselineClusterSize;
+		long mapSize = getLastClusterId(clusters);
+		if(isIndexedMerging()) {
+			return indexedCluster(clusters, mapSize);
+		}
 		for(long i=(long) 1 ; i <= mapSize ; i++) {
 			for(long j = (long) 1; j <= mapSize; j++) {
 				if(i==j) {
@@ -61,7 +72,7 @@ public class GrantFeatureClusteringStrategy extends AbstractClusteringStrategy {
 				}
 				else {
 					if(clusters.get(i) != null && clusters.get(j) != null) {
-						if(clusters.get(i).compareTo(clusters.get(j), "grant") == 1) {
+						if(clusters.get(i).compareTo(clusters.get(j), "grant", getEngineContext()) == 1) {
 							clusters.get(i).addAll(clusters.get(j).getArticleCluster());
 							clusters.remove(j);
 						}
@@ -73,6 +84,24 @@ public class GrantFeatureClusteringStrategy extends AbstractClusteringStrategy {
 		return clusters;
 	}
 	
+	/**
+	 * Articles are indexed by their sanitized grant identifiers unless they list more grants than the clustering grants threshold.
+	 */
+	@Override
+	protected Collection<String> getProbeKeys(ReCiterArticle reCiterArticle) {
+		if(reCiterArticle.getGrantList() == null || 
+				reCiterArticle.getGrantList().stream().filter(articlegrant -> articlegrant.getSanitizedGrantID() != null).count() > getEngineContext().getClusteringGrantsThreshold()) {
+			return Collections.emptySet();
+		}
+		Set<String> keys = new LinkedHashSet<>();
+		for(ReCiterArticleGrant grant: reCiterArticle.getGrantList()) {
+			if(grant.getSanitizedGrantID() != null && !grant.getSanitizedGrantID().isEmpty()) {
+				keys.add(ReCiterStringUtil.caseFold(grant.getSanitizedGrantID().trim()));
+			}
+		}
+		return keys;
+	}
+	
 	private void checkForValidGrant(ReCiterArticle reCiterArticle) {
 		for (ReCiterArticleGrant grant : reCiterArticle.getGrantList()) {
 			if(grant.getGrantID() != null) {
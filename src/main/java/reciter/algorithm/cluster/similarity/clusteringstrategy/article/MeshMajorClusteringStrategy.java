@@ -1,5 +1,7 @@
 package reciter.algorithm.cluster.similarity.clusteringstrategy.article;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -7,22 +9,28 @@ import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import reciter.algorithm.cluster.ReCiterClusterer;
-import reciter.algorithm.cluster.clusteringstrategy.article.AbstractClusteringStrategy;
+import reciter.algorithm.cluster.clusteringstrategy.article.AbstractIndexedClusteringStrategy;
 import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.engine.EngineContext;
+import reciter.engine.EngineParameters;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterArticleMeshHeading;
 import reciter.model.article.ReCiterCitationYNEnum;
 import reciter.model.article.ReCiterMeshHeadingQualifierName;
+import reciter.utils.ReCiterStringUtil;
 
 /**
  * @author szd2013
  * This class identify cases where an article from one cluster shares the same MeSH major as an article from another cluster, 
  * and that MeSH major has a global count of < 4,000. 
  */
-public class MeshMajorClusteringStrategy extends AbstractClusteringStrategy {
+public class MeshMajorClusteringStrategy extends AbstractIndexedClusteringStrategy {
 
 	private static final Logger slf4jLogger = LoggerFactory.getLogger(MeshMajorClusteringStrategy.class);
+	
+		public MeshMajorClusteringStrategy(EngineContext engineContext) {
+			super(engineContext);
+		}
 
 		@Override
 		public Map<Long, ReCiterCluster> cluster(List<ReCiterArticle> reCiterArticles) {
@@ -45,7 +53,10 @@ public class MeshMajorClusteringStrategy extends AbstractClusteringStrategy {
 		public Map<Long, ReCiterCluster> cluster(Map<Long, ReCiterCluster> clusters) {
 			
 			//Compare each clusters with all other for matching grant ID
-			long mapSize = ReCiterClusterer.baselineClusterSize;
+			long mapSize = getLastClusterId(clusters);
+			if(isIndexedMerging()) {
+				return indexedCluster(clusters, mapSize);
+			}
 			for(long i=(long) 1 ; i <= mapSize ; i++) {
 				for(long j = (long) 1; j <= mapSize; j++) {
 					if(i==j) {
@@ -53,7 +64,7 @@ public class MeshMajorClusteringStrategy extends AbstractClusteringStrategy {
 					}
 					else {
 						if(clusters.get(i) != null && clusters.get(j) != null) {
-							if(clusters.get(i).compareTo(clusters.get(j), "meshMajor") == 1) {
+							if(clusters.get(i).compareTo(clusters.get(j), "meshMajor", getEngineContext()) == 1) {
 								clusters.get(i).addAll(clusters.get(j).getArticleCluster());
 								clusters.remove(j);
 							}
@@ -65,6 +76,40 @@ public class MeshMajorClusteringStrategy extends AbstractClusteringStrategy {
 			return clusters;
 		}
 		
+		/**
+		 * An article of the other cluster is indexed by its MeSH majors having a global count of < 4,000.
+		 */
+		@Override
+		protected Collection<String> getProbeKeys(ReCiterArticle reCiterArticle) {
+			Set<String> keys = new LinkedHashSet<>();
+			if(reCiterArticle.getMeshHeadings() != null && EngineParameters.getMeshCountMap() != null) {
+				for(ReCiterArticleMeshHeading meshHeading: reCiterArticle.getMeshHeadings()) {
+					if(meshHeading != null && meshHeading.getDescriptorName().getDescriptorName() != null && isMeshMajor(meshHeading) && 
+							EngineParameters.getMeshCountMap().containsKey(meshHeading.getDescriptorName().getDescriptorName()) &&
+							EngineParameters.getMeshCountMap().get(meshHeading.getDescriptorName().getDescriptorName()) < 4000L) {
+						keys.add(ReCiterStringUtil.caseFold(meshHeading.getDescriptorName().getDescriptorName()));
+					}
+				}
+			}
+			return keys;
+		}
+		
+		/**
+		 * An article of this cluster matches on all of its MeSH majors.
+		 */
+		@Override
+		protected Collection<String> getMatchKeys(ReCiterArticle reCiterArticle) {
+			Set<String> keys = new LinkedHashSet<>();
+			if(reCiterArticle.getMeshHeadings() != null) {
+				for(ReCiterArticleMeshHeading meshHeading: reCiterArticle.getMeshHeadings()) {
+					if(meshHeading != null && meshHeading.getDescriptorName().getDescriptorName() != null && isMeshMajor(meshHeading)) {
+						keys.add(ReCiterStringUtil.caseFold(meshHeading.getDescriptorName().getDescriptorName()));
+					}
+				}
+			}
+			return keys;
+		}
+		
 		/**
 		 * <p>
 		 * MeSH major parsing
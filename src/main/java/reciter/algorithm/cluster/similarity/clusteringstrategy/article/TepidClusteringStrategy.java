@@ -1,5 +1,8 @@
 package reciter.algorithm.cluster.similarity.clusteringstrategy.article;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -7,10 +10,13 @@ import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import reciter.algorithm.cluster.ReCiterClusterer;
-import reciter.algorithm.cluster.clusteringstrategy.article.AbstractClusteringStrategy;
+import reciter.algorithm.cluster.clusteringstrategy.article.AbstractIndexedClusteringStrategy;
 import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.algorithm.tfidf.SparseTfIdf;
+import reciter.engine.EngineContext;
 import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleFeatures;
+import reciter.utils.ReCiterStringUtil;
 
 /**
  * @author szd2013
@@ -18,11 +24,26 @@ import reciter.model.article.ReCiterArticle;
  * Theory: these features generally occur fewer than 100,000 times in a corpus of 30 million records. We will use these merge articles into a single cluster but only when they occur a certain proportion of the time.
  * General instructions: compare clusters to each other using the below features. If their similarity exceeds some threshold, combine the clusters.
  * Rationale: Because these features may occur more often by chance, we do not automatically combine the clusters if they share the feature. Instead the cluster-cluster comparison needs to meet or exceed a scoring threshold (which is described below).
+ * When content similarity is enabled, articles whose titles, abstracts and MeSH terms are similar count one more shared feature.
  */
-public class TepidClusteringStrategy extends AbstractClusteringStrategy {
+public class TepidClusteringStrategy extends AbstractIndexedClusteringStrategy {
 	
 	private static final Logger slf4jLogger = LoggerFactory.getLogger(TepidClusteringStrategy.class);
 	
+	/**
+	 * TF-IDF vectors of the candidate articles, null when content similarity is disabled.
+	 */
+	private final SparseTfIdf contentModel;
+	
+	public TepidClusteringStrategy(EngineContext engineContext) {
+		this(engineContext, null);
+	}
+	
+	public TepidClusteringStrategy(EngineContext engineContext, SparseTfIdf contentModel) {
+		super(engineContext);
+		this.contentModel = contentModel;
+	}
+	
 	@Override
 	public Map<Long, ReCiterCluster> cluster(List<ReCiterArticle> reCiterArticles) {
 		// TODO Auto-generated method stub
@@ -38,7 +59,10 @@ public class TepidClusteringStrategy extends AbstractClusteringStrategy {
 	@Override
 	public Map<Long, ReCiterCluster> cluster(Map<Long, ReCiterCluster> clusters) {
 		//Compare each clusters with all other for matching grant ID
-		long mapSize = ReCiterClusterer.baselineClusterSize;
+		long mapSize = getLastClusterId(clusters);
+		if(isIndexedMerging()) {
+			return indexedCluster(clusters, mapSize);
+		}
 		for(long i=(long) 1 ; i <= mapSize ; i++) {
 			for(long j = (long) 1; j <= mapSize; j++) {
 				if(i==j) {
@@ -46,7 +70,7 @@ public class TepidClusteringStrategy extends AbstractClusteringStrategy {
 				}
 				else {
 					if(clusters.get(i) != null && clusters.get(j) != null) {
-						if(clusters.get(i).compareTo(clusters.get(j), "tepid") == 1) {
+						if(contentModel == null ? clusters.get(i).compareTo(clusters.get(j), "tepid", getEngineContext()) == 1 : isLinked(clusters.get(i), clusters.get(j))) {
 							//slf4jLogger.info("Cluster " + i + " match with Cluster " + j);
 							clusters.get(i).addAll(clusters.get(j).getArticleCluster());
 							clusters.remove(j);
@@ -58,5 +82,54 @@ public class TepidClusteringStrategy extends AbstractClusteringStrategy {
 		
 		return clusters;
 	}
+	
+	/**
+	 * Any shared journal, meshMajor, co-author or affiliation id makes two articles candidates for the tepid comparison.
+	 * Articles with fewer than 3 features can never pass the comparison so they are not indexed.
+	 */
+	@Override
+	protected Collection<String> getProbeKeys(ReCiterArticle reCiterArticle) {
+		ReCiterArticleFeatures reCiterArticleFeatures = reCiterArticle.getReCiterArticleFeatures();
+		if(reCiterArticleFeatures == null || reCiterArticleFeatures.getFeatureCount() < 3) {
+			return Collections.emptySet();
+		}
+		Set<String> keys = new LinkedHashSet<>();
+		if(reCiterArticleFeatures.getJournalName() != null && !reCiterArticleFeatures.getJournalName().isEmpty()) {
+			keys.add("journal:" + ReCiterStringUtil.caseFold(reCiterArticleFeatures.getJournalName()));
+		}
+		if(reCiterArticleFeatures.getMeshMajor() != null) {
+			for(String meshMajor: reCiterArticleFeatures.getMeshMajor()) {
+				keys.add("meshMajor:" + meshMajor);
+			}
+		}
+		if(reCiterArticleFeatures.getCoAuthors() != null) {
+			for(String coAuthor: reCiterArticleFeatures.getCoAuthors()) {
+				keys.add("coAuthor:" + coAuthor);
+			}
+		}
+		if(reCiterArticleFeatures.getAffiliationIds() != null) {
+			for(Integer affiliationId: reCiterArticleFeatures.getAffiliationIds()) {
+				keys.add("affiliationId:" + affiliationId);
+			}
+		}
+		return keys;
+	}
+	
+	@Override
+	protected boolean isLinked(ReCiterArticle reCiterArticle, ReCiterArticle otherReCiterArticle) {
+		return ReCiterCluster.isTepidMatch(reCiterArticle, otherReCiterArticle, getEngineContext().getClusterSimilarityThresholdScore(),
+				contentModel, getEngineContext().getStrategyParameters().getContentSimilarityThresholdScore());
+	}
+	
+	private boolean isLinked(ReCiterCluster reCiterCluster, ReCiterCluster otherReCiterCluster) {
+		for(ReCiterArticle otherReCiterArticle: otherReCiterCluster.getArticleCluster()) {
+			for(ReCiterArticle reCiterArticle: reCiterCluster.getArticleCluster()) {
+				if(isLinked(reCiterArticle, otherReCiterArticle)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
 
 }
@@ -27,7 +27,6 @@ import reciter.model.identity.Identity;
 public abstract class AbstractTargetAuthorStrategyContext implements TargetAuthorStrategyContext {
 
 	private TargetAuthorStrategy strategy;
-	private double strategyScore;
 
 	public AbstractTargetAuthorStrategyContext(TargetAuthorStrategy strategy) {
 		this.strategy = strategy;
@@ -35,8 +34,7 @@ public abstract class AbstractTargetAuthorStrategyContext implements TargetAutho
 	
 	@Override
 	public double executeStrategy(List<ReCiterArticle> reCiterArticles, Identity identity) {
-		strategyScore = strategy.executeStrategy(reCiterArticles, identity);
-		return strategyScore;
+		return strategy.executeStrategy(reCiterArticles, identity);
 	}
 
 	@Override
@@ -48,13 +46,5 @@ public abstract class AbstractTargetAuthorStrategyContext implements TargetAutho
 	public void populateFeature(ReCiterArticle reCiterArticle, Identity identity, Feature feature) {
 		strategy.populateFeature(reCiterArticle, identity, feature);
 	}
-	
-	protected double getStrategyScore() {
-		return strategyScore;
-	}
-	
-	protected void setStrategyScore(double strategyScore) {
-		this.strategyScore = strategyScore;
-	}
 
 }
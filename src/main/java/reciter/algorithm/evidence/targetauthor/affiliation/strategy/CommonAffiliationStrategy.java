@@ -33,11 +33,12 @@ import org.slf4j.LoggerFactory;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.cluster.averageclustering.strategy.AverageClusteringStrategy;
 import reciter.algorithm.evidence.targetauthor.AbstractTargetAuthorStrategy;
+import reciter.engine.EngineContext;
 import reciter.engine.EngineParameters;
 import reciter.engine.Feature;
+import reciter.engine.StrategyParameters;
 import reciter.engine.analysis.evidence.AffiliationEvidence;
 import reciter.engine.analysis.evidence.NonTargetAuthorScopusAffiliation;
 import reciter.engine.analysis.evidence.AffiliationEvidence.InstitutionalAffiliationMatchType;
@@ -54,19 +55,23 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 	
 	private static final Logger slf4jLogger = LoggerFactory.getLogger(CommonAffiliationStrategy.class);
 	
-	private final String[] homeInstScopusInstitutionsIDs = ReCiterArticleScorer.strategyParameters.getInstAfflHomeInstScopusInstIDs().trim().split("\\s*,\\s*");
-	private final String[] collaboratingInstScopusInstitutionsIDs = ReCiterArticleScorer.strategyParameters.getInstAfflCollaboratingInstScopusInstIDs().trim().split("\\s*,\\s*");
-	private final String[] homeInstitutionsKeywords = ReCiterArticleScorer.strategyParameters.getInstAfflHomeInstKeywords().trim().split("\\s*,\\s*");
-	private final String[] collaboratingInstitutionsKeywords = ReCiterArticleScorer.strategyParameters.getInstAfflCollaboratingInstKeywords().trim().split("\\s*,\\s*");
-	private final String[] instAfflInstitutionStopwords = ReCiterArticleScorer.strategyParameters.getInstAfflInstitutionStopwords().trim().split("\\s*,\\s*");
+	private final StrategyParameters strategyParameters;
+	private final String[] homeInstScopusInstitutionsIDs;
+	private final String[] collaboratingInstScopusInstitutionsIDs;
+	private final String[] homeInstitutionsKeywords;
+	private final String[] collaboratingInstitutionsKeywords;
+	private final String[] instAfflInstitutionStopwords;
 	
-	private Set<String> knownAffiliationIds = new HashSet<String>();
-	private List<Integer> nonTargetAuthorScopusAffiliationIds = new ArrayList<Integer>();
-	private double totalAffiliationScore = 0;
 	private String stopWordRegex;
 	
 	
-	public CommonAffiliationStrategy() {
+	public CommonAffiliationStrategy(EngineContext engineContext) {
+		this.strategyParameters = engineContext.getStrategyParameters();
+		this.homeInstScopusInstitutionsIDs = strategyParameters.getInstAfflHomeInstScopusInstIDs().trim().split("\\s*,\\s*");
+		this.collaboratingInstScopusInstitutionsIDs = strategyParameters.getInstAfflCollaboratingInstScopusInstIDs().trim().split("\\s*,\\s*");
+		this.homeInstitutionsKeywords = strategyParameters.getInstAfflHomeInstKeywords().trim().split("\\s*,\\s*");
+		this.collaboratingInstitutionsKeywords = strategyParameters.getInstAfflCollaboratingInstKeywords().trim().split("\\s*,\\s*");
+		this.instAfflInstitutionStopwords = strategyParameters.getInstAfflInstitutionStopwords().trim().split("\\s*,\\s*");
 		constructRegexForStopWords();
 	}
 	
@@ -90,15 +95,16 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 	@Override
 	public double executeStrategy(List<ReCiterArticle> reCiterArticles, Identity identity) {
 		double sum = 0;
-		populateKnownAffiliationIds(identity);
+		Set<String> knownAffiliationIds = populateKnownAffiliationIds(identity);
 		for (ReCiterArticle reCiterArticle : reCiterArticles) {
 			if(reCiterArticle.getArticleId() == 24694772) {
 				slf4jLogger.info("here");
 			}
 			AffiliationEvidence affiliationEvidence = new AffiliationEvidence();
+			double totalAffiliationScore = 0;
 			for(ReCiterAuthor reCiterAuthor: reCiterArticle.getArticleCoAuthors().getAuthors()) {
 				if(reCiterAuthor.isTargetAuthor()) {
-					if(ReCiterArticleScorer.strategyParameters.isUseScopusArticles() && ReCiterArticleScorer.strategyParameters.isScopusCommonAffiliation()) {
+					if(strategyParameters.isUseScopusArticles() && strategyParameters.isScopusCommonAffiliation()) {
 						if(reCiterArticle.getScopusArticle() != null) {
 							//Get the corresponding Scopus Author for the target author
 							Author scopusAuthor = reCiterArticle.getScopusArticle().getAuthors().stream().filter(author -> reCiterAuthor.getRank() == author.getSeq()).findFirst().orElse(null);
@@ -109,7 +115,7 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 									&&
 									scopusAuthor.getAfids().size() > 0) {
 								//Get the matching affiliation ID for target author from scopus and identity affiliation ID and known home institution IDs
-								List<Integer> matchingAfids = scopusAuthor.getAfids().stream().distinct().filter(Objects::nonNull).filter(scopusAfid -> this.knownAffiliationIds.contains(String.valueOf(scopusAfid))).collect(Collectors.toList());
+								List<Integer> matchingAfids = scopusAuthor.getAfids().stream().distinct().filter(Objects::nonNull).filter(scopusAfid -> knownAffiliationIds.contains(String.valueOf(scopusAfid))).collect(Collectors.toList());
 								
 								if(matchingAfids != null && matchingAfids.size() > 0) {
 									//For each match between known affiliation ID and article affiliation create scopusAffiliationEvidence
@@ -126,9 +132,9 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 											scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationSource(InstitutionalAffiliationSource.SCOPUS);
 											scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticleScopusAffiliationId(afid);
 											scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.POSITIVE_MATCH_INDIVIDUAL);
-											scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore());
+											scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore());
 											scopusAffiliationEvidences.add(scopusAffiliationEvidence);
-											totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore();
+											totalAffiliationScore = totalAffiliationScore + strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore();
 										}
 									}
 									
@@ -151,8 +157,8 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 												scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticleScopusAffiliationId(afid);
 												scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.POSITIVE_MATCH_INSTITUTION);
 												if(matchCount == 0) {
-													scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore());
-													totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore();
+													scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore());
+													totalAffiliationScore = totalAffiliationScore + strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore();
 												}
 											}
 											matchCount++;
@@ -171,8 +177,8 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 												scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticleScopusAffiliationId(scopusAffiliation.get(0).getAfid());
 											}
 										}
-										scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypeNoMatchScore());
-										totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypeNoMatchScore();
+										scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(strategyParameters.getTargetAuthorInstAfflMatchTypeNoMatchScore());
+										totalAffiliationScore = totalAffiliationScore + strategyParameters.getTargetAuthorInstAfflMatchTypeNoMatchScore();
 										scopusAffiliationEvidences.add(scopusAffiliationEvidence);
 									}
 								}
@@ -186,8 +192,8 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 								scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.NULL_MATCH);
 								scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticleScopusLabel(null);
 								scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticleScopusAffiliationId(0);
-								scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypeNullScore());
-								totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypeNullScore();
+								scopusAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(strategyParameters.getTargetAuthorInstAfflMatchTypeNullScore());
+								totalAffiliationScore = totalAffiliationScore + strategyParameters.getTargetAuthorInstAfflMatchTypeNullScore();
 								scopusAffiliationEvidences.add(scopusAffiliationEvidence);
 							}
 							
@@ -209,58 +215,55 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 									affiliationEvidence.getScopusTargetAuthorAffiliation().stream().allMatch(scopusAffiliation -> scopusAffiliation.getTargetAuthorInstitutionalAffiliationMatchType() == InstitutionalAffiliationMatchType.NULL_MATCH))
 							)
 							||
-							!ReCiterArticleScorer.strategyParameters.isUseScopusArticles()
+							!strategyParameters.isUseScopusArticles()
 							) {
 						//Evaluate Pubmed
 						if(reCiterAuthor.getAffiliation() != null) {
-							evaluateTargetAuthorPubmedAffiliation(affiliationEvidence, reCiterAuthor, identity);
+							totalAffiliationScore = totalAffiliationScore + evaluateTargetAuthorPubmedAffiliation(affiliationEvidence, reCiterAuthor, identity);
 						}
 						
 					}
 				} 
 			}
 			
-			if(ReCiterArticleScorer.strategyParameters.isScopusCommonAffiliation()) {
+			if(strategyParameters.isScopusCommonAffiliation()) {
 				if(reCiterArticle.getScopusArticle() != null) {
-					populateScopusNonTargetAuthorInstitutionsIds(reCiterArticle);
-					evaluateNonTargetAuthorScopusAffiliation(affiliationEvidence, reCiterArticle);
+					List<Integer> nonTargetAuthorScopusAffiliationIds = populateScopusNonTargetAuthorInstitutionsIds(reCiterArticle);
+					totalAffiliationScore = totalAffiliationScore + evaluateNonTargetAuthorScopusAffiliation(affiliationEvidence, reCiterArticle, nonTargetAuthorScopusAffiliationIds, knownAffiliationIds);
 				}
 			}
 			reCiterArticle.setAffiliationEvidence(affiliationEvidence);
-			reCiterArticle.setAffiliationScore(this.totalAffiliationScore);
-			totalAffiliationScore = 0;
+			reCiterArticle.setAffiliationScore(totalAffiliationScore);
 			slf4jLogger.info("Pmid: " + reCiterArticle.getArticleId() + " " + affiliationEvidence.toString());
 			
-			if(this.nonTargetAuthorScopusAffiliationIds.size() > 0) {
-				this.nonTargetAuthorScopusAffiliationIds.clear();
-			}
-			
 		}
 		return sum;
 	}
 	
-	private void evaluateNonTargetAuthorScopusAffiliation(AffiliationEvidence affiliationEvidence, ReCiterArticle reCiterArticle) {
+	private double evaluateNonTargetAuthorScopusAffiliation(AffiliationEvidence affiliationEvidence, ReCiterArticle reCiterArticle, 
+			List<Integer> nonTargetAuthorScopusAffiliationIds, Set<String> knownAffiliationIds) {
+		double score = 0;
 		Set<String> collaboratingInstScopusInstIds = new HashSet<String>(Arrays.asList(this.collaboratingInstScopusInstitutionsIDs));
 		List<Integer> matchingKnownInstitutionIds = null;
 		List<Integer> matchingCollaboratingInstituionIds = new ArrayList<>();
 		//count of cases where affiliation ID from scopusIDsNonTargetAuthor-Article is in scopusIDsNonTargetAuthor-Identity-KnownInstitutions
 		int countScopusIDsNonTargetAuthorArticleKnownInstitution = 0;
-		if(this.nonTargetAuthorScopusAffiliationIds.size() > 0 && this.knownAffiliationIds.size() > 0) {
-			//countScopusIDsNonTargetAuthorArticleKnownInstitution = (int)this.nonTargetAuthorScopusAffiliationIds.stream().filter(scopusAffiliationId -> this.knownAffiliationIds.contains(String.valueOf(scopusAffiliationId))).count();
-			matchingKnownInstitutionIds = this.nonTargetAuthorScopusAffiliationIds.stream().filter(scopusAffiliationId -> this.knownAffiliationIds.contains(String.valueOf(scopusAffiliationId))).collect(Collectors.toList());
+		if(nonTargetAuthorScopusAffiliationIds.size() > 0 && knownAffiliationIds.size() > 0) {
+			//countScopusIDsNonTargetAuthorArticleKnownInstitution = (int)nonTargetAuthorScopusAffiliationIds.stream().filter(scopusAffiliationId -> knownAffiliationIds.contains(String.valueOf(scopusAffiliationId))).count();
+			matchingKnownInstitutionIds = nonTargetAuthorScopusAffiliationIds.stream().filter(scopusAffiliationId -> knownAffiliationIds.contains(String.valueOf(scopusAffiliationId))).collect(Collectors.toList());
 			countScopusIDsNonTargetAuthorArticleKnownInstitution = matchingKnownInstitutionIds.size();
 		}
 		
 		int countScopusIDsNonTargetAuthorArticleCollaboratingInstitution = 0;
-		if(this.nonTargetAuthorScopusAffiliationIds.size() > 0 && collaboratingInstScopusInstIds.size() > 0) {
-			for(Integer scopusAffiliationId: this.nonTargetAuthorScopusAffiliationIds) {
+		if(nonTargetAuthorScopusAffiliationIds.size() > 0 && collaboratingInstScopusInstIds.size() > 0) {
+			for(Integer scopusAffiliationId: nonTargetAuthorScopusAffiliationIds) {
 				if(collaboratingInstScopusInstIds.contains(String.valueOf(scopusAffiliationId)) && !matchingKnownInstitutionIds.contains(scopusAffiliationId)) {
 					countScopusIDsNonTargetAuthorArticleCollaboratingInstitution++;
 					matchingCollaboratingInstituionIds.add(scopusAffiliationId);
 				}
 			}
-			//countScopusIDsNonTargetAuthorArticleCollaboratingInstitution = (int)this.nonTargetAuthorScopusAffiliationIds.stream().filter(scopusAffiliationId -> collaboratingInstScopusInstIds.contains(String.valueOf(scopusAffiliationId))).count();
-			//matchingCollaboratingInstituionIds = this.nonTargetAuthorScopusAffiliationIds.stream().filter(scopusAffiliationId -> collaboratingInstScopusInstIds.contains(String.valueOf(scopusAffiliationId))).collect(Collectors.toList());
+			//countScopusIDsNonTargetAuthorArticleCollaboratingInstitution = (int)nonTargetAuthorScopusAffiliationIds.stream().filter(scopusAffiliationId -> collaboratingInstScopusInstIds.contains(String.valueOf(scopusAffiliationId))).count();
+			//matchingCollaboratingInstituionIds = nonTargetAuthorScopusAffiliationIds.stream().filter(scopusAffiliationId -> collaboratingInstScopusInstIds.contains(String.valueOf(scopusAffiliationId))).collect(Collectors.toList());
 		}
 		
 		@AllArgsConstructor
@@ -283,15 +286,15 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 			 }
 		}
 		
-		double overallScore = ReCiterArticleScorer.strategyParameters.getNonTargetAuthorInstAfflMatchTypeMaxScore()
+		double overallScore = strategyParameters.getNonTargetAuthorInstAfflMatchTypeMaxScore()
 				* ((countScopusIDsNonTargetAuthorArticleKnownInstitution + 
-						(countScopusIDsNonTargetAuthorArticleCollaboratingInstitution * ReCiterArticleScorer.strategyParameters.getNonTargetAuthorInstAfflMatchTypeWeight()))/this.nonTargetAuthorScopusAffiliationIds.size());
+						(countScopusIDsNonTargetAuthorArticleCollaboratingInstitution * strategyParameters.getNonTargetAuthorInstAfflMatchTypeWeight()))/nonTargetAuthorScopusAffiliationIds.size());
 		
 		if(overallScore != 0) {
 			NonTargetAuthorScopusAffiliation  nonTargetAuthorScopusAffiliationEvidence = new NonTargetAuthorScopusAffiliation();
 			nonTargetAuthorScopusAffiliationEvidence.setNonTargetAuthorInstitutionalAffiliationSource(InstitutionalAffiliationSource.SCOPUS);
 			nonTargetAuthorScopusAffiliationEvidence.setNonTargetAuthorInstitutionalAffiliationScore(AverageClusteringStrategy.roundAvoid(overallScore, 2));
-			totalAffiliationScore = totalAffiliationScore + AverageClusteringStrategy.roundAvoid(overallScore, 2);
+			score = score + AverageClusteringStrategy.roundAvoid(overallScore, 2);
 			if(matchingKnownInstitutionIds != null 
 					&&
 					matchingKnownInstitutionIds.size() > 0) {
@@ -361,6 +364,7 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 			
 			affiliationEvidence.setScopusNonTargetAuthorAffiliation(nonTargetAuthorScopusAffiliationEvidence);
 		}
+		return score;
 	}
 	
 	/**
@@ -368,8 +372,10 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 	 * @param affiliationEvidence The affiliationEvidence object 
 	 * @param reCiterAuthor The target author for the article
 	 * @param identity The identity related information of the target author stored in SOR
+	 * @return the affiliation score for the pubmed affiliation
 	 */
-	private void evaluateTargetAuthorPubmedAffiliation(AffiliationEvidence affiliationEvidence, ReCiterAuthor reCiterAuthor, Identity identity) {
+	private double evaluateTargetAuthorPubmedAffiliation(AffiliationEvidence affiliationEvidence, ReCiterAuthor reCiterAuthor, Identity identity) {
+		double score = 0;
 		TargetAuthorPubmedAffiliation pubmedAffiliationEvidence = null;
 		String affiliation = reCiterAuthor.getAffiliation().replaceAll(this.stopWordRegex, "");
 		//Attempt match against identity instituions and if there is a single match then break 
@@ -389,8 +395,8 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 					pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticlePubmedLabel(affiliation);
 					pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.POSITIVE_MATCH_INDIVIDUAL);
 					pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationSource(InstitutionalAffiliationSource.PUBMED);
-					pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore());
-					totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore();
+					pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore());
+					score = score + strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore();
 					break;
 				}
 			}
@@ -410,12 +416,12 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 							&& 
 							keyword.size() == matchingKeywords.size()) {
 						pubmedAffiliationEvidence = new TargetAuthorPubmedAffiliation();
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(ReCiterArticleScorer.strategyParameters.getInstAfflInstLabel());
+						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(strategyParameters.getInstAfflInstLabel());
 						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticlePubmedLabel(affiliation);
 						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.POSITIVE_MATCH_INDIVIDUAL);
 						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationSource(InstitutionalAffiliationSource.PUBMED);
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore());
-						totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore();
+						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore());
+						score = score + strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore();
 						break;
 					}
 				}
@@ -436,12 +442,12 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 							&& 
 							keyword.size() == matchingKeywords.size()) {
 						pubmedAffiliationEvidence = new TargetAuthorPubmedAffiliation();
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(ReCiterArticleScorer.strategyParameters.getInstAfflInstLabel());
+						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(strategyParameters.getInstAfflInstLabel());
 						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticlePubmedLabel(affiliation);
 						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.POSITIVE_MATCH_INSTITUTION);
 						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationSource(InstitutionalAffiliationSource.PUBMED);
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore());
-						totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore();
+						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore());
+						score = score + strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore();
 						break;
 					}
 				}
@@ -452,47 +458,53 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 				affiliation != null) { //There's no match. Output:
 			pubmedAffiliationEvidence = new TargetAuthorPubmedAffiliation();
 			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationSource(InstitutionalAffiliationSource.PUBMED);
-			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(ReCiterArticleScorer.strategyParameters.getInstAfflInstLabel());
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(strategyParameters.getInstAfflInstLabel());
 			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticlePubmedLabel(affiliation);
 			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.NO_MATCH);
-			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypeNoMatchScore());
-			totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getNonTargetAuthorInstAfflMatchTypeNoMatchScore();
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(strategyParameters.getTargetAuthorInstAfflMatchTypeNoMatchScore());
+			score = score + strategyParameters.getNonTargetAuthorInstAfflMatchTypeNoMatchScore();
 		}
 		if(pubmedAffiliationEvidence == null
 				&&
 				affiliation == null) {
 			pubmedAffiliationEvidence = new TargetAuthorPubmedAffiliation();
 			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationSource(InstitutionalAffiliationSource.PUBMED);
-			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(ReCiterArticleScorer.strategyParameters.getInstAfflInstLabel());
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(strategyParameters.getInstAfflInstLabel());
 			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticlePubmedLabel(null);
 			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.NULL_MATCH);
-			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypeNullScore());
-			totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getNonTargetAuthorInstAfflMatchTypeNoMatchScore();
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(strategyParameters.getTargetAuthorInstAfflMatchTypeNullScore());
+			score = score + strategyParameters.getNonTargetAuthorInstAfflMatchTypeNoMatchScore();
 		}
 		affiliationEvidence.setPubmedTargetAuthorAffiliation(pubmedAffiliationEvidence);
+		return score;
 	}
 	
 	/**
 	 * This function contains all scopusInstitutionIDs (e.g., 60007997) from article.affiliation for all nonTargetAuthors.
 	 * @param reCiterArticle
+	 * @return scopusInstitutionIDs of the nonTargetAuthors
 	 */
-	private void populateScopusNonTargetAuthorInstitutionsIds(ReCiterArticle reCiterArticle) {
+	private List<Integer> populateScopusNonTargetAuthorInstitutionsIds(ReCiterArticle reCiterArticle) {
+		List<Integer> nonTargetAuthorScopusAffiliationIds = new ArrayList<Integer>();
 		for(ReCiterAuthor reCiterAuthor: reCiterArticle.getArticleCoAuthors().getAuthors()) {
 			if(!reCiterAuthor.isTargetAuthor()) {
 				Author scopusAuthor = reCiterArticle.getScopusArticle().getAuthors().stream().filter(author -> reCiterAuthor.getRank() == author.getSeq()).findFirst().orElse(null);
 				if(scopusAuthor != null
 						&& scopusAuthor.getAfids() != null) {
-					this.nonTargetAuthorScopusAffiliationIds.addAll(scopusAuthor.getAfids().stream().distinct().collect(Collectors.toList()));
+					nonTargetAuthorScopusAffiliationIds.addAll(scopusAuthor.getAfids().stream().distinct().collect(Collectors.toList()));
 				}
 			}
 		}
+		return nonTargetAuthorScopusAffiliationIds;
 	}
 	
 	/**
 	 * This function gets institutions from Identity sources and Scopus home Institutions IDs if declared in application.properties and return a unique set of knownAffiliationIDs
 	 * @param identity
+	 * @return knownAffiliationIDs
 	 */
-	private void populateKnownAffiliationIds(Identity identity) {
+	private Set<String> populateKnownAffiliationIds(Identity identity) {
+		Set<String> knownAffiliationIds = new HashSet<String>();
 		if(identity.getInstitutions() != null 
 				&&
 				identity.getInstitutions().size() > 0) {
@@ -503,14 +515,15 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 						&& 
 						EngineParameters.getAfiliationNameToAfidMap().containsKey(institutions.trim())
 						) {
-					this.knownAffiliationIds.addAll(EngineParameters.getAfiliationNameToAfidMap().get(institutions.trim()));
+					knownAffiliationIds.addAll(EngineParameters.getAfiliationNameToAfidMap().get(institutions.trim()));
 				}
 			}
 		}
 		
 		if(this.homeInstScopusInstitutionsIDs.length > 0) {
-			this.knownAffiliationIds.addAll(Arrays.asList(this.homeInstScopusInstitutionsIDs));
+			knownAffiliationIds.addAll(Arrays.asList(this.homeInstScopusInstitutionsIDs));
 		}
+		return knownAffiliationIds;
 	}
 	
 	private void constructRegexForStopWords() {
@@ -25,18 +25,17 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import reciter.ApplicationContextHolder;
-import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.targetauthor.AbstractTargetAuthorStrategy;
-import reciter.database.dynamodb.model.ESearchResult;
 import reciter.database.dynamodb.model.QueryType;
+import reciter.engine.EngineContext;
+import reciter.engine.EngineRunSnapshot;
 import reciter.engine.Feature;
+import reciter.engine.StrategyParameters;
 import reciter.engine.analysis.evidence.ArticleCountEvidence;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterArticleAuthors;
 import reciter.model.article.ReCiterAuthor;
 import reciter.model.identity.Identity;
-import reciter.service.ESearchResultService;
 
 public class ArticleSizeStrategy extends AbstractTargetAuthorStrategy {
 	
@@ -44,7 +43,9 @@ public class ArticleSizeStrategy extends AbstractTargetAuthorStrategy {
 
 	private static final int FIRST_LEVEL = 200;
 	private static final int SECOND_LEVEL = 500;
-	private int numberOfArticles;
+	private final int numberOfArticles;
+	private final QueryType queryType;
+	private final StrategyParameters strategyParameters;
 	
 	/**
 	 * If a person has < 200 candidate publications, assume that the person wrote it in these circumstances:
@@ -54,8 +55,10 @@ public class ArticleSizeStrategy extends AbstractTargetAuthorStrategy {
 	 * If a person has < 500 candidate publications, assume that the person wrote it in these circumstances:
 	 * 3. Both full first name and matching middle initial (Richard D. Granstein, e.g., 6231484, or Carl F. Nathan, e.g., 3989315)
 	 */
-	public ArticleSizeStrategy(int numberOfArticles) {
-		this.numberOfArticles = numberOfArticles;
+	public ArticleSizeStrategy(EngineContext engineContext, EngineRunSnapshot runSnapshot) {
+		this.strategyParameters = engineContext.getStrategyParameters();
+		this.numberOfArticles = runSnapshot.getNumberOfArticles();
+		this.queryType = runSnapshot.getQueryType();
 	}
 	
 	@Override
@@ -98,25 +101,15 @@ public class ArticleSizeStrategy extends AbstractTargetAuthorStrategy {
 	@Override
 	public double executeStrategy(List<ReCiterArticle> reCiterArticles, Identity identity) {
 		
-		ESearchResultService eSearchResultService = ApplicationContextHolder.getContext().getBean(ESearchResultService.class);
-		ESearchResult eSearchResult = eSearchResultService.findByUid(identity.getUid());
 		reCiterArticles.forEach(reCiterArticle -> {
 		ArticleCountEvidence articleCountEvidence = new ArticleCountEvidence();
 		if(this.numberOfArticles > 0) {
-			if(eSearchResult != null
-					&&
-					eSearchResult.getQueryType() != null 
-					&&
-					(eSearchResult.getQueryType() == QueryType.LENIENT_LOOKUP || eSearchResult.getQueryType() == QueryType.STRICT_COMPOUND_NAME_LOOKUP)) {
+			if(queryType == QueryType.LENIENT_LOOKUP || queryType == QueryType.STRICT_COMPOUND_NAME_LOOKUP) {
 				articleCountEvidence.setCountArticlesRetrieved(this.numberOfArticles);
-				articleCountEvidence.setArticleCountScore(-(this.numberOfArticles - ReCiterArticleScorer.strategyParameters.getArticleCountThresholdScore())/ReCiterArticleScorer.strategyParameters.getArticleCountWeight());
-			} else if(eSearchResult != null
-					&&
-					eSearchResult.getQueryType() != null 
-					&&
-					eSearchResult.getQueryType() == QueryType.STRICT_EXCEEDS_THRESHOLD_LOOKUP){//Strict Lookup
-				articleCountEvidence.setCountArticlesRetrieved(ReCiterArticleScorer.strategyParameters.getSearchStrategyLeninentThreshold());
-				articleCountEvidence.setArticleCountScore(-(ReCiterArticleScorer.strategyParameters.getSearchStrategyLeninentThreshold() - ReCiterArticleScorer.strategyParameters.getArticleCountThresholdScore())/ReCiterArticleScorer.strategyParameters.getArticleCountWeight());
+				articleCountEvidence.setArticleCountScore(-(this.numberOfArticles - strategyParameters.getArticleCountThresholdScore())/strategyParameters.getArticleCountWeight());
+			} else if(queryType == QueryType.STRICT_EXCEEDS_THRESHOLD_LOOKUP){//Strict Lookup
+				articleCountEvidence.setCountArticlesRetrieved(strategyParameters.getSearchStrategyLeninentThreshold());
+				articleCountEvidence.setArticleCountScore(-(strategyParameters.getSearchStrategyLeninentThreshold() - strategyParameters.getArticleCountThresholdScore())/strategyParameters.getArticleCountWeight());
 			}
 			
 			reCiterArticle.setArticleCountEvidence(articleCountEvidence);
@@ -22,8 +22,9 @@ import java.time.LocalDate;
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
-import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.article.AbstractRemoveReCiterArticleStrategy;
+import reciter.engine.EngineContext;
+import reciter.engine.StrategyParameters;
 import reciter.engine.analysis.evidence.EducationYearEvidence;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.identity.Identity;
@@ -49,12 +50,16 @@ public class YearDiscrepancyStrategy extends AbstractRemoveReCiterArticleStrateg
 	 */
 	private final DegreeType degreeType;
 
+	private final StrategyParameters strategyParameters;
+
 	/**
 	 * Constructor for YearDiscrepancyStrategy. Requires a DegreeType.
 	 * 
+	 * @param engineContext context of the current engine run.
 	 * @param degreeType DegreeType used by this strategy.
 	 */
-	public YearDiscrepancyStrategy(DegreeType degreeType) {
+	public YearDiscrepancyStrategy(EngineContext engineContext, DegreeType degreeType) {
+		this.strategyParameters = engineContext.getStrategyParameters();
 		this.degreeType = degreeType;
 	}
 
@@ -162,7 +167,7 @@ public class YearDiscrepancyStrategy extends AbstractRemoveReCiterArticleStrateg
 						educationYearEvidence.setArticleYear(year);
 						reCiterArticle.setEducationYearEvidence(educationYearEvidence);
 						//if (difference < 1) {
-						if(year < ReCiterArticleScorer.strategyParameters.getDiscrepancyDegreeYearBachelorThreshold() + identity.getDegreeYear().getBachelorYear()) {
+						if(year < strategyParameters.getDiscrepancyDegreeYearBachelorThreshold() + identity.getDegreeYear().getBachelorYear()) {
 							//log.info("Bachelors: Identity degree and reCiter article {} journal issue publication date difference < 1. Remove from cluster.", reCiterArticle.getArticleId());
 							reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() 
 									+ " [Bachelors Degree Difference=" + difference + "]");
@@ -170,7 +175,7 @@ public class YearDiscrepancyStrategy extends AbstractRemoveReCiterArticleStrateg
 							reCiterArticle.setPublishedPriorAcademicDegreeBachelors("Target Author bachelors graduation year: " +
 									identity.getDegreeYear().getBachelorYear() + " publication date: " + year + ". Diff="+ difference);
 							educationYearEvidence.setDiscrepancyDegreeYearBachelor(difference);
-							educationYearEvidence.setDiscrepancyDegreeYearBachelorScore(ReCiterArticleScorer.strategyParameters.getDiscrepancyDegreeYearBachelorScore());
+							educationYearEvidence.setDiscrepancyDegreeYearBachelorScore(strategyParameters.getDiscrepancyDegreeYearBachelorScore());
 							
 							//return 1;
 						} else {
@@ -183,8 +188,8 @@ public class YearDiscrepancyStrategy extends AbstractRemoveReCiterArticleStrateg
 						int doctoral = identity.getDegreeYear().getDoctoralYear();
 						difference = year - doctoral;
 						reCiterArticle.setDoctoralYearDiscrepancy(difference);
-						if (doctoral < ReCiterArticleScorer.strategyParameters.getDiscrepancyDegreeYearYearWhichPhDStudentsStartedToAuthorMorePapers()) {
-							if (year < doctoral + ReCiterArticleScorer.strategyParameters.getDiscrepancyDegreeYearDoctoralThreshold1()) {
+						if (doctoral < strategyParameters.getDiscrepancyDegreeYearYearWhichPhDStudentsStartedToAuthorMorePapers()) {
+							if (year < doctoral + strategyParameters.getDiscrepancyDegreeYearDoctoralThreshold1()) {
 								//log.info("DOCTORAL 1998: Identity degree and reCiter article {} journal issue publication date difference < -6" +
 								//		". Remove from cluster.", reCiterArticle.getArticleId());
 								reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() 
@@ -195,13 +200,13 @@ public class YearDiscrepancyStrategy extends AbstractRemoveReCiterArticleStrateg
 								if(reCiterArticle.getEducationYearEvidence() != null) {
 									reCiterArticle.getEducationYearEvidence().setIdentityDoctoralYear(identity.getDegreeYear().getDoctoralYear());
 									reCiterArticle.getEducationYearEvidence().setDiscrepancyDegreeYearDoctoral(difference);
-									reCiterArticle.getEducationYearEvidence().setDiscrepancyDegreeYearDoctoralScore(ReCiterArticleScorer.strategyParameters.getDiscrepancyDegreeYearDoctoralScore());
+									reCiterArticle.getEducationYearEvidence().setDiscrepancyDegreeYearDoctoralScore(strategyParameters.getDiscrepancyDegreeYearDoctoralScore());
 								} else {
 									educationYearEvidence = new EducationYearEvidence();
 									educationYearEvidence.setIdentityDoctoralYear(identity.getDegreeYear().getDoctoralYear());
 									educationYearEvidence.setArticleYear(year);
 									educationYearEvidence.setDiscrepancyDegreeYearDoctoral(difference);
-									educationYearEvidence.setDiscrepancyDegreeYearDoctoralScore(ReCiterArticleScorer.strategyParameters.getDiscrepancyDegreeYearDoctoralScore());
+									educationYearEvidence.setDiscrepancyDegreeYearDoctoralScore(strategyParameters.getDiscrepancyDegreeYearDoctoralScore());
 									reCiterArticle.setEducationYearEvidence(educationYearEvidence);
 								}
 								//return 1;
@@ -221,7 +226,7 @@ public class YearDiscrepancyStrategy extends AbstractRemoveReCiterArticleStrateg
 							}
 							
 						} else {
-							if (year < doctoral + ReCiterArticleScorer.strategyParameters.getDiscrepancyDegreeYearDoctoralThreshold2()) {
+							if (year < doctoral + strategyParameters.getDiscrepancyDegreeYearDoctoralThreshold2()) {
 								//log.info("DOCTORAL: Identity degree and reCiter article {} journal issue publication date difference < -13. " +
 								//		"Remove from cluster.", reCiterArticle.getArticleId());
 
@@ -234,13 +239,13 @@ public class YearDiscrepancyStrategy extends AbstractRemoveReCiterArticleStrateg
 								if(reCiterArticle.getEducationYearEvidence() != null) {
 									reCiterArticle.getEducationYearEvidence().setIdentityDoctoralYear(identity.getDegreeYear().getDoctoralYear());
 									reCiterArticle.getEducationYearEvidence().setDiscrepancyDegreeYearDoctoral(difference);
-									reCiterArticle.getEducationYearEvidence().setDiscrepancyDegreeYearDoctoralScore(ReCiterArticleScorer.strategyParameters.getDiscrepancyDegreeYearDoctoralScore());
+									reCiterArticle.getEducationYearEvidence().setDiscrepancyDegreeYearDoctoralScore(strategyParameters.getDiscrepancyDegreeYearDoctoralScore());
 								} else {
 									educationYearEvidence = new EducationYearEvidence();
 									educationYearEvidence.setIdentityDoctoralYear(identity.getDegreeYear().getDoctoralYear());
 									educationYearEvidence.setArticleYear(year);
 									educationYearEvidence.setDiscrepancyDegreeYearDoctoral(difference);
-									educationYearEvidence.setDiscrepancyDegreeYearDoctoralScore(ReCiterArticleScorer.strategyParameters.getDiscrepancyDegreeYearDoctoralScore());
+									educationYearEvidence.setDiscrepancyDegreeYearDoctoralScore(strategyParameters.getDiscrepancyDegreeYearDoctoralScore());
 									reCiterArticle.setEducationYearEvidence(educationYearEvidence);
 								}
 							} else {
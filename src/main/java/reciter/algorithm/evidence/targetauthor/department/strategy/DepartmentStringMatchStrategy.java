@@ -35,9 +35,10 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.targetauthor.AbstractTargetAuthorStrategy;
+import reciter.engine.EngineContext;
 import reciter.engine.Feature;
+import reciter.engine.StrategyParameters;
 import reciter.engine.analysis.evidence.OrganizationalUnitEvidence;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterAuthor;
@@ -55,26 +56,30 @@ import reciter.model.identity.OrganizationalUnit.OrganizationalUnitType;
 public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy {
 
 	private final static Logger slf4jLogger = LoggerFactory.getLogger(DepartmentStringMatchStrategy.class);
-	private final List<String> orgUnitSynonym = Arrays.asList(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitSynonym().trim().split("\\s*,\\s*"));
+	private final StrategyParameters strategyParameters;
+	private final List<String> orgUnitSynonym;
 
-	private String extractedDept;
-	private long pmid;
-	private int isGoldStandard;
 	//	private Set<String> departments = new HashSet<String>();
+	
+	public DepartmentStringMatchStrategy(EngineContext engineContext) {
+		this.strategyParameters = engineContext.getStrategyParameters();
+		this.orgUnitSynonym = Arrays.asList(strategyParameters.getOrganizationalUnitSynonym().trim().split("\\s*,\\s*"));
+	}
 
 	@Override
 	public double executeStrategy(ReCiterArticle reCiterArticle, Identity identity) {
 
-		pmid = reCiterArticle.getArticleId();
-		isGoldStandard = reCiterArticle.getGoldStandard();
+		long pmid = reCiterArticle.getArticleId();
+		int isGoldStandard = reCiterArticle.getGoldStandard();
 
 		double score = 0;
 		if (reCiterArticle.getArticleCoAuthors() != null && reCiterArticle.getArticleCoAuthors().getAuthors() != null) {
 			for (ReCiterAuthor author : reCiterArticle.getArticleCoAuthors().getAuthors()) {
 
 				//				boolean isDepartmentMatch = departmentMatchStrict(author, targetAuthor);
-				boolean isDepartmentMatch = departmentMatchStrictAndFillInAffiliationIfNotPresent(reCiterArticle.getArticleId(), reCiterArticle.getGoldStandard(),
+				String extractedDept = departmentMatchStrictAndFillInAffiliationIfNotPresent(reCiterArticle.getArticleId(), reCiterArticle.getGoldStandard(),
 						reCiterArticle.getArticleCoAuthors().getAuthors(), author, identity);
+				boolean isDepartmentMatch = extractedDept != null;
 
 				boolean isFirstNameInitialMatch = 
 						author.getAuthorName().getFirstInitial().equalsIgnoreCase(identity.getPrimaryName().getFirstInitial());
@@ -160,7 +165,7 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 												orgUnitEvidence.setIdentityOrganizationalUnit(orgUnit.getOrganizationalUnitLabel());
 											}
 											orgUnitEvidence.setArticleAffiliation(author.getAffiliation());
-											orgUnitEvidence.setOrganizationalUnitMatchingScore(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitDepartmentMatchingScore());
+											orgUnitEvidence.setOrganizationalUnitMatchingScore(strategyParameters.getOrganizationalUnitDepartmentMatchingScore());
 											isOrgUnitMatch = true;
 										}
 									}  
@@ -184,7 +189,7 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 											orgUnitEvidence.setIdentityOrganizationalUnit(orgUnit.getOrganizationalUnitLabel());
 										}
 										orgUnitEvidence.setArticleAffiliation(author.getAffiliation());
-										orgUnitEvidence.setOrganizationalUnitMatchingScore(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitDepartmentMatchingScore());
+										orgUnitEvidence.setOrganizationalUnitMatchingScore(strategyParameters.getOrganizationalUnitDepartmentMatchingScore());
 										isOrgUnitMatch = true;
 									}*/ else if(StringUtils.containsIgnoreCase(articleAffiliation, "Department of " + identityDepartment) 
 											|| 
@@ -222,14 +227,14 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 											orgUnitEvidence.setIdentityOrganizationalUnit(orgUnit.getOrganizationalUnitLabel());
 										}
 										orgUnitEvidence.setArticleAffiliation(author.getAffiliation());
-										orgUnitEvidence.setOrganizationalUnitMatchingScore(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitDepartmentMatchingScore());
+										orgUnitEvidence.setOrganizationalUnitMatchingScore(strategyParameters.getOrganizationalUnitDepartmentMatchingScore());
 										isOrgUnitMatch = true;
 									}  
 									
 									//This is added to the modifier should be dependent on the matched score which should be more than 0
 									if(isOrgUnitMatch
 											&&
-											Arrays.asList(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitModifier().trim().split("\\s*,\\s*")).contains(identityDepartment)) {
+											Arrays.asList(strategyParameters.getOrganizationalUnitModifier().trim().split("\\s*,\\s*")).contains(identityDepartment)) {
 										if(identityOrgUnitToSynonymMap.size() > 0 &&
 												identityOrgUnitToSynonymMap.values().stream().anyMatch(synonymOrgUnit -> synonymOrgUnit.contains(identityDepartment))) {
 												synonymOrgUnitLabel = identityOrgUnitToSynonymMap.entrySet().stream().
@@ -245,7 +250,7 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 											orgUnitEvidence.setIdentityOrganizationalUnit(orgUnit.getOrganizationalUnitLabel());
 										}
 										orgUnitEvidence.setOrganizationalUnitModifier(identityDepartment);
-										orgUnitEvidence.setOrganizationalUnitModifierScore(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitModifierScore());
+										orgUnitEvidence.setOrganizationalUnitModifierScore(strategyParameters.getOrganizationalUnitModifierScore());
 									}
 								} else {
 									if(articleAffiliation.contains("Program in " + identityDepartment) 
@@ -268,7 +273,7 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 											orgUnitEvidence.setIdentityOrganizationalUnit(orgUnit.getOrganizationalUnitLabel());
 										}
 										orgUnitEvidence.setArticleAffiliation(author.getAffiliation());
-										orgUnitEvidence.setOrganizationalUnitMatchingScore(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitProgramMatchingScore());
+										orgUnitEvidence.setOrganizationalUnitMatchingScore(strategyParameters.getOrganizationalUnitProgramMatchingScore());
 									}
 								}
 								if(orgUnitEvidence.getIdentityOrganizationalUnit() == null) {
@@ -301,7 +306,7 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 	
 	private String constructRegexForStopWords() {
 		String regex = "(?i)[-,]|(";
-		List<String> stopWords = Arrays.asList(ReCiterArticleScorer.strategyParameters.getInstAfflInstitutionStopwords().trim().split("\\s*,\\s*"));
+		List<String> stopWords = Arrays.asList(strategyParameters.getInstAfflInstitutionStopwords().trim().split("\\s*,\\s*"));
 		for(String stopwWord: stopWords) {
 			regex = regex + " \\b" + stopwWord + "\\b|" + "\\b" + stopwWord + "\\b" + " |";  
 		}
@@ -334,16 +339,19 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 		return false;
 	}
 
-	private boolean departmentMatchStrictAndFillInAffiliationIfNotPresent(long pmid, int goldStandard, List<ReCiterAuthor> authors, 
+	/**
+	 * @return the department extracted from the matching affiliation or null if the department does not match.
+	 */
+	private String departmentMatchStrictAndFillInAffiliationIfNotPresent(long pmid, int goldStandard, List<ReCiterAuthor> authors, 
 			ReCiterAuthor reCiterAuthor, Identity identity) {
 
 		if (reCiterAuthor.getAffiliation() != null && reCiterAuthor.getAffiliation() != null) {
 			String affiliation = reCiterAuthor.getAffiliation();
-			extractedDept = extractDepartment(affiliation);
+			String extractedDept = extractDepartment(affiliation);
 			slf4jLogger.info("Extracted department=[" + extractedDept + "] for author=[" + identity.getUid() + "] in pmid=[" + pmid + "].");
 			for (OrganizationalUnit department : identity.getOrganizationalUnits()) {
 				if (StringUtils.equalsIgnoreCase(extractedDept, department.getOrganizationalUnitLabel())) {
-					return true;
+					return extractedDept;
 				} else if (StringUtils.containsIgnoreCase(extractedDept, department.getOrganizationalUnitLabel()) && !StringUtils.containsIgnoreCase(extractedDept, "medicine")) {
 					// check for substring match - only when the extracted department is not "medicine" because
 					// it is too common.
@@ -351,7 +359,7 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 						slf4jLogger.info("Extracted department=[" + extractedDept + "] contains identity's department=[" + department + "] "
 								+ "for author=[" + identity.getUid() + "] in pmid=[" + pmid + "]. And first initial, middle initial and last names match. "
 										+ "gold standard=[" + goldStandard + "]");
-						return true;
+						return extractedDept;
 					}
 				}
 			}
@@ -371,11 +379,11 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 				if (author.getAffiliation() != null && author.getAffiliation() != null 
 						&& author.getAffiliation().length() > 0) {
 					String affiliation = author.getAffiliation();
-					extractedDept = extractDepartment(affiliation);
+					String extractedDept = extractDepartment(affiliation);
 
 					for (OrganizationalUnit department : identity.getOrganizationalUnits()) {
 						if (StringUtils.equalsIgnoreCase(extractedDept, department.getOrganizationalUnitLabel())) {
-							return true;
+							return extractedDept;
 						}
 					}
 
@@ -391,7 +399,7 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 				}
 			}
 		}
-		return false;
+		return null;
 	}
 
 	private boolean departmentMatchStrict(ReCiterAuthor reCiterAuthor, Identity identity) {
@@ -403,7 +411,7 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 
 		if (reCiterAuthor.getAffiliation() != null && reCiterAuthor.getAffiliation() != null) {
 			String affiliation = reCiterAuthor.getAffiliation();
-			extractedDept = extractDepartment(affiliation);
+			String extractedDept = extractDepartment(affiliation);
 			//			if (extractedDept.length() > 0) {
 			//				departments.add(extractedDept);
 			//			}
@@ -447,8 +455,9 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 		if (reCiterArticle.getArticleCoAuthors() != null && reCiterArticle.getArticleCoAuthors().getAuthors() != null) {
 			for (ReCiterAuthor author : reCiterArticle.getArticleCoAuthors().getAuthors()) {
 
-				boolean isDepartmentMatch = departmentMatchStrictAndFillInAffiliationIfNotPresent(reCiterArticle.getArticleId(), reCiterArticle.getGoldStandard(),
+				String extractedDept = departmentMatchStrictAndFillInAffiliationIfNotPresent(reCiterArticle.getArticleId(), reCiterArticle.getGoldStandard(),
 						reCiterArticle.getArticleCoAuthors().getAuthors(), author, identity);
+				boolean isDepartmentMatch = extractedDept != null;
 
 				boolean isFirstNameInitialMatch = 
 						author.getAuthorName().getFirstInitial().equalsIgnoreCase(identity.getPrimaryName().getFirstInitial());
@@ -26,10 +26,11 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.targetauthor.AbstractTargetAuthorStrategy;
 import reciter.algorithm.evidence.targetauthor.name.strategy.ScoreByNameStrategy;
+import reciter.engine.EngineContext;
 import reciter.engine.Feature;
+import reciter.engine.StrategyParameters;
 import reciter.engine.analysis.evidence.EmailEvidence;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterAuthor;
@@ -40,13 +41,14 @@ public class EmailStringMatchStrategy extends AbstractTargetAuthorStrategy {
 	private static final Logger slf4jLogger = LoggerFactory.getLogger(EmailStringMatchStrategy.class);
 	private List<String> emailSuffixes;
 	
-	private final String[] defaultSuffixes = ReCiterArticleScorer.strategyParameters.getDefaultSuffixes().trim().split(",");
+	private final StrategyParameters strategyParameters;
 	
-	public EmailStringMatchStrategy() {
-		setEmailSuffixes(Arrays.asList(defaultSuffixes));
+	public EmailStringMatchStrategy(EngineContext engineContext) {
+		this(engineContext, Arrays.asList(engineContext.getStrategyParameters().getDefaultSuffixes().trim().split(",")));
 	}
 	
-	public EmailStringMatchStrategy(List<String> emailSuffixes) {
+	public EmailStringMatchStrategy(EngineContext engineContext, List<String> emailSuffixes) {
+		this.strategyParameters = engineContext.getStrategyParameters();
 		this.setEmailSuffixes(emailSuffixes);
 	}
 	
@@ -95,12 +97,12 @@ public class EmailStringMatchStrategy extends AbstractTargetAuthorStrategy {
 							reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() + " [email matches: " + email + "]");
 							reCiterArticle.getMatchingEmails().add(email);
 							emailEvidence.setEmailMatch(email);
-							emailEvidence.setEmailMatchScore(ReCiterArticleScorer.strategyParameters.getEmailMatchScore());
+							emailEvidence.setEmailMatchScore(strategyParameters.getEmailMatchScore());
 						} else if(emailSuffixes.stream().anyMatch(suffix -> affiliation.contains(identity.getUid() + suffix))) {
 							reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() + " [email matches: " + affiliation + "]");
 							reCiterArticle.getMatchingEmails().add(email);
 							emailEvidence.setEmailMatch(email);
-							emailEvidence.setEmailMatchScore(ReCiterArticleScorer.strategyParameters.getEmailMatchScore());
+							emailEvidence.setEmailMatchScore(strategyParameters.getEmailMatchScore());
 						}
 					}
 				}
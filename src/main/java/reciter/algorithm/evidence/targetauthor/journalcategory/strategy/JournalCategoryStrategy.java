@@ -9,23 +9,31 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.targetauthor.AbstractTargetAuthorStrategy;
 import reciter.database.dynamodb.model.ScienceMetrix;
 import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
+import reciter.engine.EngineContext;
 import reciter.engine.EngineParameters;
 import reciter.engine.Feature;
+import reciter.engine.StrategyParameters;
 import reciter.engine.analysis.evidence.JournalCategoryEvidence;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.identity.Identity;
 import reciter.model.identity.OrganizationalUnit;
 import reciter.model.identity.OrganizationalUnit.OrganizationalUnitType;
 import reciter.model.pubmed.MedlineCitationJournalISSN;
+import reciter.utils.ScienceMetrixJournalIndex;
 
 public class JournalCategoryStrategy extends AbstractTargetAuthorStrategy {
 	
 	private static final Logger log = LoggerFactory.getLogger(JournalCategoryStrategy.class);
 
+	private final StrategyParameters strategyParameters;
+	
+	public JournalCategoryStrategy(EngineContext engineContext) {
+		this.strategyParameters = engineContext.getStrategyParameters();
+	}
+
 	@Override
 	public double executeStrategy(ReCiterArticle reCiterArticle, Identity identity) {
 		// TODO Auto-generated method stub
@@ -78,7 +86,7 @@ public class JournalCategoryStrategy extends AbstractTargetAuthorStrategy {
 									}
 								}
 								journalCategoryEvidence.setJournalSubfieldScienceMetrixID(matchedJournal.getScienceMetrixJournalSubfieldId());
-								journalCategoryEvidence.setJournalSubfieldScore(ReCiterArticleScorer.strategyParameters.getJournalSubfieldFactorScore() * matchedJournal.getLogOddsRatio());
+								journalCategoryEvidence.setJournalSubfieldScore(strategyParameters.getJournalSubfieldFactorScore() * matchedJournal.getLogOddsRatio());
 							}
 						} else {
 							journalCategoryEvidence = new JournalCategoryEvidence();
@@ -106,14 +114,14 @@ public class JournalCategoryStrategy extends AbstractTargetAuthorStrategy {
 								}
 							}
 							journalCategoryEvidence.setJournalSubfieldScienceMetrixID(matchedOrgUnits.get(0).getScienceMetrixJournalSubfieldId());
-							journalCategoryEvidence.setJournalSubfieldScore(ReCiterArticleScorer.strategyParameters.getJournalSubfieldFactorScore() * matchedOrgUnits.get(0).getLogOddsRatio());
+							journalCategoryEvidence.setJournalSubfieldScore(strategyParameters.getJournalSubfieldFactorScore() * matchedOrgUnits.get(0).getLogOddsRatio());
 						}
 					} else {
 						journalCategoryEvidence = new JournalCategoryEvidence();
 						journalCategoryEvidence.setJournalSubfieldScienceMetrixLabel(scienceMetrix.getScienceMetrixSubfield());
 						journalCategoryEvidence.setJournalSubfieldDepartment("NO_MATCH");
 						journalCategoryEvidence.setJournalSubfieldScienceMetrixID(Integer.parseInt(scienceMetrix.getScienceMatrixSubfieldId()));
-						journalCategoryEvidence.setJournalSubfieldScore(ReCiterArticleScorer.strategyParameters.getJournalSubfieldScore());
+						journalCategoryEvidence.setJournalSubfieldScore(strategyParameters.getJournalSubfieldScore());
 					}
 				}
 				if(journalCategoryEvidence != null) {
@@ -137,9 +145,7 @@ public class JournalCategoryStrategy extends AbstractTargetAuthorStrategy {
 		if(subfieldId != null 
 				&& 
 				!subfieldId.isEmpty()) {
-			scienceMetrixDeptCategory = EngineParameters.getScienceMetrixDepartmentCategories().parallelStream().filter(scienceMetrixDepartmentCategory -> 
-			scienceMetrixDepartmentCategory.getScienceMetrixJournalSubfieldId() == Integer.parseInt(subfieldId)
-					).collect(Collectors.toList());
+			scienceMetrixDeptCategory = EngineParameters.getScienceMetrixDepartmentCategoryIndex().findBySubfieldId(Integer.parseInt(subfieldId));
 		}
 		return scienceMetrixDeptCategory;
 	}
@@ -176,55 +182,14 @@ public class JournalCategoryStrategy extends AbstractTargetAuthorStrategy {
 			}
 		}*/
 		
-		for(ScienceMetrix scienceMetrixJournal: EngineParameters.getScienceMetrixJournals()) {
-			if(issnLinking != null) {
-				if(scienceMetrixJournal.getIssn() != null 
-						&&
-						scienceMetrixJournal.getIssn().equals(issnLinking)) {
-					scienceMetrix = scienceMetrixJournal;
-					break;
-				}
-				if(scienceMetrix == null) {
-					if(scienceMetrixJournal.getEissn() != null 
-							&&
-							scienceMetrixJournal.getEissn().equals(issnLinking)) {
-						scienceMetrix = scienceMetrixJournal;
-						break;
-					}
-				}
-			} else if(scienceMetrix == null && issnPrint != null) {
-				if(scienceMetrixJournal.getIssn() != null 
-						&&
-						scienceMetrixJournal.getIssn().equals(issnPrint)) {
-					scienceMetrix = scienceMetrixJournal;
-					break;
-				}
-				if(scienceMetrix == null) {
-					if(scienceMetrixJournal.getEissn() != null 
-							&&
-							scienceMetrixJournal.getEissn().equals(issnPrint)) {
-						scienceMetrix = scienceMetrixJournal;
-						break;
-					}
-				}
-			} else if(scienceMetrix == null && issnElectronic != null) {
-				if(scienceMetrixJournal.getIssn() != null 
-						&&
-						scienceMetrixJournal.getIssn().equals(issnElectronic)) {
-					scienceMetrix = scienceMetrixJournal;
-					break;
-				}
-				if(scienceMetrix == null) {
-					if(scienceMetrixJournal.getEissn() != null 
-							&&
-							scienceMetrixJournal.getEissn().equals(issnElectronic)) {
-						scienceMetrix = scienceMetrixJournal;
-						break;
-					}
-				}
-			}
+		String issn = issnLinking;
+		if(issn == null) {
+			issn = (issnPrint != null) ? issnPrint : issnElectronic;
+		}
+		ScienceMetrixJournalIndex scienceMetrixJournalIndex = EngineParameters.getScienceMetrixJournalIndex();
+		if(issn != null && scienceMetrixJournalIndex != null) {
+			scienceMetrix = scienceMetrixJournalIndex.findByIssnOrEissn(issn);
 		}
-		
 
 		return scienceMetrix;
 	}
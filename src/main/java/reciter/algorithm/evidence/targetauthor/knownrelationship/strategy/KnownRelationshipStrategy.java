@@ -26,9 +26,10 @@ import java.util.List;
 import java.util.Set;
 
 import lombok.extern.slf4j.Slf4j;
-import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.targetauthor.AbstractTargetAuthorStrategy;
+import reciter.engine.EngineContext;
 import reciter.engine.Feature;
+import reciter.engine.StrategyParameters;
 import reciter.engine.analysis.evidence.RelationshipEvidence;
 import reciter.engine.analysis.evidence.RelationshipNegativeMatch;
 import reciter.engine.analysis.evidence.RelationshipPostiveMatch;
@@ -41,6 +42,12 @@ import reciter.model.identity.KnownRelationship.RelationshipType;
 @Slf4j
 public class KnownRelationshipStrategy extends AbstractTargetAuthorStrategy {
 
+	private final StrategyParameters strategyParameters;
+	
+	public KnownRelationshipStrategy(EngineContext engineContext) {
+		this.strategyParameters = engineContext.getStrategyParameters();
+	}
+
 	@Override
 	public double executeStrategy(ReCiterArticle reCiterArticle, Identity identity) {
 		double score = 0;
@@ -102,7 +109,7 @@ public class KnownRelationshipStrategy extends AbstractTargetAuthorStrategy {
 										&&
 										author.getAuthorName().getFirstName().startsWith(authorName.getName().getFirstName())) {
 									relationshipEvidence.setRelationshipMatchType("verbose");
-									relationshipEvidence.setRelationshipVerboseMatchModifierScore(ReCiterArticleScorer.strategyParameters.getRelationshipVerboseMatchModifier());
+									relationshipEvidence.setRelationshipVerboseMatchModifierScore(strategyParameters.getRelationshipVerboseMatchModifier());
 								} else {
 									relationshipEvidence.setRelationshipMatchType("initial");
 								}
@@ -111,28 +118,28 @@ public class KnownRelationshipStrategy extends AbstractTargetAuthorStrategy {
 								reCiterArticle.setClusterInfo(reCiterArticle.getClusterInfo() + "[known relationship match: " +  authorName + "] ");
 								sum += 1;
 								reCiterArticle.getKnownRelationship().add(authorName);
-								relationshipEvidence.setRelationshipMatchingScore(ReCiterArticleScorer.strategyParameters.getRelationshipMatchingScore());
+								relationshipEvidence.setRelationshipMatchingScore(strategyParameters.getRelationshipMatchingScore());
 								relationshipEvidence.setRelationshipNameArticle(author.getAuthorName());
 								relationshipEvidence.setRelationshipNameIdentity(authorName.getName());
 								relationshipEvidence.setRelationshipType(relationshipTypes);
 								
 								if(authorName.getType() == RelationshipType.MENTOR) {
-									relationshipEvidence.setRelationshipMatchModifierMentor(ReCiterArticleScorer.strategyParameters.getRelationshipMatchModifierMentor());
+									relationshipEvidence.setRelationshipMatchModifierMentor(strategyParameters.getRelationshipMatchModifierMentor());
 									if(reCiterArticle.getArticleCoAuthors().getNumberOfAuthors() > 0 
 											&& 
 											author.getAuthorName().equals(reCiterArticle.getArticleCoAuthors().getAuthors().get(reCiterArticle.getArticleCoAuthors().getNumberOfAuthors() - 1).getAuthorName())
 											) { //If the matching author is the last author or senior author
-										relationshipEvidence.setRelationshipMatchModifierMentorSeniorAuthor(ReCiterArticleScorer.strategyParameters.getRelationshipMatchModifierMentorSeniorAuthor());
+										relationshipEvidence.setRelationshipMatchModifierMentorSeniorAuthor(strategyParameters.getRelationshipMatchModifierMentorSeniorAuthor());
 									}
 								}
 								
 								if(authorName.getType() == RelationshipType.MANAGER) {
-									relationshipEvidence.setRelationshipMatchModifierManager(ReCiterArticleScorer.strategyParameters.getRelationshipMatchModifierManager());
+									relationshipEvidence.setRelationshipMatchModifierManager(strategyParameters.getRelationshipMatchModifierManager());
 									if(reCiterArticle.getArticleCoAuthors().getNumberOfAuthors() > 0 
 											&& 
 											author.getAuthorName().equals(reCiterArticle.getArticleCoAuthors().getAuthors().get(reCiterArticle.getArticleCoAuthors().getNumberOfAuthors() - 1).getAuthorName())
 											) { //If the matching author is the manager and the last author or senior author
-										relationshipEvidence.setRelationshipMatchModifierManagerSeniorAuthor(ReCiterArticleScorer.strategyParameters.getRelationshipMatchModifierManagerSeniorAuthor());
+										relationshipEvidence.setRelationshipMatchModifierManagerSeniorAuthor(strategyParameters.getRelationshipMatchModifierManagerSeniorAuthor());
 									}
 								}
 								
@@ -148,22 +155,22 @@ public class KnownRelationshipStrategy extends AbstractTargetAuthorStrategy {
 										
 										if(relationshipEvidenceInList != null) {
 											if(authorName.getType() == RelationshipType.MENTOR) {
-												relationshipEvidenceInList.setRelationshipMatchModifierMentor(ReCiterArticleScorer.strategyParameters.getRelationshipMatchModifierMentor());
+												relationshipEvidenceInList.setRelationshipMatchModifierMentor(strategyParameters.getRelationshipMatchModifierMentor());
 												if(reCiterArticle.getArticleCoAuthors().getNumberOfAuthors() > 0 
 														&& 
 														author.getAuthorName().equals(reCiterArticle.getArticleCoAuthors().getAuthors().get(reCiterArticle.getArticleCoAuthors().getNumberOfAuthors() - 1).getAuthorName())
 														) { //If the matching author is the last author or senior author
-													relationshipEvidenceInList.setRelationshipMatchModifierMentorSeniorAuthor(ReCiterArticleScorer.strategyParameters.getRelationshipMatchModifierMentorSeniorAuthor());
+													relationshipEvidenceInList.setRelationshipMatchModifierMentorSeniorAuthor(strategyParameters.getRelationshipMatchModifierMentorSeniorAuthor());
 												}
 											}
 											
 											if(authorName.getType() == RelationshipType.MANAGER) {
-												relationshipEvidenceInList.setRelationshipMatchModifierManager(ReCiterArticleScorer.strategyParameters.getRelationshipMatchModifierManager());
+												relationshipEvidenceInList.setRelationshipMatchModifierManager(strategyParameters.getRelationshipMatchModifierManager());
 												if(reCiterArticle.getArticleCoAuthors().getNumberOfAuthors() > 0 
 														&& 
 														author.getAuthorName().equals(reCiterArticle.getArticleCoAuthors().getAuthors().get(reCiterArticle.getArticleCoAuthors().getNumberOfAuthors() - 1).getAuthorName())
 														) { //If the matching author is the manager and the last author or senior author
-													relationshipEvidenceInList.setRelationshipMatchModifierManagerSeniorAuthor(ReCiterArticleScorer.strategyParameters.getRelationshipMatchModifierManagerSeniorAuthor());
+													relationshipEvidenceInList.setRelationshipMatchModifierManagerSeniorAuthor(strategyParameters.getRelationshipMatchModifierManagerSeniorAuthor());
 												}
 											}
 											if(authorName.getType() != null) {
@@ -188,17 +195,17 @@ public class KnownRelationshipStrategy extends AbstractTargetAuthorStrategy {
 			}
 			relaEvidence.setRelationshipPositiveMatch(relationshipEvidences);
 			relationshipNegativeMatch.setRelationshipNonMatchCount(nonMatchCount);
-			relationshipNegativeMatch.setRelationshipMinimumTotalScore(ReCiterArticleScorer.strategyParameters.getRelationshipMinimumTotalScore());
-			relationshipNegativeMatch.setRelationshipNonMatchScore(ReCiterArticleScorer.strategyParameters.getRelationshipNonMatchScore());
+			relationshipNegativeMatch.setRelationshipMinimumTotalScore(strategyParameters.getRelationshipMinimumTotalScore());
+			relationshipNegativeMatch.setRelationshipNonMatchScore(strategyParameters.getRelationshipNonMatchScore());
 			double totalRelationshipScore = relationshipEvidences.stream().mapToDouble(relationShipEvidence -> relationShipEvidence.getRelationshipMatchingScore() 
 					+ relationShipEvidence.getRelationshipVerboseMatchModifierScore()
 					+ relationShipEvidence.getRelationshipMatchModifierMentorSeniorAuthor()
 					+ relationShipEvidence.getRelationshipMatchModifierMentor()
 					+ relationShipEvidence.getRelationshipMatchModifierManagerSeniorAuthor()
 					+ relationShipEvidence.getRelationshipMatchModifierManager()).sum();
-			totalRelationshipScore = totalRelationshipScore + (nonMatchCount * ReCiterArticleScorer.strategyParameters.getRelationshipNonMatchScore());
-			if(totalRelationshipScore <= ReCiterArticleScorer.strategyParameters.getRelationshipMinimumTotalScore()) {
-				relaEvidence.setRelationshipEvidenceTotalScore(ReCiterArticleScorer.strategyParameters.getRelationshipMinimumTotalScore());
+			totalRelationshipScore = totalRelationshipScore + (nonMatchCount * strategyParameters.getRelationshipNonMatchScore());
+			if(totalRelationshipScore <= strategyParameters.getRelationshipMinimumTotalScore()) {
+				relaEvidence.setRelationshipEvidenceTotalScore(strategyParameters.getRelationshipMinimumTotalScore());
 			} else {
 				relaEvidence.setRelationshipEvidenceTotalScore(BigDecimal.valueOf(totalRelationshipScore).setScale(2, RoundingMode.HALF_DOWN).doubleValue());
 			}
@@ -1,7 +1,6 @@
 package reciter.algorithm.evidence.targetauthor.name.strategy;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -18,16 +17,19 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.targetauthor.AbstractTargetAuthorStrategy;
 import reciter.algorithm.util.ReCiterStringUtil;
+import reciter.engine.EngineContext;
 import reciter.engine.Feature;
+import reciter.engine.StrategyParameters;
 import reciter.engine.analysis.evidence.AuthorNameEvidence;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterArticleAuthors;
 import reciter.model.article.ReCiterAuthor;
 import reciter.model.identity.AuthorName;
 import reciter.model.identity.Identity;
+import reciter.utils.AuthorNameNormalizer;
+import reciter.utils.AuthorNameNormalizer.Separators;
 
 /**
  * @author szd2013
@@ -38,7 +40,16 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 
 	private static final Logger slf4jLogger = LoggerFactory.getLogger(ScoreByNameStrategy.class);
 	
-	private final List<String> nameExcludedSuffixes = Arrays.asList(ReCiterArticleScorer.strategyParameters.getNameExcludedSuffixes().trim().split("\\s*,\\s*"));
+	private static final Pattern TARGET_AUTHOR_LAST_NAME = Pattern.compile("[-.\",()\\s]|(,Jr|, Jr|, MD PhD|,MD PhD|, MD-PhD|,MD-PhD|, PhD|,PhD|, MD|,MD|, III|,III|, II|,II|, Sr|,Sr|Jr|MD PhD|MD-PhD|PhD|MD|III|II|Sr)$");
+	
+	private final StrategyParameters strategyParameters;
+	
+	private final AuthorNameNormalizer authorNameNormalizer;
+	
+	public ScoreByNameStrategy(EngineContext engineContext) {
+		this.strategyParameters = engineContext.getStrategyParameters();
+		this.authorNameNormalizer = AuthorNameNormalizer.forSuffixes(strategyParameters.getNameExcludedSuffixes());
+	}
 
 	@Override
 	public double executeStrategy(List<ReCiterArticle> reCiterArticles, Identity identity) {
@@ -111,7 +122,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 							&&
 							identityAuthorName.getMiddleName().length() == 1) {
 						authorNameEvidence.setNameMatchMiddleType("exact-singleInitial");
-						authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeExactSingleInitialScore());
+						authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeExactSingleInitialScore());
 						authorNameEvidence.setNameScoreTotal(authorNameEvidence.getNameMatchFirstScore() + authorNameEvidence.getNameMatchLastScore() + authorNameEvidence.getNameMatchMiddleScore() + authorNameEvidence.getNameMatchModifierScore());
 					}
 					authorNameEvidences.add(authorNameEvidence);
@@ -159,26 +170,26 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Combine following identity.middleName, identity.lastName into mergedName. Now attempt match against article.lastName.
 				//Example: Garcia (identity.middleName) + Marquez (identity.lastName) = GarciaMarquez (article.lastName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullExactScore());
 				authorNameEvidence.setNameMatchLastType("full-exact");
-				authorNameEvidence.setNameMatchLastScore(ReCiterArticleScorer.strategyParameters.getNameMatchLastTypeFullExactScore());
+				authorNameEvidence.setNameMatchLastScore(strategyParameters.getNameMatchLastTypeFullExactScore());
 				authorNameEvidence.setNameMatchMiddleType("full-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullExactScore());
 				authorNameEvidence.setNameMatchModifier("combinedMiddleNameLastName");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierCombinedMiddleNameLastNameScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierCombinedMiddleNameLastNameScore());
 			} else if(identityAuthor.getMiddleName() != null 
 					&& 
 					StringUtils.equalsIgnoreCase(identityAuthor.getMiddleName() + identityAuthor.getLastName(), articleAuthorName.getLastName())
 					&&
 					StringUtils.equalsIgnoreCase(identityAuthor.getFirstInitial(), articleAuthorName.getFirstName())) {
 				authorNameEvidence.setNameMatchFirstType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchLastType("full-exact");
-				authorNameEvidence.setNameMatchLastScore(ReCiterArticleScorer.strategyParameters.getNameMatchLastTypeFullExactScore());
+				authorNameEvidence.setNameMatchLastScore(strategyParameters.getNameMatchLastTypeFullExactScore());
 				authorNameEvidence.setNameMatchMiddleType("full-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullExactScore());
 				authorNameEvidence.setNameMatchModifier("combinedMiddleNameLastName");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierCombinedMiddleNameLastNameScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierCombinedMiddleNameLastNameScore());
 			}
 			authorNameEvidence.setInstitutionalAuthorName(identityAuthorNameOriginal);
 			authorNameEvidence.setArticleAuthorName(articleAuthorNameOriginal);
@@ -195,22 +206,22 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt full exact match where identity.lastName = article.lastName.
 				//Example: Cole (identity.lastName) = Cole (article.lastName)
 				authorNameEvidence.setNameMatchLastType("full-exact");
-				authorNameEvidence.setNameMatchLastScore(ReCiterArticleScorer.strategyParameters.getNameMatchLastTypeFullExactScore());
+				authorNameEvidence.setNameMatchLastScore(strategyParameters.getNameMatchLastTypeFullExactScore());
 			}  else if(identityAuthor.getMiddleName() != null && StringUtils.containsIgnoreCase(identityAuthor.getLastName(), articleAuthorName.getLastName())) {
 				//Attempt partial match where "%" + identity.lastName + "%" = article.lastName
 				//Example: Cole (identity.lastName) = Del Cole (article.lastName)
 				authorNameEvidence.setNameMatchLastType("full-exact");
-				authorNameEvidence.setNameMatchLastScore(ReCiterArticleScorer.strategyParameters.getNameMatchLastTypeFullExactScore());
+				authorNameEvidence.setNameMatchLastScore(strategyParameters.getNameMatchLastTypeFullExactScore());
 				authorNameEvidence.setNameMatchModifier("identitySubstringOfArticle-lastName");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIdentitySubstringOfArticleLastnameScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierIdentitySubstringOfArticleLastnameScore());
 			} else if(identityAuthor.getLastName().length() >= 4 && ReCiterStringUtil.levenshteinDistance(identityAuthor.getLastName(), articleAuthorName.getLastName()) <= 1) {
 				//Attempt match where identity.lastName >= 4 characters and levenshteinDistance between identity.lastName and article.lastName is <=1.
 				//Example: Kaushal (identity.lastName) = Kaushai (article.lastName)
 				authorNameEvidence.setNameMatchLastType("full-fuzzy");
-				authorNameEvidence.setNameMatchLastScore(ReCiterArticleScorer.strategyParameters.getNameMatchLastTypeFullFuzzyScore());
+				authorNameEvidence.setNameMatchLastScore(strategyParameters.getNameMatchLastTypeFullFuzzyScore());
 			} else {
 				authorNameEvidence.setNameMatchLastType("full-conflictingEntirely");
-				authorNameEvidence.setNameMatchLastScore(ReCiterArticleScorer.strategyParameters.getNameMatchLastTypeFullConflictingEntirelyScore());
+				authorNameEvidence.setNameMatchLastScore(strategyParameters.getNameMatchLastTypeFullConflictingEntirelyScore());
 			}
 			authorNameEvidence.setInstitutionalAuthorName(identityAuthorNameOriginal);
 			authorNameEvidence.setArticleAuthorName(articleAuthorNameOriginal);
@@ -234,29 +245,29 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where identity.firstName = article.firstName
 				//Example: Paul (identity.firstName) = Paul (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullExactScore());
 				authorNameEvidence.setNameMatchMiddleType("identityNull-MatchNotAttempted");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&&
 					articleAuthorName.getFirstName().toLowerCase().startsWith(identityAuthor.getFirstName().toLowerCase())) { 
 				//Attempt match where identity.firstName is a left-anchored substring of article.firstName
 				//Example: Paul (identity.firstName) = PaulJames (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchMiddleTypeFullExactScore());
 				authorNameEvidence.setNameMatchMiddleType("identityNull-MatchNotAttempted");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
 				authorNameEvidence.setNameMatchModifier("identitySubstringOfArticle-firstName");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstnameScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstnameScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getFirstName().toLowerCase().startsWith(articleAuthorName.getFirstName().toLowerCase())) { 
 				//Attempt match where article.firstName is a left-anchored substring of identity.firstName
 				//Example: Paul (identity.firstName) = P (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchMiddleType("identityNull-MatchNotAttempted");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getFirstName().length() >= 3 
@@ -267,9 +278,9 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where first three characters of identity.firstName = first three characters of article.firstName
 				//Example: Paul (identity.firstName) = Pau (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-fuzzy");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullFuzzyScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullFuzzyScore());
 				authorNameEvidence.setNameMatchMiddleType("identityNull-MatchNotAttempted");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&&
 					identityAuthor.getFirstName().length() >= 4 
@@ -278,23 +289,23 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where identity.firstName is greater than 4 characters and Levenshtein distance between identity.firstName and article.firstName is 1.
 				//Example: Paula (identity.firstName) = Pauly (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-fuzzy");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullFuzzyScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullFuzzyScore());
 				authorNameEvidence.setNameMatchMiddleType("identityNull-MatchNotAttempted");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&&
 					StringUtils.equalsIgnoreCase(identityAuthor.getFirstInitial(),articleAuthorName.getFirstInitial())) {
 				//Attempt match where first character of identity.firstName = first character of article.firstName
 				//Example: Paul (identity.firstName) = Peter (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-conflictingAllButInitials");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullConflictingAllButInitialsScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullConflictingAllButInitialsScore());
 				authorNameEvidence.setNameMatchMiddleType("identityNull-MatchNotAttempted");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
 			} else {
 				authorNameEvidence.setNameMatchFirstType("full-conflictingEntirely");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullConflictingEntirelyScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullConflictingEntirelyScore());
 				authorNameEvidence.setNameMatchMiddleType("identityNull-MatchNotAttempted");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeIdentityNullMatchNotAttemptedScore());
 			}
 			authorNameEvidence.setInstitutionalAuthorName(identityAuthorNameOriginal);
 			authorNameEvidence.setArticleAuthorName(articleAuthorNameOriginal);
@@ -331,24 +342,24 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where identity.firstName + identity.middleName = article.firstName
 				//Example: Paul (identity.firstName) + James (identity.middleName) = PaulJames (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullExactScore());
 				authorNameEvidence.setNameMatchMiddleType("full-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullExactScore());
 			} else if(identityAuthor.getFirstName() != null  
 					&& 
 					identityAuthor.getMiddleName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getFirstName().toLowerCase() + "(.*)" + identityAuthor.getMiddleName().toLowerCase())) {
+					AuthorNameNormalizer.startsAndEndsWith(articleAuthorName.getFirstName().toLowerCase(), identityAuthor.getFirstName().toLowerCase(), identityAuthor.getMiddleName().toLowerCase())) {
 				//Attempt match where identity.firstName + "%" + identity.middleName = article.firstName
 				//Example: Paul (identity.firstName) + James (identity.middleName) = PaulaJames (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullExactScore());
 				authorNameEvidence.setNameMatchMiddleType("full-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullExactScore());
 				authorNameEvidence.setNameMatchModifier("identitySubstringOfArticle-firstMiddleName");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstMiddlenameScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstMiddlenameScore());
 			} else if(identityAuthor.getFirstName() != null  
 					&& 
 					identityAuthor.getMiddleName() != null 
@@ -359,24 +370,24 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where identity.firstName + identity.middleInitial = article.firstName
 				//Example: Paul (identity.firstName) + J (identity.middleInitial) = PaulJ (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullExactScore());
 				authorNameEvidence.setNameMatchMiddleType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeInferredInitialsExactScore());
 			} else if(identityAuthor.getFirstName() != null  
 					&& 
 					identityAuthor.getMiddleName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getFirstName().toLowerCase() + "(.*)" + identityAuthor.getMiddleInitial().toLowerCase())) {
+					AuthorNameNormalizer.startsAndEndsWith(articleAuthorName.getFirstName().toLowerCase(), identityAuthor.getFirstName().toLowerCase(), identityAuthor.getMiddleInitial().toLowerCase())) {
 				//Attempt match where identity.firstName + "%" + identity.middleInitial = article.firstName
 				//Example: Paul (identity.firstName) + J (identity.middleInitial) = PaulaJ (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullExactScore());
 				authorNameEvidence.setNameMatchMiddleType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchModifier("identitySubstringOfArticle-firstMiddleName");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstMiddlenameScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstMiddlenameScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getMiddleName() != null 
@@ -387,9 +398,9 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where identity.firstInitial + identity.middleInitial = article.firstName
 				//Example: P (identity.firstInitial) + J (identity.middleInitial) = PJ (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchMiddleType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeInferredInitialsExactScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getMiddleName() != null 
@@ -400,39 +411,39 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where identity.firstInitial + identity.middleName = article.firstName
 				//Example: M (identity.firstInitial) + Carrington (identity.middleName) = MCarrington (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchMiddleType("full-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullExactScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getMiddleName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getFirstName().toLowerCase() + identityAuthor.getMiddleName().toLowerCase() + "(.*)")) {
+					AuthorNameNormalizer.startsAndEndsWith(articleAuthorName.getFirstName().toLowerCase(), identityAuthor.getFirstName().toLowerCase() + identityAuthor.getMiddleName().toLowerCase(), "")) {
 				//Attempt match where identity.firstName + identity.middleName + "%" = article.firstName
 				//Example: Paul (identity.firstName) + James (identity.middleName) = PaulJamesA (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullExactScore());
 				authorNameEvidence.setNameMatchMiddleType("full-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullExactScore());
 				authorNameEvidence.setNameMatchModifier("identitySubstringOfArticle-firstMiddleName");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstMiddlenameScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstMiddlenameScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getMiddleName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getFirstName().toLowerCase() + identityAuthor.getMiddleInitial().toLowerCase() + "(.*)")) {
+					AuthorNameNormalizer.startsAndEndsWith(articleAuthorName.getFirstName().toLowerCase(), identityAuthor.getFirstName().toLowerCase() + identityAuthor.getMiddleInitial().toLowerCase(), "")) {
 				//Attempt match where identity.firstName + identity.middleInitial + "%" = article.firstName
 				//Example: Paul (identity.firstName) + J (identity.middleInitial) = PaulJZ (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullExactScore());
 				authorNameEvidence.setNameMatchMiddleType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchModifier("identitySubstringOfArticle-firstMiddleName");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstMiddlenameScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstMiddlenameScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
@@ -441,9 +452,9 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where identity.firstName = article.firstName
 				//Example: Paul (identity.firstName) = Paul (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullExactScore());
 				authorNameEvidence.setNameMatchMiddleType("noMatch");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeNoMatchScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeNoMatchScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getMiddleName() != null 
@@ -452,11 +463,11 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&& 
 					StringUtils.equalsIgnoreCase(identityAuthor.getMiddleInitial() + identityAuthor.getFirstInitial(), articleAuthorName.getFirstName())) {
 				authorNameEvidence.setNameMatchFirstType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchMiddleType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchModifier("incorrectOrder");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIncorrectOrderScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierIncorrectOrderScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getMiddleName() != null 
@@ -475,9 +486,9 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//If there's more than one capital letter in identity.firstName or identity.middleName, attempt match where any capitals in identity.firstName + any capital letters in identity.middleName = article.firstName
 				//Example: KS (identity.initialsInFirstName) + C (identity.initialsInMiddleName) = KSC (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchMiddleType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeInferredInitialsExactScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
@@ -491,9 +502,9 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//If there's more than one capital letter in identity.firstName, attempt match where any capitals in identity.firstName = article.firstName
 				//Example: KS (identity.initialsInFirstName) = KS (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchMiddleType("noMatch");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeNoMatchScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeNoMatchScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getMiddleName() != null 
@@ -508,35 +519,35 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//If there's more than one capital letter in identity.firstName, attempt match where any capitals in identity.firstName + identity.middleName = article.firstName
 				//Example: KS (identity.initialsInFirstName) + Clifford (identity.middleName) = KSClifford (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchMiddleType("full-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullExactScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getFirstName().toLowerCase() + "(.*)")) {
+					AuthorNameNormalizer.startsAndEndsWith(articleAuthorName.getFirstName().toLowerCase(), identityAuthor.getFirstName().toLowerCase(), "")) {
 				//Attempt match where identity.firstName + "%" = article.firstName
 				//Example: Robert (identity.firstName) = RobertR (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullExactScore());
 				authorNameEvidence.setNameMatchMiddleType("noMatch");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeNoMatchScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeNoMatchScore());
 				authorNameEvidence.setNameMatchModifier("identitySubstringOfArticle-firstName");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstnameScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstnameScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches("(.*)" + identityAuthor.getFirstName().toLowerCase())) {
+					AuthorNameNormalizer.startsAndEndsWith(articleAuthorName.getFirstName().toLowerCase(), "", identityAuthor.getFirstName().toLowerCase())) {
 				//Attempt match where "%" + identity.firstName = article.firstName
 				//Example: Cary (identity.firstName) = MCary (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullExactScore());
 				authorNameEvidence.setNameMatchMiddleType("noMatch");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeNoMatchScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeNoMatchScore());
 				authorNameEvidence.setNameMatchModifier("identitySubstringOfArticle-firstName");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstnameScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstnameScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getMiddleName() != null 
@@ -547,39 +558,39 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where identity.middleName = article.firstName
 				//Example: Clifford (identity.middleName) = Clifford (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("noMatch");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeNoMatchScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeNoMatchScore());
 				authorNameEvidence.setNameMatchMiddleType("full-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullExactScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getMiddleName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getMiddleName().toLowerCase() + "(.*)")) {
+					AuthorNameNormalizer.startsAndEndsWith(articleAuthorName.getFirstName().toLowerCase(), identityAuthor.getMiddleName().toLowerCase(), "")) {
 				//Attempt match where identity.middleName + "%" = article.firstName
 				//Example: Clifford (identity.middleName) = CliffordKS (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("noMatch");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeNoMatchScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeNoMatchScore());
 				authorNameEvidence.setNameMatchMiddleType("full-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullExactScore());
 				authorNameEvidence.setNameMatchModifier("identitySubstringOfArticle-middleName");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIdentitySubstringOfArticleMiddlenameScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierIdentitySubstringOfArticleMiddlenameScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getMiddleName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches("(.*)" + identityAuthor.getMiddleName().toLowerCase())) {
+					AuthorNameNormalizer.startsAndEndsWith(articleAuthorName.getFirstName().toLowerCase(), "", identityAuthor.getMiddleName().toLowerCase())) {
 				//Attempt match where "%" + identity.middleName = article.firstName
 				//Example: Clifford (identity.middleName) = KunSungClifford (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("noMatch");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeNoMatchScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeNoMatchScore());
 				authorNameEvidence.setNameMatchMiddleType("full-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullExactScore());
 				authorNameEvidence.setNameMatchModifier("identitySubstringOfArticle-middleName");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIdentitySubstringOfArticleMiddlenameScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierIdentitySubstringOfArticleMiddlenameScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getMiddleName() != null 
@@ -590,9 +601,9 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where levenshteinDistance between identity.firstName + identity.middleName and article.firstName is <=2.
 				//Example: Manney (identity.firstName) + Carrington (identity.middleName) = MannyCarrington (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-fuzzy");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullFuzzyScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullFuzzyScore());
 				authorNameEvidence.setNameMatchMiddleType("full-fuzzy");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullFuzzyScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullFuzzyScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
@@ -603,9 +614,9 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where identity.firstName >= 4 characters and levenshteinDistance between identity.firstName and article.firstName is <=1.
 				//Example: Nassar (identity.firstName) = Nasser (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-fuzzy");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullFuzzyScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullFuzzyScore());
 				authorNameEvidence.setNameMatchMiddleType("noMatch");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeNoMatchScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeNoMatchScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
@@ -618,24 +629,24 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where first three characters of identity.firstName = first three characters of identity.firstName.
 				//Example: Massimiliano (identity.firstName) = Massimo (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-fuzzy");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullFuzzyScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullFuzzyScore());
 				authorNameEvidence.setNameMatchMiddleType("noMatch");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeNoMatchScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeNoMatchScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getMiddleName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getFirstInitial().toLowerCase() + "(.*)" + identityAuthor.getMiddleName().toLowerCase())) {
+					AuthorNameNormalizer.startsAndEndsWith(articleAuthorName.getFirstName().toLowerCase(), identityAuthor.getFirstInitial().toLowerCase(), identityAuthor.getMiddleName().toLowerCase())) {
 				//Attempt match where identity.firstInitial + "%" + identity.middleName = article.firstName
 				//Example: M (identity.firstInitial) + Carrington (identity.middleName) = MannyCarrington (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchMiddleType("full-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullExactScore());
 				authorNameEvidence.setNameMatchModifier("identitySubstringOfArticle-firstMiddleName");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstMiddlenameScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierIdentitySubstringOfArticleFirstMiddlenameScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					identityAuthor.getMiddleName() != null 
@@ -646,11 +657,11 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where identity.middleName + identity.firstInitial = article.firstName
 				//Example: Carrington (identity.middleName) + M (identity.firstInitial) = CarringtonM (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("inferredInitials-exact");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchMiddleType("full-exact");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullExactScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullExactScore());
 				authorNameEvidence.setNameMatchModifier("incorrectOrder");
-				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIncorrectOrderScore());
+				authorNameEvidence.setNameMatchModifierScore(strategyParameters.getNameMatchModifierIncorrectOrderScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null  
@@ -661,9 +672,9 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where article.firstName is only one character and identity.firstName = first character of article.firstName.
 				//Example: Jessica (identity.firstName) = J (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("inferredInitials-exact");  
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeInferredInitialsExactScore());
 				authorNameEvidence.setNameMatchMiddleType("noMatch");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeNoMatchScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeNoMatchScore());
 			} else if(identityAuthor.getFirstName() != null 
 					&& 
 					articleAuthorName.getFirstName() != null
@@ -676,16 +687,16 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				//Attempt match where first character of identity.firstName = first character of identity.firstName.
 				//Example: Jessica (identity.firstName) = Jochen (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-conflictingAllButInitials");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullConflictingAllButInitialsScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullConflictingAllButInitialsScore());
 				authorNameEvidence.setNameMatchMiddleType("noMatch");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeNoMatchScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeNoMatchScore());
 			} else {
 				//Else, we have no match of any kind.
 				//Example: Pascale vs. Curtis
 				authorNameEvidence.setNameMatchFirstType("full-conflictingEntirely");
-				authorNameEvidence.setNameMatchFirstScore(ReCiterArticleScorer.strategyParameters.getNameMatchFirstTypeFullConflictingEntirelyScore());
+				authorNameEvidence.setNameMatchFirstScore(strategyParameters.getNameMatchFirstTypeFullConflictingEntirelyScore());
 				authorNameEvidence.setNameMatchMiddleType("full-conflictingEntirely");
-				authorNameEvidence.setNameMatchMiddleScore(ReCiterArticleScorer.strategyParameters.getNameMatchMiddleTypeFullConflictingEntirelyScore());
+				authorNameEvidence.setNameMatchMiddleScore(strategyParameters.getNameMatchMiddleTypeFullConflictingEntirelyScore());
 			}
 			authorNameEvidence.setInstitutionalAuthorName(identityAuthorNameOriginal);
 			authorNameEvidence.setArticleAuthorName(articleAuthorNameOriginal);
@@ -748,7 +759,6 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 	 */
 	private void sanitizeIdentityAuthorNames(Identity identity, List<AuthorName> sanitizedIdentityAuthorName) {
 		AuthorName identityPrimaryName = new AuthorName();
-		String suffixRegex = generateSuffixRegex();
 		AuthorName additionalName = new AuthorName();
 		String firstName = null;
 		String lastName = null;
@@ -758,37 +768,35 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 			
 			if(identity.getPrimaryName().getFirstName() != null) {
 				if(identity.getPrimaryName().getFirstName().contains("\"") || (identity.getPrimaryName().getFirstName().contains("(") && identity.getPrimaryName().getFirstName().contains(")"))) {
-					firstName = identity.getPrimaryName().getFirstName().replaceAll("[-.,()\\s]", "").replaceAll("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g", "");
+					firstName = AuthorNameNormalizer.QUOTED_NAME.matcher(authorNameNormalizer.sanitize(identity.getPrimaryName().getFirstName(), Separators.IDENTITY_NAME, false)).replaceAll("");
 					if(firstName !=null) {
 						additionalName.setFirstName(firstName);
 					}
-					Pattern pattern = Pattern.compile("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g");
-					Matcher matcher = pattern.matcher(identity.getPrimaryName().getFirstName());
+					Matcher matcher = AuthorNameNormalizer.QUOTED_NAME.matcher(identity.getPrimaryName().getFirstName());
 					while(matcher.find()) {
 						identityPrimaryName.setFirstName(matcher.group().replaceAll("\"", ""));
 					}
 				} else {
-					identityPrimaryName.setFirstName(identity.getPrimaryName().getFirstName().replaceAll("[-.,()\\s]", ""));
+					identityPrimaryName.setFirstName(authorNameNormalizer.sanitize(identity.getPrimaryName().getFirstName(), Separators.IDENTITY_NAME, false));
 				}
 			}
 			if(identity.getPrimaryName().getMiddleName() != null) {
 				if(identity.getPrimaryName().getMiddleName().contains("\"") || (identity.getPrimaryName().getMiddleName().contains("(") && identity.getPrimaryName().getMiddleName().contains(")"))) {
-					middleName = identity.getPrimaryName().getMiddleName().replaceAll("[-.,()\\s]", "").replaceAll("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g", "");
+					middleName = AuthorNameNormalizer.QUOTED_NAME.matcher(authorNameNormalizer.sanitize(identity.getPrimaryName().getMiddleName(), Separators.IDENTITY_NAME, false)).replaceAll("");
 					if(middleName !=null) {
 						additionalName.setMiddleName(middleName);
 					}
-					Pattern pattern = Pattern.compile("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g");
-					Matcher matcher = pattern.matcher(identity.getPrimaryName().getMiddleName());
+					Matcher matcher = AuthorNameNormalizer.QUOTED_NAME.matcher(identity.getPrimaryName().getMiddleName());
 					while(matcher.find()) {
 						identityPrimaryName.setMiddleName(matcher.group().replaceAll("\"", ""));
 					}
 				} else {
-					identityPrimaryName.setMiddleName(identity.getPrimaryName().getMiddleName().replaceAll("[-.,()\\s]", ""));
+					identityPrimaryName.setMiddleName(authorNameNormalizer.sanitize(identity.getPrimaryName().getMiddleName(), Separators.IDENTITY_NAME, false));
 				}
 			}
 			if(identity.getPrimaryName().getLastName() != null) {
 				//lastName = identity.getPrimaryName().getLastName().replaceAll("[-.,,()\\s]|(,Jr|, Jr|, MD PhD|,MD PhD|, MD-PhD|,MD-PhD|, PhD|,PhD|, MD|,MD|, III|,III|, II|,II|, Sr|,Sr|Jr|MD PhD|MD-PhD|PhD|MD|III|II|Sr)$", "");
-				lastName = identity.getPrimaryName().getLastName().replaceAll("[-.,,()\\s]|(" + suffixRegex + ")$", "");
+				lastName = authorNameNormalizer.sanitize(identity.getPrimaryName().getLastName(), Separators.IDENTITY_NAME, true);
 				identityPrimaryName.setLastName(lastName);
 				if(additionalName.getFirstName() != null) {
 					additionalName.setLastName(lastName);
@@ -803,13 +811,13 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 			for(AuthorName aliasAuthorName: identity.getAlternateNames()) {
 				AuthorName identityAliasAuthorName = new AuthorName();
 				if(aliasAuthorName.getFirstName() != null) {
-					identityAliasAuthorName.setFirstName(aliasAuthorName.getFirstName().replaceAll("[-.\",()\\s]", ""));
+					identityAliasAuthorName.setFirstName(authorNameNormalizer.sanitize(aliasAuthorName.getFirstName(), Separators.NAME, false));
 				}
 				if(aliasAuthorName.getMiddleName() != null) {
-					identityAliasAuthorName.setMiddleName(aliasAuthorName.getMiddleName().replaceAll("[-.\",()\\s]", ""));
+					identityAliasAuthorName.setMiddleName(authorNameNormalizer.sanitize(aliasAuthorName.getMiddleName(), Separators.NAME, false));
 				}
 				if(aliasAuthorName.getLastName() != null) {
-					identityAliasAuthorName.setLastName(aliasAuthorName.getLastName().replaceAll("[-.\",()\\s]|(" + suffixRegex + ")$", ""));
+					identityAliasAuthorName.setLastName(authorNameNormalizer.sanitize(aliasAuthorName.getLastName(), Separators.NAME, true));
 				}
 				
 				if(identityAliasAuthorName.getLastName() != null) {
@@ -828,10 +836,10 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 			if(targetAuthorName.isTargetAuthor()) {
 				AuthorName targetAuthor = new AuthorName();
 				if(targetAuthorName.getAuthorName().getFirstName() != null) {
-					targetAuthor.setFirstName(targetAuthorName.getAuthorName().getFirstName().replaceAll("[-.\"() ]", ""));
+					targetAuthor.setFirstName(authorNameNormalizer.sanitize(targetAuthorName.getAuthorName().getFirstName(), Separators.ARTICLE_FIRST_NAME, false));
 				}
 				if(targetAuthorName.getAuthorName().getLastName() != null) {
-					targetAuthor.setLastName(targetAuthorName.getAuthorName().getLastName().replaceAll("[-.\",()\\s]|(,Jr|, Jr|, MD PhD|,MD PhD|, MD-PhD|,MD-PhD|, PhD|,PhD|, MD|,MD|, III|,III|, II|,II|, Sr|,Sr|Jr|MD PhD|MD-PhD|PhD|MD|III|II|Sr)$", ""));
+					targetAuthor.setLastName(TARGET_AUTHOR_LAST_NAME.matcher(targetAuthorName.getAuthorName().getLastName()).replaceAll(""));
 				}
 				sanitizedAuthorName.add(targetAuthor);
 			}
@@ -916,23 +924,6 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 		}
 	}
 	
-	/**
-	 * This function generates regex of suffix from application.properties file
-	 * @return regex string
-	 */
-	private String generateSuffixRegex() {
-		String suffixRegex = "";
-		String suffixTogether = "";
-		for(String suffix: this.nameExcludedSuffixes) {
-			suffixRegex = suffixRegex + "," + suffix + "|, " + suffix + "|";
-			suffixTogether = suffixTogether + suffix + "|";
-		}
-		if(suffixTogether.endsWith("|")) {
-			suffixTogether = suffixTogether.substring(0, suffixTogether.length() - 1);
-		}
-		return suffixRegex + "," + suffixTogether;
-	}
-		
 	/**
 	 * This function compares all the AuthorNameEvidences and returns the highest AuthorNameEvidence total score
 	 * @param authorNameEvidences
@@ -5,9 +5,10 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.targetauthor.AbstractTargetAuthorStrategy;
+import reciter.engine.EngineContext;
 import reciter.engine.Feature;
+import reciter.engine.StrategyParameters;
 import reciter.engine.analysis.evidence.PersonTypeEvidence;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.identity.Identity;
@@ -15,6 +16,12 @@ import reciter.model.identity.Identity;
 public class PersonTypeStrategy extends AbstractTargetAuthorStrategy {
 
 	private static final Logger slf4jLogger = LoggerFactory.getLogger(PersonTypeStrategy.class);
+
+	private final StrategyParameters strategyParameters;
+	
+	public PersonTypeStrategy(EngineContext engineContext) {
+		this.strategyParameters = engineContext.getStrategyParameters();
+	}
 	
 	@Override
 	public double executeStrategy(ReCiterArticle reCiterArticle, Identity identity) {
@@ -30,7 +37,7 @@ public class PersonTypeStrategy extends AbstractTargetAuthorStrategy {
 					identity.getPersonTypes().contains("academic-faculty-weillfulltime")) {
 				PersonTypeEvidence personTypeEvidence = new PersonTypeEvidence();
 				personTypeEvidence.setPersonType("academic-faculty-weillfulltime");
-				personTypeEvidence.setPersonTypeScore(ReCiterArticleScorer.strategyParameters.getPersonTypeScoreAcademicFacultyWeillfulltime());
+				personTypeEvidence.setPersonTypeScore(strategyParameters.getPersonTypeScoreAcademicFacultyWeillfulltime());
 				reCiterArticle.setPersonTypeEvidence(personTypeEvidence);
 				slf4jLogger.info("Pmid: " + reCiterArticle.getArticleId() + " " + personTypeEvidence.toString());
 			} else if(identity.getPersonTypes() != null 
@@ -38,7 +45,7 @@ public class PersonTypeStrategy extends AbstractTargetAuthorStrategy {
 					identity.getPersonTypes().contains("student-md-new-york")) {
 				PersonTypeEvidence personTypeEvidence = new PersonTypeEvidence();
 				personTypeEvidence.setPersonType("student-md-new-york");
-				personTypeEvidence.setPersonTypeScore(ReCiterArticleScorer.strategyParameters.getPersonTypeScoreStudentMdNewyork());
+				personTypeEvidence.setPersonTypeScore(strategyParameters.getPersonTypeScoreStudentMdNewyork());
 				reCiterArticle.setPersonTypeEvidence(personTypeEvidence);
 				slf4jLogger.info("Pmid: " + reCiterArticle.getArticleId() + " " + personTypeEvidence.toString());
 			}
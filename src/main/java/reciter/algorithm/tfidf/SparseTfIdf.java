@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.algorithm.tfidf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleMeshHeading;
+
+/**
+ * TF-IDF vectors of the candidate articles of one person over the words of their title and abstract and their MeSH
+ * descriptors.
+ * <p>
+ * Terms are interned to int ids and every article only keeps the sorted ids of the terms it contains with their float
+ * weights and the precomputed norm, so the cosine similarity of two articles walks both term lists once instead of the
+ * whole vocabulary like {@link TfIdf#createVector(Document)}.
+ * <p>
+ * The weight of a term is its count in the article times the smoothed inverse document frequency
+ * ln((1 + n) / (1 + df)) + 1, so terms shared by every candidate still count for people with very few candidates.
+ */
+public final class SparseTfIdf {
+
+	private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	/**
+	 * Shorter words are mostly stop words (of, in, to...).
+	 */
+	private static final int MINIMUM_WORD_LENGTH = 3;
+
+	private static final String MESH_TERM_PREFIX = "mesh:";
+
+	private final Map<Long, Vector> vectors;
+	private final int numberOfTerms;
+
+	/**
+	 * Sparse vector of one article.
+	 */
+	public static final class Vector {
+		private final int[] termIds;
+		private final float[] weights;
+		private final double norm;
+
+		private Vector(int[] termIds, float[] weights) {
+			this.termIds = termIds;
+			this.weights = weights;
+			double sum = 0;
+			for (float weight : weights) {
+				sum += (double) weight * weight;
+			}
+			this.norm = Math.sqrt(sum);
+		}
+
+		public int getNumberOfTerms() {
+			return termIds.length;
+		}
+
+		/**
+		 * @return cosine similarity between 0 and 1, 0 if either article has no terms
+		 */
+		public double cosineSimilarity(Vector other) {
+			if (norm == 0 || other.norm == 0) {
+				return 0;
+			}
+			double dotProduct = 0;
+			int i = 0;
+			int j = 0;
+			while (i < termIds.length && j < other.termIds.length) {
+				if (termIds[i] == other.termIds[j]) {
+					dotProduct += (double) weights[i++] * other.weights[j++];
+				} else if (termIds[i] < other.termIds[j]) {
+					i++;
+				} else {
+					j++;
+				}
+			}
+			return dotProduct / (norm * other.norm);
+		}
+	}
+
+	private SparseTfIdf(Map<Long, Vector> vectors, int numberOfTerms) {
+		this.vectors = vectors;
+		this.numberOfTerms = numberOfTerms;
+	}
+
+	/**
+	 * Builds the vectors of the articles, the document frequencies are counted over these articles only.
+	 */
+	public static SparseTfIdf of(Collection<ReCiterArticle> reCiterArticles) {
+		Map<String, Integer> termIds = new HashMap<>();
+		List<Long> pmids = new ArrayList<>(reCiterArticles.size());
+		List<int[]> articleTermIds = new ArrayList<>(reCiterArticles.size());
+		List<int[]> articleTermCounts = new ArrayList<>(reCiterArticles.size());
+		int[] documentFrequencies = new int[16];
+
+		for (ReCiterArticle reCiterArticle : reCiterArticles) {
+			int[] ids = internTerms(reCiterArticle, termIds);
+			Arrays.sort(ids);
+			int distinct = 0;
+			int[] counts = new int[ids.length];
+			for (int i = 0; i < ids.length; i++) {
+				if (distinct > 0 && ids[distinct - 1] == ids[i]) {
+					counts[distinct - 1]++;
+				} else {
+					ids[distinct] = ids[i];
+					counts[distinct++] = 1;
+				}
+			}
+			ids = Arrays.copyOf(ids, distinct);
+			if (termIds.size() > documentFrequencies.length) {
+				documentFrequencies = Arrays.copyOf(documentFrequencies, Math.max(termIds.size(), documentFrequencies.length * 2));
+			}
+			for (int id : ids) {
+				documentFrequencies[id]++;
+			}
+			pmids.add(reCiterArticle.getArticleId());
+			articleTermIds.add(ids);
+			articleTermCounts.add(counts);
+		}
+
+		int numberOfArticles = pmids.size();
+		float[] inverseDocumentFrequencies = new float[termIds.size()];
+		for (int id = 0; id < inverseDocumentFrequencies.length; id++) {
+			inverseDocumentFrequencies[id] = (float) (Math.log((1.0 + numberOfArticles) / (1.0 + documentFrequencies[id])) + 1);
+		}
+		Map<Long, Vector> vectors = new HashMap<>(numberOfArticles * 2);
+		for (int article = 0; article < numberOfArticles; article++) {
+			int[] ids = articleTermIds.get(article);
+			int[] counts = articleTermCounts.get(article);
+			float[] weights = new float[ids.length];
+			for (int i = 0; i < ids.length; i++) {
+				weights[i] = counts[i] * inverseDocumentFrequencies[ids[i]];
+			}
+			vectors.put(pmids.get(article), new Vector(ids, weights));
+		}
+		return new SparseTfIdf(vectors, termIds.size());
+	}
+
+	private static int[] internTerms(ReCiterArticle reCiterArticle, Map<String, Integer> termIds) {
+		int[] ids = new int[32];
+		int size = 0;
+		List<String> terms = new ArrayList<>();
+		addWords(reCiterArticle.getArticleTitle(), terms);
+		addWords(reCiterArticle.getPublicationAbstract(), terms);
+		if (reCiterArticle.getMeshHeadings() != null) {
+			for (ReCiterArticleMeshHeading meshHeading : reCiterArticle.getMeshHeadings()) {
+				if (meshHeading != null && meshHeading.getDescriptorName() != null && meshHeading.getDescriptorName().getDescriptorName() != null) {
+					terms.add(MESH_TERM_PREFIX + meshHeading.getDescriptorName().getDescriptorName().toLowerCase(Locale.ROOT));
+				}
+			}
+		}
+		for (String term : terms) {
+			Integer id = termIds.get(term);
+			if (id == null) {
+				id = termIds.size();
+				termIds.put(term, id);
+			}
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			ids[size++] = id;
+		}
+		return Arrays.copyOf(ids, size);
+	}
+
+	private static void addWords(String text, List<String> terms) {
+		if (text == null || text.isEmpty()) {
+			return;
+		}
+		for (String word : NON_ALPHANUMERIC.split(text.toLowerCase(Locale.ROOT))) {
+			if (word.length() >= MINIMUM_WORD_LENGTH) {
+				terms.add(word);
+			}
+		}
+	}
+
+	/**
+	 * @return the vector of the article or null if the article was not part of the articles this was built from
+	 */
+	public Vector getVector(long pmid) {
+		return vectors.get(pmid);
+	}
+
+	/**
+	 * @return cosine similarity of the two articles, 0 if either is unknown or has no terms
+	 */
+	public double cosineSimilarity(ReCiterArticle reCiterArticle, ReCiterArticle otherReCiterArticle) {
+		Vector vector = vectors.get(reCiterArticle.getArticleId());
+		Vector otherVector = vectors.get(otherReCiterArticle.getArticleId());
+		if (vector == null || otherVector == null) {
+			return 0;
+		}
+		return vector.cosineSimilarity(otherVector);
+	}
+
+	public int getNumberOfTerms() {
+		return numberOfTerms;
+	}
+}
@@ -20,6 +20,8 @@ package reciter.algorithm.util;
 
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.LocalDate;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
 import org.springframework.stereotype.Component;
 
 import reciter.algorithm.cluster.similarity.clusteringstrategy.article.MeshMajorClusteringStrategy;
@@ -54,11 +56,8 @@ import reciter.model.scopus.Author;
 import reciter.model.scopus.ScopusArticle;
 import reciter.utils.AuthorNameSanitizationUtils;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -73,6 +72,12 @@ import java.util.stream.Collectors;
 @Component
 public class ArticleTranslator {
 
+    /**
+     * Joda formatters are immutable, so unlike SimpleDateFormat they can be shared by articles translated in parallel.
+     */
+    private static final DateTimeFormatter STANDARDIZED_DATE_FORMAT = DateTimeFormat.forPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DISPLAY_DATE_FORMAT = DateTimeFormat.forPattern("yyyy MMM dd");
+
     /**
      * Translates a PubmedArticle into a ReCiterArticle.
      *
@@ -245,11 +250,8 @@ public class ArticleTranslator {
             LocalDate localDate = new LocalDate(Integer.parseInt(medlineCitationDate.getYear()),
                     Integer.parseInt(articleDateMonth), // convert JUL to 7
                     Integer.parseInt(articleDateDay));
-            Date date = localDate.toDate();
-            DateFormat df = new SimpleDateFormat("yyyy-MM-dd");
-            reCiterArticle.setPublicationDateStandardized(df.format(date));
-            df = new SimpleDateFormat("yyyy MMM dd");
-            reCiterArticle.setPublicationDateDisplay(df.format(date));
+            reCiterArticle.setPublicationDateStandardized(localDate.toString(STANDARDIZED_DATE_FORMAT));
+            reCiterArticle.setPublicationDateDisplay(localDate.toString(DISPLAY_DATE_FORMAT));
         }
         
         //Case when ArticleDate does not exist use PubDate as date standardized date
@@ -273,13 +275,10 @@ public class ArticleTranslator {
         	LocalDate localDate = new LocalDate(Integer.parseInt(medlineCitationDate.getYear()),
                     Integer.parseInt(articleDateMonth), // convert JUL to 7
                     Integer.parseInt(articleDateDay));
-            Date date = localDate.toDate();
-            DateFormat df = new SimpleDateFormat("yyyy-MM-dd");
-            reCiterArticle.setPublicationDateStandardized(df.format(date));
+            reCiterArticle.setPublicationDateStandardized(localDate.toString(STANDARDIZED_DATE_FORMAT));
             
             if(reCiterArticle.getPublicationDateDisplay()== null) {
-            	df = new SimpleDateFormat("yyyy MMM dd");
-                reCiterArticle.setPublicationDateDisplay(df.format(date));
+                reCiterArticle.setPublicationDateDisplay(localDate.toString(DISPLAY_DATE_FORMAT));
             }
         }
         
@@ -310,9 +309,7 @@ public class ArticleTranslator {
         		LocalDate localDate = new LocalDate(Integer.parseInt(pubmedPubDateEntrez.getPubMedPubDate().getYear()),
                         Integer.parseInt(entrezDateMonth), // convert JUL to 7
                         Integer.parseInt(entrezDateDay));
-                Date date = localDate.toDate();
-                DateFormat df = new SimpleDateFormat("yyyy-MM-dd");
-        		reCiterArticle.setDatePublicationAddedToEntrez(df.format(date));
+        		reCiterArticle.setDatePublicationAddedToEntrez(localDate.toString(STANDARDIZED_DATE_FORMAT));
         	}
         }
         		
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.algorithm.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reciter.engine.StrategyParameters;
+import reciter.model.article.ReCiterArticle;
+import reciter.model.pubmed.PubMedArticle;
+import reciter.model.scopus.ScopusArticle;
+
+/**
+ * Translation stage of the engine parameters. The candidate articles of a person are translated independently of each
+ * other, so large candidate sets are split into contiguous ranges translated on a shared pool of
+ * article.translation.threads workers. The pool is shared by all feature generation requests, which bounds the number of
+ * translating threads when a batch generates features for several people at once.
+ * <p>
+ * Every range writes to its own slots of the result, so the articles are returned in the order of the PubMed articles
+ * regardless of which range finishes first.
+ */
+@Component
+public class ParallelArticleTranslator {
+
+	/**
+	 * Smaller candidate sets are translated by the calling thread since handing them to the pool costs more than it saves.
+	 */
+	private static final int MINIMUM_ARTICLES_PER_TASK = 25;
+
+	@Value("${article.translation.parallel}")
+	private boolean parallel;
+
+	@Value("${article.translation.threads}")
+	private int threads;
+
+	@Autowired
+	private TranslatedArticleCache translatedArticleCache;
+
+	private int poolSize;
+	private ExecutorService executorService;
+
+	@PostConstruct
+	public void start() {
+		poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		executorService = Executors.newFixedThreadPool(poolSize);
+	}
+
+	@PreDestroy
+	public void stop() {
+		executorService.shutdownNow();
+	}
+
+	/**
+	 * @param scopusArticles Scopus articles by pmid, articles without a Scopus counterpart are translated from PubMed only
+	 * @return one article per PubMed article, in the same order
+	 */
+	public List<ReCiterArticle> translate(List<PubMedArticle> pubMedArticles, Map<Long, ScopusArticle> scopusArticles,
+			String nameIgnoredCoAuthors, StrategyParameters strategyParameters) {
+		ReCiterArticle[] reCiterArticles = new ReCiterArticle[pubMedArticles.size()];
+		int tasks = Math.min(poolSize, pubMedArticles.size() / MINIMUM_ARTICLES_PER_TASK);
+		if (!parallel || tasks < 2) {
+			translateRange(pubMedArticles, 0, pubMedArticles.size(), scopusArticles, nameIgnoredCoAuthors, strategyParameters, reCiterArticles);
+			return new ArrayList<>(Arrays.asList(reCiterArticles));
+		}
+		List<Future<?>> futures = new ArrayList<>(tasks);
+		try {
+			for (int task = 0; task < tasks; task++) {
+				int from = (int) ((long) pubMedArticles.size() * task / tasks);
+				int to = (int) ((long) pubMedArticles.size() * (task + 1) / tasks);
+				futures.add(executorService.submit(() -> translateRange(pubMedArticles, from, to, scopusArticles,
+						nameIgnoredCoAuthors, strategyParameters, reCiterArticles)));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while translating " + pubMedArticles.size() + " articles", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Unable to translate " + pubMedArticles.size() + " articles", e.getCause());
+		} finally {
+			for (Future<?> future : futures) {
+				future.cancel(true);
+			}
+		}
+		return new ArrayList<>(Arrays.asList(reCiterArticles));
+	}
+
+	private void translateRange(List<PubMedArticle> pubMedArticles, int from, int to, Map<Long, ScopusArticle> scopusArticles,
+			String nameIgnoredCoAuthors, StrategyParameters strategyParameters, ReCiterArticle[] reCiterArticles) {
+		for (int i = from; i < to; i++) {
+			PubMedArticle pubMedArticle = pubMedArticles.get(i);
+			long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
+			reCiterArticles[i] = translatedArticleCache.translate(pubMedArticle, scopusArticles.get(pmid), nameIgnoredCoAuthors, strategyParameters);
+		}
+	}
+}
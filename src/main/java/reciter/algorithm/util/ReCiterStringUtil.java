@@ -25,8 +25,14 @@ import java.util.regex.Pattern;
 
 public class ReCiterStringUtil {
 
+	private static final Pattern NON_TOKEN_CHARACTERS = Pattern.compile("[^A-Za-z0-9\\s+]");
+
+	private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+	private static final Pattern COMBINING_DIACRITICAL_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
 	public static String[] tokenize(String s) {
-		return s.replaceAll("[^A-Za-z0-9\\s+]", "").split("\\s+");
+		return WHITESPACES.split(NON_TOKEN_CHARACTERS.matcher(s).replaceAll(""));
 	}
 
 	public static int computeNumberOfOverlapTokens(String s1, String s2) {
@@ -102,8 +108,20 @@ public class ReCiterStringUtil {
 	 * @return
 	 */
 	public static String deAccent(String str) {
+		// Names are mostly ASCII, which NFD leaves unchanged
+		if (isAscii(str)) {
+			return str;
+		}
 		String nfdNormalizedString = Normalizer.normalize(str, Normalizer.Form.NFD); 
-		Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
-		return pattern.matcher(nfdNormalizedString).replaceAll("");
+		return COMBINING_DIACRITICAL_MARKS.matcher(nfdNormalizedString).replaceAll("");
+	}
+
+	private static boolean isAscii(String str) {
+		for (int i = 0; i < str.length(); i++) {
+			if (str.charAt(i) >= 0x80) {
+				return false;
+			}
+		}
+		return true;
 	}
 }
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.algorithm.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reciter.engine.StrategyParameters;
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleAuthors;
+import reciter.model.article.ReCiterArticleGrant;
+import reciter.model.article.ReCiterAuthor;
+import reciter.model.pubmed.PubMedArticle;
+import reciter.model.scopus.ScopusArticle;
+import reciter.utils.PubMedConverter;
+
+/**
+ * Translated articles kept between feature generation calls. Scores of the same candidates are recomputed every time
+ * feedback is submitted, but the translation of an article depends only on the PubMed and Scopus records, so it is done
+ * once per record version.
+ * <p>
+ * The cache holds the translated article as an immutable base that is never handed out. Every lookup returns an overlay:
+ * a new {@link ReCiterArticle} sharing the journal, MeSH headings, keywords, features and Scopus article of the base,
+ * which are only read while scoring, with its own authors, sanitized author map and grants so that the target author
+ * flags, emails, evidence and sanitized grant identifiers set while scoring one identity do not leak into the base or
+ * into the articles of another identity.
+ * <p>
+ * An entry is reused only if the PubMed last modification ({@link PubMedConverter#getLastModified(PubMedArticle)}) and
+ * the Scopus version (document id, citation count and sub type) are the ones it was translated from. At most
+ * article.translation.cache.size articles are kept, evicting the least recently used.
+ */
+@Component
+public class TranslatedArticleCache {
+
+	@Value("${article.translation.cache}")
+	private boolean enabled;
+
+	@Value("${article.translation.cache.size}")
+	private int maximumSize;
+
+	private final Map<Long, TranslatedArticle> translatedArticles = new LinkedHashMap<Long, TranslatedArticle>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, TranslatedArticle> eldest) {
+			return size() > maximumSize;
+		}
+	};
+
+	private static class TranslatedArticle {
+		private final String version;
+		private final ReCiterArticle reCiterArticle;
+
+		private TranslatedArticle(String version, ReCiterArticle reCiterArticle) {
+			this.version = version;
+			this.reCiterArticle = reCiterArticle;
+		}
+	}
+
+	/**
+	 * Same as {@link ArticleTranslator#translate(PubMedArticle, ScopusArticle, String, StrategyParameters)} but skips the
+	 * translation if the article was already translated from the same records. <code>nameIgnoredCoAuthors</code> and
+	 * <code>strategyParameters</code> come from the application configuration and are not part of the key.
+	 * @return an article owned by the caller
+	 */
+	public ReCiterArticle translate(PubMedArticle pubMedArticle, ScopusArticle scopusArticle, String nameIgnoredCoAuthors, StrategyParameters strategyParameters) {
+		if (!enabled || maximumSize <= 0) {
+			return ArticleTranslator.translate(pubMedArticle, scopusArticle, nameIgnoredCoAuthors, strategyParameters);
+		}
+		long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
+		String version = getVersion(pubMedArticle, scopusArticle);
+		TranslatedArticle translatedArticle;
+		synchronized (translatedArticles) {
+			translatedArticle = translatedArticles.get(pmid);
+		}
+		if (translatedArticle == null || !translatedArticle.version.equals(version)) {
+			translatedArticle = new TranslatedArticle(version, ArticleTranslator.translate(pubMedArticle, scopusArticle, nameIgnoredCoAuthors, strategyParameters));
+			synchronized (translatedArticles) {
+				translatedArticles.put(pmid, translatedArticle);
+			}
+		}
+		return createOverlay(translatedArticle.reCiterArticle);
+	}
+
+	private static String getVersion(PubMedArticle pubMedArticle, ScopusArticle scopusArticle) {
+		String version = PubMedConverter.getLastModified(pubMedArticle);
+		if (scopusArticle != null) {
+			version = version + "|" + scopusArticle.getScopusDocId() + "|" + scopusArticle.getCitedByCount() + "|" + scopusArticle.getSubType();
+		}
+		return version;
+	}
+
+	/**
+	 * Copies every property of the base, then replaces the authors and grants, which the engine writes to while scoring,
+	 * with copies of their own.
+	 */
+	static ReCiterArticle createOverlay(ReCiterArticle base) {
+		ReCiterArticle reCiterArticle = new ReCiterArticle(base.getArticleId());
+		BeanUtils.copyProperties(base, reCiterArticle, "articleCoAuthors", "grantList");
+
+		if (base.getGrantList() != null) {
+			List<ReCiterArticleGrant> grants = new ArrayList<>(base.getGrantList().size());
+			for (ReCiterArticleGrant grant : base.getGrantList()) {
+				ReCiterArticleGrant copy = new ReCiterArticleGrant();
+				BeanUtils.copyProperties(grant, copy);
+				grants.add(copy);
+			}
+			reCiterArticle.setGrantList(grants);
+		}
+
+		ReCiterArticleAuthors reCiterCoAuthors = new ReCiterArticleAuthors();
+		Map<ReCiterAuthor, ReCiterAuthor> sanitizedAuthorMap = new LinkedHashMap<>();
+		if (base.getArticleCoAuthors() != null) {
+			Map<ReCiterAuthor, ReCiterAuthor> baseSanitizedAuthorMap = base.getArticleCoAuthors().getSanitizedAuthorMap();
+			for (ReCiterAuthor author : base.getArticleCoAuthors().getAuthors()) {
+				ReCiterAuthor copy = copyAuthor(author);
+				reCiterCoAuthors.addAuthor(copy);
+				ReCiterAuthor sanitizedAuthor = baseSanitizedAuthorMap == null ? null : baseSanitizedAuthorMap.get(author);
+				if (sanitizedAuthor != null) {
+					sanitizedAuthorMap.put(copy, copyAuthor(sanitizedAuthor));
+				}
+			}
+		}
+		reCiterCoAuthors.setSanitizedAuthorMap(sanitizedAuthorMap);
+		reCiterArticle.setArticleCoAuthors(reCiterCoAuthors);
+		return reCiterArticle;
+	}
+
+	private static ReCiterAuthor copyAuthor(ReCiterAuthor author) {
+		ReCiterAuthor copy = new ReCiterAuthor(author.getAuthorName(), author.getAffiliation());
+		BeanUtils.copyProperties(author, copy);
+		return copy;
+	}
+}
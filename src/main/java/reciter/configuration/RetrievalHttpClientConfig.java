@@ -0,0 +1,76 @@
+package reciter.configuration;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * HTTP client shared by all requests to the PubMed and Scopus retrieval services. Connections are pooled, at most
+ * retrieval.http.max.connections in all and retrieval.http.max.connections.per.host to one service, and kept alive for
+ * retrieval.http.keep.alive.millis, or less if the service asks so, instead of opening a connection per request.
+ * <p>
+ * A request fails after retrieval.http.connect.timeout.millis without a connection, retrieval.http.read.timeout.millis
+ * without data from the service or retrieval.http.connection.request.timeout.millis waiting for a pooled connection,
+ * rather than holding a retrieval thread for good. Failed requests are retried by the {@link reciter.utils.RetrievalUpstream}
+ * of the service, so that every retry waits for the rate limit.
+ */
+@Configuration
+public class RetrievalHttpClientConfig {
+
+	@Value("${retrieval.http.max.connections}")
+	private int maxConnections;
+
+	@Value("${retrieval.http.max.connections.per.host}")
+	private int maxConnectionsPerHost;
+
+	@Value("${retrieval.http.connect.timeout.millis}")
+	private int connectTimeoutMillis;
+
+	@Value("${retrieval.http.read.timeout.millis}")
+	private int readTimeoutMillis;
+
+	@Value("${retrieval.http.connection.request.timeout.millis}")
+	private int connectionRequestTimeoutMillis;
+
+	@Value("${retrieval.http.keep.alive.millis}")
+	private long keepAliveMillis;
+
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient retrievalHttpClient() {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(maxConnections);
+		connectionManager.setDefaultMaxPerRoute(maxConnectionsPerHost);
+		ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+			long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+			return keepAlive > 0 ? Math.min(keepAlive, keepAliveMillis) : keepAliveMillis;
+		};
+		return HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setKeepAliveStrategy(keepAliveStrategy)
+				.evictExpiredConnections()
+				.evictIdleConnections(keepAliveMillis, TimeUnit.MILLISECONDS)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectTimeout(connectTimeoutMillis)
+						.setSocketTimeout(readTimeoutMillis)
+						.setConnectionRequestTimeout(connectionRequestTimeoutMillis)
+						.build())
+				// Retries are left to the retrieval upstreams, which also retry server errors and back off.
+				.disableAutomaticRetries()
+				.build();
+	}
+
+	@Bean
+	public RestTemplate retrievalRestTemplate(CloseableHttpClient retrievalHttpClient) {
+		return new RestTemplate(new HttpComponentsClientHttpRequestFactory(retrievalHttpClient));
+	}
+}
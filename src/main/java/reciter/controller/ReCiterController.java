@@ -39,8 +39,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import reciter.algorithm.cluster.article.scorer.ClusterScoringExecutor;
 import reciter.algorithm.evidence.targetauthor.TargetAuthorSelection;
-import reciter.algorithm.util.ArticleTranslator;
+import reciter.algorithm.util.ParallelArticleTranslator;
 import reciter.api.parameters.FilterFeedbackType;
 import reciter.api.parameters.GoldStandardUpdateFlag;
 import reciter.api.parameters.RetrievalRefreshFlag;
@@ -50,14 +51,18 @@ import reciter.database.dynamodb.model.ESearchPmid;
 import reciter.database.dynamodb.model.ESearchResult;
 import reciter.database.dynamodb.model.GoldStandard;
 import reciter.engine.Engine;
+import reciter.engine.EngineContext;
 import reciter.engine.EngineOutput;
 import reciter.engine.EngineParameters;
+import reciter.engine.EngineRunSnapshot;
+import reciter.engine.FeedbackFilter;
 import reciter.engine.ReCiterEngine;
 import reciter.engine.StrategyParameters;
-import reciter.engine.analysis.ReCiterArticleFeature;
-import reciter.engine.analysis.ReCiterArticleFeature.PublicationFeedback;
+import reciter.engine.batch.AnalysisOutputBatchWriter;
+import reciter.engine.batch.FeatureGenerationExecutor;
+import reciter.engine.batch.FeatureGenerationJob;
+import reciter.engine.batch.FeatureGenerationReferenceData;
 import reciter.engine.analysis.ReCiterFeature;
-import reciter.engine.erroranalysis.Analysis;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterArticleFeatures;
 import reciter.model.identity.AuthorName;
@@ -71,19 +76,24 @@ import reciter.service.PubMedService;
 import reciter.service.ScienceMetrixDepartmentCategoryService;
 import reciter.service.ScienceMetrixService;
 import reciter.service.ScopusService;
+import reciter.service.dynamo.AnalysisOutputCache;
 import reciter.service.dynamo.DynamoDbInstitutionAfidService;
 import reciter.service.dynamo.DynamoDbMeshTermService;
 import reciter.service.dynamo.IDynamoDbGoldStandardService;
 import reciter.utils.AuthorNameSanitizationUtils;
 import reciter.utils.GenderProbability;
 import reciter.utils.InstitutionSanitizationUtil;
+import reciter.utils.RetrievalUpstream;
 import reciter.xml.retriever.engine.ReCiterRetrievalEngine;
+import reciter.xml.retriever.engine.RetrievalJob;
+import reciter.xml.retriever.engine.RetrievalScheduler;
 
 import java.io.IOException;
 import java.sql.Date;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -91,6 +101,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Api(value = "ReCiterController", description = "Operations on ReCiter API.")
@@ -108,6 +122,9 @@ public class ReCiterController {
     @Autowired
     private ReCiterRetrievalEngine aliasReCiterRetrievalEngine;
 
+    @Autowired
+    private RetrievalScheduler retrievalScheduler;
+
     @Autowired
     private IdentityService identityService;
 
@@ -135,6 +152,18 @@ public class ReCiterController {
     @Autowired
     private ScienceMetrixDepartmentCategoryService scienceMetrixDepartmentCategoryService;
 
+    @Autowired
+    private ParallelArticleTranslator parallelArticleTranslator;
+
+    @Autowired
+    private ClusterScoringExecutor clusterScoringExecutor;
+    
+    @Autowired
+    private FeatureGenerationExecutor featureGenerationExecutor;
+    
+    @Autowired
+    private AnalysisOutputCache analysisOutputCache;
+
     @Value("${use.scopus.articles}")
     private boolean useScopusArticles;
     
@@ -143,6 +172,17 @@ public class ReCiterController {
     
     @Value("${namesIgnoredCoauthors}")
 	private String nameIgnoredCoAuthors;
+    
+    @Value("${feature.generator.batch.write.size}")
+    private int featureGeneratorBatchWriteSize;
+    
+    @Value("${feature.generator.batch.article.cache.size}")
+    private int featureGeneratorBatchArticleCacheSize;
+    
+    @Value("${feature.generator.batch.job.retention.minutes}")
+    private long featureGeneratorBatchJobRetentionMinutes;
+    
+    private final Map<String, FeatureGenerationJob> featureGenerationJobs = new ConcurrentHashMap<>();
 
     @ApiOperation(value = "Update the goldstandard by passing GoldStandard model(uid, knownPmids, rejectedPmids)", notes = "This api updates the goldstandard by passing GoldStandard model(uid, knownPmids, rejectedPmids).")
     @ApiImplicitParams({
@@ -220,35 +260,75 @@ public class ReCiterController {
         return ResponseEntity.ok(goldStandard);
     }
 
-    @ApiOperation(value = "Retrieve Articles for all UID in Identity Table", response = ResponseEntity.class, notes = "This API retrieves candidate articles for all uid in Identity Table from pubmed and its complementing articles from scopus")
+    @ApiOperation(value = "Retrieve Articles for all UID in Identity Table", response = RetrievalJob.Report.class, notes = "This API retrieves candidate articles for all uid in Identity Table from pubmed and its complementing articles from scopus. It returns a job id right away that can be used to follow or cancel the retrieval.")
     @ApiImplicitParams({
     	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header")
     })
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "Successfully retrieved list for given list of uid"),
+            @ApiResponse(code = 202, message = "Retrieval started for all uid in Identity Table", response = RetrievalJob.Report.class),
             @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
             @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
-            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 503, message = "Too many retrieval jobs are queued")
     })
     @RequestMapping(value = "/reciter/retrieve/articles/", method = RequestMethod.GET, produces = "application/json")
     @ResponseBody
     public ResponseEntity retrieveArticles(RetrievalRefreshFlag refreshFlag) {
-        long startTime = System.currentTimeMillis();
-        slf4jLogger.info("Start time is: " + startTime);
         LocalDate initial = LocalDate.now();
 
         LocalDate startDate = initial.withDayOfMonth(1);
         LocalDate endDate = initial.withDayOfMonth(initial.lengthOfMonth());
 
         List<Identity> identities = identityService.findAll();
+        RetrievalJob job;
         try {
-            aliasReCiterRetrievalEngine.retrieveArticlesByDateRange(identities, Date.valueOf(startDate), Date.valueOf(endDate), refreshFlag);
-        } catch (IOException e) {
-            slf4jLogger.info("Failed to retrieve articles.", e);
+            job = aliasReCiterRetrievalEngine.submitArticlesRetrievalByDateRange(identities, Date.valueOf(startDate), Date.valueOf(endDate), refreshFlag);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Too many retrieval jobs are queued. Try again once a running job has finished.");
         }
-        long estimatedTime = System.currentTimeMillis() - startTime;
-        slf4jLogger.info("elapsed time: " + estimatedTime);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job.getReport(0));
+    }
+
+    @ApiOperation(value = "Article retrieval progress.", response = RetrievalJob.Report.class, notes = "This api returns the state of an article retrieval job along with the outcome and latency of every uid finished since fromIndex.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved the job", response = RetrievalJob.Report.class),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The job was not found")
+    })
+    @RequestMapping(value = "/reciter/retrieve/articles/job/{jobId}", method = RequestMethod.GET, produces = "application/json")
+    @ResponseBody
+    public ResponseEntity retrieveArticlesJob(@PathVariable String jobId, @RequestParam(value = "fromIndex", defaultValue = "0") int fromIndex) {
+        RetrievalJob job = retrievalScheduler.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("The job " + jobId + " was not found");
+        }
+        return ResponseEntity.ok(job.getReport(fromIndex));
+    }
+
+    @ApiOperation(value = "Cancel article retrieval.", response = RetrievalJob.Report.class, notes = "This api cancels the uids of an article retrieval job that have not started yet. Uids already being retrieved run to completion.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Cancellation requested", response = RetrievalJob.Report.class),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The job was not found")
+    })
+    @RequestMapping(value = "/reciter/retrieve/articles/job/{jobId}", method = RequestMethod.DELETE, produces = "application/json")
+    @ResponseBody
+    public ResponseEntity cancelRetrieveArticlesJob(@PathVariable String jobId) {
+        RetrievalJob job = retrievalScheduler.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("The job " + jobId + " was not found");
+        }
+        job.cancel();
+        slf4jLogger.info("Cancellation requested for retrieval job " + jobId);
+        return ResponseEntity.ok(job.getReport(0));
     }
 
     @ApiOperation(value = "Retrieve Articles for an UID.", response = ResponseEntity.class, notes = "This API retrieves candidate articles for a given uid from pubmed and its complementing articles from scopus")
@@ -366,7 +446,6 @@ public class ReCiterController {
     	
         EngineOutput engineOutput;
         EngineParameters parameters;
-        List<ReCiterArticleFeature> originalFeatures = new ArrayList<ReCiterArticleFeature>();
         
         Identity identity = identityService.findByUid(uid);
         if(identity == null) {
@@ -377,8 +456,9 @@ public class ReCiterController {
         		&& 
         		analysis != null 
         		&& 
+        		analysis.getReCiterFeature() != null 
+        		&& 
         		(useGoldStandard == UseGoldStandard.AS_EVIDENCE || useGoldStandard == null)) {//This was added to ensure to use analysis results only in evidence mode
-        	List<Long> finalArticles = analysis.getReCiterFeature().getReCiterArticleFeatures().stream().map(article -> article.getPmid()).collect(Collectors.toList());
         	GoldStandard goldStandard = dynamoDbGoldStandardService.findByUid(uid);
         	List<Long> knownPmids = null;
             if (goldStandard == null) {
@@ -387,109 +467,12 @@ public class ReCiterController {
                 knownPmids = goldStandard.getKnownPmids();
             }
         	//All the results are filtered based on filterByFeedback
-        	if(filterByFeedback == FilterFeedbackType.ALL || filterByFeedback == null) {
-	        	analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-			            	.filter(reCiterArticleFeature -> (reCiterArticleFeature.getTotalArticleScoreStandardized() >= totalScore
-			            	&&
-			            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.NULL)
-			            	||
-			            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED
-			            	||
-			            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED
-			            	)
-			            	.collect(Collectors.toList()));
-	        	List<Long> selectedArticles = analysis.getReCiterFeature().getReCiterArticleFeatures().stream().map(article -> article.getPmid()).collect(Collectors.toList());
-	        	Analysis featureAnalysis = Analysis.performAnalysis(finalArticles, selectedArticles, knownPmids);
-	        	analysis.getReCiterFeature().setCountSuggestedArticles(analysis.getReCiterFeature().getReCiterArticleFeatures().size());
-	        	analysis.getReCiterFeature().setPrecision(featureAnalysis.getPrecision());
-	        	analysis.getReCiterFeature().setRecall(featureAnalysis.getRecall());
-	        	analysis.getReCiterFeature().setOverallAccuracy(featureAnalysis.getAccuracy());
-        	} else if(filterByFeedback == FilterFeedbackType.ACCEPTED_ONLY) {
-        		analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-		            	.filter(reCiterArticleFeature -> reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED)
-		            	.collect(Collectors.toList()));
-        		List<Long> selectedArticles = analysis.getReCiterFeature().getReCiterArticleFeatures().stream().map(article -> article.getPmid()).collect(Collectors.toList());
-	        	Analysis featureAnalysis = Analysis.performAnalysis(finalArticles, selectedArticles, knownPmids);
-	        	analysis.getReCiterFeature().setCountSuggestedArticles(analysis.getReCiterFeature().getReCiterArticleFeatures().size());
-	        	analysis.getReCiterFeature().setPrecision(featureAnalysis.getPrecision());
-	        	analysis.getReCiterFeature().setRecall(featureAnalysis.getRecall());
-	        	analysis.getReCiterFeature().setOverallAccuracy(featureAnalysis.getAccuracy());
-        	} else if(filterByFeedback == FilterFeedbackType.REJECTED_ONLY) {
-        		analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-		            	.filter(reCiterArticleFeature -> reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED)
-		            	.collect(Collectors.toList()));
-        		List<Long> selectedArticles = analysis.getReCiterFeature().getReCiterArticleFeatures().stream().map(article -> article.getPmid()).collect(Collectors.toList());
-	        	Analysis featureAnalysis = Analysis.performAnalysis(finalArticles, selectedArticles, knownPmids);
-	        	analysis.getReCiterFeature().setCountSuggestedArticles(analysis.getReCiterFeature().getReCiterArticleFeatures().size());
-	        	analysis.getReCiterFeature().setPrecision(featureAnalysis.getPrecision());
-	        	analysis.getReCiterFeature().setRecall(featureAnalysis.getRecall());
-	        	analysis.getReCiterFeature().setOverallAccuracy(featureAnalysis.getAccuracy());
-        	} else if(filterByFeedback == FilterFeedbackType.ACCEPTED_AND_NULL) {
-        		analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-		            	.filter(reCiterArticleFeature -> (reCiterArticleFeature.getTotalArticleScoreStandardized() >= totalScore 
-		            	&& 
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.NULL)
-		            	||
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED
-		            	)
-		            	.collect(Collectors.toList()));
-        		List<Long> selectedArticles = analysis.getReCiterFeature().getReCiterArticleFeatures().stream().map(article -> article.getPmid()).collect(Collectors.toList());
-	        	Analysis featureAnalysis = Analysis.performAnalysis(finalArticles, selectedArticles, knownPmids);
-	        	analysis.getReCiterFeature().setCountSuggestedArticles(analysis.getReCiterFeature().getReCiterArticleFeatures().size());
-	        	analysis.getReCiterFeature().setPrecision(featureAnalysis.getPrecision());
-	        	analysis.getReCiterFeature().setRecall(featureAnalysis.getRecall());
-	        	analysis.getReCiterFeature().setOverallAccuracy(featureAnalysis.getAccuracy());
-        	} else if(filterByFeedback == FilterFeedbackType.REJECTED_AND_NULL) {
-        		analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-		            	.filter(reCiterArticleFeature -> (reCiterArticleFeature.getTotalArticleScoreStandardized() >= totalScore
-		            	&&
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.NULL)
-		            	||
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED
-		            	)
-		            	.collect(Collectors.toList()));
-        		List<Long> selectedArticles = analysis.getReCiterFeature().getReCiterArticleFeatures().stream().map(article -> article.getPmid()).collect(Collectors.toList());
-	        	Analysis featureAnalysis = Analysis.performAnalysis(finalArticles, selectedArticles, knownPmids);
-	        	analysis.getReCiterFeature().setCountSuggestedArticles(analysis.getReCiterFeature().getReCiterArticleFeatures().size());
-	        	analysis.getReCiterFeature().setPrecision(featureAnalysis.getPrecision());
-	        	analysis.getReCiterFeature().setRecall(featureAnalysis.getRecall());
-	        	analysis.getReCiterFeature().setOverallAccuracy(featureAnalysis.getAccuracy());
-        	} else if(filterByFeedback == FilterFeedbackType.ACCEPTED_AND_REJECTED) {
-        		analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-		            	.filter(reCiterArticleFeature -> reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED
-		            	||
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED)
-		            	.collect(Collectors.toList()));
-        		List<Long> selectedArticles = analysis.getReCiterFeature().getReCiterArticleFeatures().stream().map(article -> article.getPmid()).collect(Collectors.toList());
-	        	Analysis featureAnalysis = Analysis.performAnalysis(finalArticles, selectedArticles, knownPmids);
-	        	analysis.getReCiterFeature().setCountSuggestedArticles(analysis.getReCiterFeature().getReCiterArticleFeatures().size());
-	        	analysis.getReCiterFeature().setPrecision(featureAnalysis.getPrecision());
-	        	analysis.getReCiterFeature().setRecall(featureAnalysis.getRecall());
-	        	analysis.getReCiterFeature().setOverallAccuracy(featureAnalysis.getAccuracy());
-        	} else if(filterByFeedback == FilterFeedbackType.NULL) {
-        		analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-		            	.filter(reCiterArticleFeature -> reCiterArticleFeature.getTotalArticleScoreStandardized() >= totalScore
-		            	&&
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.NULL)
-		            	.collect(Collectors.toList()));
-        		List<Long> selectedArticles = analysis.getReCiterFeature().getReCiterArticleFeatures().stream().map(article -> article.getPmid()).collect(Collectors.toList());
-	        	Analysis featureAnalysis = Analysis.performAnalysis(finalArticles, selectedArticles, knownPmids);
-	        	analysis.getReCiterFeature().setCountSuggestedArticles(analysis.getReCiterFeature().getReCiterArticleFeatures().size());
-	        	analysis.getReCiterFeature().setPrecision(featureAnalysis.getPrecision());
-	        	analysis.getReCiterFeature().setRecall(featureAnalysis.getRecall());
-	        	analysis.getReCiterFeature().setOverallAccuracy(featureAnalysis.getAccuracy());
-        	}
-            return new ResponseEntity<>(analysis.getReCiterFeature(), HttpStatus.OK);
+            return new ResponseEntity<>(new FeedbackFilter(filterByFeedback, totalScore).filter(analysis.getReCiterFeature(), knownPmids), HttpStatus.OK);
         } else {
-            if (useGoldStandard == null) {
-                strategyParameters.setUseGoldStandardEvidence(true);
-            } else if (useGoldStandard == UseGoldStandard.FOR_TESTING_ONLY) {
-                strategyParameters.setUseGoldStandardEvidence(false);
-            } else if (useGoldStandard == UseGoldStandard.AS_EVIDENCE) {
-                strategyParameters.setUseGoldStandardEvidence(true);
-            }
+            EngineContext engineContext = EngineContext.of(strategyParameters, useGoldStandard);
 
-            parameters = initializeEngineParameters(uid, totalStandardizedArticleScore, retrievalRefreshFlag);
+            FeatureGenerationReferenceData referenceData = new FeatureGenerationReferenceData(identityService, pubMedService, scopusService, dynamoDbGoldStandardService, 0);
+            parameters = initializeEngineParameters(uid, identity, totalStandardizedArticleScore, retrievalRefreshFlag, engineContext, referenceData);
             if (parameters == null) {
                 return ResponseEntity
                         .status(HttpStatus.NOT_FOUND)
@@ -497,132 +480,169 @@ public class ReCiterController {
                                 "ESearchResult table. Try running the candidate article retrieval api first with " +
                                 "refreshFlag = true.", uid));
             }
-            TargetAuthorSelection t = new TargetAuthorSelection();
-            t.identifyTargetAuthor(parameters.getReciterArticles(), parameters.getIdentity());
-            double filterScore = 0;
-            if(parameters.getTotalStandardzizedArticleScore() >= strategyParameters.getMinimumStorageThreshold()) {
-            	filterScore = strategyParameters.getMinimumStorageThreshold();
-            } else {
-            	filterScore = parameters.getTotalStandardzizedArticleScore();
-            }
-            Engine engine = new ReCiterEngine();
-            engineOutput = engine.run(parameters, strategyParameters, filterScore);
-            originalFeatures.addAll(engineOutput.getReCiterFeature().getReCiterArticleFeatures());
+            double filterScore = getFilterScore(parameters);
+            engineOutput = runEngine(parameters, engineContext, filterScore);
             
             //Store Analysis only in evidence mode
             if(useGoldStandard == UseGoldStandard.AS_EVIDENCE || useGoldStandard == null) {
-	            AnalysisOutput analysisOutput = new AnalysisOutput();
-	            if(engineOutput != null) {
-	            	if(filterScore == strategyParameters.getMinimumStorageThreshold()) {
-	            		analysisOutput.setReCiterFeature(engineOutput.getReCiterFeature());
-	            	} else {
-	            		//Enforce Strict Minimum Storage Threshold
-	            		ReCiterFeature reCiterFeature = new ReCiterFeature();
-	            		reCiterFeature = engineOutput.getReCiterFeature();
-	            				
-	            		List<ReCiterArticleFeature> reCiterFilteredArticles = reCiterFeature.getReCiterArticleFeatures()
-		            	.stream()
-		            	.filter(reCiterArticleFeature -> reCiterArticleFeature.getTotalArticleScoreStandardized() >= strategyParameters.getMinimumStorageThreshold()
-		            	||
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED
-		            	||
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED)
-		            	.collect(Collectors.toList());
-	            		reCiterFeature.setReCiterArticleFeatures(reCiterFilteredArticles);
-	            		reCiterFeature.setCountSuggestedArticles(reCiterFilteredArticles.size());
-	            		analysisOutput.setReCiterFeature(reCiterFeature);
-	            	}
-
-					
-	            }
-				analysisOutput.setUid(uid);
+            	AnalysisOutput analysisOutput = createAnalysisOutput(uid, engineOutput, filterScore);
 				if(analysisOutput.getReCiterFeature() != null) {
 					analysisService.save(analysisOutput);
 				}
             }
         }
         
-        ReCiterFeature reCiterOutputFeature = new ReCiterFeature();
-        reCiterOutputFeature = engineOutput.getReCiterFeature();
-        
-        
         //All the results are filtered based on filterByFeedback
-        if(filterByFeedback == FilterFeedbackType.ALL || filterByFeedback == null) {
-        List<ReCiterArticleFeature> reCiterFilteredArticles = originalFeatures
-        		.stream()
-            	.filter(reCiterArticleFeature -> (reCiterArticleFeature.getTotalArticleScoreStandardized() >= totalScore
-            			&&
-            			reCiterArticleFeature.getUserAssertion() == PublicationFeedback.NULL)
-            			||
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED
-		            	||
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED
-		            	)
-            	.collect(Collectors.toList());
-        reCiterOutputFeature.setReCiterArticleFeatures(reCiterFilteredArticles);
-        reCiterOutputFeature.setCountSuggestedArticles(reCiterFilteredArticles.size());
-        } else if(filterByFeedback == FilterFeedbackType.ACCEPTED_ONLY){
-        	List<ReCiterArticleFeature> reCiterFilteredArticles = originalFeatures
-            		.stream()
-                	.filter(reCiterArticleFeature -> reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED)
-                	.collect(Collectors.toList());
-            reCiterOutputFeature.setReCiterArticleFeatures(reCiterFilteredArticles);
-            reCiterOutputFeature.setCountSuggestedArticles(reCiterFilteredArticles.size());
-        } else if(filterByFeedback == FilterFeedbackType.REJECTED_ONLY){
-        	List<ReCiterArticleFeature> reCiterFilteredArticles = originalFeatures
-            		.stream()
-                	.filter(reCiterArticleFeature -> reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED)
-                	.collect(Collectors.toList());
-            reCiterOutputFeature.setReCiterArticleFeatures(reCiterFilteredArticles);
-            reCiterOutputFeature.setCountSuggestedArticles(reCiterFilteredArticles.size());
-        } else if(filterByFeedback == FilterFeedbackType.ACCEPTED_AND_NULL){
-        	List<ReCiterArticleFeature> reCiterFilteredArticles = originalFeatures
-            		.stream()
-                	.filter(reCiterArticleFeature -> (reCiterArticleFeature.getTotalArticleScoreStandardized() >= totalScore
-                			&&
-                			reCiterArticleFeature.getUserAssertion() == PublicationFeedback.NULL)
-                			||
-    		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED
-                			)
-                	.collect(Collectors.toList());
-            reCiterOutputFeature.setReCiterArticleFeatures(reCiterFilteredArticles);
-            reCiterOutputFeature.setCountSuggestedArticles(reCiterFilteredArticles.size());
-        } else if(filterByFeedback == FilterFeedbackType.REJECTED_AND_NULL){
-        	List<ReCiterArticleFeature> reCiterFilteredArticles = originalFeatures
-            		.stream()
-                	.filter(reCiterArticleFeature -> (reCiterArticleFeature.getTotalArticleScoreStandardized() >= totalScore
-                			&&
-                			reCiterArticleFeature.getUserAssertion() == PublicationFeedback.NULL)
-                			||
-                			reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED
-                			)
-                	.collect(Collectors.toList());
-            reCiterOutputFeature.setReCiterArticleFeatures(reCiterFilteredArticles);
-            reCiterOutputFeature.setCountSuggestedArticles(reCiterFilteredArticles.size());
-        } else if(filterByFeedback == FilterFeedbackType.ACCEPTED_AND_REJECTED){
-        	List<ReCiterArticleFeature> reCiterFilteredArticles = originalFeatures
-            		.stream()
-                	.filter(reCiterArticleFeature -> reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED
-                			||
-                			reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED)
-                	.collect(Collectors.toList());
-            reCiterOutputFeature.setReCiterArticleFeatures(reCiterFilteredArticles);
-            reCiterOutputFeature.setCountSuggestedArticles(reCiterFilteredArticles.size());
-        } else {
-        	List<ReCiterArticleFeature> reCiterFilteredArticles = originalFeatures
-            		.stream()
-                	.filter(reCiterArticleFeature -> reCiterArticleFeature.getTotalArticleScoreStandardized() >= totalScore
-                			&&
-                			reCiterArticleFeature.getUserAssertion() == PublicationFeedback.NULL)
-                	.collect(Collectors.toList());
-            reCiterOutputFeature.setReCiterArticleFeatures(reCiterFilteredArticles);
-            reCiterOutputFeature.setCountSuggestedArticles(reCiterFilteredArticles.size());
-        }
+        ReCiterFeature reCiterOutputFeature = new FeedbackFilter(filterByFeedback, totalScore).filter(engineOutput.getReCiterFeature());
         estimatedTime = System.currentTimeMillis() - startTime;
         slf4jLogger.info("elapsed time: " + estimatedTime);
         return new ResponseEntity<>(reCiterOutputFeature, HttpStatus.OK);
     }
     
+    @ApiOperation(value = "Batch feature generation.", response = FeatureGenerationJob.Report.class, notes = "This api starts feature generation for a list of uids, or for all identities, and stores the analysis of every uid. It returns a job id right away that can be used to follow the progress of the batch.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Batch feature generation started", response = FeatureGenerationJob.Report.class),
+            @ApiResponse(code = 400, message = "Neither uids nor allIdentities were supplied"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 503, message = "Too many batch jobs are queued")
+    })
+    @RequestMapping(value = "/reciter/feature-generator/batch", method = RequestMethod.POST, produces = "application/json")
+    @ResponseBody
+    public ResponseEntity runFeatureGeneratorBatch(@RequestBody(required = false) List<String> uids, boolean allIdentities, Double totalStandardizedArticleScore, RetrievalRefreshFlag retrievalRefreshFlag) {
+        FeatureGenerationReferenceData referenceData = new FeatureGenerationReferenceData(identityService, pubMedService, scopusService, dynamoDbGoldStandardService, featureGeneratorBatchArticleCacheSize);
+        List<String> batchUids;
+        if (allIdentities) {
+            List<Identity> identities = identityService.findAll();
+            referenceData.addIdentities(identities);
+            batchUids = identities.stream().map(Identity::getUid).distinct().collect(Collectors.toList());
+        } else if (uids != null && !uids.isEmpty()) {
+            batchUids = uids.stream().filter(StringUtils::isNotBlank).map(String::trim).distinct().collect(Collectors.toList());
+        } else {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Supply a list of uids in the request body or set allIdentities to true");
+        }
+        removeExpiredFeatureGenerationJobs();
+        FeatureGenerationJob job = new FeatureGenerationJob(UUID.randomUUID().toString(), batchUids.size());
+        featureGenerationJobs.put(job.getJobId(), job);
+        
+        try {
+            featureGenerationExecutor.submit(() -> runFeatureGenerationJob(job, batchUids, referenceData, totalStandardizedArticleScore, retrievalRefreshFlag));
+        } catch (RejectedExecutionException e) {
+            featureGenerationJobs.remove(job.getJobId());
+            slf4jLogger.warn("Rejected batch feature generation for " + batchUids.size() + " uids, " + featureGenerationExecutor.getQueuedJobs() + " jobs are queued");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Too many batch feature generation jobs are queued. Try again once a running job has finished.");
+        }
+        slf4jLogger.info("Started batch feature generation job " + job.getJobId() + " for " + batchUids.size() + " uids");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job.getReport(0));
+    }
+    
+    @ApiOperation(value = "Batch feature generation progress.", response = FeatureGenerationJob.Report.class, notes = "This api returns the state of a batch feature generation job along with the outcome of every uid finished since fromIndex.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved the job", response = FeatureGenerationJob.Report.class),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The job was not found")
+    })
+    @RequestMapping(value = "/reciter/feature-generator/batch/{jobId}", method = RequestMethod.GET, produces = "application/json")
+    @ResponseBody
+    public ResponseEntity retrieveFeatureGeneratorBatch(@PathVariable String jobId, @RequestParam(value = "fromIndex", defaultValue = "0") int fromIndex) {
+        FeatureGenerationJob job = featureGenerationJobs.get(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("The job " + jobId + " was not found");
+        }
+        return ResponseEntity.ok(job.getReport(fromIndex));
+    }
+    
+    private void runFeatureGenerationJob(FeatureGenerationJob job, List<String> uids, FeatureGenerationReferenceData referenceData, Double totalStandardizedArticleScore, RetrievalRefreshFlag retrievalRefreshFlag) {
+        job.markRunning();
+        AnalysisOutputBatchWriter analysisOutputBatchWriter = new AnalysisOutputBatchWriter(analysisService, featureGeneratorBatchWriteSize, job);
+        EngineContext engineContext = EngineContext.of(strategyParameters, UseGoldStandard.AS_EVIDENCE);
+        try {
+            referenceData.prefetch(uids);
+            List<Runnable> tasks = new ArrayList<>(uids.size());
+            for (String uid : uids) {
+                tasks.add(() -> runFeatureGeneratorForBatch(job, uid, totalStandardizedArticleScore, retrievalRefreshFlag, engineContext, referenceData, analysisOutputBatchWriter));
+            }
+            featureGenerationExecutor.invokeAll(tasks, job.getJobId());
+            analysisOutputBatchWriter.flush();
+            job.markCompleted();
+        } catch (RuntimeException e) {
+            slf4jLogger.error("Batch feature generation job " + job.getJobId() + " failed", e);
+            job.markFailed(e);
+        }
+        slf4jLogger.info("Batch feature generation job " + job.getJobId() + " finished with status " + job.getStatus());
+    }
+    
+    private void runFeatureGeneratorForBatch(FeatureGenerationJob job, String uid, Double totalStandardizedArticleScore, RetrievalRefreshFlag retrievalRefreshFlag, 
+    		EngineContext engineContext, FeatureGenerationReferenceData referenceData, AnalysisOutputBatchWriter analysisOutputBatchWriter) {
+        long startTime = System.currentTimeMillis();
+        try {
+            Identity identity = referenceData.findIdentity(uid);
+            if (identity == null) {
+                job.recordProgress(uid, FeatureGenerationJob.UidStatus.NOT_FOUND, System.currentTimeMillis() - startTime, "The uid was not found in the Identity table");
+                return;
+            }
+            EngineParameters parameters = initializeEngineParameters(uid, identity, totalStandardizedArticleScore, retrievalRefreshFlag, engineContext, referenceData);
+            if (parameters == null) {
+                job.recordProgress(uid, FeatureGenerationJob.UidStatus.NO_CANDIDATES, System.currentTimeMillis() - startTime, null);
+                return;
+            }
+            double filterScore = getFilterScore(parameters);
+            EngineOutput engineOutput = runEngine(parameters, engineContext, filterScore);
+            AnalysisOutput analysisOutput = createAnalysisOutput(uid, engineOutput, filterScore);
+            job.recordProgress(uid, FeatureGenerationJob.UidStatus.COMPLETED, System.currentTimeMillis() - startTime, null);
+            if (analysisOutput.getReCiterFeature() != null) {
+                //A failed write is recorded by the writer against every uid of the batch
+                analysisOutputBatchWriter.write(analysisOutput);
+            }
+        } catch (RuntimeException e) {
+            slf4jLogger.error("Feature generation failed for " + uid + " in batch job " + job.getJobId(), e);
+            job.recordProgress(uid, FeatureGenerationJob.UidStatus.FAILED, System.currentTimeMillis() - startTime, e.getMessage());
+        }
+    }
+    
+    @ApiOperation(value = "Analysis cache statistics.", response = AnalysisOutputCache.Statistics.class, notes = "This api returns the size and the hit, miss, eviction, expiration and invalidation counts of the cache of stored analyses used by the feature generation and article retrieval by uid apis.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved the statistics", response = AnalysisOutputCache.Statistics.class),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden")
+    })
+    @RequestMapping(value = "/reciter/analysis/cache", method = RequestMethod.GET, produces = "application/json")
+    @ResponseBody
+    public ResponseEntity<AnalysisOutputCache.Statistics> retrieveAnalysisCacheStatistics() {
+        return ResponseEntity.ok(analysisOutputCache.getStatistics());
+    }
+    
+    @ApiOperation(value = "Retrieval upstream statistics.", response = RetrievalUpstream.Statistics.class, responseContainer = "List", notes = "This api returns the circuit state, the adaptive concurrency limit and the request, failure and rejection counts of the PubMed and Scopus services and of NCBI ESearch used by the article retrieval.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved the statistics", response = RetrievalUpstream.Statistics.class, responseContainer = "List"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden")
+    })
+    @RequestMapping(value = "/reciter/retrieve/upstreams", method = RequestMethod.GET, produces = "application/json")
+    @ResponseBody
+    public ResponseEntity<List<RetrievalUpstream.Statistics>> retrieveUpstreamStatistics() {
+        return ResponseEntity.ok(Arrays.asList(retrievalScheduler.getPubMedUpstream().getStatistics(),
+                retrievalScheduler.getScopusUpstream().getStatistics(), retrievalScheduler.getESearchUpstream().getStatistics()));
+    }
+    
+    private void removeExpiredFeatureGenerationJobs() {
+        long expiry = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(featureGeneratorBatchJobRetentionMinutes);
+        featureGenerationJobs.values().removeIf(job -> job.isFinished() && job.getEndTime() != null && job.getEndTime() < expiry);
+    }
+    
     @ApiOperation(value = "Article retrieval by UID.", response = ReCiterFeature.class, notes = "This api returns all the publication for a supplied uid.")
     @ApiImplicitParams({
     	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header"),
@@ -658,92 +678,55 @@ public class ReCiterController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("The uid provided '" + uid + "' was not found in the Identity table");
         }
         AnalysisOutput analysis = analysisService.findByUid(uid.trim());
-        if (analysis != null) {//This was added to ensure to use analysis results only in evidence mode
-        	if(analysis.getReCiterFeature() != null) {
-        		analysis.getReCiterFeature().setInGoldStandardButNotRetrieved(null);
-        		analysis.getReCiterFeature().setPrecision(null);
-        		analysis.getReCiterFeature().setRecall(null);
-        		analysis.getReCiterFeature().setOverallAccuracy(null);
-        		if(analysis.getReCiterFeature().getReCiterArticleFeatures() != null && analysis.getReCiterFeature().getReCiterArticleFeatures().size() > 0) {
-        			for(ReCiterArticleFeature reCiterArticleFeatures: analysis.getReCiterFeature().getReCiterArticleFeatures()) {
-        				reCiterArticleFeatures.setEvidence(null);
-        			}
-        		}
-        	}
+        if (analysis != null && analysis.getReCiterFeature() != null) {
         	//All the results are filtered based on filterByFeedback
-        	if(filterByFeedback == FilterFeedbackType.ALL || filterByFeedback == null) {
-	        	analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-			            	.filter(reCiterArticleFeature -> (reCiterArticleFeature.getTotalArticleScoreStandardized() >= totalScore
-			            	&&
-			            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.NULL)
-			            	||
-			            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED
-			            	||
-			            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED
-			            	)
-			            	.collect(Collectors.toList()));
-        	} else if(filterByFeedback == FilterFeedbackType.ACCEPTED_ONLY) {
-        		analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-		            	.filter(reCiterArticleFeature -> reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED)
-		            	.collect(Collectors.toList()));
-        	} else if(filterByFeedback == FilterFeedbackType.REJECTED_ONLY) {
-        		analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-		            	.filter(reCiterArticleFeature -> reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED)
-		            	.collect(Collectors.toList()));
-        	} else if(filterByFeedback == FilterFeedbackType.ACCEPTED_AND_NULL) {
-        		analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-		            	.filter(reCiterArticleFeature -> (reCiterArticleFeature.getTotalArticleScoreStandardized() >= totalScore 
-		            	&& 
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.NULL)
-		            	||
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED
-		            	)
-		            	.collect(Collectors.toList()));
-        	} else if(filterByFeedback == FilterFeedbackType.REJECTED_AND_NULL) {
-        		analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-		            	.filter(reCiterArticleFeature -> (reCiterArticleFeature.getTotalArticleScoreStandardized() >= totalScore
-		            	&&
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.NULL)
-		            	||
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED
-		            	)
-		            	.collect(Collectors.toList()));
-        	} else if(filterByFeedback == FilterFeedbackType.ACCEPTED_AND_REJECTED) {
-        		analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-		            	.filter(reCiterArticleFeature -> reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED
-		            	||
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED)
-		            	.collect(Collectors.toList()));
-        	} else if(filterByFeedback == FilterFeedbackType.NULL) {
-        		analysis.getReCiterFeature().setReCiterArticleFeatures(analysis.getReCiterFeature().getReCiterArticleFeatures().stream()
-		            	.filter(reCiterArticleFeature -> reCiterArticleFeature.getTotalArticleScoreStandardized() >= totalScore
-		            	&&
-		            	reCiterArticleFeature.getUserAssertion() == PublicationFeedback.NULL)
-		            	.collect(Collectors.toList()));
-        	}
-        	 estimatedTime = System.currentTimeMillis() - startTime;
-             slf4jLogger.info("elapsed time: " + estimatedTime);
-            return new ResponseEntity<>(analysis.getReCiterFeature(), HttpStatus.OK);
+        	ReCiterFeature reCiterFeature = new FeedbackFilter(filterByFeedback, totalScore).filterWithoutEvidence(analysis.getReCiterFeature());
+        	estimatedTime = System.currentTimeMillis() - startTime;
+        	slf4jLogger.info("elapsed time: " + estimatedTime);
+        	return new ResponseEntity<>(reCiterFeature, HttpStatus.OK);
         } 
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body("There is no publications data for uid " + uid + ". Please wait while feature-generator re-runs tonight.");
        
     }
 
 
-    private EngineParameters initializeEngineParameters(String uid, Double totalStandardizedArticleScore, RetrievalRefreshFlag retrievalRefreshFlag) {
-        // find identity
-        Identity identity = identityService.findByUid(uid);
+    private double getFilterScore(EngineParameters parameters) {
+        if(parameters.getTotalStandardzizedArticleScore() >= strategyParameters.getMinimumStorageThreshold()) {
+        	return strategyParameters.getMinimumStorageThreshold();
+        }
+        return parameters.getTotalStandardzizedArticleScore();
+    }
+
+    private EngineOutput runEngine(EngineParameters parameters, EngineContext engineContext, double filterScore) {
+        TargetAuthorSelection t = new TargetAuthorSelection();
+        t.identifyTargetAuthor(parameters.getReciterArticles(), parameters.getIdentity());
+        Engine engine = new ReCiterEngine(clusterScoringExecutor);
+        return engine.run(parameters, engineContext, filterScore);
+    }
+
+    private AnalysisOutput createAnalysisOutput(String uid, EngineOutput engineOutput, double filterScore) {
+        AnalysisOutput analysisOutput = new AnalysisOutput();
+        if(engineOutput != null) {
+        	if(filterScore == strategyParameters.getMinimumStorageThreshold()) {
+        		analysisOutput.setReCiterFeature(engineOutput.getReCiterFeature());
+        	} else {
+        		//Enforce Strict Minimum Storage Threshold on a copy, the response is filtered from all the articles of the engine output
+        		analysisOutput.setReCiterFeature(FeedbackFilter.filterForStorage(engineOutput.getReCiterFeature(), strategyParameters.getMinimumStorageThreshold()));
+        	}
+        }
+        analysisOutput.setUid(uid);
+        return analysisOutput;
+    }
+
+    private EngineParameters initializeEngineParameters(String uid, Identity identity, Double totalStandardizedArticleScore, RetrievalRefreshFlag retrievalRefreshFlag, EngineContext engineContext, FeatureGenerationReferenceData referenceData) {
         ESearchResult eSearchResults = null;
 	        // find search results for this identity
 	        //To Avoid 404 errors when multi threading
         try {
         	eSearchResults = eSearchResultService.findByUid(uid);
-            if (eSearchResults == null) {
-                retrieveArticlesByUid(uid, RetrievalRefreshFlag.ALL_PUBLICATIONS);
+            if (eSearchResults == null || retrievalRefreshFlag == RetrievalRefreshFlag.ALL_PUBLICATIONS || retrievalRefreshFlag == RetrievalRefreshFlag.ONLY_NEWLY_ADDED_PUBLICATIONS) {
+                retrieveArticlesByUid(uid, eSearchResults == null ? RetrievalRefreshFlag.ALL_PUBLICATIONS : retrievalRefreshFlag);
                 eSearchResults = eSearchResultService.findByUid(uid);
-            } else if(eSearchResults != null && (retrievalRefreshFlag == RetrievalRefreshFlag.ALL_PUBLICATIONS || retrievalRefreshFlag == RetrievalRefreshFlag.ONLY_NEWLY_ADDED_PUBLICATIONS)) {
-            	retrieveArticlesByUid(uid, retrievalRefreshFlag);
-            	eSearchResults = eSearchResultService.findByUid(uid);
             }
             
             
@@ -751,14 +734,15 @@ public class ReCiterController {
             slf4jLogger.info("No such entity exists: ", e);
         }
         slf4jLogger.info("eSearchResults size {}", eSearchResults);
+        EngineRunSnapshot runSnapshot = new EngineRunSnapshot(eSearchResults, referenceData.findGoldStandard(uid));
 		/*
 		 * //This is when Pubmed returns 0 results. if(eSearchResults == null) { return
 		 * null; }
 		 */
         Set<Long> pmids = new HashSet<>();
-        if(eSearchResults != null && eSearchResults.getESearchPmids() != null) {
-	        for (ESearchPmid eSearchPmid : eSearchResults.getESearchPmids()) {
-	            if (!strategyParameters.isUseGoldStandardEvidence() && StringUtils.equalsIgnoreCase(eSearchPmid.getRetrievalStrategyName(), "GoldStandardRetrievalStrategy")) {
+        if(runSnapshot.getESearchResult() != null && runSnapshot.getESearchResult().getESearchPmids() != null) {
+	        for (ESearchPmid eSearchPmid : runSnapshot.getESearchResult().getESearchPmids()) {
+	            if (!engineContext.isUseGoldStandardEvidence() && StringUtils.equalsIgnoreCase(eSearchPmid.getRetrievalStrategyName(), "GoldStandardRetrievalStrategy")) {
 	                slf4jLogger.info("Running in Testing mode so goldStandardRetreivalStrategy is removed");
 	            } else {
 	                pmids.addAll(eSearchPmid.getPmids());
@@ -775,11 +759,11 @@ public class ReCiterController {
             filteredString.add(String.valueOf(pmid));
         }
 
-        List<PubMedArticle> pubMedArticles = pubMedService.findByPmids(filtered);
+        List<PubMedArticle> pubMedArticles = referenceData.findPubMedArticles(filtered);
         if (pubMedArticles == null) {
             return null;
         }
-        List<ScopusArticle> scopusArticles = scopusService.findByPmids(filteredString);
+        List<ScopusArticle> scopusArticles = referenceData.findScopusArticles(filteredString);
 
         // create temporary map to retrieve Scopus articles by PMID (at the stage below)
         Map<Long, ScopusArticle> map = new HashMap<>();
@@ -791,15 +775,7 @@ public class ReCiterController {
         }
 
         // combine PubMed and Scopus articles into a list of ReCiterArticle
-        List<ReCiterArticle> reCiterArticles = new ArrayList<>();
-        for (PubMedArticle pubMedArticle : pubMedArticles) {
-            long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
-            if (map.containsKey(pmid)) {
-                reCiterArticles.add(ArticleTranslator.translate(pubMedArticle, map.get(pmid), nameIgnoredCoAuthors, strategyParameters));
-            } else {
-                reCiterArticles.add(ArticleTranslator.translate(pubMedArticle, null, nameIgnoredCoAuthors, strategyParameters));
-            }
-        }
+        List<ReCiterArticle> reCiterArticles = parallelArticleTranslator.translate(pubMedArticles, map, nameIgnoredCoAuthors, strategyParameters);
         
         //Sanitize Identity names
         AuthorNameSanitizationUtils authorNameSanitizationUtils = new AuthorNameSanitizationUtils(strategyParameters);
@@ -819,7 +795,7 @@ public class ReCiterController {
         parameters.setScopusArticles(Collections.emptyList());
         parameters.setReciterArticles(reCiterArticles);
 
-        GoldStandard goldStandard = dynamoDbGoldStandardService.findByUid(uid);
+        GoldStandard goldStandard = runSnapshot.getGoldStandard();
         if (goldStandard == null) {
             parameters.setKnownPmids(new ArrayList<>());
             parameters.setRejectedPmids(new ArrayList<>());
@@ -827,6 +803,7 @@ public class ReCiterController {
             parameters.setKnownPmids(goldStandard.getKnownPmids());
             parameters.setRejectedPmids(goldStandard.getRejectedPmids());
         }
+        parameters.setRunSnapshot(runSnapshot.withNumberOfArticles(reCiterArticles.size()));
         if (totalStandardizedArticleScore == null) {
             parameters.setTotalStandardzizedArticleScore(strategyParameters.getTotalArticleScoreStandardizedDefault());
         } else {
@@ -32,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.client.RestTemplate;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
@@ -39,6 +40,7 @@ import io.swagger.annotations.ApiResponses;
 import reciter.model.scopus.ScopusArticle;
 import reciter.scopus.retriever.ScopusArticleRetriever;
 import reciter.service.ScopusService;
+import reciter.xml.retriever.engine.RetrievalScheduler;
 
 @Controller
 public class ScopusController {
@@ -48,6 +50,12 @@ public class ScopusController {
 	@Autowired
 	private ScopusService scopusService;
 	
+	@Autowired
+	private RestTemplate retrievalRestTemplate;
+	
+	@Autowired
+	private RetrievalScheduler retrievalScheduler;
+	
 	/*@ApiOperation(value = "Add list of scopus articles to ScopusArticle table in DynamoDb", notes = "This api saves list of scopusArticles in the ScopusArticle table in dynamoDb.")
 	@ApiResponses(value = {
 			@ApiResponse(code = 200, message = "ScopusArticle List creation successful"),
@@ -101,7 +109,7 @@ public class ScopusController {
 	public ResponseEntity<List<ScopusArticle>> retrieveScopusArticleByPmid(@PathVariable String pmid) {
 		List<Long> pmids = new ArrayList<>();
 		pmids.add(Long.parseLong(pmid));
-		ScopusArticleRetriever<Long> scopusArticleRetriever = new ScopusArticleRetriever<>();
+		ScopusArticleRetriever<Long> scopusArticleRetriever = new ScopusArticleRetriever<>(retrievalRestTemplate, retrievalScheduler.getScopusUpstream());
 		List<ScopusArticle> scopusArticles =
 				scopusArticleRetriever.retrieveScopus(ScopusArticleRetriever.PMID_MODIFIER, new ArrayList<>(pmids));
 		return ResponseEntity.ok(scopusArticles);
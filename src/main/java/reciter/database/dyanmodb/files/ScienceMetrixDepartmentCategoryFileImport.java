@@ -11,6 +11,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.extern.slf4j.Slf4j;
 import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
+import reciter.engine.EngineParameters;
 import reciter.service.ScienceMetrixDepartmentCategoryService;
 
 /**
@@ -43,6 +44,8 @@ public class ScienceMetrixDepartmentCategoryFileImport {
 					sciMetrixDeptCatgeoryBeans.size() > 0) {
 				log.info("The file ScienceMetrixDepartmentCategory.json and the ScienceMetrixDepartmentCategory table in DynamoDb is not isomorphic and hence starting import.");
 				scienceMetrixDepartmentCategoryService.save(sciMetrixDeptCatgeoryBeans);
+				//Swap in the new categories and their subfield index for the running engine
+				EngineParameters.setScienceMetrixDepartmentCategories(sciMetrixDeptCatgeoryBeans);
 			}
 		}
 	}
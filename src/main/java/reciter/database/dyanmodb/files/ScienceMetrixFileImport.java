@@ -11,6 +11,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.extern.slf4j.Slf4j;
 import reciter.database.dynamodb.model.ScienceMetrix;
+import reciter.engine.EngineParameters;
 import reciter.service.ScienceMetrixService;
 
 /**
@@ -43,6 +44,8 @@ public class ScienceMetrixFileImport {
 						scienceMetrixBeans.size() > 0) {
 					log.info("The file ScienceMetrix.json and the ScienceMetrix table in DynamoDb is not isomorphic and hence starting import.");
 					scienceMetrixService.save(scienceMetrixBeans);
+					//Swap in the new journals and their ISSN index for the running engine
+					EngineParameters.setScienceMetrixJournals(scienceMetrixBeans);
 			}
 		}
 	}
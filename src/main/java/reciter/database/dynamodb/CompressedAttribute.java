@@ -0,0 +1,127 @@
+package reciter.database.dynamodb;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.util.BinaryUtils;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reciter.database.dynamodb.model.AnalysisOutput;
+import reciter.engine.analysis.ReCiterFeature;
+import reciter.model.pubmed.PubMedArticle;
+
+/**
+ * The large member of an item (the ReCiterFeature of an AnalysisOutput, the PubMedArticle of a PubMed item) stored as gzip
+ * compressed JSON in a binary attribute instead of the plain JSON written by the {@link DynamoDBMapper}. Candidate and
+ * feature JSON is highly repetitive, so the compressed attribute is usually a tenth of the size, which keeps most items
+ * under the 400KB item limit and reduces the capacity used to read and write them.
+ * <p>
+ * The other attributes are still converted by the mapper, so items written before compression, which have no compressed
+ * attribute, are read as before.
+ *
+ * @param <T> class mapped to the table
+ * @param <V> type of the compressed member
+ */
+public final class CompressedAttribute<T, V> {
+
+	public static final CompressedAttribute<AnalysisOutput, ReCiterFeature> RECITER_FEATURE = new CompressedAttribute<>(
+			AnalysisOutput.class, "reCiterFeatureCompressed", ReCiterFeature.class,
+			AnalysisOutput::getReCiterFeature, AnalysisOutput::setReCiterFeature);
+
+	public static final CompressedAttribute<reciter.database.dynamodb.model.PubMedArticle, PubMedArticle> PUBMED_ARTICLE = new CompressedAttribute<>(
+			reciter.database.dynamodb.model.PubMedArticle.class, "pubMedArticleCompressed", PubMedArticle.class,
+			reciter.database.dynamodb.model.PubMedArticle::getPubMedArticle, reciter.database.dynamodb.model.PubMedArticle::setPubMedArticle);
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	private final Class<T> itemClass;
+	private final String attributeName;
+	private final Class<V> valueClass;
+	private final Function<T, V> getter;
+	private final BiConsumer<T, V> setter;
+
+	private CompressedAttribute(Class<T> itemClass, String attributeName, Class<V> valueClass, Function<T, V> getter, BiConsumer<T, V> setter) {
+		this.itemClass = itemClass;
+		this.attributeName = attributeName;
+		this.valueClass = valueClass;
+		this.getter = getter;
+		this.setter = setter;
+	}
+
+	public Class<T> getItemClass() {
+		return itemClass;
+	}
+
+	public String getAttributeName() {
+		return attributeName;
+	}
+
+	/**
+	 * @return the compressed member of the item or null if the item has none
+	 */
+	public byte[] encode(T item) {
+		V value = getter.apply(item);
+		if (value == null) {
+			return null;
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (OutputStream outputStream = new GZIPOutputStream(bytes)) {
+			OBJECT_MAPPER.writeValue(outputStream, value);
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to compress " + valueClass.getSimpleName(), e);
+		}
+		return bytes.toByteArray();
+	}
+
+	public V decode(ByteBuffer compressed) {
+		try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(BinaryUtils.copyBytesFrom(compressed)))) {
+			return OBJECT_MAPPER.readValue(inputStream, valueClass);
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to read compressed " + valueClass.getSimpleName(), e);
+		}
+	}
+
+	/**
+	 * Converts the item with the mapper, storing <code>compressed</code> in place of the member.
+	 * @param compressed result of {@link #encode(Object)} for the item
+	 */
+	public Map<String, AttributeValue> toAttributeValues(DynamoDBMapper dynamoDBMapper, T item, byte[] compressed) {
+		V value = getter.apply(item);
+		Map<String, AttributeValue> attributeValues;
+		setter.accept(item, null);
+		try {
+			attributeValues = new HashMap<>(dynamoDBMapper.getTableModel(itemClass).convert(item));
+		} finally {
+			setter.accept(item, value);
+		}
+		if (compressed != null) {
+			attributeValues.put(attributeName, new AttributeValue().withB(ByteBuffer.wrap(compressed)));
+		}
+		return attributeValues;
+	}
+
+	/**
+	 * Inverse of {@link #toAttributeValues(DynamoDBMapper, Object, byte[])}, also reads items written by the mapper.
+	 */
+	public T fromAttributeValues(DynamoDBMapper dynamoDBMapper, Map<String, AttributeValue> attributeValues) {
+		T item = dynamoDBMapper.getTableModel(itemClass).unconvert(attributeValues);
+		AttributeValue compressed = attributeValues.get(attributeName);
+		if (compressed != null && compressed.getB() != null) {
+			setter.accept(item, decode(compressed.getB()));
+		}
+		return item;
+	}
+}
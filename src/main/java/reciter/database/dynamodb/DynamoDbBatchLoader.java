@@ -0,0 +1,228 @@
+package reciter.database.dynamodb;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads many items of a table by hash key with BatchGetItem. The keys are split into pages of at most
+ * {@link #MAXIMUM_KEYS_PER_BATCH} keys, the limit of a BatchGetItem request, which are sent in parallel on a pool of
+ * aws.dynamodb.batch.get.threads workers shared by all callers so the number of outstanding requests stays bounded.
+ * <p>
+ * Keys DynamoDB returns as unprocessed, because of throttling or the 16MB response limit, are sent again with an
+ * exponential backoff starting at aws.dynamodb.batch.retry.backoff.millis, at most aws.dynamodb.batch.max.retries times.
+ * The latency of every page is logged at debug level and a summary of the load at info level.
+ * @see <a href="https://docs.aws.amazon.com/amazondynamodb/latest/APIReference/API_BatchGetItem.html">BatchGetItem</a>
+ */
+@Slf4j
+@Component
+public class DynamoDbBatchLoader {
+
+	public static final int MAXIMUM_KEYS_PER_BATCH = 100;
+
+	private static final int MAXIMUM_BACKOFF_EXPONENT = 6;
+
+	@Value("${aws.dynamodb.batch.get.threads}")
+	private int threads;
+
+	@Value("${aws.dynamodb.batch.max.retries}")
+	private int maxRetries;
+
+	@Value("${aws.dynamodb.batch.retry.backoff.millis}")
+	private long retryBackoffMillis;
+
+	@Autowired
+	private AmazonDynamoDB amazonDynamoDB;
+
+	@Autowired
+	private DynamoDBMapperConfig dynamoDBMapperConfig;
+
+	private DynamoDBMapper dynamoDBMapper;
+	private ExecutorService executorService;
+
+	private static class Page<R> {
+		private final int index;
+		private final List<R> items;
+		private final long latency;
+
+		private Page(int index, List<R> items, long latency) {
+			this.index = index;
+			this.items = items;
+			this.latency = latency;
+		}
+	}
+
+	@PostConstruct
+	public void start() {
+		dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, dynamoDBMapperConfig);
+		executorService = Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+	}
+
+	@PreDestroy
+	public void stop() {
+		executorService.shutdownNow();
+	}
+
+	/**
+	 * Loads the items with the given hash keys. Each page is converted by <code>mapper</code> as soon as it arrives, on the
+	 * worker of the pool that read it while the remaining pages are still being read, so <code>mapper</code> must be safe to
+	 * call from several threads. Only a load of a single page runs on the calling thread.
+	 * @param clazz class mapped to the table with {@link DynamoDBTable} and a {@link DynamoDBHashKey} field
+	 * @param keys hash keys, duplicates are read once
+	 * @return the converted items in the order of the keys, keys without an item are skipped
+	 */
+	public <T, R> List<R> loadAll(Class<T> clazz, Collection<?> keys, Function<? super T, ? extends R> mapper) {
+		return loadAll(clazz, keys, item -> dynamoDBMapper.marshallIntoObject(clazz, item), mapper);
+	}
+
+	/**
+	 * Same as {@link #loadAll(Class, Collection, Function)} for a table whose items may have a compressed attribute.
+	 */
+	public <T, R> List<R> loadAll(CompressedAttribute<T, ?> compressedAttribute, Collection<?> keys, Function<? super T, ? extends R> mapper) {
+		return loadAll(compressedAttribute.getItemClass(), keys, item -> compressedAttribute.fromAttributeValues(dynamoDBMapper, item), mapper);
+	}
+
+	private <T, R> List<R> loadAll(Class<T> clazz, Collection<?> keys, Function<Map<String, AttributeValue>, T> unmarshaller,
+			Function<? super T, ? extends R> mapper) {
+		List<List<Object>> keyPages = partition(keys);
+		if (keyPages.isEmpty()) {
+			return new ArrayList<>();
+		}
+		DynamoDbTableKey tableKey = DynamoDbTableKey.forClass(clazz, dynamoDBMapperConfig);
+		List<List<R>> pages = new ArrayList<>(Collections.nCopies(keyPages.size(), null));
+		long start = System.currentTimeMillis();
+		long slowestPage = 0;
+		if (keyPages.size() == 1) {
+			Page<R> page = loadPage(tableKey, 0, keyPages.get(0), unmarshaller, mapper);
+			pages.set(0, page.items);
+			slowestPage = page.latency;
+		} else {
+			CompletionService<Page<R>> completionService = new ExecutorCompletionService<>(executorService);
+			List<Future<Page<R>>> futures = new ArrayList<>(keyPages.size());
+			try {
+				for (int i = 0; i < keyPages.size(); i++) {
+					int index = i;
+					futures.add(completionService.submit(() -> loadPage(tableKey, index, keyPages.get(index), unmarshaller, mapper)));
+				}
+				for (int i = 0; i < keyPages.size(); i++) {
+					Page<R> page = completionService.take().get();
+					pages.set(page.index, page.items);
+					slowestPage = Math.max(slowestPage, page.latency);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while loading " + keys.size() + " items from " + tableKey.getTableName(), e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException("Unable to load " + keys.size() + " items from " + tableKey.getTableName(), e.getCause());
+			} finally {
+				for (Future<Page<R>> future : futures) {
+					future.cancel(true);
+				}
+			}
+		}
+		List<R> items = new ArrayList<>(keys.size());
+		for (List<R> page : pages) {
+			items.addAll(page);
+		}
+		log.info("Loaded {} items for {} keys from {} in {} batches in {} ms, slowest batch {} ms", items.size(), keys.size(),
+				tableKey.getTableName(), keyPages.size(), System.currentTimeMillis() - start, slowestPage);
+		return items;
+	}
+
+	private <T, R> Page<R> loadPage(DynamoDbTableKey tableKey, int index, List<Object> keys,
+			Function<Map<String, AttributeValue>, T> unmarshaller, Function<? super T, ? extends R> mapper) {
+		long start = System.currentTimeMillis();
+		List<Map<String, AttributeValue>> keyAttributes = new ArrayList<>(keys.size());
+		for (Object key : keys) {
+			keyAttributes.add(Collections.singletonMap(tableKey.getAttributeName(), tableKey.toAttributeValue(key)));
+		}
+		Map<AttributeValue, Map<String, AttributeValue>> items = new HashMap<>();
+		Map<String, KeysAndAttributes> requestItems = Collections.singletonMap(tableKey.getTableName(),
+				new KeysAndAttributes().withKeys(keyAttributes).withConsistentRead(false));
+		int retries = 0;
+		while (true) {
+			BatchGetItemResult result = amazonDynamoDB.batchGetItem(new BatchGetItemRequest().withRequestItems(requestItems));
+			List<Map<String, AttributeValue>> responses = result.getResponses().get(tableKey.getTableName());
+			if (responses != null) {
+				for (Map<String, AttributeValue> item : responses) {
+					items.put(item.get(tableKey.getAttributeName()), item);
+				}
+			}
+			requestItems = result.getUnprocessedKeys();
+			if (requestItems == null || requestItems.isEmpty()) {
+				break;
+			}
+			if (retries >= maxRetries) {
+				throw new IllegalStateException(requestItems.get(tableKey.getTableName()).getKeys().size() + " keys of a batch from "
+						+ tableKey.getTableName() + " are still unprocessed after " + retries + " retries");
+			}
+			backOff(retryBackoffMillis, retries++);
+		}
+
+		List<R> page = new ArrayList<>(items.size());
+		for (Map<String, AttributeValue> key : keyAttributes) {
+			Map<String, AttributeValue> item = items.get(key.get(tableKey.getAttributeName()));
+			if (item != null) {
+				page.add(mapper.apply(unmarshaller.apply(item)));
+			}
+		}
+		long latency = System.currentTimeMillis() - start;
+		log.debug("Batch {} of {} returned {} of {} keys in {} ms with {} retries", index, tableKey.getTableName(), page.size(),
+				keys.size(), latency, retries);
+		return new Page<>(index, page, latency);
+	}
+
+	/**
+	 * Waits before retrying the unprocessed part of a batch request, twice as long after every retry.
+	 */
+	static void backOff(long retryBackoffMillis, int retry) {
+		try {
+			Thread.sleep(retryBackoffMillis << Math.min(retry, MAXIMUM_BACKOFF_EXPONENT));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while retrying an unprocessed batch", e);
+		}
+	}
+
+	private static List<List<Object>> partition(Collection<?> keys) {
+		List<Object> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+		List<List<Object>> keyPages = new ArrayList<>();
+		for (int from = 0; from < distinctKeys.size(); from += MAXIMUM_KEYS_PER_BATCH) {
+			keyPages.add(distinctKeys.subList(from, Math.min(from + MAXIMUM_KEYS_PER_BATCH, distinctKeys.size())));
+		}
+		return keyPages;
+	}
+}
@@ -0,0 +1,119 @@
+package reciter.database.dynamodb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+/**
+ * Writes and reads items with a {@link CompressedAttribute}. Whether an item fits is decided up front from the size of its
+ * compressed attribute (aws.dynamodb.item.compression.maximum.bytes), so callers move items that are too large to S3 or
+ * skip them before sending a request that would be rejected.
+ * <p>
+ * Items are written compressed only while aws.dynamodb.item.compression is true; they are read in either format.
+ */
+@Component
+public class DynamoDbCompressedOperations {
+
+	public static final int MAXIMUM_ITEMS_PER_BATCH_WRITE = 25;
+
+	@Value("${aws.dynamodb.item.compression}")
+	private boolean compression;
+
+	@Value("${aws.dynamodb.item.compression.maximum.bytes}")
+	private int maximumCompressedBytes;
+
+	@Value("${aws.dynamodb.batch.max.retries}")
+	private int maxRetries;
+
+	@Value("${aws.dynamodb.batch.retry.backoff.millis}")
+	private long retryBackoffMillis;
+
+	@Autowired
+	private AmazonDynamoDB amazonDynamoDB;
+
+	@Autowired
+	private DynamoDBMapperConfig dynamoDBMapperConfig;
+
+	private DynamoDBMapper dynamoDBMapper;
+
+	@PostConstruct
+	public void start() {
+		dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, dynamoDBMapperConfig);
+	}
+
+	public boolean isCompression() {
+		return compression;
+	}
+
+	/**
+	 * @param compressed result of {@link CompressedAttribute#encode(Object)}
+	 * @return true if the item can be stored in DynamoDB with this compressed attribute
+	 */
+	public boolean fits(byte[] compressed) {
+		return compressed == null || compressed.length <= maximumCompressedBytes;
+	}
+
+	public <T> void save(CompressedAttribute<T, ?> compressedAttribute, T item, byte[] compressed) {
+		amazonDynamoDB.putItem(DynamoDbTableKey.forClass(compressedAttribute.getItemClass(), dynamoDBMapperConfig).getTableName(),
+				compressedAttribute.toAttributeValues(dynamoDBMapper, item, compressed));
+	}
+
+	/**
+	 * Writes the items in batches of {@link #MAXIMUM_ITEMS_PER_BATCH_WRITE}, retrying unprocessed items like
+	 * {@link DynamoDbBatchLoader} retries unprocessed keys.
+	 * @param compressed compressed attribute of each item, in the order of the items
+	 */
+	public <T> void saveAll(CompressedAttribute<T, ?> compressedAttribute, List<T> items, List<byte[]> compressed) {
+		String tableName = DynamoDbTableKey.forClass(compressedAttribute.getItemClass(), dynamoDBMapperConfig).getTableName();
+		for (int from = 0; from < items.size(); from += MAXIMUM_ITEMS_PER_BATCH_WRITE) {
+			List<WriteRequest> writeRequests = new ArrayList<>(MAXIMUM_ITEMS_PER_BATCH_WRITE);
+			for (int i = from; i < Math.min(from + MAXIMUM_ITEMS_PER_BATCH_WRITE, items.size()); i++) {
+				writeRequests.add(new WriteRequest(new PutRequest(
+						compressedAttribute.toAttributeValues(dynamoDBMapper, items.get(i), compressed.get(i)))));
+			}
+			Map<String, List<WriteRequest>> requestItems = Collections.singletonMap(tableName, writeRequests);
+			int retries = 0;
+			while (true) {
+				BatchWriteItemResult result = amazonDynamoDB.batchWriteItem(new BatchWriteItemRequest().withRequestItems(requestItems));
+				requestItems = result.getUnprocessedItems();
+				if (requestItems == null || requestItems.isEmpty()) {
+					break;
+				}
+				if (retries >= maxRetries) {
+					throw new IllegalStateException(requestItems.get(tableName).size() + " items of a batch to " + tableName
+							+ " are still unprocessed after " + retries + " retries");
+				}
+				DynamoDbBatchLoader.backOff(retryBackoffMillis, retries++);
+			}
+		}
+	}
+
+	/**
+	 * @return the item with the hash key or null if there is none
+	 */
+	public <T> T load(CompressedAttribute<T, ?> compressedAttribute, Object key) {
+		DynamoDbTableKey tableKey = DynamoDbTableKey.forClass(compressedAttribute.getItemClass(), dynamoDBMapperConfig);
+		GetItemResult result = amazonDynamoDB.getItem(tableKey.getTableName(),
+				Collections.singletonMap(tableKey.getAttributeName(), tableKey.toAttributeValue(key)));
+		if (result.getItem() == null) {
+			return null;
+		}
+		return compressedAttribute.fromAttributeValues(dynamoDBMapper, result.getItem());
+	}
+}
@@ -1,134 +1,149 @@
 package reciter.database.dynamodb;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.PostConstruct;
 
-import org.apache.commons.io.IOUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.GetObjectRequest;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
-import com.amazonaws.services.s3.model.S3Object;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.extern.slf4j.Slf4j;
-import reciter.engine.analysis.ReCiterFeature;
+import reciter.storage.LargeItemStore;
+import reciter.storage.S3LargeItemStore;
 
 /**
  * This class allows you to store dynamodb items which exceeds dynamodb item limit of 400kb in s3.
  * Pre-requisite s3 properties should be set in application properties
+ * <p>
+ * Items are serialized by Jackson straight into the (gzip compressed if aws.s3.dynamodb.compression is true) upload buffer
+ * and parsed straight from the downloaded stream, without an intermediate String. Items are read back in either format.
  * @author Sarbajit Dutta(szd2013)
  *
  */
 @Slf4j
 @Component
 public class DynamoDbS3Operations {
-	
-	@Autowired
+
+	@Autowired(required = false)
 	private AmazonS3 s3;
-	
+
+	@Value("${aws.s3.dynamodb.compression}")
+	private boolean compression;
+
+	private LargeItemStore largeItemStore;
+
 	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-	
+
 	private static final String CONTENT_TYPE = "application/json";
-	
+
+	private static final String GZIP_CONTENT_ENCODING = "gzip";
+
+	public DynamoDbS3Operations() {
+	}
+
+	/**
+	 * @param largeItemStore store used in place of S3, e.g. a store in a local directory in tests
+	 */
+	public DynamoDbS3Operations(LargeItemStore largeItemStore, boolean compression) {
+		this.largeItemStore = largeItemStore;
+		this.compression = compression;
+	}
+
+	@PostConstruct
+	public void init() {
+		if(largeItemStore == null && s3 != null) {
+			largeItemStore = new S3LargeItemStore(s3);
+		}
+	}
+
 	/**
-	 * This function stores large object which has size more than 400kb.
+	 * This function stores large object which has size more than 400kb, replacing the object stored earlier under the key.
 	 * @param bucketName
 	 * @param object
 	 * @param keyName
 	 */
 	public void saveLargeItem(String bucketName, Object object, String keyName) {
-		
-		if(!s3.doesObjectExist(bucketName.toLowerCase(), keyName)) {
-			
-			//AmazonS3Config.createFolder(bucketName, AnalysisOutput.class.getName(), s3);
-			String objectContentString = null;
-			try {
-				objectContentString = OBJECT_MAPPER.writeValueAsString(object);
-			} catch (JsonProcessingException e) {
-				log.error(e.getMessage());
-			}
-			byte[] objectContentBytes = objectContentString.getBytes(StandardCharsets.UTF_8);
-			InputStream fileInputStream = new ByteArrayInputStream(objectContentBytes);
-			ObjectMetadata metadata = new ObjectMetadata();
-			metadata.setContentType(CONTENT_TYPE);
-			metadata.setContentLength(objectContentBytes.length);
-			PutObjectRequest putObjectRequest = new PutObjectRequest(
-					bucketName.toLowerCase(), keyName, fileInputStream, metadata);
-			try{
-				s3.putObject(putObjectRequest);
-			} catch(AmazonServiceException e) {
-				// The call was transmitted successfully, but Amazon S3 couldn't process 
-	            // it, so it returned an error response.
-				log.error(e.getErrorMessage());
-			}
-		} else {
-			log.info("Deleting Object from bucket " + bucketName + " with keyName " + keyName);
-			s3.deleteObject(bucketName.toLowerCase(), keyName);
-			//Delete the object and insert it again
-			String objectContentString = null;
-			try {
-				objectContentString = OBJECT_MAPPER.writeValueAsString(object);
-			} catch (JsonProcessingException e) {
-				log.error(e.getMessage());
-			}
-			byte[] objectContentBytes = objectContentString.getBytes(StandardCharsets.UTF_8);
-			InputStream fileInputStream = new ByteArrayInputStream(objectContentBytes);
-			ObjectMetadata metadata = new ObjectMetadata();
-			metadata.setContentType(CONTENT_TYPE);
-			metadata.setContentLength(objectContentBytes.length);
-			PutObjectRequest putObjectRequest = new PutObjectRequest(
-					bucketName.toLowerCase(), keyName, fileInputStream, metadata);
-			try{
-				s3.putObject(putObjectRequest);
-			}
-			catch(AmazonServiceException e) {
-				// The call was transmitted successfully, but Amazon S3 couldn't process 
-	            // it, so it returned an error response.
-				log.error(e.getErrorMessage());
+		try {
+			byte[] objectContentBytes;
+			if(compression) {
+				ByteArrayOutputStream compressedContent = new ByteArrayOutputStream();
+				try(OutputStream outputStream = new GZIPOutputStream(compressedContent)) {
+					OBJECT_MAPPER.writeValue(outputStream, object);
+				}
+				objectContentBytes = compressedContent.toByteArray();
+			} else {
+				objectContentBytes = OBJECT_MAPPER.writeValueAsBytes(object);
 			}
+			largeItemStore.put(bucketName, keyName, new ByteArrayInputStream(objectContentBytes), objectContentBytes.length,
+					CONTENT_TYPE, compression ? GZIP_CONTENT_ENCODING : null);
+		} catch(AmazonServiceException e) {
+			// The call was transmitted successfully, but Amazon S3 couldn't process
+            // it, so it returned an error response.
+			log.error(e.getErrorMessage());
+		} catch(IOException e) {
+			log.error(e.getMessage());
 		}
 	}
-	
+
 	/**
 	 * This function retrieves large object from S3
 	 * @param bucketName
 	 * @param keyName
 	 * @param objectClass
-	 * @return
+	 * @return the object or null if it is not stored or cannot be read
 	 */
-	public <T> Object retrieveLargeItem(String bucketName, String keyName, Class<T> objectClass) {
-		try {
-			S3Object s3Object = s3.getObject(new GetObjectRequest(bucketName.toLowerCase(), keyName));
-			String objectContent = IOUtils.toString(s3Object.getObjectContent(), StandardCharsets.UTF_8);
-			if(objectClass == ReCiterFeature.class) {
-				ReCiterFeature reCiterFeature = OBJECT_MAPPER.readValue(objectContent, ReCiterFeature.class);
-				return reCiterFeature;
+	public <T> T retrieveLargeItem(String bucketName, String keyName, Class<T> objectClass) {
+		try(InputStream objectContent = largeItemStore.get(bucketName, keyName)) {
+			if(objectContent == null) {
+				log.error("No object in bucket " + bucketName + " with keyName " + keyName);
+				return null;
 			}
-			
+			return OBJECT_MAPPER.readValue(decode(objectContent), objectClass);
 		} catch (IOException | AmazonServiceException e) {
 			log.error(e.getMessage());
 		}
 		return null;
-		
 	}
-	
+
+	/**
+	 * Objects written before compression are plain JSON, so the format is recognized from the gzip magic number rather
+	 * than from the setting.
+	 */
+	private static InputStream decode(InputStream objectContent) throws IOException {
+		InputStream inputStream = new BufferedInputStream(objectContent);
+		inputStream.mark(2);
+		int first = inputStream.read();
+		int second = inputStream.read();
+		inputStream.reset();
+		if(first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >> 8)) {
+			return new GZIPInputStream(inputStream);
+		}
+		return inputStream;
+	}
+
 	/**
 	 * This function delete large objects from S3
 	 * @param bucketName
 	 * @param keyName
 	 */
 	public void deleteLargeItem(String bucketName, String keyName) {
-		if(s3.doesObjectExist(bucketName.toLowerCase(), keyName)) {
-			log.info("Deleting Object from bucket " + bucketName + " with keyName " + keyName);
-			s3.deleteObject(bucketName.toLowerCase(), keyName);
+		log.info("Deleting Object from bucket " + bucketName + " with keyName " + keyName);
+		try {
+			largeItemStore.delete(bucketName, keyName);
+		} catch (IOException | AmazonServiceException e) {
+			log.error(e.getMessage());
 		}
 	}
 }
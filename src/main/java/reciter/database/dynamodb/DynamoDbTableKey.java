@@ -0,0 +1,77 @@
+package reciter.database.dynamodb;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.ClassUtils;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.DefaultTableNameResolver;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.TableNameResolver;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMappingException;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+
+/**
+ * Table name and hash key of a mapped class, for the requests sent without the {@link com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper}.
+ * The table name is resolved with the {@link DynamoDBMapperConfig} of the mapper, so a table name override applies to
+ * these requests too.
+ */
+final class DynamoDbTableKey {
+
+	private static final Map<Class<?>, DynamoDbTableKey> tableKeys = new ConcurrentHashMap<>();
+
+	private final String tableName;
+	private final String attributeName;
+	private final boolean numeric;
+
+	private DynamoDbTableKey(String tableName, String attributeName, boolean numeric) {
+		this.tableName = tableName;
+		this.attributeName = attributeName;
+		this.numeric = numeric;
+	}
+
+	static DynamoDbTableKey forClass(Class<?> clazz, DynamoDBMapperConfig dynamoDBMapperConfig) {
+		DynamoDbTableKey tableKey = tableKeys.computeIfAbsent(clazz, DynamoDbTableKey::resolve);
+		TableNameResolver tableNameResolver = dynamoDBMapperConfig == null || dynamoDBMapperConfig.getTableNameResolver() == null
+				? DefaultTableNameResolver.INSTANCE : dynamoDBMapperConfig.getTableNameResolver();
+		String tableName = tableNameResolver.getTableName(clazz, dynamoDBMapperConfig == null ? DynamoDBMapperConfig.DEFAULT : dynamoDBMapperConfig);
+		if (tableName.equals(tableKey.tableName)) {
+			return tableKey;
+		}
+		return new DynamoDbTableKey(tableName, tableKey.attributeName, tableKey.numeric);
+	}
+
+	String getTableName() {
+		return tableName;
+	}
+
+	String getAttributeName() {
+		return attributeName;
+	}
+
+	AttributeValue toAttributeValue(Object key) {
+		return numeric ? new AttributeValue().withN(key.toString()) : new AttributeValue().withS(key.toString());
+	}
+
+	/**
+	 * Same lookup of the table name and hash key as the table creation in {@link DynamoDbConfig}, before any override.
+	 */
+	private static DynamoDbTableKey resolve(Class<?> clazz) {
+		DynamoDBTable table = clazz.getAnnotation(DynamoDBTable.class);
+		if (table == null) {
+			throw new DynamoDBMappingException(String.format("The class %s is not mapped to a table", clazz.getName()));
+		}
+		for (Field field : clazz.getDeclaredFields()) {
+			DynamoDBHashKey hashKey = field.getAnnotation(DynamoDBHashKey.class);
+			if (hashKey != null) {
+				String attributeName = hashKey.attributeName().isEmpty() ? field.getName() : hashKey.attributeName();
+				return new DynamoDbTableKey(table.tableName(), attributeName,
+						Number.class.isAssignableFrom(ClassUtils.primitiveToWrapper(field.getType())));
+			}
+		}
+		throw new DynamoDBMappingException(String.format("The class %s has a not valid Dynamo Hash Key", clazz.getName()));
+	}
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.engine;
+
+import lombok.Getter;
+import reciter.api.parameters.UseGoldStandard;
+
+/**
+ * Immutable state of a single engine run. It is created once per feature generation request and handed to the clusterer,
+ * the article scorer and every strategy so that concurrent runs on the same JVM never share mutable configuration.
+ * <p>
+ * The {@link StrategyParameters} singleton only holds values bound from application.properties at startup; anything that
+ * varies per request (e.g. whether the gold standard is used as evidence) lives here.
+ */
+@Getter
+public final class EngineContext {
+
+	private final StrategyParameters strategyParameters;
+
+	/**
+	 * Use accepted/rejected articles as evidence. When false the gold standard is only used for testing.
+	 */
+	private final boolean useGoldStandardEvidence;
+
+	private final double clusterSimilarityThresholdScore;
+
+	private final double clusteringGrantsThreshold;
+
+	private final boolean indexedClusterMerging;
+
+	public EngineContext(StrategyParameters strategyParameters, boolean useGoldStandardEvidence) {
+		this.strategyParameters = strategyParameters;
+		this.useGoldStandardEvidence = useGoldStandardEvidence;
+		this.clusterSimilarityThresholdScore = strategyParameters.getClusterSimilarityThresholdScore();
+		this.clusteringGrantsThreshold = strategyParameters.getClusteringGrantsThreshold();
+		this.indexedClusterMerging = strategyParameters.isIndexedClusterMerging();
+	}
+
+	/**
+	 * @param strategyParameters application wide strategy parameters
+	 * @param useGoldStandard requested gold standard mode, null defaults to {@link UseGoldStandard#AS_EVIDENCE}
+	 * @return context for one engine run
+	 */
+	public static EngineContext of(StrategyParameters strategyParameters, UseGoldStandard useGoldStandard) {
+		return new EngineContext(strategyParameters, useGoldStandard != UseGoldStandard.FOR_TESTING_ONLY);
+	}
+}
@@ -25,6 +25,9 @@ import reciter.model.article.ReCiterArticle;
 import reciter.model.identity.Identity;
 import reciter.model.pubmed.PubMedArticle;
 import reciter.model.scopus.ScopusArticle;
+import reciter.utils.GenderIndex;
+import reciter.utils.ScienceMetrixDepartmentCategoryIndex;
+import reciter.utils.ScienceMetrixJournalIndex;
 
 import java.util.List;
 import java.util.Map;
@@ -43,14 +46,30 @@ public class EngineParameters {
 	@Setter
     private static Map<String, List<String>> afiliationNameToAfidMap;
 	@Getter
-	@Setter
     private static List<ScienceMetrix> scienceMetrixJournals;
 	@Getter
-	@Setter
     private static List<ScienceMetrixDepartmentCategory> scienceMetrixDepartmentCategories;
+	
+	/**
+	 * ISSN index over {@link #scienceMetrixJournals}. Replaced as a whole whenever the journals are set so a running
+	 * strategy always sees one consistent version.
+	 */
+	@Getter
+	private static volatile ScienceMetrixJournalIndex scienceMetrixJournalIndex;
+	
+	/**
+	 * Subfield index over {@link #scienceMetrixDepartmentCategories}, replaced as a whole like the journal index.
+	 */
+	@Getter
+	private static volatile ScienceMetrixDepartmentCategoryIndex scienceMetrixDepartmentCategoryIndex;
 	@Getter
-	@Setter
     private static List<Gender> genders;
+	
+	/**
+	 * Name index over {@link #genders}, rebuilt whenever the genders are set.
+	 */
+	@Getter
+	private static GenderIndex genderIndex;
     private Identity identity;
     private List<PubMedArticle> pubMedArticles;
     private List<ScopusArticle> scopusArticles;
@@ -58,4 +77,20 @@ public class EngineParameters {
     private List<Long> knownPmids;
     private List<Long> rejectedPmids;
     private double totalStandardzizedArticleScore;
+    private EngineRunSnapshot runSnapshot;
+    
+    public static void setScienceMetrixJournals(List<ScienceMetrix> scienceMetrixJournals) {
+    	EngineParameters.scienceMetrixJournalIndex = (scienceMetrixJournals == null) ? null : new ScienceMetrixJournalIndex(scienceMetrixJournals);
+    	EngineParameters.scienceMetrixJournals = scienceMetrixJournals;
+    }
+    
+    public static void setScienceMetrixDepartmentCategories(List<ScienceMetrixDepartmentCategory> scienceMetrixDepartmentCategories) {
+    	EngineParameters.scienceMetrixDepartmentCategoryIndex = (scienceMetrixDepartmentCategories == null) ? null : new ScienceMetrixDepartmentCategoryIndex(scienceMetrixDepartmentCategories);
+    	EngineParameters.scienceMetrixDepartmentCategories = scienceMetrixDepartmentCategories;
+    }
+    
+    public static void setGenders(List<Gender> genders) {
+    	EngineParameters.genderIndex = (genders == null) ? null : new GenderIndex(genders);
+    	EngineParameters.genders = genders;
+    }
 }
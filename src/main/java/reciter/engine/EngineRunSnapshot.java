@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.engine;
+
+import lombok.Getter;
+import reciter.database.dynamodb.model.ESearchResult;
+import reciter.database.dynamodb.model.GoldStandard;
+import reciter.database.dynamodb.model.QueryType;
+
+/**
+ * Records of the person an engine run scores. They are read from DynamoDB once while the engine parameters are
+ * initialized, and the candidate articles, the known and rejected pmids and the strategies that need them all read
+ * them from the snapshot, so neither the initialization nor the scoring of the clusters of a person reads the same
+ * search result twice.
+ * <p>
+ * Unlike the {@link EngineContext}, which a batch shares between people, a snapshot belongs to a single person.
+ */
+@Getter
+public final class EngineRunSnapshot {
+
+	/**
+	 * Search result of the last retrieval, null if the person has none.
+	 */
+	private final ESearchResult eSearchResult;
+
+	/**
+	 * Accepted and rejected articles, null if the person has no feedback yet.
+	 */
+	private final GoldStandard goldStandard;
+
+	/**
+	 * Lookup type of the retrieval, null if unknown.
+	 */
+	private final QueryType queryType;
+
+	/**
+	 * Number of candidate articles scored in this run.
+	 */
+	private final int numberOfArticles;
+
+	/**
+	 * Snapshot taken before the candidate articles are known, see {@link #withNumberOfArticles(int)}.
+	 */
+	public EngineRunSnapshot(ESearchResult eSearchResult, GoldStandard goldStandard) {
+		this(eSearchResult, goldStandard, 0);
+	}
+
+	public EngineRunSnapshot(ESearchResult eSearchResult, GoldStandard goldStandard, int numberOfArticles) {
+		this.eSearchResult = eSearchResult;
+		this.goldStandard = goldStandard;
+		this.queryType = eSearchResult == null ? null : eSearchResult.getQueryType();
+		this.numberOfArticles = numberOfArticles;
+	}
+
+	/**
+	 * @return the same records with the number of candidate articles translated from the search result
+	 */
+	public EngineRunSnapshot withNumberOfArticles(int numberOfArticles) {
+		return new EngineRunSnapshot(eSearchResult, goldStandard, numberOfArticles);
+	}
+}
@@ -0,0 +1,149 @@
+package reciter.engine;
+
+import org.springframework.beans.BeanUtils;
+
+import reciter.api.parameters.FilterFeedbackType;
+import reciter.engine.analysis.ReCiterArticleFeature;
+import reciter.engine.analysis.ReCiterArticleFeature.PublicationFeedback;
+import reciter.engine.analysis.ReCiterFeature;
+import reciter.engine.erroranalysis.Analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Selects the article features of a ReCiterFeature to return for a {@link FilterFeedbackType}. Articles without feedback
+ * are selected when their standardized score is at least the total score, accepted and rejected articles regardless of
+ * their score. A null filter selects the same articles as {@link FilterFeedbackType#ALL}.
+ * <p>
+ * The filter never modifies the ReCiterFeature it is given, which may be the analysis shared by all requests through the
+ * analysis cache. It returns a shallow copy holding the selected article features, so the response is serialized straight
+ * from the stored features. The selected features, their pmids and the pmids of all articles are collected in a single pass.
+ */
+public class FeedbackFilter implements Predicate<ReCiterArticleFeature> {
+
+    private final FilterFeedbackType filterByFeedback;
+    private final double totalScore;
+
+    public FeedbackFilter(FilterFeedbackType filterByFeedback, double totalScore) {
+        this.filterByFeedback = filterByFeedback == null ? FilterFeedbackType.ALL : filterByFeedback;
+        this.totalScore = totalScore;
+    }
+
+    @Override
+    public boolean test(ReCiterArticleFeature reCiterArticleFeature) {
+        PublicationFeedback userAssertion = reCiterArticleFeature.getUserAssertion();
+        boolean suggested = userAssertion == PublicationFeedback.NULL
+                && reCiterArticleFeature.getTotalArticleScoreStandardized() >= totalScore;
+        switch (filterByFeedback) {
+            case ACCEPTED_ONLY:
+                return userAssertion == PublicationFeedback.ACCEPTED;
+            case REJECTED_ONLY:
+                return userAssertion == PublicationFeedback.REJECTED;
+            case ACCEPTED_AND_NULL:
+                return suggested || userAssertion == PublicationFeedback.ACCEPTED;
+            case REJECTED_AND_NULL:
+                return suggested || userAssertion == PublicationFeedback.REJECTED;
+            case ACCEPTED_AND_REJECTED:
+                return userAssertion == PublicationFeedback.ACCEPTED || userAssertion == PublicationFeedback.REJECTED;
+            case NULL:
+                return suggested;
+            default:
+                return suggested || userAssertion == PublicationFeedback.ACCEPTED || userAssertion == PublicationFeedback.REJECTED;
+        }
+    }
+
+    /**
+     * @return a copy of the feature with the selected articles and their count
+     */
+    public ReCiterFeature filter(ReCiterFeature reCiterFeature) {
+        ReCiterFeature filtered = copy(reCiterFeature);
+        filtered.setReCiterArticleFeatures(select(reCiterFeature, true, null, null));
+        filtered.setCountSuggestedArticles(filtered.getReCiterArticleFeatures().size());
+        return filtered;
+    }
+
+    /**
+     * Same as {@link #filter(ReCiterFeature)}, also replacing the precision, recall and overall accuracy of the feature
+     * by those of the selected articles against the known pmids.
+     */
+    public ReCiterFeature filter(ReCiterFeature reCiterFeature, List<Long> knownPmids) {
+        List<Long> pmids = new ArrayList<>();
+        List<Long> selectedPmids = new ArrayList<>();
+        ReCiterFeature filtered = copy(reCiterFeature);
+        filtered.setReCiterArticleFeatures(select(reCiterFeature, true, pmids, selectedPmids));
+        filtered.setCountSuggestedArticles(filtered.getReCiterArticleFeatures().size());
+        Analysis featureAnalysis = Analysis.performAnalysis(pmids, selectedPmids, knownPmids);
+        filtered.setPrecision(featureAnalysis.getPrecision());
+        filtered.setRecall(featureAnalysis.getRecall());
+        filtered.setOverallAccuracy(featureAnalysis.getAccuracy());
+        return filtered;
+    }
+
+    /**
+     * @return a copy of the feature with the selected articles without their evidence and without the gold standard
+     * analysis, as returned by the article retrieval api
+     */
+    public ReCiterFeature filterWithoutEvidence(ReCiterFeature reCiterFeature) {
+        ReCiterFeature filtered = copy(reCiterFeature);
+        filtered.setReCiterArticleFeatures(select(reCiterFeature, false, null, null));
+        filtered.setInGoldStandardButNotRetrieved(null);
+        filtered.setPrecision(null);
+        filtered.setRecall(null);
+        filtered.setOverallAccuracy(null);
+        return filtered;
+    }
+
+    /**
+     * Selects the articles stored with an analysis: those whose standardized score is at least the minimum storage
+     * threshold, and the accepted and rejected ones regardless of their score. Like the other filters it returns a copy,
+     * so the response can still be filtered from all the articles of the engine output with a lower total score.
+     * @return a copy of the feature with the stored articles and their count
+     */
+    public static ReCiterFeature filterForStorage(ReCiterFeature reCiterFeature, double minimumStorageThreshold) {
+        List<ReCiterArticleFeature> storedFeatures = new ArrayList<>();
+        for (ReCiterArticleFeature reCiterArticleFeature : reCiterFeature.getReCiterArticleFeatures()) {
+            if (reCiterArticleFeature.getTotalArticleScoreStandardized() >= minimumStorageThreshold
+                    || reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED
+                    || reCiterArticleFeature.getUserAssertion() == PublicationFeedback.REJECTED) {
+                storedFeatures.add(reCiterArticleFeature);
+            }
+        }
+        ReCiterFeature stored = copy(reCiterFeature);
+        stored.setReCiterArticleFeatures(storedFeatures);
+        stored.setCountSuggestedArticles(storedFeatures.size());
+        return stored;
+    }
+
+    private List<ReCiterArticleFeature> select(ReCiterFeature reCiterFeature, boolean evidence, List<Long> pmids, List<Long> selectedPmids) {
+        List<ReCiterArticleFeature> reCiterArticleFeatures = reCiterFeature.getReCiterArticleFeatures() == null
+                ? Collections.emptyList() : reCiterFeature.getReCiterArticleFeatures();
+        List<ReCiterArticleFeature> selectedFeatures = new ArrayList<>();
+        for (ReCiterArticleFeature reCiterArticleFeature : reCiterArticleFeatures) {
+            if (pmids != null) {
+                pmids.add(reCiterArticleFeature.getPmid());
+            }
+            if (test(reCiterArticleFeature)) {
+                if (selectedPmids != null) {
+                    selectedPmids.add(reCiterArticleFeature.getPmid());
+                }
+                if (evidence) {
+                    selectedFeatures.add(reCiterArticleFeature);
+                } else {
+                    ReCiterArticleFeature withoutEvidence = new ReCiterArticleFeature();
+                    BeanUtils.copyProperties(reCiterArticleFeature, withoutEvidence, "evidence");
+                    selectedFeatures.add(withoutEvidence);
+                }
+            }
+        }
+        return selectedFeatures;
+    }
+
+    private static ReCiterFeature copy(ReCiterFeature reCiterFeature) {
+        ReCiterFeature copy = new ReCiterFeature();
+        BeanUtils.copyProperties(reCiterFeature, copy, "reCiterArticleFeatures");
+        return copy;
+    }
+}
@@ -22,8 +22,10 @@ import lombok.extern.slf4j.Slf4j;
 import reciter.algorithm.cluster.Clusterer;
 import reciter.algorithm.cluster.ReCiterClusterer;
 import reciter.algorithm.cluster.article.scorer.ArticleScorer;
+import reciter.algorithm.cluster.article.scorer.ClusterScoringExecutor;
 import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.algorithm.tfidf.SparseTfIdf;
 import reciter.api.parameters.UseGoldStandard;
 import reciter.engine.analysis.ReCiterFeature;
 import reciter.engine.erroranalysis.Analysis;
@@ -36,26 +38,40 @@ import java.util.List;
 @Slf4j
 public class ReCiterEngine implements Engine {
 
-    public static double clusterSimilarityThresholdScore;
+    private final ClusterScoringExecutor clusterScoringExecutor;
 
-    public static double clutseringGrantsThreshold;
+    public ReCiterEngine() {
+        this(null);
+    }
+
+    /**
+     * @param clusterScoringExecutor shared pool scoring the clusters in parallel, null to score them one after another
+     */
+    public ReCiterEngine(ClusterScoringExecutor clusterScoringExecutor) {
+        this.clusterScoringExecutor = clusterScoringExecutor;
+    }
 
     @Override
-    public EngineOutput run(EngineParameters parameters, StrategyParameters strategyParameters, double filterScore) {
+    public EngineOutput run(EngineParameters parameters, EngineContext engineContext, double filterScore) {
 
         Identity identity = parameters.getIdentity();
-        clusterSimilarityThresholdScore = strategyParameters.getClusterSimilarityThresholdScore();
-        clutseringGrantsThreshold = strategyParameters.getClusteringGrantsThreshold();
 
         List<ReCiterArticle> reCiterArticles = parameters.getReciterArticles();
 
         Analysis.assignGoldStandard(reCiterArticles, parameters.getKnownPmids(), parameters.getRejectedPmids());
 
+        SparseTfIdf contentModel = null;
+        if (engineContext.getStrategyParameters().isContentSimilarity()) {
+            contentModel = SparseTfIdf.of(reCiterArticles);
+            log.info("Content similarity over " + contentModel.getNumberOfTerms() + " terms");
+        }
+
         // Perform Phase 1 clustering.
-        Clusterer clusterer = new ReCiterClusterer(identity, reCiterArticles);
+        Clusterer clusterer = new ReCiterClusterer(identity, reCiterArticles, engineContext, contentModel);
         clusterer.cluster();
 
-        ArticleScorer articleScorer = new ReCiterArticleScorer(clusterer.getClusters(), identity, strategyParameters);
+        ArticleScorer articleScorer = new ReCiterArticleScorer(clusterer.getClusters(), identity, engineContext, parameters.getRunSnapshot(), contentModel,
+                clusterScoringExecutor);
         articleScorer.runArticleScorer(clusterer.getClusters(), identity);
 
         log.info(clusterer.toString());
@@ -69,7 +85,7 @@ public class ReCiterEngine implements Engine {
         engineOutput.setReCiterClusters(reCiterClusters);
         ReCiterFeatureGenerator reCiterFeatureGenerator = new ReCiterFeatureGenerator();
         UseGoldStandard mode;
-        if (strategyParameters.isUseGoldStandardEvidence()) {
+        if (engineContext.isUseGoldStandardEvidence()) {
             mode = UseGoldStandard.AS_EVIDENCE;
         } else {
             mode = UseGoldStandard.FOR_TESTING_ONLY;
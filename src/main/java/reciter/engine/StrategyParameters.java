@@ -21,9 +21,11 @@ package reciter.engine;
 import lombok.Getter;
 import lombok.Setter;
 
+import javax.validation.constraints.DecimalMax;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -105,8 +107,6 @@ public class StrategyParameters {
     @Value("${strategy.mesh.major}")
     private boolean isMeshMajor;
 
-    private boolean useGoldStandardEvidence;
-    
     @NotEmpty(message = "namesIgnoredCoauthors should not be empty. Its a list of authors separated by commas who are two common in publications. We found these ones which can be ignored \"Wang Y, Wang J, Smith J, Kim S, Lee S, Lee J\". Notice the format is <lastName><space><firstInitial>.")
     @Value("${namesIgnoredCoauthors}")
     private String nameIgnoredCoAuthors;
@@ -122,6 +122,23 @@ public class StrategyParameters {
     @Positive(message = "clusteringGrants-threshold score needs to be a positive integer number.")
     @Value("${clusteringGrants-threshold}")
     private double clusteringGrantsThreshold;
+    
+    @Value("${cluster.indexed.merging}")
+    private boolean isIndexedClusterMerging;
+    
+    @Value("${cluster.content.similarity}")
+    private boolean isContentSimilarity;
+    
+    @Positive(message = "cluster.content.similarity.threshold.score needs to be a positive number.")
+    @Value("${cluster.content.similarity.threshold.score}")
+    private double contentSimilarityThresholdScore;
+    
+    @Value("${scoring.parallel.clusters}")
+    private boolean isParallelClusterScoring;
+    
+    @PositiveOrZero(message = "scoring.parallel.threads needs to be zero or a positive integer number.")
+    @Value("${scoring.parallel.threads}")
+    private int parallelClusterScoringThreads;
 
     @Value("${nameMatchFirstType.full-exact}")
     private double nameMatchFirstTypeFullExactScore;
@@ -297,6 +314,11 @@ public class StrategyParameters {
     @Value("${strategy.averageClusteringScoringStrategy.clusterReliabilityScoreFactor}")
     private double clusterReliabilityScoreFactor;
     
+    @PositiveOrZero(message = "strategy.averageClusteringScoringStrategy.contentCohesionWeight needs to be zero or a positive number below 1.")
+    @DecimalMax(value = "1", inclusive = false, message = "strategy.averageClusteringScoringStrategy.contentCohesionWeight needs to be zero or a positive number below 1.")
+    @Value("${strategy.averageClusteringScoringStrategy.contentCohesionWeight}")
+    private double contentCohesionWeight;
+    
     @NotEmpty(message = "standardizedScoreMapping cannot be empty. Please include a list of numbers delimited by commas.")
     @Value("${standardizedScoreMapping}")
     private String standardizedScoreMapping;
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.engine.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reciter.database.dynamodb.model.AnalysisOutput;
+import reciter.service.AnalysisService;
+
+/**
+ * Buffers the analysis of the workers of a batch and stores them with one bulk write per <code>batchSize</code> items.
+ * A write that fails is recorded against every uid of the failed batch, the workers carry on with the next person.
+ */
+public class AnalysisOutputBatchWriter {
+
+	private static final Logger slf4jLogger = LoggerFactory.getLogger(AnalysisOutputBatchWriter.class);
+
+	private final AnalysisService analysisService;
+	private final int batchSize;
+	private final FeatureGenerationJob job;
+	private final List<AnalysisOutput> buffer = new ArrayList<>();
+
+	public AnalysisOutputBatchWriter(AnalysisService analysisService, int batchSize, FeatureGenerationJob job) {
+		this.analysisService = analysisService;
+		this.batchSize = Math.max(batchSize, 1);
+		this.job = job;
+	}
+
+	public void write(AnalysisOutput analysisOutput) {
+		List<AnalysisOutput> batch = null;
+		synchronized (buffer) {
+			buffer.add(analysisOutput);
+			if (buffer.size() >= batchSize) {
+				batch = drain();
+			}
+		}
+		if (batch != null) {
+			save(batch);
+		}
+	}
+
+	/**
+	 * Stores the analysis still buffered. Called once all workers of the batch are done.
+	 */
+	public void flush() {
+		List<AnalysisOutput> batch;
+		synchronized (buffer) {
+			batch = drain();
+		}
+		if (!batch.isEmpty()) {
+			save(batch);
+		}
+	}
+
+	private void save(List<AnalysisOutput> batch) {
+		try {
+			analysisService.save(batch);
+		} catch (RuntimeException e) {
+			List<String> uids = batch.stream().map(AnalysisOutput::getUid).collect(Collectors.toList());
+			slf4jLogger.error("Storing the analysis of " + uids + " in batch job " + job.getJobId() + " failed", e);
+			job.recordStoreFailure(uids, e.getMessage());
+		}
+	}
+
+	private List<AnalysisOutput> drain() {
+		List<AnalysisOutput> batch = new ArrayList<>(buffer);
+		buffer.clear();
+		return batch;
+	}
+}
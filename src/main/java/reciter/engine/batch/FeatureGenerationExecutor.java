@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.engine.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Threads of the batch feature generation api, shared by all jobs. Jobs run one at a time on a single coordinator
+ * thread and hand the people of the job to feature.generator.batch.threads workers, so the number of threads does not
+ * grow with the number of jobs submitted. At most feature.generator.batch.max.queued.jobs jobs wait for the coordinator,
+ * further jobs are rejected.
+ */
+@Component
+public class FeatureGenerationExecutor {
+
+	@Value("${feature.generator.batch.threads}")
+	private int threads;
+
+	@Value("${feature.generator.batch.max.queued.jobs}")
+	private int maxQueuedJobs;
+
+	private ThreadPoolExecutor coordinator;
+
+	private ExecutorService workers;
+
+	public FeatureGenerationExecutor() {
+	}
+
+	/**
+	 * @param threads number of workers, 0 for the number of available processors
+	 * @param maxQueuedJobs number of jobs waiting for a running job to finish before further jobs are rejected
+	 */
+	public FeatureGenerationExecutor(int threads, int maxQueuedJobs) {
+		this.threads = threads;
+		this.maxQueuedJobs = maxQueuedJobs;
+		start();
+	}
+
+	@PostConstruct
+	public void start() {
+		coordinator = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(maxQueuedJobs, 1)),
+				new ThreadPoolExecutor.AbortPolicy());
+		workers = Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+	}
+
+	@PreDestroy
+	public void stop() {
+		coordinator.shutdownNow();
+		workers.shutdownNow();
+	}
+
+	/**
+	 * Queues a job for the coordinator thread.
+	 * @throws RejectedExecutionException if feature.generator.batch.max.queued.jobs jobs are already waiting
+	 */
+	public void submit(Runnable job) {
+		coordinator.execute(job);
+	}
+
+	/**
+	 * @return number of jobs waiting for the running job to finish
+	 */
+	public int getQueuedJobs() {
+		return coordinator.getQueue().size();
+	}
+
+	/**
+	 * Runs the tasks of a job on the workers and waits for all of them. The first failure is rethrown once the other
+	 * tasks are cancelled.
+	 * @param jobId job the tasks belong to, for the error messages
+	 */
+	public void invokeAll(List<Runnable> tasks, String jobId) {
+		List<Future<?>> futures = new ArrayList<>(tasks.size());
+		try {
+			for (Runnable task : tasks) {
+				futures.add(workers.submit(task));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while running batch feature generation job " + jobId, e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Batch feature generation job " + jobId + " failed", e.getCause());
+		} finally {
+			for (Future<?> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+}
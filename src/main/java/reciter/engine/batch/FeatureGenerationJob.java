@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.engine.batch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Handle of a batch feature generation run. Workers record the outcome of every uid as it finishes so that clients can
+ * follow the progress of a long running batch by polling the events after the last index they have seen.
+ */
+public class FeatureGenerationJob {
+
+	public enum Status {
+		QUEUED,
+		RUNNING,
+		COMPLETED,
+		FAILED
+	}
+
+	public enum UidStatus {
+		COMPLETED,
+		NOT_FOUND,
+		NO_CANDIDATES,
+		FAILED,
+		STORE_FAILED
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class UidProgress {
+		private final String uid;
+		private final UidStatus status;
+		private final long elapsedTime;
+		private final String message;
+	}
+
+	/**
+	 * Point in time view of a job returned by the batch feature generation api.
+	 */
+	@Getter
+	@AllArgsConstructor
+	public static class Report {
+		private final String jobId;
+		private final Status status;
+		private final int totalUids;
+		private final int processedUids;
+		private final int succeededUids;
+		private final int failedUids;
+		private final long submittedTime;
+		private final Long startTime;
+		private final Long endTime;
+		private final String errorMessage;
+		private final int fromIndex;
+		private final List<UidProgress> progress;
+	}
+
+	private final String jobId;
+	private final int totalUids;
+	private final long submittedTime = System.currentTimeMillis();
+	private final AtomicInteger succeededUids = new AtomicInteger();
+	private final AtomicInteger failedUids = new AtomicInteger();
+	private final List<UidProgress> progress = Collections.synchronizedList(new ArrayList<>());
+	private volatile Status status = Status.QUEUED;
+	private volatile Long startTime;
+	private volatile Long endTime;
+	private volatile String errorMessage;
+
+	public FeatureGenerationJob(String jobId, int totalUids) {
+		this.jobId = jobId;
+		this.totalUids = totalUids;
+	}
+
+	public String getJobId() {
+		return jobId;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public boolean isFinished() {
+		return status == Status.COMPLETED || status == Status.FAILED;
+	}
+
+	public Long getEndTime() {
+		return endTime;
+	}
+
+	public void markRunning() {
+		startTime = System.currentTimeMillis();
+		status = Status.RUNNING;
+	}
+
+	public void markCompleted() {
+		endTime = System.currentTimeMillis();
+		status = Status.COMPLETED;
+	}
+
+	public void markFailed(Throwable cause) {
+		errorMessage = cause.getMessage();
+		endTime = System.currentTimeMillis();
+		status = Status.FAILED;
+	}
+
+	public void recordProgress(String uid, UidStatus uidStatus, long elapsedTime, String message) {
+		if (uidStatus == UidStatus.COMPLETED) {
+			succeededUids.incrementAndGet();
+		} else {
+			failedUids.incrementAndGet();
+		}
+		progress.add(new UidProgress(uid, uidStatus, elapsedTime, message));
+	}
+
+	/**
+	 * Marks uids already recorded as completed as failed because their analysis could not be stored. They appear a
+	 * second time in the progress, with {@link UidStatus#STORE_FAILED}.
+	 */
+	public void recordStoreFailure(Collection<String> uids, String message) {
+		for (String uid : uids) {
+			succeededUids.decrementAndGet();
+			failedUids.incrementAndGet();
+			progress.add(new UidProgress(uid, UidStatus.STORE_FAILED, 0, message));
+		}
+	}
+
+	/**
+	 * @param fromIndex index of the first progress event to include, events before it were already seen by the caller
+	 * @return current state of the job with the progress events recorded since <code>fromIndex</code>
+	 */
+	public Report getReport(int fromIndex) {
+		List<UidProgress> recentProgress;
+		synchronized (progress) {
+			int from = Math.min(Math.max(fromIndex, 0), progress.size());
+			recentProgress = new ArrayList<>(progress.subList(from, progress.size()));
+		}
+		int succeeded = succeededUids.get();
+		int failed = failedUids.get();
+		return new Report(jobId, status, totalUids, succeeded + failed, succeeded, failed, submittedTime,
+				startTime, endTime, errorMessage, fromIndex, recentProgress);
+	}
+}
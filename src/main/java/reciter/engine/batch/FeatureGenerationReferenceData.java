@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.engine.batch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import reciter.database.dynamodb.model.GoldStandard;
+import reciter.model.identity.Identity;
+import reciter.model.pubmed.PubMedArticle;
+import reciter.model.scopus.ScopusArticle;
+import reciter.service.IdentityService;
+import reciter.service.PubMedService;
+import reciter.service.ScopusService;
+import reciter.service.dynamo.IDynamoDbGoldStandardService;
+
+/**
+ * Reference data lookups used to build the engine parameters of a person.
+ * <p>
+ * A single feature generation request reads everything straight from DynamoDB. A batch prefetches identities and gold
+ * standards for all its uids with a few bulk reads, and keeps the most recently used PubMed and Scopus articles in a
+ * bounded cache shared by the workers since people of the same institution often co-author the same articles. Cached
+ * articles are only read by the article translation, so they can be handed to several workers.
+ */
+public class FeatureGenerationReferenceData {
+
+	private static final int PREFETCH_BATCH_SIZE = 100;
+
+	private final IdentityService identityService;
+	private final PubMedService pubMedService;
+	private final ScopusService scopusService;
+	private final IDynamoDbGoldStandardService goldStandardService;
+	private final int articleCacheSize;
+
+	private final Map<String, Identity> identities = new ConcurrentHashMap<>();
+	private final Map<String, GoldStandard> goldStandards = new ConcurrentHashMap<>();
+	private final Set<String> prefetchedGoldStandardUids = ConcurrentHashMap.newKeySet();
+	private final Map<Long, PubMedArticle> pubMedArticles;
+	private final Map<String, ScopusArticle> scopusArticles;
+
+	/**
+	 * @param articleCacheSize maximum number of PubMed and of Scopus articles kept between lookups, 0 to disable caching
+	 */
+	public FeatureGenerationReferenceData(IdentityService identityService, PubMedService pubMedService, ScopusService scopusService,
+			IDynamoDbGoldStandardService goldStandardService, int articleCacheSize) {
+		this.identityService = identityService;
+		this.pubMedService = pubMedService;
+		this.scopusService = scopusService;
+		this.goldStandardService = goldStandardService;
+		this.articleCacheSize = articleCacheSize;
+		this.pubMedArticles = createArticleCache(articleCacheSize);
+		this.scopusArticles = createArticleCache(articleCacheSize);
+	}
+
+	private static <K, V> Map<K, V> createArticleCache(int maximumSize) {
+		return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > maximumSize;
+			}
+		});
+	}
+
+	/**
+	 * Adds identities that were already loaded, e.g. when the batch runs for all identities.
+	 */
+	public void addIdentities(Collection<Identity> loadedIdentities) {
+		for (Identity identity : loadedIdentities) {
+			identities.put(identity.getUid(), identity);
+		}
+	}
+
+	/**
+	 * Loads the identities and gold standards of the given uids in bulk.
+	 */
+	public void prefetch(List<String> uids) {
+		for (int from = 0; from < uids.size(); from += PREFETCH_BATCH_SIZE) {
+			List<String> batch = uids.subList(from, Math.min(from + PREFETCH_BATCH_SIZE, uids.size()));
+			List<String> missingIdentities = new ArrayList<>();
+			for (String uid : batch) {
+				if (!identities.containsKey(uid)) {
+					missingIdentities.add(uid);
+				}
+			}
+			if (!missingIdentities.isEmpty()) {
+				List<Identity> loadedIdentities = identityService.findByUids(missingIdentities);
+				if (loadedIdentities != null) {
+					addIdentities(loadedIdentities);
+				}
+			}
+			List<GoldStandard> loadedGoldStandards = goldStandardService.findByUids(new ArrayList<>(batch));
+			if (loadedGoldStandards != null) {
+				for (GoldStandard goldStandard : loadedGoldStandards) {
+					goldStandards.put(goldStandard.getUid(), goldStandard);
+				}
+			}
+			prefetchedGoldStandardUids.addAll(batch);
+		}
+	}
+
+	/**
+	 * Prefetched identities are handed out once since the engine sanitizes the identity of the person it runs for.
+	 */
+	public Identity findIdentity(String uid) {
+		Identity identity = identities.remove(uid);
+		if (identity == null) {
+			identity = identityService.findByUid(uid);
+		}
+		return identity;
+	}
+
+	/**
+	 * A uid without a gold standard in a prefetched batch does not trigger another lookup.
+	 */
+	public GoldStandard findGoldStandard(String uid) {
+		GoldStandard goldStandard = goldStandards.remove(uid);
+		boolean prefetched = prefetchedGoldStandardUids.remove(uid);
+		if (goldStandard == null && !prefetched) {
+			goldStandard = goldStandardService.findByUid(uid);
+		}
+		return goldStandard;
+	}
+
+	/**
+	 * @return the articles found for the pmids, in the order of the pmids
+	 */
+	public List<PubMedArticle> findPubMedArticles(List<Long> pmids) {
+		if (articleCacheSize <= 0) {
+			return pubMedService.findByPmids(pmids);
+		}
+		Map<Long, PubMedArticle> found = new HashMap<>();
+		List<Long> missingPmids = new ArrayList<>();
+		for (Long pmid : pmids) {
+			PubMedArticle pubMedArticle = pubMedArticles.get(pmid);
+			if (pubMedArticle != null) {
+				found.put(pmid, pubMedArticle);
+			} else {
+				missingPmids.add(pmid);
+			}
+		}
+		if (!missingPmids.isEmpty()) {
+			for (PubMedArticle pubMedArticle : pubMedService.findByPmids(missingPmids)) {
+				long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
+				found.put(pmid, pubMedArticle);
+				pubMedArticles.put(pmid, pubMedArticle);
+			}
+		}
+		List<PubMedArticle> result = new ArrayList<>(found.size());
+		for (Long pmid : pmids) {
+			PubMedArticle pubMedArticle = found.get(pmid);
+			if (pubMedArticle != null) {
+				result.add(pubMedArticle);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the Scopus articles found for the pmids
+	 */
+	public List<ScopusArticle> findScopusArticles(List<String> pmids) {
+		if (articleCacheSize <= 0) {
+			return scopusService.findByPmids(pmids);
+		}
+		List<ScopusArticle> result = new ArrayList<>(pmids.size());
+		List<String> missingPmids = new ArrayList<>();
+		for (String pmid : pmids) {
+			ScopusArticle scopusArticle = scopusArticles.get(pmid);
+			if (scopusArticle != null) {
+				result.add(scopusArticle);
+			} else {
+				missingPmids.add(pmid);
+			}
+		}
+		if (!missingPmids.isEmpty()) {
+			for (ScopusArticle scopusArticle : scopusService.findByPmids(missingPmids)) {
+				result.add(scopusArticle);
+				scopusArticles.put(String.valueOf(scopusArticle.getPubmedId()), scopusArticle);
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,157 @@
+package reciter.pubmed.retriever;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reciter.model.pubmed.PubMedArticle;
+import reciter.utils.PubMedConverter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Articles shared between the identities of a bulk retrieval. Faculty of the same institution co-author many papers, so the
+ * same pmid is returned for several identities of a run. While a run is active the {@link PubMedArticleRetriever} only
+ * fetches the pmids of a query that are not cached yet and the {@link reciter.service.PubMedService} skips articles that
+ * were already written, so every pmid is fetched and saved at most once per run as long as it is not evicted.
+ * <p>
+ * An article is only considered the same if its last modification, the latest date of the PubMed history, did not change.
+ * A newer copy replaces the cached one and is written again.
+ * <p>
+ * The cache holds at most retrieval.bulk.article.cache.size articles, evicting the least recently used, and is cleared when
+ * the last active run ends.
+ */
+@Slf4j
+@Component
+public class PubMedArticleCache {
+
+    @Value("${retrieval.bulk.article.cache}")
+    private boolean enabled;
+
+    @Value("${retrieval.bulk.article.cache.size}")
+    private int maximumSize;
+
+    private final Map<Long, CachedPubMedArticle> pubMedArticles = createLruMap();
+    private int activeRuns;
+
+    private static class CachedPubMedArticle {
+        private final PubMedArticle pubMedArticle;
+        private final String lastModified;
+        private boolean saved;
+
+        private CachedPubMedArticle(PubMedArticle pubMedArticle, String lastModified) {
+            this.pubMedArticle = pubMedArticle;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private <K, V> Map<K, V> createLruMap() {
+        return new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Starts a bulk run. Runs can overlap; the cache stays active until every run has called {@link #endRun()}.
+     */
+    public synchronized void beginRun() {
+        if (enabled && maximumSize > 0) {
+            activeRuns++;
+        }
+    }
+
+    public synchronized void endRun() {
+        if (activeRuns == 0) {
+            return;
+        }
+        activeRuns--;
+        if (activeRuns == 0) {
+            log.info("Bulk retrieval finished with " + pubMedArticles.size() + " cached PubMed articles");
+            pubMedArticles.clear();
+        }
+    }
+
+    public synchronized boolean isActive() {
+        return activeRuns > 0;
+    }
+
+    /**
+     * @return the cached articles among <code>pmids</code> by pmid, empty if no run is active
+     */
+    public synchronized Map<Long, PubMedArticle> findByPmids(Collection<Long> pmids) {
+        Map<Long, PubMedArticle> result = new HashMap<>();
+        if (activeRuns == 0) {
+            return result;
+        }
+        for (Long pmid : pmids) {
+            CachedPubMedArticle cachedPubMedArticle = pubMedArticles.get(pmid);
+            if (cachedPubMedArticle != null) {
+                result.put(pmid, cachedPubMedArticle.pubMedArticle);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Caches a fetched article as soon as it is parsed. An article already cached with the same last modification is
+     * replaced by the cached instance so identities of the run share one copy.
+     * @return the article to use in place of <code>fetchedPubMedArticle</code>
+     */
+    public synchronized PubMedArticle put(PubMedArticle fetchedPubMedArticle) {
+        if (activeRuns == 0) {
+            return fetchedPubMedArticle;
+        }
+        return put(fetchedPubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid(), fetchedPubMedArticle).pubMedArticle;
+    }
+
+    private CachedPubMedArticle put(long pmid, PubMedArticle pubMedArticle) {
+        String lastModified = PubMedConverter.getLastModified(pubMedArticle);
+        CachedPubMedArticle cachedPubMedArticle = pubMedArticles.get(pmid);
+        if (cachedPubMedArticle == null || cachedPubMedArticle.lastModified.compareTo(lastModified) < 0) {
+            cachedPubMedArticle = new CachedPubMedArticle(pubMedArticle, lastModified);
+            pubMedArticles.put(pmid, cachedPubMedArticle);
+        }
+        return cachedPubMedArticle;
+    }
+
+    /**
+     * @return the articles that were not written yet during the run, or all of them if no run is active
+     */
+    public synchronized List<PubMedArticle> findUnsaved(Collection<PubMedArticle> pubMedArticlesToSave) {
+        List<PubMedArticle> unsaved = new ArrayList<>(pubMedArticlesToSave.size());
+        for (PubMedArticle pubMedArticle : pubMedArticlesToSave) {
+            if (activeRuns == 0) {
+                unsaved.add(pubMedArticle);
+                continue;
+            }
+            CachedPubMedArticle cachedPubMedArticle = pubMedArticles.get(pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid());
+            if (cachedPubMedArticle == null
+                    || !cachedPubMedArticle.saved
+                    || cachedPubMedArticle.lastModified.compareTo(PubMedConverter.getLastModified(pubMedArticle)) < 0) {
+                unsaved.add(pubMedArticle);
+            }
+        }
+        return unsaved;
+    }
+
+    /**
+     * Records that the articles are stored so that later identities of the run skip writing them again.
+     */
+    public synchronized void markSaved(Collection<PubMedArticle> savedPubMedArticles) {
+        if (activeRuns == 0) {
+            return;
+        }
+        for (PubMedArticle pubMedArticle : savedPubMedArticles) {
+            put(pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid(), pubMedArticle).saved = true;
+        }
+    }
+}
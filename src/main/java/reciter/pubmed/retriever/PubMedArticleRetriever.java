@@ -18,41 +18,168 @@
  *******************************************************************************/
 package reciter.pubmed.retriever;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.ResponseEntity;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import reciter.model.pubmed.PubMedArticle;
+import reciter.utils.RetrievalUpstream;
+import reciter.utils.StreamingJsonArrayExtractor;
+import reciter.utils.UpstreamUnavailableException;
 
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Slf4j
 public class PubMedArticleRetriever {
 
     private static final String PUBMED_SERVICE = System.getenv("PUBMED_SERVICE");
 
+    private static final String ESEARCH_URL = "https://eutils.ncbi.nlm.nih.gov/entrez/eutils/esearch.fcgi";
+
+    private static final String NCBI_API_KEY = System.getenv("NCBI_API_KEY");
+
+    /**
+     * Number of pmids fetched by one request when only the articles missing from the cache are fetched.
+     */
+    private static final int PMID_QUERY_SIZE = 500;
+
+    private final RestTemplate restTemplate;
+
+    private final PubMedArticleCache pubMedArticleCache;
+
+    private final RetrievalUpstream upstream;
+
+    private final RetrievalUpstream eSearchUpstream;
+
+    /**
+     * @param restTemplate client of the PubMed service, e.g. the pooled retrieval client
+     * @param pubMedArticleCache articles shared by the identities of a bulk retrieval, may be null
+     * @param upstream guard of the requests sent to the PubMed service, may be null
+     * @param eSearchUpstream guard of the requests sent to NCBI ESearch, may be null
+     */
+    public PubMedArticleRetriever(RestTemplate restTemplate, PubMedArticleCache pubMedArticleCache, RetrievalUpstream upstream,
+            RetrievalUpstream eSearchUpstream) {
+        this.restTemplate = restTemplate;
+        this.pubMedArticleCache = pubMedArticleCache;
+        this.upstream = upstream;
+        this.eSearchUpstream = eSearchUpstream;
+    }
+
     /**
      * Initializes and starts threads that handles the retrieval process. Partition the number of articles
      * into manageable pieces and ask each thread to handle one partition.
+     * <p>
+     * During a bulk run the pmids of the query are resolved first and only the articles that are not cached yet are
+     * fetched, so an article shared by several identities is fetched once whichever query returns it. If the pmids
+     * cannot be resolved, including while the circuit of ESearch is open, the whole query is fetched.
+     * <p>
+     * The articles are handed to <code>consumer</code> one at a time as they are read, without collecting the articles of
+     * the query first. An article may be handed over twice when a request is retried after part of its response was read.
+     * @param consumer called with every article of the query, e.g. to put it in the articles of a retrieval by pmid
+     * @throws reciter.utils.UpstreamUnavailableException if the circuit of the PubMed service is open
      */
-    public List<PubMedArticle> retrievePubMed(PubMedQuery pubMedQuery, int numberOfPubmedArticles) {
+    public void retrievePubMed(PubMedQuery pubMedQuery, int numberOfPubmedArticles, Consumer<PubMedArticle> consumer) {
         if (numberOfPubmedArticles == 0) {
-            return Collections.emptyList();
+            return;
         }
+        Consumer<PubMedArticle> sharedConsumer = pubMedArticleCache != null
+                ? pubMedArticle -> consumer.accept(pubMedArticleCache.put(pubMedArticle)) : consumer;
+        if (pubMedArticleCache != null && pubMedArticleCache.isActive()) {
+            List<Long> pmids = null;
+            try {
+                pmids = eSearchUpstream != null ? eSearchUpstream.execute(() -> resolvePmids(pubMedQuery, numberOfPubmedArticles))
+                        : resolvePmids(pubMedQuery, numberOfPubmedArticles);
+            } catch (RestClientException | UpstreamUnavailableException e) {
+                log.error("Unable to resolve the pmids of query: " + pubMedQuery + ", fetching all its articles", e);
+            }
+            if (pmids != null && !pmids.isEmpty()) {
+                retrieveByPmids(pubMedQuery, pmids, consumer, sharedConsumer);
+                return;
+            }
+        }
+        retrieve(pubMedQuery, numberOfPubmedArticles, sharedConsumer);
+    }
+
+    /**
+     * Hands over the cached articles of the pmids, then fetches the others through <code>sharedConsumer</code> which
+     * caches them.
+     */
+    private void retrieveByPmids(PubMedQuery pubMedQuery, List<Long> pmids, Consumer<PubMedArticle> consumer,
+            Consumer<PubMedArticle> sharedConsumer) {
+        Map<Long, PubMedArticle> cachedPubMedArticles = pubMedArticleCache.findByPmids(pmids);
+        List<Long> missingPmids = new ArrayList<>(pmids.size() - cachedPubMedArticles.size());
+        for (Long pmid : pmids) {
+            PubMedArticle pubMedArticle = cachedPubMedArticles.get(pmid);
+            if (pubMedArticle != null) {
+                consumer.accept(pubMedArticle);
+            } else {
+                missingPmids.add(pmid);
+            }
+        }
+        log.info("Query: " + pubMedQuery + " returned " + pmids.size() + " pmids, " + cachedPubMedArticles.size() + " of them are cached");
+        for (int i = 0; i < missingPmids.size(); i += PMID_QUERY_SIZE) {
+            List<Long> partPmids = missingPmids.subList(i, Math.min(i + PMID_QUERY_SIZE, missingPmids.size()));
+            PubMedQuery pmidQuery = PubMedQuery.builder().strategyQuery(StringUtils.join(partPmids, ",")).build();
+            retrieve(pmidQuery, partPmids.size(), sharedConsumer);
+        }
+    }
+
+    private void retrieve(PubMedQuery pubMedQuery, int numberOfPubmedArticles, Consumer<PubMedArticle> consumer) {
         String nodeUrl = PUBMED_SERVICE + "/pubmed/query-complex/";
-        RestTemplate restTemplate = new RestTemplate();
         log.info("Sending web request: for query: " + pubMedQuery + ":" + nodeUrl);
-        ResponseEntity<PubMedArticle[]> responseEntity = null;
         try {
-            responseEntity = restTemplate.postForEntity(nodeUrl, pubMedQuery, PubMedArticle[].class);
-        } catch (Exception e) {
+            int pubMedArticles = execute(() -> fetch(nodeUrl, pubMedQuery, numberOfPubmedArticles, consumer));
+            log.info("Query: " + pubMedQuery + " returned " + pubMedArticles + " articles");
+        } catch (RestClientException e) {
             log.error("Unable to retrieve via external REST api=[" + nodeUrl + "]", e);
         }
-        if (responseEntity == null) {
-            return Collections.emptyList();
+    }
+
+    private <T> T execute(Supplier<T> request) {
+        return upstream != null ? upstream.execute(request) : request.get();
+    }
+
+    /**
+     * Looks up the pmids matching the query with NCBI ESearch without fetching the articles. ESearch is called directly
+     * rather than through the PubMed service, so the request goes through its own rate limit and circuit and sends the
+     * NCBI api key from the NCBI_API_KEY environment variable when there is one.
+     */
+    protected List<Long> resolvePmids(PubMedQuery pubMedQuery, int numberOfPubmedArticles) {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("db", "pubmed");
+        form.add("term", pubMedQuery.toString());
+        form.add("retmax", String.valueOf(numberOfPubmedArticles));
+        form.add("retmode", "json");
+        if (StringUtils.isNotEmpty(NCBI_API_KEY)) {
+            form.add("api_key", NCBI_API_KEY);
+        }
+        JsonNode response = restTemplate.postForObject(ESEARCH_URL, form, JsonNode.class);
+        List<Long> pmids = new ArrayList<>();
+        if (response != null) {
+            for (JsonNode pmid : response.path("esearchresult").path("idlist")) {
+                pmids.add(pmid.asLong());
+            }
         }
-        PubMedArticle[] pubMedArticles = responseEntity.getBody();
-        return Arrays.asList(pubMedArticles);
+        return pmids;
+    }
+
+    /**
+     * Parses the articles one at a time as they arrive and hands each one to <code>consumer</code> right away. During a
+     * bulk run an article already held by the cache replaces its fetched copy as soon as it is parsed, so the copies of the
+     * articles shared between identities do not pile up.
+     * @return the number of articles read
+     */
+    protected int fetch(String nodeUrl, PubMedQuery pubMedQuery, int numberOfPubmedArticles, Consumer<PubMedArticle> consumer) {
+        Integer pubMedArticles = restTemplate.execute(nodeUrl, HttpMethod.POST, restTemplate.httpEntityCallback(pubMedQuery, PubMedArticle[].class),
+                new StreamingJsonArrayExtractor<>(restTemplate, PubMedArticle.class, consumer));
+        return pubMedArticles != null ? pubMedArticles : 0;
     }
 }
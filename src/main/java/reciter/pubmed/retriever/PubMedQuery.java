@@ -6,8 +6,9 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.commons.lang3.StringUtils;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -16,7 +17,7 @@ import java.util.List;
 @Getter
 @Setter
 public class PubMedQuery {
-    private static SimpleDateFormat dt = new SimpleDateFormat("yyyy/MM/dd");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormat.forPattern("yyyy/MM/dd");
 
     @JsonProperty("author")
     private String author;
@@ -41,7 +42,7 @@ public class PubMedQuery {
         	parts.add(author);
         }
         if (start != null && end != null) {
-            parts.add(dt.format(start) + ":" + dt.format(end) + "[DP]");
+            parts.add(DATE_FORMAT.print(start.getTime()) + ":" + DATE_FORMAT.print(end.getTime()) + "[DP]");
         }
         if (strategyQuery != null && !strategyQuery.isEmpty()) {
             parts.add(strategyQuery);
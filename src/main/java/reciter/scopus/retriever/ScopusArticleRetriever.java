@@ -19,11 +19,13 @@
 package reciter.scopus.retriever;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import reciter.model.scopus.ScopusArticle;
 import reciter.model.scopus.ScopusQuery;
+import reciter.utils.RetrievalUpstream;
+import reciter.utils.StreamingJsonArrayExtractor;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -44,26 +46,39 @@ public class ScopusArticleRetriever<T> {
 
     private static final String SCOPUS_SERVICE = System.getenv("SCOPUS_SERVICE");
 
+    private final RestTemplate restTemplate;
+
+    private final RetrievalUpstream upstream;
+
+    /**
+     * @param restTemplate client of the Scopus service, e.g. the pooled retrieval client
+     * @param upstream guard of the requests sent to the Scopus service, may be null
+     */
+    public ScopusArticleRetriever(RestTemplate restTemplate, RetrievalUpstream upstream) {
+        this.restTemplate = restTemplate;
+        this.upstream = upstream;
+    }
+
     /**
      * Modifier options: "pmid" or "doi".
      *
      * @param queryModifier
      * @param queryParams
      * @return
+     * @throws reciter.utils.UpstreamUnavailableException if the circuit of the Scopus service is open
      */
     public List<ScopusArticle> retrieveScopus(String queryModifier, List<T> queryParams) {
         if (queryParams.isEmpty()) {
             return Collections.emptyList();
         }
         String nodeUrl = SCOPUS_SERVICE + "/scopus/query/";
-        RestTemplate restTemplate = new RestTemplate();
         log.info("Sending web request for query " + queryParams + " modifier:" + queryModifier + ":" + nodeUrl);
         List<Object> pmidList = new ArrayList<>();
         for (T t : queryParams) {
             pmidList.add(t);
         }
         ScopusQuery scopusQuery = null;
-        ResponseEntity<List<ScopusArticle>> responseEntity = null;
+        List<ScopusArticle> scopusArticles = null;
         if (PMID_MODIFIER.equals(queryModifier)) {
         	scopusQuery = new ScopusQuery(pmidList, "pmid");
         } else if (DOI_MODIFIER.equals(queryModifier)) {
@@ -73,15 +88,29 @@ public class ScopusArticleRetriever<T> {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<Object> requestEntity = new HttpEntity<>(scopusQuery, headers);
-            responseEntity =
-                    restTemplate.exchange(nodeUrl, HttpMethod.POST, requestEntity, new ParameterizedTypeReference<List<ScopusArticle>>() {
-                    });
-        } catch (Exception e) {
+            int expectedSize = queryParams.size();
+            if (upstream != null) {
+                scopusArticles = upstream.execute(() -> fetch(nodeUrl, requestEntity, expectedSize));
+            } else {
+                scopusArticles = fetch(nodeUrl, requestEntity, expectedSize);
+            }
+        } catch (RestClientException e) {
             log.error("Unable to retrieve via external REST api=[" + nodeUrl + "]", e);
         }
-        if (responseEntity == null) {
+        if (scopusArticles == null) {
             return Collections.emptyList();
         }
-        return responseEntity.getBody();
+        return scopusArticles;
+    }
+
+    /**
+     * Parses the articles one at a time as they arrive rather than binding the whole response at once. Every attempt
+     * collects into a list of its own, so a retried request does not return the articles read before the failure twice.
+     */
+    private List<ScopusArticle> fetch(String nodeUrl, HttpEntity<Object> requestEntity, int expectedSize) {
+        List<ScopusArticle> scopusArticles = new ArrayList<>(expectedSize);
+        restTemplate.execute(nodeUrl, HttpMethod.POST, restTemplate.httpEntityCallback(requestEntity, ScopusArticle[].class),
+                new StreamingJsonArrayExtractor<>(restTemplate, ScopusArticle.class, scopusArticles::add));
+        return scopusArticles;
     }
 }
@@ -18,12 +18,16 @@
  *******************************************************************************/
 package reciter.service;
 
+import java.util.Collection;
+
 import reciter.database.dynamodb.model.AnalysisOutput;
 
 public interface AnalysisService {
 
 	void save(AnalysisOutput analysis);
 	
+	void save(Collection<AnalysisOutput> analyses);
+	
 	AnalysisOutput findByUid(String uid);
 	
 	void deleteAll();
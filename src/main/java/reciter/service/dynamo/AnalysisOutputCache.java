@@ -0,0 +1,176 @@
+package reciter.service.dynamo;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import reciter.database.dynamodb.model.AnalysisOutput;
+
+/**
+ * Read-through cache of the stored analyses. The publication manager reads the analysis of the same person over and over
+ * while curating, and each read otherwise goes to DynamoDB, possibly S3, and deserializes the whole ReCiterFeature.
+ * <p>
+ * The cache is bounded by the estimated size of the analyses rather than their number, since one analysis can be a few
+ * kilobytes or many megabytes: an analysis weighs the length of its JSON, and the least recently used ones are evicted once
+ * the total exceeds analysis.cache.maximum.bytes. Entries expire analysis.cache.ttl.seconds after they were loaded so that
+ * changes made by another instance show up eventually.
+ * <p>
+ * {@link AnalysisServiceImpl} invalidates the analysis of a person when it is saved or deleted, and the gold standard and
+ * user feedback services when the feedback of the person changes. A load that overlaps an invalidation is not cached.
+ */
+@Slf4j
+@Component
+public class AnalysisOutputCache {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	@Value("${analysis.cache}")
+	private boolean enabled;
+
+	@Value("${analysis.cache.maximum.bytes}")
+	private long maximumBytes;
+
+	@Value("${analysis.cache.ttl.seconds}")
+	private long ttlSeconds;
+
+	private final Map<String, CachedAnalysisOutput> analysisOutputs = new LinkedHashMap<>(16, 0.75f, true);
+	private long bytes;
+	private long generation;
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long expirations;
+	private long invalidations;
+
+	private static class CachedAnalysisOutput {
+		private final AnalysisOutput analysisOutput;
+		private final long weight;
+		private final long loadedTime;
+
+		private CachedAnalysisOutput(AnalysisOutput analysisOutput, long weight, long loadedTime) {
+			this.analysisOutput = analysisOutput;
+			this.weight = weight;
+			this.loadedTime = loadedTime;
+		}
+	}
+
+	/**
+	 * Point in time view of the cache returned by the analysis cache api.
+	 */
+	@Getter
+	@AllArgsConstructor
+	public static class Statistics {
+		private final boolean enabled;
+		private final int entries;
+		private final long bytes;
+		private final long maximumBytes;
+		private final long hits;
+		private final long misses;
+		private final long evictions;
+		private final long expirations;
+		private final long invalidations;
+	}
+
+	/**
+	 * @param loader reads the analysis from the database on a miss
+	 * @return the cached analysis, shared by all callers, or the one returned by the loader
+	 */
+	public AnalysisOutput get(String uid, Function<String, AnalysisOutput> loader) {
+		if (!enabled) {
+			return loader.apply(uid);
+		}
+		long loadGeneration;
+		synchronized (this) {
+			CachedAnalysisOutput cachedAnalysisOutput = analysisOutputs.get(uid);
+			if (cachedAnalysisOutput != null) {
+				if (System.currentTimeMillis() - cachedAnalysisOutput.loadedTime <= TimeUnit.SECONDS.toMillis(ttlSeconds)) {
+					hits++;
+					return cachedAnalysisOutput.analysisOutput;
+				}
+				remove(uid);
+				expirations++;
+			}
+			misses++;
+			loadGeneration = generation;
+		}
+		AnalysisOutput analysisOutput = loader.apply(uid);
+		if (analysisOutput != null && analysisOutput.getReCiterFeature() != null) {
+			put(uid, analysisOutput, loadGeneration);
+		}
+		return analysisOutput;
+	}
+
+	/**
+	 * Drops the analysis of the person, to be called once a change to the analysis or its feedback has been written.
+	 */
+	public synchronized void invalidate(String uid) {
+		if (!enabled) {
+			return;
+		}
+		generation++;
+		if (remove(uid) != null) {
+			invalidations++;
+		}
+	}
+
+	public synchronized void invalidateAll() {
+		generation++;
+		invalidations += analysisOutputs.size();
+		analysisOutputs.clear();
+		bytes = 0;
+	}
+
+	public synchronized Statistics getStatistics() {
+		return new Statistics(enabled, analysisOutputs.size(), bytes, maximumBytes, hits, misses, evictions, expirations, invalidations);
+	}
+
+	private void put(String uid, AnalysisOutput analysisOutput, long loadGeneration) {
+		long weight = weigh(analysisOutput);
+		synchronized (this) {
+			if (loadGeneration != generation || weight > maximumBytes) {
+				return;
+			}
+			remove(uid);
+			analysisOutputs.put(uid, new CachedAnalysisOutput(analysisOutput, weight, System.currentTimeMillis()));
+			bytes += weight;
+			Iterator<CachedAnalysisOutput> iterator = analysisOutputs.values().iterator();
+			while (bytes > maximumBytes && iterator.hasNext()) {
+				bytes -= iterator.next().weight;
+				iterator.remove();
+				evictions++;
+			}
+		}
+	}
+
+	private CachedAnalysisOutput remove(String uid) {
+		CachedAnalysisOutput cachedAnalysisOutput = analysisOutputs.remove(uid);
+		if (cachedAnalysisOutput != null) {
+			bytes -= cachedAnalysisOutput.weight;
+		}
+		return cachedAnalysisOutput;
+	}
+
+	private static long weigh(AnalysisOutput analysisOutput) {
+		CountingOutputStream countingOutputStream = new CountingOutputStream(NullOutputStream.NULL_OUTPUT_STREAM);
+		try {
+			OBJECT_MAPPER.writeValue(countingOutputStream, analysisOutput.getReCiterFeature());
+		} catch (IOException e) {
+			log.error("Unable to weigh the analysis of " + analysisOutput.getUid(), e);
+			return Long.MAX_VALUE;
+		}
+		return countingOutputStream.getByteCount();
+	}
+}
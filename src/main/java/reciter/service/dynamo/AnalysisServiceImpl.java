@@ -1,13 +1,28 @@
 package reciter.service.dynamo;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
 import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import com.amazonaws.services.s3.AmazonS3;
 
 import lombok.extern.slf4j.Slf4j;
+import reciter.database.dynamodb.CompressedAttribute;
+import reciter.database.dynamodb.DynamoDbCompressedOperations;
 import reciter.database.dynamodb.DynamoDbS3Operations;
 import reciter.database.dynamodb.model.AnalysisOutput;
 import reciter.database.dynamodb.repository.AnalysisOutputRepository;
@@ -27,6 +42,20 @@ public class AnalysisServiceImpl implements AnalysisService{
 	@Autowired(required=false)
 	private DynamoDbS3Operations ddbs3;
 	
+	@Autowired
+	private DynamoDbCompressedOperations dynamoDbCompressedOperations;
+	
+	@Autowired
+	private AnalysisOutputCache analysisOutputCache;
+	
+	@Autowired
+	private AmazonDynamoDB amazonDynamoDB;
+	
+	@Autowired
+	private DynamoDBMapperConfig dynamoDBMapperConfig;
+	
+	private DynamoDBMapper dynamoDBMapper;
+	
     @Value("${aws.s3.use}")
     private boolean isS3Use;
 	
@@ -36,34 +65,134 @@ public class AnalysisServiceImpl implements AnalysisService{
     @Value("${aws.dynamoDb.local}")
     private boolean isDynamoDbLocal;
 
+	@PostConstruct
+	public void start() {
+		dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, dynamoDBMapperConfig);
+	}
+
 	@Override
 	public void save(AnalysisOutput analysis) {
+		try {
+			store(analysis);
+		} finally {
+			analysisOutputCache.invalidate(analysis.getUid());
+		}
+	}
+	
+	private void store(AnalysisOutput analysis) {
+		if(dynamoDbCompressedOperations.isCompression()) {
+			byte[] compressedReCiterFeature = CompressedAttribute.RECITER_FEATURE.encode(analysis);
+			if(dynamoDbCompressedOperations.fits(compressedReCiterFeature)) {
+				analysis.setUsingS3(false);
+				dynamoDbCompressedOperations.save(CompressedAttribute.RECITER_FEATURE, analysis, compressedReCiterFeature);
+			} else {
+				log.info("Compressed analysis of " + analysis.getUid() + " is " + compressedReCiterFeature.length + " bytes");
+				saveLargeItem(analysis);
+			}
+			return;
+		}
 		try{
 			analysisOutputRepository.save(analysis);
 		} catch(AmazonDynamoDBException addbe) {
-			if(isS3Use && !isDynamoDbLocal) {
-				log.info("Storing item in s3 since it item size exceeds more than 400kb");
-				ddbs3.saveLargeItem(s3BucketName, analysis.getReCiterFeature(), AnalysisOutput.class.getSimpleName() + "/" + analysis.getUid());
-				analysis.setReCiterFeature(null);
-				analysis.setUsingS3(true);
-				analysisOutputRepository.save(analysis);
-			} else if(isDynamoDbLocal){
-				log.info("You are running dynamodb in local mode. Add AWS access key and secret key to environment variable to enable S3 storage.");
-			} else {
-				log.info("Enable s3 use in application properties file to store larger objects. Set aws.s3.use to true and set aws.s3.dynamodb.bucketName");
+			saveLargeItem(analysis);
+		}
+	}
+	
+	private void saveLargeItem(AnalysisOutput analysis) {
+		if(isS3Use && !isDynamoDbLocal) {
+			log.info("Storing item in s3 since it item size exceeds more than 400kb");
+			ddbs3.saveLargeItem(s3BucketName, analysis.getReCiterFeature(), AnalysisOutput.class.getSimpleName() + "/" + analysis.getUid());
+			analysis.setReCiterFeature(null);
+			analysis.setUsingS3(true);
+			analysisOutputRepository.save(analysis);
+		} else if(isDynamoDbLocal){
+			log.info("You are running dynamodb in local mode. Add AWS access key and secret key to environment variable to enable S3 storage.");
+		} else {
+			log.info("Enable s3 use in application properties file to store larger objects. Set aws.s3.use to true and set aws.s3.dynamodb.bucketName");
+		}
+	}
+
+	@Override
+	public void save(Collection<AnalysisOutput> analyses) {
+		try {
+			store(analyses);
+		} finally {
+			for(AnalysisOutput analysis: analyses) {
+				analysisOutputCache.invalidate(analysis.getUid());
+			}
+		}
+	}
+	
+	private void store(Collection<AnalysisOutput> analyses) {
+		if(dynamoDbCompressedOperations.isCompression()) {
+			//Items are sized up front so only the ones too large even when compressed are written individually to s3
+			List<AnalysisOutput> fittingAnalyses = new ArrayList<>(analyses.size());
+			List<byte[]> compressedReCiterFeatures = new ArrayList<>(analyses.size());
+			for(AnalysisOutput analysis: analyses) {
+				byte[] compressedReCiterFeature = CompressedAttribute.RECITER_FEATURE.encode(analysis);
+				if(dynamoDbCompressedOperations.fits(compressedReCiterFeature)) {
+					analysis.setUsingS3(false);
+					fittingAnalyses.add(analysis);
+					compressedReCiterFeatures.add(compressedReCiterFeature);
+				} else {
+					log.info("Compressed analysis of " + analysis.getUid() + " is " + compressedReCiterFeature.length + " bytes");
+					saveLargeItem(analysis);
+				}
+			}
+			dynamoDbCompressedOperations.saveAll(CompressedAttribute.RECITER_FEATURE, fittingAnalyses, compressedReCiterFeatures);
+			return;
+		}
+		List<FailedBatch> failedBatches = dynamoDBMapper.batchSave(analyses);
+		if(failedBatches.isEmpty()) {
+			return;
+		}
+		String hashKeyName = dynamoDBMapper.getTableModel(AnalysisOutput.class).hashKey().name();
+		Map<String, AnalysisOutput> analysesByUid = new HashMap<>();
+		for(AnalysisOutput analysis: analyses) {
+			analysesByUid.put(analysis.getUid(), analysis);
+		}
+		List<String> unprocessedUids = new ArrayList<>();
+		for(FailedBatch failedBatch: failedBatches) {
+			//The mapper splits a rejected batch down to single items, so a validation error belongs to an item over the 400kb limit
+			boolean rejectedItems = isValidationError(failedBatch.getException());
+			for(List<WriteRequest> writeRequests: failedBatch.getUnprocessedItems().values()) {
+				for(WriteRequest writeRequest: writeRequests) {
+					String uid = writeRequest.getPutRequest().getItem().get(hashKeyName).getS();
+					if(rejectedItems) {
+						log.info("Analysis of " + uid + " was rejected by the batch write. " + failedBatch.getException().getMessage());
+						saveLargeItem(analysesByUid.get(uid));
+					} else {
+						unprocessedUids.add(uid);
+					}
+				}
 			}
-			
 		}
+		if(!unprocessedUids.isEmpty()) {
+			throw new IllegalStateException("The analysis of " + unprocessedUids + " could not be stored by the batch write");
+		}
+	}
+	
+	private static boolean isValidationError(Exception exception) {
+		return exception instanceof AmazonDynamoDBException
+				&& "ValidationException".equals(((AmazonDynamoDBException) exception).getErrorCode());
 	}
 
+	/**
+	 * @return the cached analysis, shared by all callers, which must not be modified. Use a {@link reciter.engine.FeedbackFilter}
+	 * to select the articles to return.
+	 */
 	@Override
 	public AnalysisOutput findByUid(String uid) {
-		AnalysisOutput analysisOutput = analysisOutputRepository.findById(uid).orElseGet(() -> null);
+		return analysisOutputCache.get(uid, this::load);
+	}
+	
+	private AnalysisOutput load(String uid) {
+		AnalysisOutput analysisOutput = dynamoDbCompressedOperations.load(CompressedAttribute.RECITER_FEATURE, uid);
 		if(analysisOutput != null 
 				&&
 				analysisOutput.isUsingS3()) {
 			log.info("Retreving analysis from s3 for " + uid);
-			ReCiterFeature reCiterFeature = (ReCiterFeature) ddbs3.retrieveLargeItem(s3BucketName, AnalysisOutput.class.getSimpleName() + "/" + uid.trim(), ReCiterFeature.class);
+			ReCiterFeature reCiterFeature = ddbs3.retrieveLargeItem(s3BucketName, AnalysisOutput.class.getSimpleName() + "/" + uid.trim(), ReCiterFeature.class);
 			analysisOutput.setReCiterFeature(reCiterFeature);
 		} 
 		return analysisOutput;
@@ -72,11 +201,13 @@ public class AnalysisServiceImpl implements AnalysisService{
 	@Override
 	public void deleteAll() {
 		 analysisOutputRepository.deleteAll();
+		 analysisOutputCache.invalidateAll();
 	}
 
 	@Override
 	public void delete(String uid) {
 		analysisOutputRepository.deleteById(uid);
+		analysisOutputCache.invalidate(uid);
 	}
 	
 
@@ -24,6 +24,9 @@ public class DynamoDbGoldStandardService implements IDynamoDbGoldStandardService
     
     @Autowired
     private ESearchResultService eSearchResultService;
+    
+    @Autowired
+    private AnalysisOutputCache analysisOutputCache;
 
     @Override
     public void save(GoldStandard goldStandard, GoldStandardUpdateFlag goldStandardUpdateFlag) {
@@ -154,7 +157,7 @@ public class DynamoDbGoldStandardService implements IDynamoDbGoldStandardService
     			dynamoDbGoldStandardRepository.save(goldStandard);
     		}
     	}
-        
+    	analysisOutputCache.invalidate(goldStandard.getUid());
     }
 
     @Override
@@ -215,7 +218,9 @@ public class DynamoDbGoldStandardService implements IDynamoDbGoldStandardService
     			dynamoDbGoldStandardRepository.saveAll(goldStandard);
     		}
     	}
-		
+		for(GoldStandard updatedGoldStandard: goldStandard) {
+			analysisOutputCache.invalidate(updatedGoldStandard.getUid());
+		}
 	}
 
 
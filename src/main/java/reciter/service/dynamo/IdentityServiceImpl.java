@@ -61,9 +61,7 @@ public class IdentityServiceImpl implements IdentityService {
         List<Identity> identities = new ArrayList<>();
         Iterator<reciter.database.dynamodb.model.Identity> iterator = it.iterator();
         while (iterator.hasNext()) {
-            Identity identity = iterator.next().getIdentity();
-            System.out.println("getting identity:" + identity.getUid());
-            identities.add(identity);
+            identities.add(iterator.next().getIdentity());
         }
         return identities;
     }
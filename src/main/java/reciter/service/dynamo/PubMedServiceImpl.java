@@ -6,13 +6,16 @@ import org.springframework.stereotype.Service;
 import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
 
 import lombok.extern.slf4j.Slf4j;
+import reciter.database.dynamodb.CompressedAttribute;
+import reciter.database.dynamodb.DynamoDbBatchLoader;
+import reciter.database.dynamodb.DynamoDbCompressedOperations;
 import reciter.database.dynamodb.repository.PubMedArticleRepository;
 import reciter.model.pubmed.PubMedArticle;
+import reciter.pubmed.retriever.PubMedArticleCache;
 import reciter.service.PubMedService;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 
 @Slf4j
@@ -22,37 +25,73 @@ public class PubMedServiceImpl implements PubMedService {
     @Autowired
     private PubMedArticleRepository pubMedRepository;
 
+    @Autowired
+    private PubMedArticleCache pubMedArticleCache;
+
+    @Autowired
+    private DynamoDbBatchLoader dynamoDbBatchLoader;
+
+    @Autowired
+    private DynamoDbCompressedOperations dynamoDbCompressedOperations;
+
     @Override
     public void save(Collection<PubMedArticle> pubMedArticles) {
+        // During a bulk retrieval skip the articles already written for another identity.
+        List<PubMedArticle> unsavedPubMedArticles = pubMedArticleCache.findUnsaved(pubMedArticles);
+        if (unsavedPubMedArticles.isEmpty()) {
+            return;
+        }
         List<reciter.database.dynamodb.model.PubMedArticle> pubmedArticlesDb = new ArrayList<>();
-        for (PubMedArticle pubMedArticle : pubMedArticles) {
+        for (PubMedArticle pubMedArticle : unsavedPubMedArticles) {
             reciter.database.dynamodb.model.PubMedArticle pubMedArticleDb = new reciter.database.dynamodb.model.PubMedArticle(
                     pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid(),
                     pubMedArticle
             );
             pubmedArticlesDb.add(pubMedArticleDb);
         }
+        if (dynamoDbCompressedOperations.isCompression()) {
+            saveCompressed(pubmedArticlesDb);
+            return;
+        }
         try{
         	pubMedRepository.saveAll(pubmedArticlesDb);
+        	pubMedArticleCache.markSaved(unsavedPubMedArticles);
         } catch(Exception e) { //This is to skip over articles with huge list of authors e.g. yiwang - 29547300
         	log.info(e.getMessage());
         }
     }
 
+    /**
+     * Articles are sized up front; one that does not fit even when compressed is skipped instead of failing the others.
+     */
+    private void saveCompressed(List<reciter.database.dynamodb.model.PubMedArticle> pubmedArticlesDb) {
+        List<reciter.database.dynamodb.model.PubMedArticle> fittingPubMedArticlesDb = new ArrayList<>(pubmedArticlesDb.size());
+        List<byte[]> compressedPubMedArticles = new ArrayList<>(pubmedArticlesDb.size());
+        List<PubMedArticle> savedPubMedArticles = new ArrayList<>(pubmedArticlesDb.size());
+        for (reciter.database.dynamodb.model.PubMedArticle pubMedArticleDb : pubmedArticlesDb) {
+            byte[] compressedPubMedArticle = CompressedAttribute.PUBMED_ARTICLE.encode(pubMedArticleDb);
+            if (dynamoDbCompressedOperations.fits(compressedPubMedArticle)) {
+                fittingPubMedArticlesDb.add(pubMedArticleDb);
+                compressedPubMedArticles.add(compressedPubMedArticle);
+                savedPubMedArticles.add(pubMedArticleDb.getPubMedArticle());
+            } else {
+                log.info("Skipping PubMed article " + pubMedArticleDb.getPmid() + " since it is " + compressedPubMedArticle.length
+                        + " bytes even when compressed");
+            }
+        }
+        dynamoDbCompressedOperations.saveAll(CompressedAttribute.PUBMED_ARTICLE, fittingPubMedArticlesDb, compressedPubMedArticles);
+        pubMedArticleCache.markSaved(savedPubMedArticles);
+    }
+
     @Override
     public List<PubMedArticle> findByPmids(List<Long> pmids) {
-        List<PubMedArticle> pubMedArticles = null;
-        Iterator<reciter.database.dynamodb.model.PubMedArticle> iterator = pubMedRepository.findAllById(pmids).iterator();
-        pubMedArticles = new ArrayList<>(pmids.size());
-        while (iterator.hasNext()) {
-            pubMedArticles.add(iterator.next().getPubMedArticle());
-        }
-        return pubMedArticles;
+        return dynamoDbBatchLoader.loadAll(CompressedAttribute.PUBMED_ARTICLE, pmids,
+                reciter.database.dynamodb.model.PubMedArticle::getPubMedArticle);
     }
 
     @Override
     public PubMedArticle findByPmid(Long pmid) {
-        reciter.database.dynamodb.model.PubMedArticle pubMedArticle = pubMedRepository.findById(pmid).orElseGet(() -> null);
+        reciter.database.dynamodb.model.PubMedArticle pubMedArticle = dynamoDbCompressedOperations.load(CompressedAttribute.PUBMED_ARTICLE, pmid);
         if (pubMedArticle != null) {
             return pubMedArticle.getPubMedArticle();
         }
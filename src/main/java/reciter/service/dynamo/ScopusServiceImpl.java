@@ -3,13 +3,13 @@ package reciter.service.dynamo;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reciter.database.dynamodb.DynamoDbBatchLoader;
 import reciter.database.dynamodb.repository.ScopusArticleRepository;
 import reciter.model.scopus.ScopusArticle;
 import reciter.service.ScopusService;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 
 @Slf4j
@@ -19,6 +19,9 @@ public class ScopusServiceImpl implements ScopusService {
     @Autowired
     private ScopusArticleRepository scopusRepository;
 
+    @Autowired
+    private DynamoDbBatchLoader dynamoDbBatchLoader;
+
     @Override
     public void save(Collection<ScopusArticle> scopusArticles) {
         List<reciter.database.dynamodb.model.ScopusArticle> dbScopusArticles = new ArrayList<>();
@@ -52,13 +55,8 @@ public class ScopusServiceImpl implements ScopusService {
 
     @Override
     public List<ScopusArticle> findByPmids(List<String> pmids) {
-        List<ScopusArticle> scopusArticles = null;
-        Iterator<reciter.database.dynamodb.model.ScopusArticle> iterator = scopusRepository.findAllById(pmids).iterator();
-        scopusArticles = new ArrayList<>(pmids.size());
-        while (iterator.hasNext()) {
-            scopusArticles.add(iterator.next().getScopusArticle());
-        }
-        return scopusArticles;
+        return dynamoDbBatchLoader.loadAll(reciter.database.dynamodb.model.ScopusArticle.class, pmids,
+                reciter.database.dynamodb.model.ScopusArticle::getScopusArticle);
     }
 
     @Override
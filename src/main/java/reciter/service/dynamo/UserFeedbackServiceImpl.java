@@ -12,6 +12,9 @@ public class UserFeedbackServiceImpl implements UserFeedbackService {
 	
 	@Autowired
 	private UserFeedbackRepository userFeedbackRepository;
+	
+	@Autowired
+	private AnalysisOutputCache analysisOutputCache;
 
 	@Override
 	public void save(UserFeedback userFeedback) {
@@ -28,6 +31,7 @@ public class UserFeedbackServiceImpl implements UserFeedbackService {
 			userFeedbackDdb.setFeedbackDate(userFeedback.getFeedbackDate());
 			userFeedbackRepository.save(userFeedbackDdb);
 		}
+		analysisOutputCache.invalidate(userFeedback.getUid());
 	}
 
 	@Override
@@ -39,6 +43,7 @@ public class UserFeedbackServiceImpl implements UserFeedbackService {
 	@Override
 	public void delete(String uid) {
 		userFeedbackRepository.deleteById(uid);
+		analysisOutputCache.invalidate(uid);
 	}
 
 }
@@ -0,0 +1,28 @@
+package reciter.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Object storage for the items too large for DynamoDB, see {@link reciter.database.dynamodb.DynamoDbS3Operations}.
+ * {@link S3LargeItemStore} stores them in S3, tests use a store in a local directory.
+ */
+public interface LargeItemStore {
+
+	/**
+	 * Stores the content under the key, replacing any previous content.
+	 * @param contentEncoding encoding of the content such as gzip or null if it is not encoded
+	 */
+	void put(String bucketName, String keyName, InputStream content, long contentLength, String contentType,
+			String contentEncoding) throws IOException;
+
+	/**
+	 * @return the stored content, which the caller has to close, or null if there is nothing stored under the key
+	 */
+	InputStream get(String bucketName, String keyName) throws IOException;
+
+	/**
+	 * Removes the content stored under the key, if any.
+	 */
+	void delete(String bucketName, String keyName) throws IOException;
+}
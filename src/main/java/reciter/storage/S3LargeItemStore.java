@@ -0,0 +1,50 @@
+package reciter.storage;
+
+import java.io.InputStream;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+
+/**
+ * {@link LargeItemStore} in S3. A put replaces the object in a single request, so there is no need to check for or delete
+ * a previous version first.
+ */
+public class S3LargeItemStore implements LargeItemStore {
+
+	private final AmazonS3 s3;
+
+	public S3LargeItemStore(AmazonS3 s3) {
+		this.s3 = s3;
+	}
+
+	@Override
+	public void put(String bucketName, String keyName, InputStream content, long contentLength, String contentType,
+			String contentEncoding) {
+		ObjectMetadata metadata = new ObjectMetadata();
+		metadata.setContentType(contentType);
+		metadata.setContentLength(contentLength);
+		if (contentEncoding != null) {
+			metadata.setContentEncoding(contentEncoding);
+		}
+		s3.putObject(new PutObjectRequest(bucketName.toLowerCase(), keyName, content, metadata));
+	}
+
+	@Override
+	public InputStream get(String bucketName, String keyName) {
+		try {
+			return s3.getObject(bucketName.toLowerCase(), keyName).getObjectContent();
+		} catch (AmazonS3Exception e) {
+			if (e.getStatusCode() == 404) {
+				return null;
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public void delete(String bucketName, String keyName) {
+		s3.deleteObject(bucketName.toLowerCase(), keyName);
+	}
+}
@@ -0,0 +1,58 @@
+package reciter.utils;
+
+/**
+ * Bounds the number of calls to an upstream service in flight at the same time, adapting the bound to the capacity of the
+ * service with additive increase, multiplicative decrease (AIMD): every successful call raises the limit by 1/limit, so by
+ * about one per limit calls, and every failed call multiplies it by <code>backoffRatio</code>. Callers above the limit wait
+ * for a call to finish rather than adding to the load of a struggling service.
+ */
+public class AimdConcurrencyLimiter {
+
+	private final int minimumLimit;
+	private final int maximumLimit;
+	private final double backoffRatio;
+
+	private double limit;
+	private int inFlight;
+
+	/**
+	 * @param backoffRatio factor applied to the limit after a failure, between 0 and 1
+	 */
+	public AimdConcurrencyLimiter(int initialLimit, int minimumLimit, int maximumLimit, double backoffRatio) {
+		this.minimumLimit = Math.max(minimumLimit, 1);
+		this.maximumLimit = Math.max(maximumLimit, this.minimumLimit);
+		this.backoffRatio = backoffRatio;
+		this.limit = Math.min(Math.max(initialLimit, this.minimumLimit), this.maximumLimit);
+	}
+
+	/**
+	 * Blocks until fewer calls than the limit are in flight. Every acquire is followed by a {@link #release(boolean)}.
+	 */
+	public synchronized void acquire() throws InterruptedException {
+		while (inFlight >= (int) limit) {
+			wait();
+		}
+		inFlight++;
+	}
+
+	/**
+	 * @param success false if the call failed or timed out, which lowers the limit
+	 */
+	public synchronized void release(boolean success) {
+		inFlight--;
+		if (success) {
+			limit = Math.min(maximumLimit, limit + 1.0 / limit);
+		} else {
+			limit = Math.max(minimumLimit, limit * backoffRatio);
+		}
+		notifyAll();
+	}
+
+	public synchronized int getLimit() {
+		return (int) limit;
+	}
+
+	public synchronized int getInFlight() {
+		return inFlight;
+	}
+}
@@ -0,0 +1,168 @@
+package reciter.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import reciter.algorithm.util.ReCiterStringUtil;
+
+/**
+ * Shared name normalization used by {@link AuthorNameSanitizationUtils} and the name scoring strategy. It produces the
+ * same names as the legacy <code>replaceAll("[separators]|(suffixes)$", "")</code> followed by
+ * {@link ReCiterStringUtil#deAccent(String)}, but removes separators and the trailing suffix in a single pass over the
+ * characters instead of compiling a regex per name.
+ * <p>
+ * Surnames repeat heavily across the articles of a candidate set, so normalized names are memoized in a cache of at most
+ * {@link #MAXIMUM_CACHE_SIZE} names per kind of normalization, which is emptied when it fills up.
+ * <p>
+ * One instance exists per list of excluded suffixes (nameScoringStrategy-excludedSuffixes), see {@link #forSuffixes(String)}.
+ */
+public final class AuthorNameNormalizer {
+
+	public static final int MAXIMUM_CACHE_SIZE = 20000;
+
+	/**
+	 * Quoted or parenthesized nick names in an identity first or middle name, e.g. Wing Tak "Jack".
+	 */
+	public static final Pattern QUOTED_NAME = Pattern.compile("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g");
+
+	private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+	private static final String LINE_TERMINATORS = "\n\r\u0085\u2028\u2029";
+
+	private static final Map<String, AuthorNameNormalizer> normalizers = new ConcurrentHashMap<>();
+
+	/**
+	 * Characters removed from a name.
+	 */
+	public enum Separators {
+		/** Used for article first names. */
+		ARTICLE_FIRST_NAME("-.\"() ", "[-.\"() ]"),
+		/** Used for article last names and identity alternate names. */
+		NAME("-.\",() \t\n\u000B\f\r", "[-.\",()\\s]"),
+		/** Used for identity primary names, quotes are kept to extract nick names. */
+		IDENTITY_NAME("-.,() \t\n\u000B\f\r", "[-.,()\\s]");
+
+		private final String characters;
+		private final String regex;
+
+		Separators(String characters, String regex) {
+			this.characters = characters;
+			this.regex = regex;
+		}
+
+		public boolean contains(char c) {
+			return characters.indexOf(c) >= 0;
+		}
+	}
+
+	private final List<String> suffixes;
+	private final Pattern[] suffixPatterns;
+	private final boolean literalSuffixes;
+	private final Map<String, String>[] caches;
+
+	@SuppressWarnings("unchecked")
+	private AuthorNameNormalizer(String nameExcludedSuffixes) {
+		List<String> excludedSuffixes = Arrays.asList(nameExcludedSuffixes.trim().split("\\s*,\\s*"));
+		// ",suffix" and ", suffix" for every suffix, then the suffixes themselves with a comma before the first one
+		suffixes = new ArrayList<>();
+		for (String suffix : excludedSuffixes) {
+			suffixes.add("," + suffix);
+			suffixes.add(", " + suffix);
+		}
+		for (int i = 0; i < excludedSuffixes.size(); i++) {
+			suffixes.add(i == 0 ? "," + excludedSuffixes.get(i) : excludedSuffixes.get(i));
+		}
+		literalSuffixes = suffixes.stream().noneMatch(suffix -> suffix.chars().anyMatch(c -> REGEX_METACHARACTERS.indexOf(c) >= 0));
+		String suffixRegex = String.join("|", suffixes);
+		suffixPatterns = new Pattern[Separators.values().length];
+		for (Separators separators : Separators.values()) {
+			suffixPatterns[separators.ordinal()] = Pattern.compile(separators.regex + "|(" + suffixRegex + ")$");
+		}
+		caches = new Map[Separators.values().length * 2];
+		for (int i = 0; i < caches.length; i++) {
+			caches[i] = new ConcurrentHashMap<>();
+		}
+	}
+
+	/**
+	 * @param nameExcludedSuffixes comma separated suffixes, see {@link reciter.engine.StrategyParameters#getNameExcludedSuffixes()}
+	 * @return the shared normalizer for these suffixes
+	 */
+	public static AuthorNameNormalizer forSuffixes(String nameExcludedSuffixes) {
+		return normalizers.computeIfAbsent(nameExcludedSuffixes, AuthorNameNormalizer::new);
+	}
+
+	/**
+	 * Removes the separators and, if <code>stripSuffix</code>, a trailing name suffix such as " Jr" or " MD PhD".
+	 * Equivalent to <code>name.replaceAll("[separators]|(suffixes)$", "")</code>.
+	 */
+	public String sanitize(String name, Separators separators, boolean stripSuffix) {
+		int end = stripSuffix ? findSuffixStart(name, separators) : name.length();
+		if (end < 0) {
+			return suffixPatterns[separators.ordinal()].matcher(name).replaceAll("");
+		}
+		StringBuilder sanitized = null;
+		for (int i = 0; i < end; i++) {
+			char c = name.charAt(i);
+			if (separators.contains(c)) {
+				if (sanitized == null) {
+					sanitized = new StringBuilder(end).append(name, 0, i);
+				}
+			} else if (sanitized != null) {
+				sanitized.append(c);
+			}
+		}
+		if (sanitized != null) {
+			return sanitized.toString();
+		}
+		return end == name.length() ? name : name.substring(0, end);
+	}
+
+	/**
+	 * {@link #sanitize(String, Separators, boolean)} followed by {@link ReCiterStringUtil#deAccent(String)}, memoized.
+	 */
+	public String normalize(String name, Separators separators, boolean stripSuffix) {
+		Map<String, String> cache = caches[separators.ordinal() * 2 + (stripSuffix ? 1 : 0)];
+		String normalized = cache.get(name);
+		if (normalized == null) {
+			normalized = ReCiterStringUtil.deAccent(sanitize(name, separators, stripSuffix));
+			if (cache.size() >= MAXIMUM_CACHE_SIZE) {
+				cache.clear();
+			}
+			cache.put(name, normalized);
+		}
+		return normalized;
+	}
+
+	/**
+	 * The regex tries the separators before the suffixes at every position, so a suffix only matches where its first
+	 * character is not a separator; the earliest such suffix running to the end of the name is removed.
+	 * @return index where the removed suffix starts, the length of the name if there is none, or -1 if the suffixes are
+	 * not plain text or the name ends with a line terminator (where $ also matches) and the precompiled pattern has to be used
+	 */
+	private int findSuffixStart(String name, Separators separators) {
+		if (!literalSuffixes || (!name.isEmpty() && LINE_TERMINATORS.indexOf(name.charAt(name.length() - 1)) >= 0)) {
+			return -1;
+		}
+		int start = name.length();
+		for (String suffix : suffixes) {
+			int suffixStart = name.length() - suffix.length();
+			if (!suffix.isEmpty() && suffixStart >= 0 && suffixStart < start && name.endsWith(suffix) && !separators.contains(suffix.charAt(0))) {
+				start = suffixStart;
+			}
+		}
+		return start;
+	}
+
+	/**
+	 * Literal form of <code>value.matches(prefix + "(.*)" + suffix)</code>. Both agree as long as the names contain no regex
+	 * metacharacters or line terminators, which is the case for sanitized names.
+	 */
+	public static boolean startsAndEndsWith(String value, String prefix, String suffix) {
+		return value.length() >= prefix.length() + suffix.length() && value.startsWith(prefix) && value.endsWith(suffix);
+	}
+}
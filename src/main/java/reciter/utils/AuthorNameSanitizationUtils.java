@@ -1,7 +1,6 @@
 package reciter.utils;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -12,7 +11,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +25,7 @@ import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterAuthor;
 import reciter.model.identity.AuthorName;
 import reciter.model.identity.Identity;
+import reciter.utils.AuthorNameNormalizer.Separators;
 
 /**
  * @author szd2013
@@ -76,10 +75,11 @@ public class AuthorNameSanitizationUtils {
 	
 	private StrategyParameters strategyParameters; 
 	
-	private List<String> nameExcludedSuffixes;
+	private AuthorNameNormalizer authorNameNormalizer;
 	
 	public AuthorNameSanitizationUtils(StrategyParameters strategyParameters) {
 		this.strategyParameters = strategyParameters;
+		this.authorNameNormalizer = AuthorNameNormalizer.forSuffixes(strategyParameters.getNameExcludedSuffixes());
 	}
 	
 	/**
@@ -94,10 +94,10 @@ public class AuthorNameSanitizationUtils {
 			for(ReCiterAuthor authorName: reCiterArticle.getArticleCoAuthors().getAuthors()) {
 				AuthorName articleAuthor = new AuthorName();
 				if(authorName.getAuthorName().getFirstName() != null) {
-					articleAuthor.setFirstName(ReCiterStringUtil.deAccent(authorName.getAuthorName().getFirstName().replaceAll("[-.\"() ]", "")));
+					articleAuthor.setFirstName(authorNameNormalizer.normalize(authorName.getAuthorName().getFirstName(), Separators.ARTICLE_FIRST_NAME, false));
 				}
 				if(authorName.getAuthorName().getLastName() != null) {
-					articleAuthor.setLastName(ReCiterStringUtil.deAccent(authorName.getAuthorName().getLastName().replaceAll("[-.\",()\\s]|(" + generateSuffixRegex() + ")$", "")));
+					articleAuthor.setLastName(authorNameNormalizer.normalize(authorName.getAuthorName().getLastName(), Separators.NAME, true));
 				}
 				ReCiterAuthor sanitizedReCiterAuthor = new ReCiterAuthor(articleAuthor, authorName.getAffiliation());
 				sanitizedReCiterAuthor.setRank(authorName.getRank());
@@ -129,37 +129,35 @@ public class AuthorNameSanitizationUtils {
 				
 				if(identity.getPrimaryName().getFirstName() != null) {
 					if(identity.getPrimaryName().getFirstName().contains("\"") || (identity.getPrimaryName().getFirstName().contains("(") && identity.getPrimaryName().getFirstName().contains(")"))) {
-						firstName = identity.getPrimaryName().getFirstName().replaceAll("[-.,()\\s]", "").replaceAll("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g", "");
+						firstName = AuthorNameNormalizer.QUOTED_NAME.matcher(authorNameNormalizer.sanitize(identity.getPrimaryName().getFirstName(), Separators.IDENTITY_NAME, false)).replaceAll("");
 						if(firstName !=null) {
 							additionalName.setFirstName(ReCiterStringUtil.deAccent(firstName));
 						}
-						Pattern pattern = Pattern.compile("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g");
-						Matcher matcher = pattern.matcher(identity.getPrimaryName().getFirstName());
+						Matcher matcher = AuthorNameNormalizer.QUOTED_NAME.matcher(identity.getPrimaryName().getFirstName());
 						while(matcher.find()) {
 							identityPrimaryName.setFirstName(ReCiterStringUtil.deAccent(matcher.group().replaceAll("\"", "")));
 						}
 					} else {
-						identityPrimaryName.setFirstName(ReCiterStringUtil.deAccent(identity.getPrimaryName().getFirstName().replaceAll("[-.,()\\s]", "")));
+						identityPrimaryName.setFirstName(authorNameNormalizer.normalize(identity.getPrimaryName().getFirstName(), Separators.IDENTITY_NAME, false));
 					}
 				}
 				if(identity.getPrimaryName().getMiddleName() != null) {
 					if(identity.getPrimaryName().getMiddleName().contains("\"") || (identity.getPrimaryName().getMiddleName().contains("(") && identity.getPrimaryName().getMiddleName().contains(")"))) {
-						middleName = identity.getPrimaryName().getMiddleName().replaceAll("[-.,()\\s]", "").replaceAll("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g", "");
+						middleName = AuthorNameNormalizer.QUOTED_NAME.matcher(authorNameNormalizer.sanitize(identity.getPrimaryName().getMiddleName(), Separators.IDENTITY_NAME, false)).replaceAll("");
 						if(middleName !=null) {
 							additionalName.setMiddleName(ReCiterStringUtil.deAccent(middleName));
 						}
-						Pattern pattern = Pattern.compile("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g");
-						Matcher matcher = pattern.matcher(identity.getPrimaryName().getMiddleName());
+						Matcher matcher = AuthorNameNormalizer.QUOTED_NAME.matcher(identity.getPrimaryName().getMiddleName());
 						while(matcher.find()) {
 							identityPrimaryName.setMiddleName(ReCiterStringUtil.deAccent(matcher.group().replaceAll("\"", "")));
 						}
 					} else {
-						identityPrimaryName.setMiddleName(ReCiterStringUtil.deAccent(identity.getPrimaryName().getMiddleName().replaceAll("[-.,()\\s]", "")));
+						identityPrimaryName.setMiddleName(authorNameNormalizer.normalize(identity.getPrimaryName().getMiddleName(), Separators.IDENTITY_NAME, false));
 					}
 				}
 				if(identity.getPrimaryName().getLastName() != null) {
 					//lastName = identity.getPrimaryName().getLastName().replaceAll("[-.,,()\\s]|(,Jr|, Jr|, MD PhD|,MD PhD|, MD-PhD|,MD-PhD|, PhD|,PhD|, MD|,MD|, III|,III|, II|,II|, Sr|,Sr|Jr|MD PhD|MD-PhD|PhD|MD|III|II|Sr)$", "");
-					lastName = identity.getPrimaryName().getLastName().replaceAll("[-.,,()\\s]|(" + generateSuffixRegex() + ")$", "");
+					lastName = authorNameNormalizer.sanitize(identity.getPrimaryName().getLastName(), Separators.IDENTITY_NAME, true);
 					identityPrimaryName.setLastName(ReCiterStringUtil.deAccent(lastName));
 					if(additionalName.getFirstName() != null) {
 						additionalName.setLastName(ReCiterStringUtil.deAccent(lastName));
@@ -174,13 +172,13 @@ public class AuthorNameSanitizationUtils {
 				for(AuthorName aliasAuthorName: identity.getAlternateNames()) {
 					AuthorName identityAliasAuthorName = new AuthorName();
 					if(aliasAuthorName.getFirstName() != null) {
-						identityAliasAuthorName.setFirstName(ReCiterStringUtil.deAccent(aliasAuthorName.getFirstName().replaceAll("[-.\",()\\s]", "")));
+						identityAliasAuthorName.setFirstName(authorNameNormalizer.normalize(aliasAuthorName.getFirstName(), Separators.NAME, false));
 					}
 					if(aliasAuthorName.getMiddleName() != null) {
-						identityAliasAuthorName.setMiddleName(ReCiterStringUtil.deAccent(aliasAuthorName.getMiddleName().replaceAll("[-.\",()\\s]", "")));
+						identityAliasAuthorName.setMiddleName(authorNameNormalizer.normalize(aliasAuthorName.getMiddleName(), Separators.NAME, false));
 					}
 					if(aliasAuthorName.getLastName() != null) {
-						identityAliasAuthorName.setLastName(ReCiterStringUtil.deAccent(aliasAuthorName.getLastName().replaceAll("[-.\",()\\s]|(" + generateSuffixRegex() + ")$", "")));
+						identityAliasAuthorName.setLastName(authorNameNormalizer.normalize(aliasAuthorName.getLastName(), Separators.NAME, true));
 					}
 					
 					if(identityAliasAuthorName.getLastName() != null) {
@@ -273,23 +271,6 @@ public class AuthorNameSanitizationUtils {
 	}
 	
 	
-	/**
-	 * This function generates regex of suffix from application.properties file
-	 * @return regex string
-	 */
-	public String generateSuffixRegex() {
-		nameExcludedSuffixes = Arrays.asList(strategyParameters.getNameExcludedSuffixes().trim().split("\\s*,\\s*"));
-		String suffixRegex = "";
-		String suffixTogether = "";
-		for(String suffix: nameExcludedSuffixes) {
-			suffixRegex = suffixRegex + "," + suffix + "|, " + suffix + "|";
-			suffixTogether = suffixTogether + suffix + "|";
-		}
-		if(suffixTogether.endsWith("|")) {
-			suffixTogether = suffixTogether.substring(0, suffixTogether.length() - 1);
-		}
-		return suffixRegex + "," + suffixTogether;
-	}
 	
 
 }
@@ -0,0 +1,74 @@
+package reciter.utils;
+
+/**
+ * Stops calls to an upstream service that keeps failing. After <code>failureThreshold</code> failures in a row the circuit
+ * opens and calls are refused right away for <code>openMillis</code>. The circuit then lets a single probe call through:
+ * if it succeeds the circuit closes, otherwise it opens again for another <code>openMillis</code>.
+ */
+public class CircuitBreaker {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int failureThreshold;
+	private final long openMillis;
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long openedTime;
+	private boolean probing;
+
+	/**
+	 * @param failureThreshold number of failures in a row opening the circuit, 0 or less to never open it
+	 */
+	public CircuitBreaker(int failureThreshold, long openMillis) {
+		this.failureThreshold = failureThreshold;
+		this.openMillis = openMillis;
+	}
+
+	/**
+	 * @return true if the call may be sent, in which case the caller reports its outcome with {@link #onSuccess()},
+	 * {@link #onFailure()} or {@link #onCancel()}
+	 */
+	public synchronized boolean tryAcquire() {
+		if (state == State.OPEN && System.currentTimeMillis() - openedTime >= openMillis) {
+			state = State.HALF_OPEN;
+			probing = false;
+		}
+		if (state == State.HALF_OPEN) {
+			if (probing) {
+				return false;
+			}
+			probing = true;
+			return true;
+		}
+		return state == State.CLOSED;
+	}
+
+	public synchronized void onSuccess() {
+		consecutiveFailures = 0;
+		state = State.CLOSED;
+		probing = false;
+	}
+
+	public synchronized void onFailure() {
+		consecutiveFailures++;
+		if (state == State.HALF_OPEN || (failureThreshold > 0 && consecutiveFailures >= failureThreshold)) {
+			state = State.OPEN;
+			openedTime = System.currentTimeMillis();
+			probing = false;
+		}
+	}
+
+	/**
+	 * The call was not sent after all, e.g. because the thread was interrupted, so another probe may be sent.
+	 */
+	public synchronized void onCancel() {
+		probing = false;
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+}
@@ -0,0 +1,71 @@
+package reciter.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import reciter.database.dynamodb.model.Gender;
+
+/**
+ * Hash index over the Gender table from the normalized (trimmed and case folded) name to the rows with that name.
+ * Lookups return the rows in table order so that averaging their probabilities gives the same result as scanning the table.
+ */
+public class GenderIndex {
+
+	private final List<Gender> genders;
+	private final Map<String, int[]> rowsByName;
+
+	public GenderIndex(List<Gender> genders) {
+		this.genders = new ArrayList<Gender>(genders);
+		Map<String, List<Integer>> rows = new HashMap<String, List<Integer>>();
+		for (int i = 0; i < this.genders.size(); i++) {
+			Gender gender = this.genders.get(i);
+			if (gender != null && gender.getName() != null) {
+				rows.computeIfAbsent(normalize(gender.getName()), name -> new ArrayList<Integer>()).add(i);
+			}
+		}
+		this.rowsByName = new HashMap<String, int[]>(rows.size() * 4 / 3 + 1);
+		for (Map.Entry<String, List<Integer>> entry : rows.entrySet()) {
+			this.rowsByName.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+		}
+	}
+
+	/**
+	 * @param name a first or middle name token
+	 * @return key used to look the name up in the index
+	 */
+	public static String normalize(String name) {
+		return ReCiterStringUtil.caseFold(name.trim());
+	}
+
+	/**
+	 * @param names name tokens, normalized by this method
+	 * @return every row whose name has the same normalized form as one of the tokens, in table order and without duplicates
+	 */
+	public List<Gender> findByNames(Collection<String> names) {
+		TreeSet<Integer> matchingRows = new TreeSet<Integer>();
+		for (String name : names) {
+			if (name == null) {
+				continue;
+			}
+			int[] rows = rowsByName.get(normalize(name));
+			if (rows != null) {
+				for (int row : rows) {
+					matchingRows.add(row);
+				}
+			}
+		}
+		List<Gender> matchingGenders = new ArrayList<Gender>(matchingRows.size());
+		for (int row : matchingRows) {
+			matchingGenders.add(genders.get(row));
+		}
+		return matchingGenders;
+	}
+
+	public boolean isEmpty() {
+		return genders.isEmpty();
+	}
+}
@@ -2,6 +2,7 @@ package reciter.utils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -26,7 +27,7 @@ public class GenderProbability {
 	 * Finds the Gender Name and the probability from Gender table and assigns to identity
 	 */
 	public static void getGenderIdentityProbability(Identity identity) {
-		List<Gender> genders = EngineParameters.getGenders();
+		GenderIndex genderIndex = EngineParameters.getGenderIndex();
 		List<Gender> matchingGenders = new ArrayList<Gender>();
 		Set<String> identityNames = new HashSet<String>();
 		if(identity.getPrimaryName() != null) {
@@ -90,11 +91,11 @@ public class GenderProbability {
 		}
 		if(!identityNames.isEmpty()
 				&&
-				genders != null
+				genderIndex != null
 				&&
-				!genders.isEmpty()) {
-			matchingGenders = genders
-				.parallelStream()
+				!genderIndex.isEmpty()) {
+			matchingGenders = genderIndex.findByNames(identityNames)
+				.stream()
 				.filter(gender ->
 				identityNames.contains(gender.getName().toLowerCase())
 				).collect(Collectors.toList());
@@ -115,15 +116,15 @@ public class GenderProbability {
 	 * @return Gender match for article
 	 */
 	public static Gender getGenderArticleProbability(ReCiterArticle reCiterArticle) {
-		List<Gender> genders = EngineParameters.getGenders();
+		GenderIndex genderIndex = EngineParameters.getGenderIndex();
 		List<Gender> matchingGenders = new ArrayList<Gender>();
 		if(reCiterArticle.getArticleCoAuthors().getAuthors() != null 
 				&& 
 				!reCiterArticle.getArticleCoAuthors().getAuthors().isEmpty()
 				&&
-				genders != null
+				genderIndex != null
 				&&
-				!genders.isEmpty()) {
+				!genderIndex.isEmpty()) {
 			List<ReCiterAuthor> targetAuthorList = reCiterArticle.getArticleCoAuthors().getAuthors()
 			.stream()
 			.filter(reCiterAuthor -> reCiterAuthor.isTargetAuthor())
@@ -136,15 +137,15 @@ public class GenderProbability {
 					if(targetAuthorList.get(0).getAuthorName().getFirstName().contains(" ") || targetAuthorList.get(0).getAuthorName().getFirstName().contains("-")) {
 					String targetAuthor[] = targetAuthorList.get(0).getAuthorName().getFirstName().split("\\s+|-");
 					List<String> targetAuthorSplitList = Arrays.asList(targetAuthor);
-					matchingGenders = genders
-							.parallelStream()
+					matchingGenders = genderIndex.findByNames(targetAuthorSplitList)
+							.stream()
 							.filter(gender ->
 							targetAuthorSplitList.stream().anyMatch(split -> split.length() >= 2 &&  split.equalsIgnoreCase(gender.getName().trim())
 							))
 							.collect(Collectors.toList());
 					} else {
-						matchingGenders = genders
-								.parallelStream()
+						matchingGenders = genderIndex.findByNames(Collections.singletonList(targetAuthorList.get(0).getAuthorName().getFirstName()))
+								.stream()
 								.filter(gender ->
 										targetAuthorList.get(0).getAuthorName().getFirstName() != null
 										&&
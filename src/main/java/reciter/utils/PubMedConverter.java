@@ -20,6 +20,9 @@ package reciter.utils;
 
 import reciter.model.identity.AuthorName;
 import reciter.model.pubmed.MedlineCitationArticleAuthor;
+import reciter.model.pubmed.MedlineCitationDate;
+import reciter.model.pubmed.PubMedArticle;
+import reciter.model.pubmed.PubMedPubDate;
 
 public class PubMedConverter {
 
@@ -61,4 +64,35 @@ public class PubMedConverter {
 		AuthorName authorName = new AuthorName(firstName, middleName, lastName);
 		return authorName;
 	}
+
+	/**
+	 * Latest date of the PubMed history as yyyyMMdd so that later revisions of an article compare greater, or an empty
+	 * string if the article has no history.
+	 */
+	public static String getLastModified(PubMedArticle pubMedArticle) {
+		String lastModified = "";
+		if (pubMedArticle.getPubmeddata() == null
+				|| pubMedArticle.getPubmeddata().getHistory() == null
+				|| pubMedArticle.getPubmeddata().getHistory().getPubMedPubDate() == null) {
+			return lastModified;
+		}
+		for (PubMedPubDate pubMedPubDate : pubMedArticle.getPubmeddata().getHistory().getPubMedPubDate()) {
+			MedlineCitationDate date = pubMedPubDate.getPubMedPubDate();
+			if (date == null || date.getYear() == null) {
+				continue;
+			}
+			String value = date.getYear() + pad(date.getMonth()) + pad(date.getDay());
+			if (value.compareTo(lastModified) > 0) {
+				lastModified = value;
+			}
+		}
+		return lastModified;
+	}
+
+	private static String pad(String value) {
+		if (value == null) {
+			return "01";
+		}
+		return value.length() == 1 ? "0" + value : value;
+	}
 }
@@ -0,0 +1,45 @@
+package reciter.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces calls to an upstream service evenly so that no more than <code>permitsPerSecond</code> requests are sent,
+ * whatever the number of threads calling it.
+ */
+public class RateLimiter {
+
+	private final long intervalNanos;
+	private long nextPermitNanos;
+
+	/**
+	 * @param permitsPerSecond maximum number of requests per second, 0 or less for no limit
+	 */
+	public RateLimiter(double permitsPerSecond) {
+		this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+		this.nextPermitNanos = System.nanoTime();
+	}
+
+	/**
+	 * Blocks until the caller may send the next request. If the thread is interrupted while waiting the interrupt flag is
+	 * restored and the call returns right away.
+	 */
+	public void acquire() {
+		if (intervalNanos == 0) {
+			return;
+		}
+		long waitNanos;
+		synchronized (this) {
+			long now = System.nanoTime();
+			long permitNanos = Math.max(now, nextPermitNanos);
+			nextPermitNanos = permitNanos + intervalNanos;
+			waitNanos = permitNanos - now;
+		}
+		if (waitNanos > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(waitNanos);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
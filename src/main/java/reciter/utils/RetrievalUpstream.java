@@ -0,0 +1,168 @@
+package reciter.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guards the requests sent to one upstream service (PubMed or Scopus) by all retrievals. A request is refused with an
+ * {@link UpstreamUnavailableException} while the circuit of the service is open, waits for the adaptive concurrency limit
+ * and the rate limit, and its outcome then adjusts both the circuit and the concurrency limit.
+ * <p>
+ * A request failing with an I/O error, e.g. a timeout or a reset connection, or with a 429 or 5xx status is sent again at
+ * most maxRetries times, after a random wait of up to retryBackoffMillis doubled after every retry so that the retrievals
+ * that failed together do not retry together. Every attempt waits for its own rate limiter permit, so retries count
+ * against the rate limit like any other request. All requests to the retrieval services are searches, so retrying them is
+ * safe even though they are POST requests.
+ * <p>
+ * Requests failing with a 4xx status other than 429 are answered by a healthy service and count as successes; any other
+ * exception, including timeouts and the 5xx statuses left after the last retry, counts as a failure.
+ */
+@Slf4j
+public class RetrievalUpstream {
+
+	private static final int MAXIMUM_BACKOFF_EXPONENT = 6;
+
+	private final String name;
+	private final RateLimiter rateLimiter;
+	private final CircuitBreaker circuitBreaker;
+	private final AimdConcurrencyLimiter concurrencyLimiter;
+	private final int maxRetries;
+	private final long retryBackoffMillis;
+
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+	private final AtomicLong rejections = new AtomicLong();
+	/**
+	 * Time spent on requests, from the rate limiter permit to the response of every attempt.
+	 */
+	private final AtomicLong latencyNanos = new AtomicLong();
+
+	/**
+	 * Point in time view of the upstream returned by the retrieval upstreams api.
+	 */
+	@Getter
+	@AllArgsConstructor
+	public static class Statistics {
+		private final String name;
+		private final CircuitBreaker.State state;
+		private final int concurrencyLimit;
+		private final int inFlight;
+		private final long requests;
+		private final long failures;
+		private final long rejections;
+		private final long averageLatencyMillis;
+	}
+
+	public RetrievalUpstream(String name, RateLimiter rateLimiter, CircuitBreaker circuitBreaker, AimdConcurrencyLimiter concurrencyLimiter) {
+		this(name, rateLimiter, circuitBreaker, concurrencyLimiter, 0, 0);
+	}
+
+	public RetrievalUpstream(String name, RateLimiter rateLimiter, CircuitBreaker circuitBreaker, AimdConcurrencyLimiter concurrencyLimiter,
+			int maxRetries, long retryBackoffMillis) {
+		this.name = name;
+		this.rateLimiter = rateLimiter;
+		this.circuitBreaker = circuitBreaker;
+		this.concurrencyLimiter = concurrencyLimiter;
+		this.maxRetries = maxRetries;
+		this.retryBackoffMillis = retryBackoffMillis;
+	}
+
+	/**
+	 * Sends a request to the upstream, retrying it while it fails with a retryable error.
+	 * @param request the request, throwing the exception of the failed call
+	 * @return the response of the request
+	 * @throws UpstreamUnavailableException if the circuit is open
+	 */
+	public <T> T execute(Supplier<T> request) {
+		if (!circuitBreaker.tryAcquire()) {
+			rejections.incrementAndGet();
+			throw new UpstreamUnavailableException("The " + name + " service is unavailable, circuit " + circuitBreaker.getState());
+		}
+		try {
+			concurrencyLimiter.acquire();
+		} catch (InterruptedException e) {
+			circuitBreaker.onCancel();
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the " + name + " service", e);
+		}
+		boolean success = false;
+		try {
+			int retries = 0;
+			while (true) {
+				try {
+					T response = attempt(request);
+					success = true;
+					return response;
+				} catch (HttpClientErrorException e) {
+					success = e.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS;
+					if (success || retries >= maxRetries) {
+						throw e;
+					}
+					log.warn("Retrying a request to the " + name + " service after status " + e.getRawStatusCode());
+				} catch (HttpServerErrorException | ResourceAccessException e) {
+					if (retries >= maxRetries) {
+						throw e;
+					}
+					log.warn("Retrying a request to the " + name + " service after " + e);
+				}
+				backOff(retries++);
+			}
+		} finally {
+			concurrencyLimiter.release(success);
+			CircuitBreaker.State previousState = circuitBreaker.getState();
+			if (success) {
+				circuitBreaker.onSuccess();
+			} else {
+				failures.incrementAndGet();
+				circuitBreaker.onFailure();
+			}
+			CircuitBreaker.State state = circuitBreaker.getState();
+			if (state != previousState) {
+				log.warn("Circuit of the " + name + " service " + state + ", concurrency limit " + concurrencyLimiter.getLimit());
+			}
+		}
+	}
+
+	/**
+	 * Sends one attempt of the request once the rate limiter hands out a permit for it.
+	 */
+	private <T> T attempt(Supplier<T> request) {
+		rateLimiter.acquire();
+		//The latency is the time spent on the request, not waiting for the rate limiter
+		long startTime = System.nanoTime();
+		requests.incrementAndGet();
+		try {
+			return request.get();
+		} finally {
+			latencyNanos.addAndGet(System.nanoTime() - startTime);
+		}
+	}
+
+	private void backOff(int retry) {
+		long maximumBackoffMillis = retryBackoffMillis << Math.min(retry, MAXIMUM_BACKOFF_EXPONENT);
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(maximumBackoffMillis + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting to retry a request to the " + name + " service", e);
+		}
+	}
+
+	public Statistics getStatistics() {
+		long requestCount = requests.get();
+		return new Statistics(name, circuitBreaker.getState(), concurrencyLimiter.getLimit(), concurrencyLimiter.getInFlight(),
+				requestCount, failures.get(), rejections.get(),
+				requestCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latencyNanos.get() / requestCount));
+	}
+}
@@ -0,0 +1,36 @@
+package reciter.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
+
+/**
+ * Immutable index of the ScienceMetrix department categories by journal subfield id, in table order.
+ */
+public class ScienceMetrixDepartmentCategoryIndex {
+
+	private final Map<Integer, List<ScienceMetrixDepartmentCategory>> categoriesBySubfieldId;
+
+	public ScienceMetrixDepartmentCategoryIndex(List<ScienceMetrixDepartmentCategory> scienceMetrixDepartmentCategories) {
+		Map<Integer, List<ScienceMetrixDepartmentCategory>> categories = new HashMap<Integer, List<ScienceMetrixDepartmentCategory>>();
+		for (ScienceMetrixDepartmentCategory scienceMetrixDepartmentCategory : scienceMetrixDepartmentCategories) {
+			categories.computeIfAbsent(scienceMetrixDepartmentCategory.getScienceMetrixJournalSubfieldId(), subfieldId -> new ArrayList<ScienceMetrixDepartmentCategory>())
+				.add(scienceMetrixDepartmentCategory);
+		}
+		for (Map.Entry<Integer, List<ScienceMetrixDepartmentCategory>> entry : categories.entrySet()) {
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+		this.categoriesBySubfieldId = categories;
+	}
+
+	/**
+	 * @return the categories of the subfield, an empty list if there are none
+	 */
+	public List<ScienceMetrixDepartmentCategory> findBySubfieldId(int subfieldId) {
+		return categoriesBySubfieldId.getOrDefault(subfieldId, Collections.<ScienceMetrixDepartmentCategory>emptyList());
+	}
+}
@@ -0,0 +1,51 @@
+package reciter.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import reciter.database.dynamodb.model.ScienceMetrix;
+
+/**
+ * Immutable ISSN and EISSN index over the ScienceMetrix journals. When several journals share an ISSN the first one in
+ * table order wins, like the linear scan this replaces.
+ */
+public class ScienceMetrixJournalIndex {
+
+	private final List<ScienceMetrix> journals;
+	private final Map<String, Integer> rowByIssn = new HashMap<String, Integer>();
+	private final Map<String, Integer> rowByEissn = new HashMap<String, Integer>();
+
+	public ScienceMetrixJournalIndex(List<ScienceMetrix> journals) {
+		this.journals = new ArrayList<ScienceMetrix>(journals);
+		for (int i = 0; i < this.journals.size(); i++) {
+			ScienceMetrix journal = this.journals.get(i);
+			if (journal.getIssn() != null) {
+				rowByIssn.putIfAbsent(journal.getIssn(), i);
+			}
+			if (journal.getEissn() != null) {
+				rowByEissn.putIfAbsent(journal.getEissn(), i);
+			}
+		}
+	}
+
+	/**
+	 * @param issn an ISSN of the article's journal
+	 * @return the first journal whose ISSN or EISSN is <code>issn</code>, null if there is none
+	 */
+	public ScienceMetrix findByIssnOrEissn(String issn) {
+		Integer issnRow = rowByIssn.get(issn);
+		Integer eissnRow = rowByEissn.get(issn);
+		if (issnRow == null && eissnRow == null) {
+			return null;
+		}
+		if (issnRow == null) {
+			return journals.get(eissnRow);
+		}
+		if (eissnRow == null) {
+			return journals.get(issnRow);
+		}
+		return journals.get(Math.min(issnRow, eissnRow));
+	}
+}
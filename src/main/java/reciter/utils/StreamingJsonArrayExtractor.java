@@ -0,0 +1,66 @@
+package reciter.utils;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Reads a JSON array response one element at a time with a Jackson {@link MappingIterator} instead of binding the whole
+ * array at once. Every element is handed to <code>consumer</code> as soon as it is parsed and no list of the response is
+ * built, so the caller can put it straight where the results end up, e.g. the map of the articles of a retrieval by pmid,
+ * and an element it already holds, e.g. an article shared by the identities of a bulk retrieval, is dropped right away.
+ * <p>
+ * Elements are read with the object mapper of the Jackson converter of the rest template, so they bind exactly as with
+ * {@link RestTemplate#postForEntity(String, Object, Class, Object...)}. A null response has no elements. The elements
+ * parsed before a failure have already been consumed when the failure is thrown.
+ */
+public class StreamingJsonArrayExtractor<T> implements ResponseExtractor<Integer> {
+
+	private final ObjectReader objectReader;
+	private final Consumer<? super T> consumer;
+
+	/**
+	 * @param consumer called with every element of the response as it is parsed
+	 */
+	public StreamingJsonArrayExtractor(RestTemplate restTemplate, Class<T> elementType, Consumer<? super T> consumer) {
+		this.objectReader = getObjectMapper(restTemplate).readerFor(elementType);
+		this.consumer = consumer;
+	}
+
+	/**
+	 * @return the number of elements handed to the consumer
+	 */
+	@Override
+	public Integer extractData(ClientHttpResponse response) throws IOException {
+		int elements = 0;
+		try (MappingIterator<T> iterator = objectReader.readValues(response.getBody())) {
+			while (iterator.hasNextValue()) {
+				T element = iterator.nextValue();
+				if (element != null) {
+					consumer.accept(element);
+					elements++;
+				}
+			}
+		}
+		return elements;
+	}
+
+	private static ObjectMapper getObjectMapper(RestTemplate restTemplate) {
+		for (HttpMessageConverter<?> messageConverter : restTemplate.getMessageConverters()) {
+			if (messageConverter instanceof MappingJackson2HttpMessageConverter) {
+				return ((MappingJackson2HttpMessageConverter) messageConverter).getObjectMapper();
+			}
+		}
+		return Jackson2ObjectMapperBuilder.json().build();
+	}
+}
@@ -0,0 +1,13 @@
+package reciter.utils;
+
+/**
+ * Thrown instead of calling an upstream service whose circuit is open, so that the retrieval fails fast.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public UpstreamUnavailableException(String message) {
+		super(message);
+	}
+}
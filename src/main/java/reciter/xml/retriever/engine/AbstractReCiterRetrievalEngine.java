@@ -18,18 +18,31 @@
  *******************************************************************************/
 package reciter.xml.retriever.engine;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import reciter.database.dynamodb.model.ESearchPmid;
 import reciter.database.dynamodb.model.ESearchResult;
 import reciter.database.dynamodb.model.QueryType;
 import reciter.model.pubmed.PubMedArticle;
+import reciter.pubmed.retriever.PubMedArticleCache;
 import reciter.service.ESearchResultService;
 import reciter.service.IdentityService;
 import reciter.service.PubMedService;
@@ -61,6 +74,9 @@ public abstract class AbstractReCiterRetrievalEngine implements ReCiterRetrieval
 	@Autowired
 	protected IdentityService identityService;
 	
+	@Autowired
+	protected PubMedArticleCache pubMedArticleCache;
+	
 	@Autowired
 	protected AffiliationInDbRetrievalStrategy affiliationInDbRetrievalStrategy;
 	
@@ -91,6 +107,31 @@ public abstract class AbstractReCiterRetrievalEngine implements ReCiterRetrieval
 	@Autowired
 	protected GrantRetrievalStrategy grantRetrievalStrategy;
 	
+	@Value("${retrieval.write-behind}")
+	private boolean writeBehind;
+	
+	@Value("${retrieval.write-behind.batch.size}")
+	private int writeBehindBatchSize;
+	
+	@Value("${retrieval.write-behind.threads}")
+	private int writeBehindThreads;
+	
+	private ExecutorService writeBehindExecutorService;
+	
+	@PostConstruct
+	public void startWriteBehind() {
+		if(writeBehind) {
+			writeBehindExecutorService = Executors.newFixedThreadPool(Math.max(writeBehindThreads, 1));
+		}
+	}
+	
+	@PreDestroy
+	public void stopWriteBehind() {
+		if(writeBehindExecutorService != null) {
+			writeBehindExecutorService.shutdown();
+		}
+	}
+	
 	/**
 	 * Save the PubMed articles and the ESearch results.
 	 * @param pubMedArticles
@@ -102,28 +143,38 @@ public abstract class AbstractReCiterRetrievalEngine implements ReCiterRetrieval
 		pubMedService.save(pubMedArticleList);
 
 		// Save the search result.
+		List<ESearchPmid> eSearchPmids = new ArrayList<>();
+		ESearchPmid eSearchPmid = createESearchPmid(pubMedArticles, retrievalStrategyName);
+		if(eSearchPmid != null) {
+			eSearchPmids.add(eSearchPmid);
+		}
+		saveESearchResult(uid, eSearchPmids, queryType);
+	}
+	
+	private ESearchPmid createESearchPmid(Collection<PubMedArticle> pubMedArticles, String retrievalStrategyName) {
 		List<Long> pmids = new ArrayList<>();
 		for (PubMedArticle pubMedArticle : pubMedArticles) {
 			pmids.add(pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid());
 		}
-		ESearchPmid eSearchPmid = null;
 		if(pmids.size() > 0) {
-			eSearchPmid = new ESearchPmid(pmids, retrievalStrategyName, new Date());
+			return new ESearchPmid(pmids, retrievalStrategyName, new Date());
 		}
+		return null;
+	}
+	
+	/**
+	 * Appends the search results of one or more strategies to the ESearchResult of the uid.
+	 */
+	private void saveESearchResult(String uid, List<ESearchPmid> newESearchPmids, QueryType queryType) {
 		ESearchResult eSearchResultDb = eSearchResultService.findByUid(uid);
 		if (eSearchResultDb == null) {
-			List<ESearchPmid> eSearchPmids = new ArrayList<>();
-			if(eSearchPmid != null) {
-				eSearchPmids.add(eSearchPmid);
-			}
+			List<ESearchPmid> eSearchPmids = new ArrayList<>(newESearchPmids);
 			if(eSearchPmids.size() > 0) {
 				eSearchResultService.save(new ESearchResult(uid, new Date(), eSearchPmids, queryType));
 			}
 		} else {
 			List<ESearchPmid> eSearchPmids = eSearchResultDb.getESearchPmids();
-			if(eSearchPmid != null) {
-				eSearchPmids.add(eSearchPmid);
-			}
+			eSearchPmids.addAll(newESearchPmids);
 			if(eSearchPmids.size() > 0) {
 				eSearchResultService.save(new ESearchResult(uid, new Date(), eSearchPmids, queryType));
 			} else {
@@ -133,4 +184,118 @@ public abstract class AbstractReCiterRetrievalEngine implements ReCiterRetrieval
 			}
 		}
 	}
+	
+	/**
+	 * Persistence of the articles retrieved for one uid. With write-behind enabled the articles are saved in background
+	 * batches of retrieval.write-behind.batch.size, skipping pmids already saved by an earlier strategy of the same run,
+	 * and the search results of all strategies are added to the ESearchResult with a single read and write on {@link #flush()}.
+	 * Otherwise every call saves right away like {@link AbstractReCiterRetrievalEngine#savePubMedArticles}.
+	 * <p>
+	 * {@link #flush()} is the barrier: once it returns everything handed to this writer is stored, so it has to be called
+	 * before the retrieval of the uid is reported as finished. A retrieval that fails calls {@link #discard(Throwable)}
+	 * instead, which leaves the ESearchResult of the uid as it was.
+	 */
+	protected class RetrievalWriteBehind {
+		
+		private final String uid;
+		private final Set<Long> savedPmids = new HashSet<>();
+		private final List<PubMedArticle> pendingPubMedArticles = new ArrayList<>();
+		private final List<ESearchPmid> pendingESearchPmids = new ArrayList<>();
+		private final List<Future<?>> pubMedArticleWrites = new ArrayList<>();
+		private QueryType queryType;
+		private boolean hasPendingESearchResult;
+		
+		public RetrievalWriteBehind(String uid) {
+			this.uid = uid;
+		}
+		
+		public synchronized void save(Collection<PubMedArticle> pubMedArticles, String retrievalStrategyName, QueryType queryType) {
+			if(writeBehindExecutorService == null) {
+				savePubMedArticles(pubMedArticles, uid, retrievalStrategyName, null, queryType);
+				return;
+			}
+			for(PubMedArticle pubMedArticle: pubMedArticles) {
+				if(savedPmids.add(pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid())) {
+					pendingPubMedArticles.add(pubMedArticle);
+				}
+			}
+			if(pendingPubMedArticles.size() >= writeBehindBatchSize) {
+				submitPendingPubMedArticles();
+			}
+			ESearchPmid eSearchPmid = createESearchPmid(pubMedArticles, retrievalStrategyName);
+			if(eSearchPmid != null) {
+				pendingESearchPmids.add(eSearchPmid);
+			}
+			this.queryType = queryType;
+			this.hasPendingESearchResult = true;
+		}
+		
+		private void submitPendingPubMedArticles() {
+			if(!pendingPubMedArticles.isEmpty()) {
+				List<PubMedArticle> batch = new ArrayList<>(pendingPubMedArticles);
+				pendingPubMedArticles.clear();
+				pubMedArticleWrites.add(writeBehindExecutorService.submit(() -> pubMedService.save(batch)));
+			}
+		}
+		
+		public synchronized void flush() throws IOException {
+			if(writeBehindExecutorService == null) {
+				return;
+			}
+			submitPendingPubMedArticles();
+			Iterator<Future<?>> pubMedArticleWriteIterator = pubMedArticleWrites.iterator();
+			try {
+				while(pubMedArticleWriteIterator.hasNext()) {
+					pubMedArticleWriteIterator.next().get();
+					pubMedArticleWriteIterator.remove();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				IOException failure = new IOException("Interrupted while saving PubMed articles for uid=[" + uid + "]", e);
+				discard(failure);
+				throw failure;
+			} catch (ExecutionException e) {
+				pubMedArticleWriteIterator.remove();
+				IOException failure = new IOException("Unable to save PubMed articles for uid=[" + uid + "]", e.getCause());
+				discard(failure);
+				throw failure;
+			}
+			if(hasPendingESearchResult) {
+				saveESearchResult(uid, pendingESearchPmids, queryType);
+				pendingESearchPmids.clear();
+				hasPendingESearchResult = false;
+			}
+		}
+		
+		/**
+		 * Abandons the writes of a retrieval that failed. Batches not started yet are cancelled and the running ones are
+		 * awaited, so nothing is written for the uid once this returns. The search results are dropped rather than added to
+		 * the ESearchResult, so the uid keeps the result of its last complete retrieval.
+		 * @param failure the failure of the retrieval, the failures of the awaited writes are added to it as suppressed exceptions
+		 */
+		public synchronized void discard(Throwable failure) {
+			pendingPubMedArticles.clear();
+			pendingESearchPmids.clear();
+			hasPendingESearchResult = false;
+			for(Future<?> pubMedArticleWrite: pubMedArticleWrites) {
+				pubMedArticleWrite.cancel(false);
+			}
+			try {
+				for(Future<?> pubMedArticleWrite: pubMedArticleWrites) {
+					if(!pubMedArticleWrite.isCancelled()) {
+						try {
+							pubMedArticleWrite.get();
+						} catch (ExecutionException e) {
+							failure.addSuppressed(e.getCause());
+						}
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failure.addSuppressed(e);
+			} finally {
+				pubMedArticleWrites.clear();
+			}
+		}
+	}
 }
@@ -20,9 +20,7 @@ package reciter.xml.retriever.engine;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,7 +41,9 @@ import reciter.service.ESearchResultService;
 import reciter.service.dynamo.IDynamoDbGoldStandardService;
 import reciter.utils.AuthorNameUtils;
 import reciter.utils.ThreadDelay;
+import reciter.xml.retriever.engine.RetrievalStrategyExecutor.StrategyRetrieval;
 import reciter.xml.retriever.pubmed.AbstractRetrievalStrategy.RetrievalResult;
+import reciter.xml.retriever.pubmed.RetrievalStrategy;
 
 @Component("aliasReCiterRetrievalEngine")
 public class AliasReCiterRetrievalEngine extends AbstractReCiterRetrievalEngine {
@@ -62,70 +62,71 @@ public class AliasReCiterRetrievalEngine extends AbstractReCiterRetrievalEngine
 	@Autowired
 	private ESearchResultService eSearchResultService;
 	
+	@Autowired
+	private RetrievalScheduler retrievalScheduler;
+	
+	@Autowired
+	private RetrievalStrategyExecutor retrievalStrategyExecutor;
+	
 	public enum IdentityNameType {
 		ORIGINAL,
 		DERIVED
 	}
 	
-	private class AsyncRetrievalEngine extends Thread {
-
-		private final Identity identity;
-		private final Date startDate;
-		private final Date endDate;
-		private final RetrievalRefreshFlag refreshFlag;
-		
-		public AsyncRetrievalEngine(Identity identity, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) {
-			this.identity = identity;
-			this.startDate = startDate;
-			this.endDate = endDate;
-			this.refreshFlag = refreshFlag;
-		}
-		
-		@Override
-		public void run() {
-			try {
-				// If the eSearchResult collection doesn't contain any information regarding this person,
-				// then we'd want to perform a full retrieval because this will be first time that ReCiter
-				// retrieve PubMed and Scopus articles for this person.
-//				List<ESearchResult> results = eSearchResultService.findByUid(identity.getUid());
-//				if (results.isEmpty()) {
-				if(this.refreshFlag == RetrievalRefreshFlag.ALL_PUBLICATIONS) {
-					slf4jLogger.info("Starting full retrieval for uid=[" + identity.getUid() + "].");
-					retrieveData(identity);
-				} else if(refreshFlag == RetrievalRefreshFlag.ONLY_NEWLY_ADDED_PUBLICATIONS) {
-					slf4jLogger.info("Starting date range retrieval for uid=[" + identity.getUid() + "] startDate=["
-						+ startDate + "] endDate=[" + endDate + "].");
-					retrieveDataByDateRange(identity, startDate, endDate);
-				}
-//				}
-//				} else {
-//					slf4jLogger.info("Starting date range retrieval for uid=[" + identity.getUid() + "] startDate=["
-//							+ startDate + " endDate=[" + endDate + "].");
-//					retrieveDataByDateRange(identity, startDate, endDate);
-//				}
-			} catch (IOException e) {
-				slf4jLogger.error("Unabled to retrieve. " + identity.getUid(), e);
-			}
+	/**
+	 * Retrieves the articles of one identity, either all publications or the ones added between the dates.
+	 */
+	private void retrieveIdentity(Identity identity, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) throws IOException {
+		// If the eSearchResult collection doesn't contain any information regarding this person,
+		// then we'd want to perform a full retrieval because this will be first time that ReCiter
+		// retrieve PubMed and Scopus articles for this person.
+		if(refreshFlag == RetrievalRefreshFlag.ALL_PUBLICATIONS) {
+			slf4jLogger.info("Starting full retrieval for uid=[" + identity.getUid() + "].");
+			retrieveData(identity);
+		} else if(refreshFlag == RetrievalRefreshFlag.ONLY_NEWLY_ADDED_PUBLICATIONS) {
+			slf4jLogger.info("Starting date range retrieval for uid=[" + identity.getUid() + "] startDate=["
+				+ startDate + "] endDate=[" + endDate + "].");
+			retrieveDataByDateRange(identity, startDate, endDate);
 		}
 	}
 
+	@Override
+	public RetrievalJob submitArticlesRetrievalByDateRange(List<Identity> identities, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) {
+		return retrievalScheduler.submit(identities, identity -> retrieveIdentity(identity, startDate, endDate, refreshFlag));
+	}
+
 	@Override
 	public boolean retrieveArticlesByDateRange(List<Identity> identities, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) throws IOException {
-		ExecutorService executorService = Executors.newWorkStealingPool(15);//Executors.newFixedThreadPool(10);
-		for (Identity identity : identities) {
-			executorService.execute(new AsyncRetrievalEngine(identity, startDate, endDate, refreshFlag));
+		RetrievalJob job;
+		try {
+			job = submitArticlesRetrievalByDateRange(identities, startDate, endDate, refreshFlag);
+		} catch (RejectedExecutionException e) {
+			throw new IOException("Too many retrieval jobs are queued", e);
 		}
-		executorService.shutdown();
 		try {
-			executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			job.await();
 		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 			slf4jLogger.error("Thread interrupted while waiting for retrieval to finish.");
 			return false;
 		}
-		return true;
+		return job.getStatus() == RetrievalJob.Status.COMPLETED;
 	}
 	
 	private Set<Long> retrieveData(Identity identity) throws IOException {
+		RetrievalWriteBehind retrievalWriteBehind = new RetrievalWriteBehind(identity.getUid());
+		Set<Long> uniquePmids;
+		try {
+			uniquePmids = retrieveData(identity, retrievalWriteBehind);
+		} catch (IOException | RuntimeException e) {
+			retrievalWriteBehind.discard(e);
+			throw e;
+		}
+		retrievalWriteBehind.flush();
+		return uniquePmids;
+	}
+	
+	private Set<Long> retrieveData(Identity identity, RetrievalWriteBehind retrievalWriteBehind) throws IOException {
 		Set<Long> uniquePmids = new HashSet<>();
 		
 		QueryType queryType = null;
@@ -148,7 +149,7 @@ public class AliasReCiterRetrievalEngine extends AbstractReCiterRetrievalEngine
 		if(goldStandard != null && goldStandard.getKnownPmids() != null && !goldStandard.getKnownPmids().isEmpty()) {
 			RetrievalResult goldStandardRetrievalResult = goldStandardRetrievalStrategy.retrievePubMedArticles(identity, identityNames, useStrictQueryOnly);
 			pubMedArticles = goldStandardRetrievalResult.getPubMedArticles();
-			savePubMedArticles(pubMedArticles.values(), uid, goldStandardRetrievalStrategy.getRetrievalStrategyName(), goldStandardRetrievalResult.getPubMedQueryResults(), queryType);
+			retrievalWriteBehind.save(pubMedArticles.values(), goldStandardRetrievalStrategy.getRetrievalStrategyName(), queryType);
 			uniquePmids.addAll(pubMedArticles.keySet());
 		}
 		// Retrieve by email.
@@ -179,8 +180,7 @@ public class AliasReCiterRetrievalEngine extends AbstractReCiterRetrievalEngine
 			uniquePmids.addAll(pubMedArticles.keySet());
 		}*/
 		
-		// TODO parallelize by putting save in a separate thread.
-		savePubMedArticles(pubMedArticles.values(), uid, emailRetrievalStrategy.getRetrievalStrategyName(), retrievalResult.getPubMedQueryResults(), queryType);
+		retrievalWriteBehind.save(pubMedArticles.values(), emailRetrievalStrategy.getRetrievalStrategyName(), queryType);
 		uniquePmids.addAll(pubMedArticles.keySet());
 
 		RetrievalResult r1;
@@ -199,7 +199,7 @@ public class AliasReCiterRetrievalEngine extends AbstractReCiterRetrievalEngine
 				queryType = QueryType.LENIENT_LOOKUP;
 			}
 			pubMedArticles.putAll(r1.getPubMedArticles());
-			savePubMedArticles(r1.getPubMedArticles().values(), uid, firstNameInitialRetrievalStrategy.getRetrievalStrategyName(), r1.getPubMedQueryResults(), queryType);
+			retrievalWriteBehind.save(r1.getPubMedArticles().values(), firstNameInitialRetrievalStrategy.getRetrievalStrategyName(), queryType);
 			uniquePmids.addAll(r1.getPubMedArticles().keySet());
 		} 
 		//toggle useStrictQUery as true if results from Last Name First Initial Strategy is larger than lenientStrategy
@@ -215,62 +215,9 @@ public class AliasReCiterRetrievalEngine extends AbstractReCiterRetrievalEngine
 				r1.getPubMedQueryResults().get(0).getNumResult() > searchStrategyLeninentThreshold
 				||
 				useStrictQueryOnly) {
-			//Check to see if there is an actual need to do query for all steps
-			if(identity.getInstitutions() != null && !identity.getInstitutions().isEmpty()) {
-				RetrievalResult r2 = affiliationInDbRetrievalStrategy.retrievePubMedArticles(identity, identityNames, useStrictQueryOnly);
-				pubMedArticles.putAll(r2.getPubMedArticles());
-				savePubMedArticles(r2.getPubMedArticles().values(), uid, affiliationInDbRetrievalStrategy.getRetrievalStrategyName(), r2.getPubMedQueryResults(), queryType);
-				uniquePmids.addAll(r2.getPubMedArticles().keySet());
-				
-			} else {
-				slf4jLogger.info("Skipping " + affiliationInDbRetrievalStrategy.getRetrievalStrategyName() + " since no affiliation for " + identity.getUid());
-			}
-			
-			RetrievalResult r3 = affiliationRetrievalStrategy.retrievePubMedArticles(identity, identityNames, useStrictQueryOnly);
-			pubMedArticles.putAll(r3.getPubMedArticles());
-			savePubMedArticles(r3.getPubMedArticles().values(), uid, affiliationRetrievalStrategy.getRetrievalStrategyName(), r3.getPubMedQueryResults(), queryType);
-			uniquePmids.addAll(r3.getPubMedArticles().keySet());
-			
-			if(identity.getOrganizationalUnits() != null && !identity.getOrganizationalUnits().isEmpty()) {
-				RetrievalResult r4 = departmentRetrievalStrategy.retrievePubMedArticles(identity, identityNames, useStrictQueryOnly);
-				pubMedArticles.putAll(r4.getPubMedArticles());
-				savePubMedArticles(r4.getPubMedArticles().values(), uid, departmentRetrievalStrategy.getRetrievalStrategyName(), r4.getPubMedQueryResults(), queryType);
-				uniquePmids.addAll(r4.getPubMedArticles().keySet());
-				
-			} else {
-				slf4jLogger.info("Skipping " + departmentRetrievalStrategy.getRetrievalStrategyName() + " since no departments for " + identity.getUid());
-			}
-			
-			if(identity.getGrants() != null && !identity.getGrants().isEmpty()) {
-				RetrievalResult r5 = grantRetrievalStrategy.retrievePubMedArticles(identity, identityNames, useStrictQueryOnly);
-				pubMedArticles.putAll(r5.getPubMedArticles());
-				savePubMedArticles(r5.getPubMedArticles().values(), uid, grantRetrievalStrategy.getRetrievalStrategyName(), r5.getPubMedQueryResults(), queryType);
-				uniquePmids.addAll(r5.getPubMedArticles().keySet());
-				
-			} else {
-				slf4jLogger.info("Skipping " + grantRetrievalStrategy.getRetrievalStrategyName() + " since no grants for " + identity.getUid());
-			}
-			
-			RetrievalResult r6 = fullNameRetrievalStrategy.retrievePubMedArticles(identity, identityNames, useStrictQueryOnly);
-			pubMedArticles.putAll(r6.getPubMedArticles());
-			savePubMedArticles(r6.getPubMedArticles().values(), uid, fullNameRetrievalStrategy.getRetrievalStrategyName(), r6.getPubMedQueryResults(), queryType);
-			uniquePmids.addAll(r6.getPubMedArticles().keySet());
-			
-			if(identity.getKnownRelationships() != null && !identity.getKnownRelationships().isEmpty()) {
-				RetrievalResult r7 = knownRelationshipRetrievalStrategy.retrievePubMedArticles(identity, identityNames, useStrictQueryOnly);
-				pubMedArticles.putAll(r7.getPubMedArticles());
-				savePubMedArticles(r7.getPubMedArticles().values(), uid, knownRelationshipRetrievalStrategy.getRetrievalStrategyName(), r7.getPubMedQueryResults(), queryType);
-				uniquePmids.addAll(r7.getPubMedArticles().keySet());
-				
-			} else {
-				slf4jLogger.info("Skipping " + knownRelationshipRetrievalStrategy.getRetrievalStrategyName() + " since no Known Relationships for " + identity.getUid());
-			}
-			
-			RetrievalResult r8 = secondIntialRetrievalStrategy.retrievePubMedArticles(identity, identityNames, useStrictQueryOnly);
-			pubMedArticles.putAll(r8.getPubMedArticles());
-			savePubMedArticles(r8.getPubMedArticles().values(), uid, secondIntialRetrievalStrategy.getRetrievalStrategyName(), r8.getPubMedQueryResults(), queryType);
-			uniquePmids.addAll(r8.getPubMedArticles().keySet());
-			
+			final boolean useStrictQuery = useStrictQueryOnly;
+			retrieveIndependentStrategies(getIndependentRetrievalStrategies(identity), 
+					strategy -> strategy.retrievePubMedArticles(identity, identityNames, useStrictQuery), uid, queryType, pubMedArticles, uniquePmids, retrievalWriteBehind);
 		}
 		
 		
@@ -332,6 +279,17 @@ public class AliasReCiterRetrievalEngine extends AbstractReCiterRetrievalEngine
 	}
 	
 	public void retrieveDataByDateRange(Identity identity, Date startDate, Date endDate) throws IOException {
+		RetrievalWriteBehind retrievalWriteBehind = new RetrievalWriteBehind(identity.getUid());
+		try {
+			retrieveDataByDateRange(identity, startDate, endDate, retrievalWriteBehind);
+		} catch (IOException | RuntimeException e) {
+			retrievalWriteBehind.discard(e);
+			throw e;
+		}
+		retrievalWriteBehind.flush();
+	}
+	
+	private void retrieveDataByDateRange(Identity identity, Date startDate, Date endDate, RetrievalWriteBehind retrievalWriteBehind) throws IOException {
 		Set<Long> uniquePmids = new HashSet<>();
 		QueryType queryType = null; 
 		String uid = identity.getUid();
@@ -351,7 +309,7 @@ public class AliasReCiterRetrievalEngine extends AbstractReCiterRetrievalEngine
 		if(goldStandard != null && goldStandard.getKnownPmids() != null && !goldStandard.getKnownPmids().isEmpty()) {
 			RetrievalResult goldStandardRetrievalResult = goldStandardRetrievalStrategy.retrievePubMedArticles(identity, identityNames, startDate, endDate, useStrictQueryOnly);
 			pubMedArticles = goldStandardRetrievalResult.getPubMedArticles();
-			savePubMedArticles(pubMedArticles.values(), uid, goldStandardRetrievalStrategy.getRetrievalStrategyName(), goldStandardRetrievalResult.getPubMedQueryResults(), queryType);
+			retrievalWriteBehind.save(pubMedArticles.values(), goldStandardRetrievalStrategy.getRetrievalStrategyName(), queryType);
 			uniquePmids.addAll(pubMedArticles.keySet());
 		}
 		
@@ -385,8 +343,7 @@ public class AliasReCiterRetrievalEngine extends AbstractReCiterRetrievalEngine
 			uniquePmids.addAll(pubMedArticles.keySet());
 		}*/
 		
-		// TODO parallelize by putting save in a separate thread.
-		savePubMedArticles(pubMedArticles.values(), uid, emailRetrievalStrategy.getRetrievalStrategyName(), retrievalResult.getPubMedQueryResults(), queryType);
+		retrievalWriteBehind.save(pubMedArticles.values(), emailRetrievalStrategy.getRetrievalStrategyName(), queryType);
 		uniquePmids.addAll(pubMedArticles.keySet());
 
 		RetrievalResult r1;
@@ -405,7 +362,7 @@ public class AliasReCiterRetrievalEngine extends AbstractReCiterRetrievalEngine
 				queryType = QueryType.LENIENT_LOOKUP;
 			}
 			pubMedArticles.putAll(r1.getPubMedArticles());
-			savePubMedArticles(r1.getPubMedArticles().values(), uid, firstNameInitialRetrievalStrategy.getRetrievalStrategyName(), r1.getPubMedQueryResults(), queryType);
+			retrievalWriteBehind.save(r1.getPubMedArticles().values(), firstNameInitialRetrievalStrategy.getRetrievalStrategyName(), queryType);
 			uniquePmids.addAll(r1.getPubMedArticles().keySet());
 		}
 		
@@ -424,58 +381,9 @@ public class AliasReCiterRetrievalEngine extends AbstractReCiterRetrievalEngine
 				r1.getPubMedQueryResults().get(0).getNumResult() > searchStrategyLeninentThreshold
 				||
 				useStrictQueryOnly) {
-			
-			if(identity.getInstitutions() != null && !identity.getInstitutions().isEmpty()) {
-				RetrievalResult r2 = affiliationInDbRetrievalStrategy.retrievePubMedArticles(identity, identityNames, startDate, endDate, useStrictQueryOnly);
-				pubMedArticles.putAll(r2.getPubMedArticles());
-				savePubMedArticles(r2.getPubMedArticles().values(), uid, affiliationInDbRetrievalStrategy.getRetrievalStrategyName(), r2.getPubMedQueryResults(), queryType);
-				uniquePmids.addAll(r2.getPubMedArticles().keySet());
-			} else {
-				slf4jLogger.info("Skipping " + affiliationInDbRetrievalStrategy.getRetrievalStrategyName() + " since no affiliation for " + identity.getUid());
-			}
-
-			RetrievalResult r3 = affiliationRetrievalStrategy.retrievePubMedArticles(identity, identityNames, startDate, endDate, useStrictQueryOnly);
-			pubMedArticles.putAll(r3.getPubMedArticles());
-			savePubMedArticles(r3.getPubMedArticles().values(), uid, affiliationRetrievalStrategy.getRetrievalStrategyName(), r3.getPubMedQueryResults(), queryType);
-			uniquePmids.addAll(r3.getPubMedArticles().keySet());
-			
-			if(identity.getOrganizationalUnits() != null && !identity.getOrganizationalUnits().isEmpty()) {
-				RetrievalResult r4 = departmentRetrievalStrategy.retrievePubMedArticles(identity, identityNames, startDate, endDate, useStrictQueryOnly);
-				pubMedArticles.putAll(r4.getPubMedArticles());
-				savePubMedArticles(r4.getPubMedArticles().values(), uid, departmentRetrievalStrategy.getRetrievalStrategyName(), r4.getPubMedQueryResults(), queryType);
-				uniquePmids.addAll(r4.getPubMedArticles().keySet());
-				
-			} else {
-				slf4jLogger.info("Skipping " + departmentRetrievalStrategy.getRetrievalStrategyName() + " since no departments for " + identity.getUid());
-			}
-			
-			if(identity.getGrants() != null && !identity.getGrants().isEmpty()) {
-				RetrievalResult r5 = grantRetrievalStrategy.retrievePubMedArticles(identity, identityNames, startDate, endDate, useStrictQueryOnly);
-				pubMedArticles.putAll(r5.getPubMedArticles());
-				savePubMedArticles(r5.getPubMedArticles().values(), uid, grantRetrievalStrategy.getRetrievalStrategyName(), r5.getPubMedQueryResults(), queryType);
-				uniquePmids.addAll(r5.getPubMedArticles().keySet());
-			} else {
-				slf4jLogger.info("Skipping " + grantRetrievalStrategy.getRetrievalStrategyName() + " since no grants for " + identity.getUid());
-			}
-			
-			RetrievalResult r6 = fullNameRetrievalStrategy.retrievePubMedArticles(identity, identityNames, startDate, endDate, useStrictQueryOnly);
-			pubMedArticles.putAll(r6.getPubMedArticles());
-			savePubMedArticles(r6.getPubMedArticles().values(), uid, fullNameRetrievalStrategy.getRetrievalStrategyName(), r6.getPubMedQueryResults(), queryType);
-			uniquePmids.addAll(r6.getPubMedArticles().keySet());
-
-			if(identity.getKnownRelationships() != null && !identity.getKnownRelationships().isEmpty()) {
-				RetrievalResult r7 = knownRelationshipRetrievalStrategy.retrievePubMedArticles(identity, identityNames, startDate, endDate, useStrictQueryOnly);
-				pubMedArticles.putAll(r7.getPubMedArticles());
-				savePubMedArticles(r7.getPubMedArticles().values(), uid, knownRelationshipRetrievalStrategy.getRetrievalStrategyName(), r7.getPubMedQueryResults(), queryType);
-				uniquePmids.addAll(r7.getPubMedArticles().keySet());
-				
-			} else {
-				slf4jLogger.info("Skipping " + knownRelationshipRetrievalStrategy.getRetrievalStrategyName() + " since no Known Relationships for " + identity.getUid());
-			}
-			RetrievalResult r8 = secondIntialRetrievalStrategy.retrievePubMedArticles(identity, identityNames, startDate, endDate, useStrictQueryOnly);
-			pubMedArticles.putAll(r8.getPubMedArticles());
-			savePubMedArticles(r8.getPubMedArticles().values(), uid, secondIntialRetrievalStrategy.getRetrievalStrategyName(), r8.getPubMedQueryResults(), queryType);
-			uniquePmids.addAll(r8.getPubMedArticles().keySet());
+			final boolean useStrictQuery = useStrictQueryOnly;
+			retrieveIndependentStrategies(getIndependentRetrievalStrategies(identity), 
+					strategy -> strategy.retrievePubMedArticles(identity, identityNames, startDate, endDate, useStrictQuery), uid, queryType, pubMedArticles, uniquePmids, retrievalWriteBehind);
 		}
 		
 		//List<ScopusArticle> scopusArticles = emailRetrievalStrategy.retrieveScopus(uniquePmids);
@@ -537,6 +445,57 @@ public class AliasReCiterRetrievalEngine extends AbstractReCiterRetrievalEngine
 	
 	
 
+	/**
+	 * Strategies that run once the lenient or strict decision has been made from the first name initial strategy. 
+	 * They do not depend on each other's results.
+	 */
+	private List<RetrievalStrategy> getIndependentRetrievalStrategies(Identity identity) {
+		List<RetrievalStrategy> retrievalStrategies = new ArrayList<>();
+		if(identity.getInstitutions() != null && !identity.getInstitutions().isEmpty()) {
+			retrievalStrategies.add(affiliationInDbRetrievalStrategy);
+		} else {
+			slf4jLogger.info("Skipping " + affiliationInDbRetrievalStrategy.getRetrievalStrategyName() + " since no affiliation for " + identity.getUid());
+		}
+		
+		retrievalStrategies.add(affiliationRetrievalStrategy);
+		
+		if(identity.getOrganizationalUnits() != null && !identity.getOrganizationalUnits().isEmpty()) {
+			retrievalStrategies.add(departmentRetrievalStrategy);
+		} else {
+			slf4jLogger.info("Skipping " + departmentRetrievalStrategy.getRetrievalStrategyName() + " since no departments for " + identity.getUid());
+		}
+		
+		if(identity.getGrants() != null && !identity.getGrants().isEmpty()) {
+			retrievalStrategies.add(grantRetrievalStrategy);
+		} else {
+			slf4jLogger.info("Skipping " + grantRetrievalStrategy.getRetrievalStrategyName() + " since no grants for " + identity.getUid());
+		}
+		
+		retrievalStrategies.add(fullNameRetrievalStrategy);
+		
+		if(identity.getKnownRelationships() != null && !identity.getKnownRelationships().isEmpty()) {
+			retrievalStrategies.add(knownRelationshipRetrievalStrategy);
+		} else {
+			slf4jLogger.info("Skipping " + knownRelationshipRetrievalStrategy.getRetrievalStrategyName() + " since no Known Relationships for " + identity.getUid());
+		}
+		
+		retrievalStrategies.add(secondIntialRetrievalStrategy);
+		return retrievalStrategies;
+	}
+	
+	/**
+	 * Runs the strategies on the {@link RetrievalStrategyExecutor} and saves their articles and search results in the order
+	 * of the strategies.
+	 */
+	private void retrieveIndependentStrategies(List<RetrievalStrategy> retrievalStrategies, StrategyRetrieval strategyRetrieval, String uid, 
+			QueryType queryType, Map<Long, PubMedArticle> pubMedArticles, Set<Long> uniquePmids, RetrievalWriteBehind retrievalWriteBehind) throws IOException {
+		retrievalStrategyExecutor.execute(uid, retrievalStrategies, strategyRetrieval, (retrievalStrategy, retrievalResult) -> {
+			pubMedArticles.putAll(retrievalResult.getPubMedArticles());
+			retrievalWriteBehind.save(retrievalResult.getPubMedArticles().values(), retrievalStrategy.getRetrievalStrategyName(), queryType);
+			uniquePmids.addAll(retrievalResult.getPubMedArticles().keySet());
+		});
+	}
+
 	@Override
 	public void retrieveByPmids(String uid, List<Long> pmids) throws IOException {
 		if (!pmids.isEmpty()) {
@@ -28,6 +28,16 @@ import reciter.model.identity.Identity;
 
 public interface ReCiterRetrievalEngine {
 
+	/**
+	 * Starts the retrieval of the identities on the {@link RetrievalScheduler} and returns right away.
+	 * @return handle to follow or cancel the retrieval
+	 */
+	RetrievalJob submitArticlesRetrievalByDateRange(List<Identity> identities, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag);
+
+	/**
+	 * Retrieves the articles of the identities and waits for the retrieval to finish.
+	 * @return true if every uid was processed, a uid failing to retrieve does not fail the run
+	 */
 	boolean retrieveArticlesByDateRange(List<Identity> identities, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) throws IOException;
 	
 	void retrieveByPmids(String uid, List<Long> pmids) throws IOException;
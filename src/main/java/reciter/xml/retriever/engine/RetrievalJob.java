@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.xml.retriever.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Handle of an article retrieval run submitted to the {@link RetrievalScheduler}. The scheduler records the outcome and
+ * latency of every uid as it finishes so that clients can follow the run by polling the events after the last index they
+ * have seen, and cancel the uids that have not started yet.
+ */
+public class RetrievalJob {
+
+	public enum Status {
+		QUEUED,
+		RUNNING,
+		COMPLETED,
+		CANCELLED,
+		FAILED
+	}
+
+	public enum UidStatus {
+		COMPLETED,
+		CANCELLED,
+		FAILED
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class UidProgress {
+		private final String uid;
+		private final UidStatus status;
+		private final long elapsedTime;
+		private final String message;
+	}
+
+	/**
+	 * Point in time view of a job returned by the article retrieval api.
+	 */
+	@Getter
+	@AllArgsConstructor
+	public static class Report {
+		private final String jobId;
+		private final Status status;
+		private final int totalUids;
+		private final int processedUids;
+		private final int succeededUids;
+		private final int failedUids;
+		private final int cancelledUids;
+		private final long averageElapsedTime;
+		private final long maxElapsedTime;
+		private final long submittedTime;
+		private final Long startTime;
+		private final Long endTime;
+		private final String errorMessage;
+		private final int fromIndex;
+		private final List<UidProgress> progress;
+	}
+
+	private final String jobId;
+	private final int totalUids;
+	private final long submittedTime = System.currentTimeMillis();
+	private final AtomicInteger succeededUids = new AtomicInteger();
+	private final AtomicInteger failedUids = new AtomicInteger();
+	private final AtomicInteger cancelledUids = new AtomicInteger();
+	private final AtomicLong totalElapsedTime = new AtomicLong();
+	private final AtomicLong maxElapsedTime = new AtomicLong();
+	private final List<UidProgress> progress = Collections.synchronizedList(new ArrayList<>());
+	private final CountDownLatch finished = new CountDownLatch(1);
+	private volatile Status status = Status.QUEUED;
+	private volatile boolean cancelRequested;
+	private volatile Long startTime;
+	private volatile Long endTime;
+	private volatile String errorMessage;
+
+	public RetrievalJob(String jobId, int totalUids) {
+		this.jobId = jobId;
+		this.totalUids = totalUids;
+	}
+
+	public String getJobId() {
+		return jobId;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public boolean isFinished() {
+		return status == Status.COMPLETED || status == Status.CANCELLED || status == Status.FAILED;
+	}
+
+	public Long getEndTime() {
+		return endTime;
+	}
+
+	/**
+	 * Asks the scheduler to skip the uids that have not started yet. Uids already being retrieved run to completion.
+	 */
+	public void cancel() {
+		cancelRequested = true;
+	}
+
+	public boolean isCancelRequested() {
+		return cancelRequested;
+	}
+
+	/**
+	 * Blocks until every uid of the job has finished or was cancelled.
+	 */
+	public void await() throws InterruptedException {
+		finished.await();
+	}
+
+	public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+		return finished.await(timeout, unit);
+	}
+
+	void markRunning() {
+		startTime = System.currentTimeMillis();
+		status = Status.RUNNING;
+	}
+
+	void markCompleted() {
+		endTime = System.currentTimeMillis();
+		status = cancelRequested ? Status.CANCELLED : Status.COMPLETED;
+		finished.countDown();
+	}
+
+	void markFailed(Throwable cause) {
+		errorMessage = cause.getMessage();
+		endTime = System.currentTimeMillis();
+		status = Status.FAILED;
+		finished.countDown();
+	}
+
+	void recordProgress(String uid, UidStatus uidStatus, long elapsedTime, String message) {
+		if (uidStatus == UidStatus.COMPLETED) {
+			succeededUids.incrementAndGet();
+		} else if (uidStatus == UidStatus.CANCELLED) {
+			cancelledUids.incrementAndGet();
+		} else {
+			failedUids.incrementAndGet();
+		}
+		if (uidStatus != UidStatus.CANCELLED) {
+			totalElapsedTime.addAndGet(elapsedTime);
+			maxElapsedTime.accumulateAndGet(elapsedTime, Math::max);
+		}
+		progress.add(new UidProgress(uid, uidStatus, elapsedTime, message));
+	}
+
+	/**
+	 * @param fromIndex index of the first progress event to include, events before it were already seen by the caller
+	 * @return current state of the job with the progress events recorded since <code>fromIndex</code>
+	 */
+	public Report getReport(int fromIndex) {
+		List<UidProgress> recentProgress;
+		synchronized (progress) {
+			int from = Math.min(Math.max(fromIndex, 0), progress.size());
+			recentProgress = new ArrayList<>(progress.subList(from, progress.size()));
+		}
+		int retrievedUids = succeededUids.get() + failedUids.get();
+		long averageElapsedTime = retrievedUids == 0 ? 0 : totalElapsedTime.get() / retrievedUids;
+		return new Report(jobId, status, totalUids, progress.size(), succeededUids.get(), failedUids.get(), cancelledUids.get(),
+				averageElapsedTime, maxElapsedTime.get(), submittedTime, startTime, endTime, errorMessage, fromIndex, recentProgress);
+	}
+}
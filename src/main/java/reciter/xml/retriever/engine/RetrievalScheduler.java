@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.xml.retriever.engine;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reciter.model.identity.Identity;
+import reciter.pubmed.retriever.PubMedArticleCache;
+import reciter.utils.AimdConcurrencyLimiter;
+import reciter.utils.CircuitBreaker;
+import reciter.utils.RateLimiter;
+import reciter.utils.RetrievalUpstream;
+
+/**
+ * Long-lived executor for article retrieval runs. All runs share one pool of retrieval.scheduler.threads workers, and at
+ * most retrieval.scheduler.queue.size uids wait for a worker; a run submitting more uids blocks until a worker frees up
+ * instead of queueing the whole identity table. At most retrieval.scheduler.max.running.jobs runs hand out uids at the same
+ * time and retrieval.scheduler.max.queued.jobs wait for their turn, further runs are rejected. Requests to the PubMed and
+ * Scopus services and to NCBI ESearch additionally go through a {@link RetrievalUpstream} per service, which spaces them
+ * and their retries by the rate limit, bounds them by an adaptive concurrency limit and fails them fast while the circuit of
+ * the service is open.
+ * <p>
+ * A run of more than one uid shares the articles fetched for one uid with the others through the {@link PubMedArticleCache}.
+ * <p>
+ * Every run returns a {@link RetrievalJob} handle that reports the status and latency of every uid and can be cancelled.
+ * Finished jobs are kept for retrieval.scheduler.job.retention.minutes.
+ */
+@Component
+public class RetrievalScheduler {
+
+	private final static Logger slf4jLogger = LoggerFactory.getLogger(RetrievalScheduler.class);
+
+	@Value("${retrieval.scheduler.threads}")
+	private int threads;
+
+	@Value("${retrieval.scheduler.queue.size}")
+	private int queueSize;
+
+	@Value("${retrieval.scheduler.max.running.jobs}")
+	private int maxRunningJobs;
+
+	@Value("${retrieval.scheduler.max.queued.jobs}")
+	private int maxQueuedJobs;
+
+	@Value("${retrieval.scheduler.job.retention.minutes}")
+	private long jobRetentionMinutes;
+
+	@Value("${retrieval.rate-limit.pubmed}")
+	private double pubMedRequestsPerSecond;
+
+	@Value("${retrieval.rate-limit.scopus}")
+	private double scopusRequestsPerSecond;
+
+	@Value("${retrieval.rate-limit.esearch}")
+	private double eSearchRequestsPerSecond;
+
+	@Value("${retrieval.http.max.retries}")
+	private int maxRetries;
+
+	@Value("${retrieval.http.retry.backoff.millis}")
+	private long retryBackoffMillis;
+
+	@Value("${retrieval.circuit-breaker.failures}")
+	private int circuitBreakerFailures;
+
+	@Value("${retrieval.circuit-breaker.open.seconds}")
+	private long circuitBreakerOpenSeconds;
+
+	@Value("${retrieval.concurrency-limit.initial}")
+	private int initialConcurrencyLimit;
+
+	@Value("${retrieval.concurrency-limit.minimum}")
+	private int minimumConcurrencyLimit;
+
+	@Value("${retrieval.concurrency-limit.maximum}")
+	private int maximumConcurrencyLimit;
+
+	@Value("${retrieval.concurrency-limit.backoff}")
+	private double concurrencyLimitBackoff;
+
+	@Autowired
+	private PubMedArticleCache pubMedArticleCache;
+
+	private ExecutorService retrievalExecutorService;
+	private ExecutorService jobExecutorService;
+	private Semaphore capacity;
+	private RetrievalUpstream pubMedUpstream;
+	private RetrievalUpstream scopusUpstream;
+	private RetrievalUpstream eSearchUpstream;
+	private final Map<String, RetrievalJob> jobs = new ConcurrentHashMap<>();
+
+	/**
+	 * Retrieval of the articles of one identity.
+	 */
+	@FunctionalInterface
+	public interface IdentityRetrieval {
+		void retrieve(Identity identity) throws IOException;
+	}
+
+	@PostConstruct
+	public void start() {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		retrievalExecutorService = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+		int runningJobs = Math.max(maxRunningJobs, 1);
+		jobExecutorService = new ThreadPoolExecutor(runningJobs, runningJobs, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(Math.max(maxQueuedJobs, 1)), new ThreadPoolExecutor.AbortPolicy());
+		capacity = new Semaphore(poolSize + Math.max(queueSize, 0));
+		pubMedUpstream = createUpstream("PubMed", pubMedRequestsPerSecond);
+		scopusUpstream = createUpstream("Scopus", scopusRequestsPerSecond);
+		eSearchUpstream = createUpstream("ESearch", eSearchRequestsPerSecond);
+	}
+
+	private RetrievalUpstream createUpstream(String name, double requestsPerSecond) {
+		return new RetrievalUpstream(name, new RateLimiter(requestsPerSecond),
+				new CircuitBreaker(circuitBreakerFailures, TimeUnit.SECONDS.toMillis(circuitBreakerOpenSeconds)),
+				new AimdConcurrencyLimiter(initialConcurrencyLimit, minimumConcurrencyLimit, maximumConcurrencyLimit, concurrencyLimitBackoff),
+				maxRetries, retryBackoffMillis);
+	}
+
+	@PreDestroy
+	public void stop() {
+		jobExecutorService.shutdownNow();
+		retrievalExecutorService.shutdownNow();
+	}
+
+	public RetrievalUpstream getPubMedUpstream() {
+		return pubMedUpstream;
+	}
+
+	public RetrievalUpstream getScopusUpstream() {
+		return scopusUpstream;
+	}
+
+	public RetrievalUpstream getESearchUpstream() {
+		return eSearchUpstream;
+	}
+
+	/**
+	 * Starts the retrieval of the identities and returns right away.
+	 * @param identities identities to retrieve the articles for
+	 * @param identityRetrieval retrieval of one identity, run on the shared pool
+	 * @return handle of the run
+	 * @throws RejectedExecutionException if retrieval.scheduler.max.queued.jobs runs are already waiting
+	 */
+	public RetrievalJob submit(List<Identity> identities, IdentityRetrieval identityRetrieval) {
+		removeExpiredJobs();
+		RetrievalJob job = new RetrievalJob(UUID.randomUUID().toString(), identities.size());
+		jobs.put(job.getJobId(), job);
+		try {
+			jobExecutorService.execute(() -> runJob(job, identities, identityRetrieval));
+		} catch (RejectedExecutionException e) {
+			jobs.remove(job.getJobId());
+			slf4jLogger.warn("Rejected retrieval of " + identities.size() + " uids, " + maxQueuedJobs + " retrieval jobs are queued");
+			throw e;
+		}
+		slf4jLogger.info("Submitted retrieval job " + job.getJobId() + " for " + identities.size() + " uids");
+		return job;
+	}
+
+	public RetrievalJob getJob(String jobId) {
+		return jobs.get(jobId);
+	}
+
+	private void runJob(RetrievalJob job, List<Identity> identities, IdentityRetrieval identityRetrieval) {
+		job.markRunning();
+		boolean bulk = identities.size() > 1;
+		if (bulk) {
+			pubMedArticleCache.beginRun();
+		}
+		try {
+			CountDownLatch remainingUids = new CountDownLatch(identities.size());
+			for (Identity identity : identities) {
+				if (job.isCancelRequested()) {
+					job.recordProgress(identity.getUid(), RetrievalJob.UidStatus.CANCELLED, 0, null);
+					remainingUids.countDown();
+					continue;
+				}
+				capacity.acquire();
+				try {
+					retrievalExecutorService.execute(() -> {
+						try {
+							retrieve(job, identity, identityRetrieval);
+						} finally {
+							capacity.release();
+							remainingUids.countDown();
+						}
+					});
+				} catch (RuntimeException e) {
+					capacity.release();
+					throw e;
+				}
+			}
+			remainingUids.await();
+			job.markCompleted();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			job.markFailed(e);
+		} catch (RuntimeException e) {
+			slf4jLogger.error("Retrieval job " + job.getJobId() + " failed", e);
+			job.markFailed(e);
+		} finally {
+			if (bulk) {
+				pubMedArticleCache.endRun();
+			}
+		}
+		slf4jLogger.info("Retrieval job " + job.getJobId() + " finished with status " + job.getStatus());
+	}
+
+	private void retrieve(RetrievalJob job, Identity identity, IdentityRetrieval identityRetrieval) {
+		if (job.isCancelRequested()) {
+			job.recordProgress(identity.getUid(), RetrievalJob.UidStatus.CANCELLED, 0, null);
+			return;
+		}
+		long startTime = System.currentTimeMillis();
+		try {
+			identityRetrieval.retrieve(identity);
+			job.recordProgress(identity.getUid(), RetrievalJob.UidStatus.COMPLETED, System.currentTimeMillis() - startTime, null);
+		} catch (IOException | RuntimeException e) {
+			slf4jLogger.error("Unable to retrieve. " + identity.getUid(), e);
+			job.recordProgress(identity.getUid(), RetrievalJob.UidStatus.FAILED, System.currentTimeMillis() - startTime, e.getMessage());
+		}
+	}
+
+	private void removeExpiredJobs() {
+		long expiry = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(jobRetentionMinutes);
+		jobs.values().removeIf(job -> job.isFinished() && job.getEndTime() != null && job.getEndTime() < expiry);
+	}
+}
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.xml.retriever.engine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reciter.xml.retriever.pubmed.AbstractRetrievalStrategy.RetrievalResult;
+import reciter.xml.retriever.pubmed.RetrievalStrategy;
+
+/**
+ * Runs the independent retrieval strategies of a person. In pipelined mode the strategies run on a pool of
+ * retrieval.pipelined.threads workers shared by all retrievals, at most retrieval.pipelined.concurrency of them at the same
+ * time for one person, while the results that are already in are handed to the handler on the calling thread.
+ * <p>
+ * The handler gets the results in the order of the strategies either way, since saving a result rewrites the
+ * ESearchResult of the person, and it is never called for a strategy after an earlier one failed.
+ */
+@Component
+public class RetrievalStrategyExecutor {
+
+	@Value("${retrieval.pipelined}")
+	private boolean pipelined;
+
+	@Value("${retrieval.pipelined.concurrency}")
+	private int concurrency;
+
+	@Value("${retrieval.pipelined.threads}")
+	private int threads;
+
+	private ExecutorService executorService;
+
+	/**
+	 * Runs one retrieval strategy for a person, either for all publications or for a date range.
+	 */
+	@FunctionalInterface
+	public interface StrategyRetrieval {
+		RetrievalResult retrieve(RetrievalStrategy retrievalStrategy) throws IOException;
+	}
+
+	/**
+	 * Saves the result of one retrieval strategy.
+	 */
+	@FunctionalInterface
+	public interface StrategyResultHandler {
+		void handle(RetrievalStrategy retrievalStrategy, RetrievalResult retrievalResult) throws IOException;
+	}
+
+	public RetrievalStrategyExecutor() {
+	}
+
+	public RetrievalStrategyExecutor(boolean pipelined, int concurrency, int threads) {
+		this.pipelined = pipelined;
+		this.concurrency = concurrency;
+		this.threads = threads;
+	}
+
+	@PostConstruct
+	public void start() {
+		if (pipelined) {
+			executorService = Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+		}
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (executorService != null) {
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Runs the strategies and hands their results to the handler in the order of the strategies.
+	 * @param uid person the strategies retrieve the articles of, whose strategies share retrieval.pipelined.concurrency
+	 */
+	public void execute(String uid, List<RetrievalStrategy> retrievalStrategies, StrategyRetrieval strategyRetrieval,
+			StrategyResultHandler strategyResultHandler) throws IOException {
+		if (executorService == null || concurrency <= 1 || retrievalStrategies.size() <= 1) {
+			for (RetrievalStrategy retrievalStrategy : retrievalStrategies) {
+				strategyResultHandler.handle(retrievalStrategy, strategyRetrieval.retrieve(retrievalStrategy));
+			}
+			return;
+		}
+
+		Semaphore permits = new Semaphore(concurrency);
+		List<Future<RetrievalResult>> retrievalResults = new ArrayList<>(retrievalStrategies.size());
+		int handled = 0;
+		try {
+			while (handled < retrievalStrategies.size()) {
+				// Start the next strategy while a permit is free, otherwise wait for the earliest strategy not handled yet.
+				if (retrievalResults.size() < retrievalStrategies.size() && permits.tryAcquire()) {
+					RetrievalStrategy retrievalStrategy = retrievalStrategies.get(retrievalResults.size());
+					try {
+						retrievalResults.add(executorService.submit(() -> {
+							try {
+								return strategyRetrieval.retrieve(retrievalStrategy);
+							} finally {
+								permits.release();
+							}
+						}));
+					} catch (RuntimeException e) {
+						permits.release();
+						throw e;
+					}
+					continue;
+				}
+				RetrievalResult retrievalResult = retrievalResults.get(handled).get();
+				strategyResultHandler.handle(retrievalStrategies.get(handled), retrievalResult);
+				handled++;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while retrieving articles for uid=[" + uid + "]", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IOException("Unable to retrieve articles for uid=[" + uid + "]", e.getCause());
+		} finally {
+			for (Future<RetrievalResult> retrievalResult : retrievalResults) {
+				retrievalResult.cancel(true);
+			}
+		}
+	}
+}
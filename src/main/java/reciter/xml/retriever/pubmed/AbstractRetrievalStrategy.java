@@ -20,6 +20,7 @@ package reciter.xml.retriever.pubmed;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,16 +28,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Configurable;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import reciter.model.identity.AuthorName;
 import reciter.model.identity.Identity;
 import reciter.model.pubmed.PubMedArticle;
 import reciter.model.scopus.ScopusArticle;
+import reciter.pubmed.retriever.PubMedArticleCache;
 import reciter.pubmed.retriever.PubMedArticleRetriever;
 import reciter.pubmed.retriever.PubMedQuery;
 import reciter.scopus.retriever.ScopusArticleRetriever;
 import reciter.xml.retriever.engine.AliasReCiterRetrievalEngine.IdentityNameType;
+import reciter.xml.retriever.engine.RetrievalScheduler;
 import reciter.xml.retriever.pubmed.GoldStandardRetrievalStrategy;
 import reciter.xml.retriever.pubmed.PubMedQueryType.PubMedQueryBuilder;
 
@@ -53,6 +57,18 @@ public abstract class AbstractRetrievalStrategy implements RetrievalStrategy {
 	
 	@Autowired
 	private GoldStandardRetrievalStrategy goldStandardRetrievalStrategy;
+	
+	@Autowired
+	private PubMedArticleCache pubMedArticleCache;
+	
+	@Autowired
+	private RetrievalScheduler retrievalScheduler;
+	
+	@Autowired
+	private PubMedQueryExecutor pubMedQueryExecutor;
+	
+	@Autowired
+	private RestTemplate retrievalRestTemplate;
 
 	public static class RetrievalResult {
 		private final Map<Long, PubMedArticle> pubMedArticles;
@@ -130,78 +146,12 @@ public abstract class AbstractRetrievalStrategy implements RetrievalStrategy {
 
 	private RetrievalResult retrievePubMedArticles(Identity identity, Map<IdentityNameType, Set<AuthorName>> identityNames, List<PubMedQueryType> pubMedQueries, boolean useStrictQueryOnly) throws IOException {
 
-		Map<Long, PubMedArticle> pubMedArticles = new HashMap<Long, PubMedArticle>();
-
 		slf4jLogger.info("Query size: " + pubMedQueries.size());
-		List<PubMedQueryResult> pubMedQueryResults = new ArrayList<PubMedQueryResult>();
+		Map<Long, PubMedArticle> pubMedArticles = pubMedQueryExecutor.execute(identity.getUid(), pubMedQueries, useStrictQueryOnly,
+				DEFAULT_THRESHOLD, STRICT_THRESHOLD, this::getNumberOfResults, this::retrievePubMed);
 
+		List<PubMedQueryResult> pubMedQueryResults = new ArrayList<PubMedQueryResult>();
 		for (PubMedQueryType pubMedQueryType : pubMedQueries) {
-			
-			
-			if(!useStrictQueryOnly) {
-				slf4jLogger.info("Constructed lenient count query {}", pubMedQueryType.getLenientCountQuery().getQuery());
-				slf4jLogger.info("Constructed lenient query {}", pubMedQueryType.getLenientQuery().getQuery());
-				//PubMedQuery encodedInitialQuery = pubMedQueryType.getLenientQuery().getQuery();
-				PubMedQuery encodedInitialCountQuery = pubMedQueryType.getLenientCountQuery().getQuery();
-				int handler = getNumberOfResults(encodedInitialCountQuery);
-
-				// check number of PubMed results returned by initial query.
-				// If it's greater than the threshold, query using the strict query.
-				pubMedQueryType.getLenientQuery().setNumResult(handler);
-				if (handler > DEFAULT_THRESHOLD) {
-					PubMedQuery constructedStrictCountQuery = pubMedQueryType.getStrictCountQuery().getQuery();
-					slf4jLogger.info("Constructed strict count query {}", constructedStrictCountQuery);
-					slf4jLogger.info("Constructed strict query {}", pubMedQueryType.getStrictQuery().getQuery());
-	//				String strictQuery = URLEncoder.encode(constructedStrictQuery, "UTF-8");
-					int strictSearchHandler = getNumberOfResults(constructedStrictCountQuery);
-	
-					pubMedQueryType.getStrictQuery().setNumResult(strictSearchHandler);
-	
-					// only retrieve articles if number is less than threshold, otherwise the article download
-					// may take too long
-					if (strictSearchHandler <= STRICT_THRESHOLD) {
-						List<PubMedArticle> result = retrievePubMed(pubMedQueryType.getStrictQuery().getQuery(), strictSearchHandler);
-						for (PubMedArticle pubMedArticle : result) {
-							long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
-							if (!pubMedArticles.containsKey(pmid)) {
-								pubMedArticles.put(pmid, pubMedArticle);
-							}
-						}
-						pubMedQueryType.getStrictQuery().setUsed(true);
-					}
-				} else {
-					List<PubMedArticle> result = retrievePubMed(pubMedQueryType.getLenientQuery().getQuery(), handler);
-					for (PubMedArticle pubMedArticle : result) {
-						long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
-						if (!pubMedArticles.containsKey(pmid)) {
-							pubMedArticles.put(pmid, pubMedArticle);
-						}
-					}
-					pubMedQueryType.getLenientQuery().setUsed(true);
-				}
-			} else {
-				PubMedQuery constructedStrictCountQuery = pubMedQueryType.getStrictCountQuery().getQuery();
-				slf4jLogger.info("Constructed strict count query {}", constructedStrictCountQuery);
-				slf4jLogger.info("Constructed strict query {}", pubMedQueryType.getStrictQuery().getQuery());
-//				String strictQuery = URLEncoder.encode(constructedStrictQuery, "UTF-8");
-				int strictSearchHandler = getNumberOfResults(constructedStrictCountQuery);
-
-				pubMedQueryType.getStrictQuery().setNumResult(strictSearchHandler);
-
-				// only retrieve articles if number is less than threshold, otherwise the article download
-				// may take too long
-				if (strictSearchHandler <= STRICT_THRESHOLD) {
-					List<PubMedArticle> result = retrievePubMed(pubMedQueryType.getStrictQuery().getQuery(), strictSearchHandler);
-					for (PubMedArticle pubMedArticle : result) {
-						long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
-						if (!pubMedArticles.containsKey(pmid)) {
-							pubMedArticles.put(pmid, pubMedArticle);
-						}
-					}
-					pubMedQueryType.getStrictQuery().setUsed(true);
-				}
-			}
-
 			pubMedQueryResults.add(pubMedQueryType.getLenientQuery());
 			pubMedQueryResults.add(pubMedQueryType.getStrictQuery());
 		}
@@ -241,20 +191,21 @@ public abstract class AbstractRetrievalStrategy implements RetrievalStrategy {
 		}
 	}
 
-	public List<PubMedArticle> retrievePubMed(PubMedQuery pubMedQuery, int numberOfPubmedArticles)  {
-		PubMedArticleRetriever pubMedArticleRetriever = new PubMedArticleRetriever();
-		return pubMedArticleRetriever.retrievePubMed(pubMedQuery, numberOfPubmedArticles);
+	public void retrievePubMed(PubMedQuery pubMedQuery, int numberOfPubmedArticles, Consumer<PubMedArticle> consumer)  {
+		PubMedArticleRetriever pubMedArticleRetriever = new PubMedArticleRetriever(retrievalRestTemplate, pubMedArticleCache, retrievalScheduler.getPubMedUpstream(),
+				retrievalScheduler.getESearchUpstream());
+		pubMedArticleRetriever.retrievePubMed(pubMedQuery, numberOfPubmedArticles, consumer);
 	}
 
 	@Override
 	public List<ScopusArticle> retrieveScopus(Collection<Long> pmids) {
-		ScopusArticleRetriever<Long> scopusArticleRetriever = new ScopusArticleRetriever<Long>();
+		ScopusArticleRetriever<Long> scopusArticleRetriever = new ScopusArticleRetriever<Long>(retrievalRestTemplate, retrievalScheduler.getScopusUpstream());
 		return scopusArticleRetriever.retrieveScopus(ScopusArticleRetriever.PMID_MODIFIER, new ArrayList<Long>(pmids));
 	}
 	
 	@Override
 	public List<ScopusArticle> retrieveScopusDoi(Collection<String> dois) {
-		ScopusArticleRetriever<String> scopusArticleRetriever = new ScopusArticleRetriever<String>();
+		ScopusArticleRetriever<String> scopusArticleRetriever = new ScopusArticleRetriever<String>(retrievalRestTemplate, retrievalScheduler.getScopusUpstream());
 		return scopusArticleRetriever.retrieveScopus(ScopusArticleRetriever.DOI_MODIFIER, new ArrayList<String>(dois));
 	}
 
@@ -262,13 +213,13 @@ public abstract class AbstractRetrievalStrategy implements RetrievalStrategy {
 
 	protected int getNumberOfResults(PubMedQuery pubMedQueryType) throws IOException {
 		String nodeUrl = PUBMED_SERVICE + "/pubmed/query-number-pubmed-articles/";
-		RestTemplate restTemplate = new RestTemplate();
 		slf4jLogger.info("Sending web request: " + nodeUrl);
 		ResponseEntity<Integer> responseEntity = null;
 		slf4jLogger.info("PubMedQuery: " + pubMedQueryType);
 		try {
-			responseEntity = restTemplate.postForEntity(nodeUrl, pubMedQueryType, Integer.class);
-		} catch (Exception e) {
+			responseEntity = retrievalScheduler.getPubMedUpstream().execute(
+					() -> retrievalRestTemplate.postForEntity(nodeUrl, pubMedQueryType, Integer.class));
+		} catch (RestClientException e) {
 			slf4jLogger.error("Unable to retrieve via external REST api=[" + nodeUrl + "]", e);
 		}
 		if (responseEntity == null) {
@@ -281,11 +232,10 @@ public abstract class AbstractRetrievalStrategy implements RetrievalStrategy {
 
 	private List<PubMedArticle> retrievePubMedViaRest(String pubMedQuery) {
 		String nodeUrl = loadBalance();
-		RestTemplate restTemplate = new RestTemplate();
 		slf4jLogger.info("Sending web request: " + nodeUrl);
 		ResponseEntity<PubMedArticle[]> responseEntity = null;
 		try {
-			responseEntity = restTemplate.getForEntity(nodeUrl, PubMedArticle[].class);
+			responseEntity = retrievalRestTemplate.getForEntity(nodeUrl, PubMedArticle[].class);
 		} catch (Exception e) {
 			slf4jLogger.error("Unable to retrieve via external REST api=[" + nodeUrl + "]", e);
 		}
@@ -323,10 +273,9 @@ public abstract class AbstractRetrievalStrategy implements RetrievalStrategy {
 		}
 		List<ScopusArticle> scopusArticlesResult = new ArrayList<ScopusArticle>();
 		for (String pmidQuery : pmidQueries) {
-			RestTemplate restTemplate = new RestTemplate();
 			try {
 				slf4jLogger.info("Sending web request: " + nodeUrl + pmidQuery);
-				ResponseEntity<ScopusArticle[]> responseEntity = restTemplate.getForEntity(nodeUrl + pmidQuery, ScopusArticle[].class);
+				ResponseEntity<ScopusArticle[]> responseEntity = retrievalRestTemplate.getForEntity(nodeUrl + pmidQuery, ScopusArticle[].class);
 				ScopusArticle[] scopusArticles = responseEntity.getBody();
 				scopusArticlesResult.addAll(Arrays.asList(scopusArticles));
 				slf4jLogger.info("Retrieved scopusArticles size=[" + scopusArticles.length + "]");
@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *******************************************************************************/
+package reciter.xml.retriever.pubmed;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reciter.model.pubmed.PubMedArticle;
+import reciter.pubmed.retriever.PubMedQuery;
+
+/**
+ * Runs the queries of a retrieval strategy at the same time. Each query first counts its lenient results, then its strict
+ * results if there are more lenient results than the lenient threshold, and fetches the articles of the query it settled
+ * on, while the other queries are still counting or fetching.
+ * <p>
+ * A strict query with more results than the strict threshold is split in two halves of its publication date range, which
+ * are counted in turn and split again until every slice is under the threshold, and the slices are fetched like the other
+ * queries. A query without a date range is split from the first day of retrieval.partition.earliest.year to today. At
+ * most retrieval.partition.maximum.slices slices are counted for a query, so the number of requests stays bounded for
+ * the most common names; the slices beyond are skipped like the whole query was before.
+ * <p>
+ * The queries and slices run on a pool of retrieval.query.threads workers shared by all retrievals. At most
+ * retrieval.query.concurrency of them run at the same time for one person, across all the strategies retrieving the
+ * articles of that person, so that the retrieval of one person with many name variants does not take up the whole pool.
+ * <p>
+ * Every article goes into one map by pmid as soon as the response of its query is parsed, instead of a list per query
+ * merged at the end. An article of an earlier query takes the place of the same pmid from a later query, so the result is
+ * the same as merging in the order of the queries whichever query finishes first.
+ */
+@Component
+public class PubMedQueryExecutor {
+
+	private final static Logger slf4jLogger = LoggerFactory.getLogger(PubMedQueryExecutor.class);
+
+	@Value("${retrieval.query.threads}")
+	private int threads;
+
+	@Value("${retrieval.query.concurrency}")
+	private int concurrency;
+
+	@Value("${retrieval.partition.maximum.slices}")
+	private int maximumSlices;
+
+	@Value("${retrieval.partition.earliest.year}")
+	private int earliestYear;
+
+	private ExecutorService executorService;
+	private final Map<String, IdentityPermits> identityPermits = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of results of a count query, e.g. from the PubMed service.
+	 */
+	@FunctionalInterface
+	public interface CountQuery {
+		int count(PubMedQuery pubMedQuery) throws IOException;
+	}
+
+	/**
+	 * Articles of a query, e.g. from the PubMed service, handed to the consumer one at a time as they are read.
+	 */
+	@FunctionalInterface
+	public interface FetchQuery {
+		void fetch(PubMedQuery pubMedQuery, int numberOfPubmedArticles, Consumer<PubMedArticle> consumer) throws IOException;
+	}
+
+	private static class IdentityPermits {
+		private final Semaphore semaphore;
+		private int retrievals;
+
+		private IdentityPermits(int permits) {
+			this.semaphore = new Semaphore(permits);
+		}
+	}
+
+	private static class DateRange {
+		private final LocalDate start;
+		private final LocalDate end;
+
+		private DateRange(LocalDate start, LocalDate end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		private List<DateRange> split() {
+			LocalDate middle = start.plusDays(ChronoUnit.DAYS.between(start, end) / 2);
+			return Arrays.asList(new DateRange(start, middle), new DateRange(middle.plusDays(1), end));
+		}
+
+		@Override
+		public String toString() {
+			return start + ":" + end;
+		}
+	}
+
+	/**
+	 * Outcome of counting and fetching a query or a slice: the slices to count next, none once its articles are fetched.
+	 */
+	private static class Step {
+		private final int index;
+		private final List<DateRange> slices;
+
+		private Step(int index, List<DateRange> slices) {
+			this.index = index;
+			this.slices = slices;
+		}
+	}
+
+	@FunctionalInterface
+	private interface Task {
+		Step run() throws IOException;
+	}
+
+	/**
+	 * Article fetched for a pmid and the index of the query it was fetched for.
+	 */
+	private static class QueryArticle {
+		private final int index;
+		private final PubMedArticle pubMedArticle;
+
+		private QueryArticle(int index, PubMedArticle pubMedArticle) {
+			this.index = index;
+			this.pubMedArticle = pubMedArticle;
+		}
+	}
+
+	/**
+	 * Keeps the article of the earliest query for every pmid. The consumers of the queries run on the workers of the pool.
+	 */
+	private static class QueryArticles {
+		private final Map<Long, QueryArticle> queryArticles = new ConcurrentHashMap<>();
+
+		private Consumer<PubMedArticle> consumer(int index) {
+			return pubMedArticle -> queryArticles.merge(pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid(),
+					new QueryArticle(index, pubMedArticle), (current, fetched) -> fetched.index < current.index ? fetched : current);
+		}
+
+		private Map<Long, PubMedArticle> getPubMedArticles() {
+			Map<Long, PubMedArticle> pubMedArticles = new HashMap<>();
+			for (Map.Entry<Long, QueryArticle> queryArticle : queryArticles.entrySet()) {
+				pubMedArticles.put(queryArticle.getKey(), queryArticle.getValue().pubMedArticle);
+			}
+			return pubMedArticles;
+		}
+	}
+
+	public PubMedQueryExecutor() {
+	}
+
+	public PubMedQueryExecutor(int threads, int concurrency, int maximumSlices, int earliestYear) {
+		this.threads = threads;
+		this.concurrency = concurrency;
+		this.maximumSlices = maximumSlices;
+		this.earliestYear = earliestYear;
+	}
+
+	@PostConstruct
+	public void start() {
+		executorService = Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+	}
+
+	@PreDestroy
+	public void stop() {
+		executorService.shutdownNow();
+	}
+
+	/**
+	 * Counts and fetches the queries, recording the number of results of the lenient and strict queries and which one was
+	 * used in the queries.
+	 * @param uid person the queries are for, whose queries share retrieval.query.concurrency
+	 * @param useStrictQueryOnly skip the lenient count and use the strict queries
+	 * @return the articles of all the queries by pmid
+	 */
+	public Map<Long, PubMedArticle> execute(String uid, List<PubMedQueryType> pubMedQueries, boolean useStrictQueryOnly,
+			int lenientThreshold, int strictThreshold, CountQuery countQuery, FetchQuery fetchQuery) throws IOException {
+		QueryArticles results = new QueryArticles();
+		int[] slices = new int[pubMedQueries.size()];
+		Deque<Task> pendingTasks = new ArrayDeque<>();
+		for (int i = 0; i < pubMedQueries.size(); i++) {
+			int index = i;
+			pendingTasks.add(() -> countThenFetch(index, pubMedQueries.get(index), useStrictQueryOnly, lenientThreshold,
+					strictThreshold, countQuery, fetchQuery, results.consumer(index)));
+		}
+
+		if (concurrency <= 1) {
+			while (!pendingTasks.isEmpty()) {
+				Step step = pendingTasks.poll().run();
+				addStep(step, results, slices, pendingTasks, pubMedQueries, strictThreshold, countQuery, fetchQuery);
+			}
+		} else {
+			IdentityPermits permits = acquire(uid);
+			CompletionService<Step> completionService = new ExecutorCompletionService<>(executorService);
+			List<Future<Step>> futures = new ArrayList<>();
+			int runningTasks = 0;
+			try {
+				while (!pendingTasks.isEmpty() || runningTasks > 0) {
+					// Wait for a permit only when none of the tasks of this retrieval is running to free one up.
+					if (!pendingTasks.isEmpty() && (runningTasks == 0 || permits.semaphore.tryAcquire())) {
+						if (runningTasks == 0) {
+							permits.semaphore.acquire();
+						}
+						Task task = pendingTasks.poll();
+						try {
+							futures.add(completionService.submit(() -> {
+								try {
+									return task.run();
+								} finally {
+									permits.semaphore.release();
+								}
+							}));
+						} catch (RuntimeException e) {
+							permits.semaphore.release();
+							throw e;
+						}
+						runningTasks++;
+						continue;
+					}
+					Step step = completionService.take().get();
+					runningTasks--;
+					addStep(step, results, slices, pendingTasks, pubMedQueries, strictThreshold, countQuery, fetchQuery);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while querying PubMed for uid=[" + uid + "]", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof IOException) {
+					throw (IOException) e.getCause();
+				}
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IOException("Unable to query PubMed for uid=[" + uid + "]", e.getCause());
+			} finally {
+				for (Future<Step> future : futures) {
+					future.cancel(true);
+				}
+				release(uid);
+			}
+		}
+
+		return results.getPubMedArticles();
+	}
+
+	private void addStep(Step step, QueryArticles results, int[] slices, Deque<Task> pendingTasks,
+			List<PubMedQueryType> pubMedQueries, int strictThreshold, CountQuery countQuery, FetchQuery fetchQuery) {
+		for (DateRange slice : step.slices) {
+			PubMedQueryType pubMedQueryType = pubMedQueries.get(step.index);
+			if (slices[step.index] >= maximumSlices) {
+				slf4jLogger.warn("Skipping date range " + slice + " of strict query " + pubMedQueryType.getStrictQuery().getQuery()
+						+ " after " + maximumSlices + " slices");
+				continue;
+			}
+			slices[step.index]++;
+			pendingTasks.add(() -> countThenFetch(step.index, pubMedQueryType, slice, strictThreshold, countQuery, fetchQuery,
+					results.consumer(step.index)));
+		}
+	}
+
+	private Step countThenFetch(int index, PubMedQueryType pubMedQueryType, boolean useStrictQueryOnly, int lenientThreshold,
+			int strictThreshold, CountQuery countQuery, FetchQuery fetchQuery, Consumer<PubMedArticle> consumer) throws IOException {
+		if (!useStrictQueryOnly) {
+			slf4jLogger.info("Constructed lenient count query {}", pubMedQueryType.getLenientCountQuery().getQuery());
+			slf4jLogger.info("Constructed lenient query {}", pubMedQueryType.getLenientQuery().getQuery());
+			int lenientCount = countQuery.count(pubMedQueryType.getLenientCountQuery().getQuery());
+			pubMedQueryType.getLenientQuery().setNumResult(lenientCount);
+			// If the lenient query returns more results than the threshold, query using the strict query.
+			if (lenientCount <= lenientThreshold) {
+				fetchQuery.fetch(pubMedQueryType.getLenientQuery().getQuery(), lenientCount, consumer);
+				pubMedQueryType.getLenientQuery().setUsed(true);
+				return new Step(index, Collections.emptyList());
+			}
+		}
+		slf4jLogger.info("Constructed strict count query {}", pubMedQueryType.getStrictCountQuery().getQuery());
+		slf4jLogger.info("Constructed strict query {}", pubMedQueryType.getStrictQuery().getQuery());
+		int strictCount = countQuery.count(pubMedQueryType.getStrictCountQuery().getQuery());
+		pubMedQueryType.getStrictQuery().setNumResult(strictCount);
+		// only retrieve articles if number is less than threshold, otherwise the article download may take too long
+		if (strictCount > strictThreshold) {
+			return new Step(index, split(dateRange(pubMedQueryType.getStrictCountQuery().getQuery()), strictCount));
+		}
+		fetchQuery.fetch(pubMedQueryType.getStrictQuery().getQuery(), strictCount, consumer);
+		pubMedQueryType.getStrictQuery().setUsed(true);
+		return new Step(index, Collections.emptyList());
+	}
+
+	private Step countThenFetch(int index, PubMedQueryType pubMedQueryType, DateRange slice, int strictThreshold,
+			CountQuery countQuery, FetchQuery fetchQuery, Consumer<PubMedArticle> consumer) throws IOException {
+		int sliceCount = countQuery.count(withDateRange(pubMedQueryType.getStrictCountQuery().getQuery(), slice));
+		if (sliceCount > strictThreshold) {
+			return new Step(index, split(slice, sliceCount));
+		}
+		if (sliceCount == 0) {
+			return new Step(index, Collections.emptyList());
+		}
+		slf4jLogger.info("Fetching " + sliceCount + " articles of date range " + slice + " of strict query " + pubMedQueryType.getStrictQuery().getQuery());
+		fetchQuery.fetch(withDateRange(pubMedQueryType.getStrictQuery().getQuery(), slice), sliceCount, consumer);
+		pubMedQueryType.getStrictQuery().setUsed(true);
+		return new Step(index, Collections.emptyList());
+	}
+
+	private List<DateRange> split(DateRange dateRange, int count) {
+		if (maximumSlices <= 0 || !dateRange.start.isBefore(dateRange.end)) {
+			slf4jLogger.info("Skipping " + count + " articles of date range " + dateRange + " above the strict threshold");
+			return Collections.emptyList();
+		}
+		return dateRange.split();
+	}
+
+	private DateRange dateRange(PubMedQuery pubMedQuery) {
+		if (pubMedQuery.getStart() != null && pubMedQuery.getEnd() != null) {
+			return new DateRange(pubMedQuery.getStart().toInstant().atZone(ZoneOffset.UTC).toLocalDate(),
+					pubMedQuery.getEnd().toInstant().atZone(ZoneOffset.UTC).toLocalDate());
+		}
+		return new DateRange(LocalDate.of(earliestYear, 1, 1), LocalDate.now(ZoneOffset.UTC));
+	}
+
+	/**
+	 * The dates of a query are sent as UTC days.
+	 */
+	private static PubMedQuery withDateRange(PubMedQuery pubMedQuery, DateRange dateRange) {
+		return PubMedQuery.builder()
+				.author(pubMedQuery.getAuthor())
+				.strategyQuery(pubMedQuery.getStrategyQuery())
+				.start(Date.from(dateRange.start.atStartOfDay(ZoneOffset.UTC).toInstant()))
+				.end(Date.from(dateRange.end.atStartOfDay(ZoneOffset.UTC).toInstant()))
+				.build();
+	}
+
+	private IdentityPermits acquire(String uid) {
+		return identityPermits.compute(uid, (key, permits) -> {
+			if (permits == null) {
+				permits = new IdentityPermits(concurrency);
+			}
+			permits.retrievals++;
+			return permits;
+		});
+	}
+
+	private void release(String uid) {
+		identityPermits.computeIfPresent(uid, (key, permits) -> --permits.retrievals == 0 ? null : permits);
+	}
+}
@@ -0,0 +1,126 @@
+package reciter.algorithm.cluster.article.scorer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.engine.EngineContext;
+import reciter.engine.EngineRunSnapshot;
+import reciter.engine.StrategyParameters;
+import reciter.engine.analysis.evidence.AuthorNameEvidence;
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleAuthors;
+import reciter.model.article.ReCiterAuthor;
+import reciter.model.identity.AuthorName;
+import reciter.model.identity.Identity;
+import reciter.utils.AuthorNameSanitizationUtils;
+
+/**
+ * Scoring the clusters on the shared pool must give every article the same evidence and scores as scoring them one
+ * after another.
+ */
+public class ReCiterArticleScorerTest {
+
+	private static final AuthorName[] ARTICLE_AUTHOR_NAMES = {
+			new AuthorName("Paul", "A", "Albert"), new AuthorName("P", null, "Albert"), new AuthorName("Paul", null, "Alberts"),
+			new AuthorName("Pablo", "J", "Albert"), new AuthorName("PA", null, "Albert"), new AuthorName("Albert", null, "Paul")};
+
+	private ClusterScoringExecutor clusterScoringExecutor;
+
+	@Before
+	public void setUp() {
+		clusterScoringExecutor = new ClusterScoringExecutor(4);
+	}
+
+	@After
+	public void tearDown() {
+		clusterScoringExecutor.stop();
+	}
+
+	@Test
+	public final void testParallelScoringMatchesSequentialScoring() {
+		for(long seed = 0; seed < 10; seed++) {
+			List<String> sequentialScores = score(createClusters(new Random(seed)), false);
+			List<String> parallelScores = score(createClusters(new Random(seed)), true);
+			assertEquals("scores for seed " + seed, sequentialScores, parallelScores);
+		}
+	}
+
+	private List<String> score(Map<Long, ReCiterCluster> clusters, boolean parallelClusterScoring) {
+		StrategyParameters strategyParameters = createStrategyParameters(parallelClusterScoring);
+		EngineContext engineContext = new EngineContext(strategyParameters, false);
+		Identity identity = createIdentity(strategyParameters);
+		int numberOfArticles = clusters.values().stream().mapToInt(reCiterCluster -> reCiterCluster.getArticleCluster().size()).sum();
+
+		new ReCiterArticleScorer(clusters, identity, engineContext, new EngineRunSnapshot(null, null, numberOfArticles), null,
+				clusterScoringExecutor).runArticleScorer(clusters, identity);
+
+		List<String> scores = new ArrayList<>(numberOfArticles);
+		for(ReCiterCluster reCiterCluster : clusters.values()) {
+			for(ReCiterArticle reCiterArticle : reCiterCluster.getArticleCluster()) {
+				AuthorNameEvidence authorNameEvidence = reCiterArticle.getAuthorNameEvidence();
+				scores.add(reCiterArticle.getArticleId() + " " + authorNameEvidence.getNameMatchFirstType() + " "
+						+ authorNameEvidence.getNameMatchMiddleType() + " " + authorNameEvidence.getNameMatchLastType() + " "
+						+ authorNameEvidence.getNameScoreTotal() + " " + reCiterArticle.getTotalArticleScoreStandardized());
+			}
+		}
+		return scores;
+	}
+
+	private static StrategyParameters createStrategyParameters(boolean parallelClusterScoring) {
+		StrategyParameters strategyParameters = new StrategyParameters();
+		strategyParameters.setParallelClusterScoring(parallelClusterScoring);
+		strategyParameters.setNameExcludedSuffixes("Jr,MD PhD,MD-PhD,PhD,MD,III,II,Sr");
+		strategyParameters.setStandardizedScoreMapping("-999,1.78,2.01,2.25,2.54,2.85,3.24,3.55,4.3,5.4");
+		strategyParameters.setNameMatchFirstTypeFullExactScore(1.83);
+		strategyParameters.setNameMatchFirstTypeInferredInitialsExactScore(1.06);
+		strategyParameters.setNameMatchFirstTypeNoMatchScore(-2.6);
+		strategyParameters.setNameMatchLastTypeFullExactScore(0.67);
+		strategyParameters.setNameMatchLastTypeFullFuzzyScore(0.3);
+		strategyParameters.setNameMatchMiddleTypeFullExactScore(1.42);
+		strategyParameters.setNameMatchMiddleTypeNoMatchScore(-0.75);
+		strategyParameters.setNameMatchModifierIncorrectOrderScore(-0.5);
+		return strategyParameters;
+	}
+
+	private static Identity createIdentity(StrategyParameters strategyParameters) {
+		Identity identity = new Identity();
+		identity.setUid("paa2013");
+		identity.setPrimaryName(new AuthorName("Paul", "J", "Albert"));
+		identity.setAlternateNames(Arrays.asList(new AuthorName("Paul", null, "Albert")));
+		identity.setSanitizedNames(new AuthorNameSanitizationUtils(strategyParameters).sanitizeIdentityAuthorNames(identity));
+		return identity;
+	}
+
+	private static Map<Long, ReCiterCluster> createClusters(Random random) {
+		AuthorNameSanitizationUtils authorNameSanitizationUtils = new AuthorNameSanitizationUtils(createStrategyParameters(false));
+		Map<Long, ReCiterCluster> clusters = new LinkedHashMap<>();
+		long articleId = 1000L;
+		for(long clusterId = 1; clusterId <= 8; clusterId++) {
+			ReCiterCluster reCiterCluster = new ReCiterCluster(clusterId);
+			for(int j = 1 + random.nextInt(6); j > 0; j--) {
+				ReCiterArticle reCiterArticle = new ReCiterArticle(articleId++);
+				ReCiterArticleAuthors reCiterArticleAuthors = new ReCiterArticleAuthors();
+				reCiterArticleAuthors.addAuthor(new ReCiterAuthor(new AuthorName("Jessica", null, "Smith"), "Weill Cornell Medicine"));
+				ReCiterAuthor targetAuthor = new ReCiterAuthor(ARTICLE_AUTHOR_NAMES[random.nextInt(ARTICLE_AUTHOR_NAMES.length)], "Weill Cornell Medicine");
+				targetAuthor.setTargetAuthor(random.nextInt(5) != 0);
+				reCiterArticleAuthors.addAuthor(targetAuthor);
+				reCiterArticle.setArticleCoAuthors(reCiterArticleAuthors);
+				reCiterArticleAuthors.setSanitizedAuthorMap(authorNameSanitizationUtils.sanitizeArticleAuthorNames(reCiterArticle));
+				reCiterCluster.getArticleCluster().add(reCiterArticle);
+			}
+			clusters.put(clusterId, reCiterCluster);
+		}
+		return clusters;
+	}
+}
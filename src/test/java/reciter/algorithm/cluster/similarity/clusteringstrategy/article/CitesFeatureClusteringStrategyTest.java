@@ -0,0 +1,72 @@
+package reciter.algorithm.cluster.similarity.clusteringstrategy.article;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.engine.EngineContext;
+import reciter.engine.StrategyParameters;
+import reciter.model.article.ReCiterArticle;
+
+public class CitesFeatureClusteringStrategyTest {
+
+	/**
+	 * Indexed merging must produce the same cluster ids and the same article order inside each cluster as the pairwise comparison.
+	 */
+	@Test
+	public final void testIndexedMergingMatchesPairwiseMerging() {
+		EngineContext pairwiseContext = createEngineContext(false);
+		EngineContext indexedContext = createEngineContext(true);
+		for(long seed = 0; seed < 20; seed++) {
+			List<ReCiterArticle> articles = createCitingArticles(new Random(seed), 80, 40);
+
+			Map<Long, ReCiterCluster> pairwiseClusters = new BaselineClusteringStrategy().cluster(articles);
+			pairwiseClusters = new CitesFeatureClusteringStrategy(pairwiseContext).cluster(pairwiseClusters);
+
+			Map<Long, ReCiterCluster> indexedClusters = new BaselineClusteringStrategy().cluster(articles);
+			indexedClusters = new CitesFeatureClusteringStrategy(indexedContext).cluster(indexedClusters);
+
+			assertEquals("cluster ids for seed " + seed, pairwiseClusters.keySet(), indexedClusters.keySet());
+			for(Long clusterId : pairwiseClusters.keySet()) {
+				assertEquals("articles of cluster " + clusterId + " for seed " + seed,
+						getArticleIds(pairwiseClusters.get(clusterId)), getArticleIds(indexedClusters.get(clusterId)));
+			}
+		}
+	}
+
+	private static EngineContext createEngineContext(boolean indexedClusterMerging) {
+		StrategyParameters strategyParameters = new StrategyParameters();
+		strategyParameters.setIndexedClusterMerging(indexedClusterMerging);
+		return new EngineContext(strategyParameters, true);
+	}
+
+	private static List<ReCiterArticle> createCitingArticles(Random random, int numberOfArticles, int numberOfCitations) {
+		List<ReCiterArticle> articles = new ArrayList<>(numberOfArticles);
+		for(int i = 1; i <= numberOfArticles; i++) {
+			ReCiterArticle reCiterArticle = new ReCiterArticle(1000L + i);
+			reCiterArticle.setCommentsCorrectionsPmids(new HashSet<>());
+			articles.add(reCiterArticle);
+		}
+		for(int i = 0; i < numberOfCitations; i++) {
+			ReCiterArticle citing = articles.get(random.nextInt(numberOfArticles));
+			ReCiterArticle cited = articles.get(random.nextInt(numberOfArticles));
+			Set<Long> commentsCorrectionsPmids = new HashSet<>(citing.getCommentsCorrectionsPmids());
+			commentsCorrectionsPmids.add(cited.getArticleId());
+			citing.setCommentsCorrectionsPmids(commentsCorrectionsPmids);
+		}
+		return articles;
+	}
+
+	private static List<Long> getArticleIds(ReCiterCluster reCiterCluster) {
+		return reCiterCluster.getArticleCluster().stream().map(ReCiterArticle::getArticleId).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,176 @@
+package reciter.algorithm.cluster.similarity.clusteringstrategy.article;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import reciter.algorithm.cluster.clusteringstrategy.article.AbstractIndexedClusteringStrategy;
+import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.engine.EngineContext;
+import reciter.engine.EngineParameters;
+import reciter.engine.StrategyParameters;
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleAuthors;
+import reciter.model.article.ReCiterArticleFeatures;
+import reciter.model.article.ReCiterArticleGrant;
+import reciter.model.article.ReCiterArticleMeshHeading;
+import reciter.model.article.ReCiterAuthor;
+import reciter.model.article.ReCiterMeshHeadingDescriptorName;
+import reciter.model.identity.AuthorName;
+
+/**
+ * Indexed merging of the email, grant, MeSH major and tepid strategies must produce the same cluster ids and the same
+ * article order inside each cluster as the pairwise comparison. The cites strategy is checked by {@link CitesFeatureClusteringStrategyTest}.
+ */
+@RunWith(Parameterized.class)
+public class IndexedClusteringStrategyTest {
+
+	private static final String[] EMAILS = {"jsmith@med.cornell.edu", "paa2013@med.cornell.edu", "kim@mskcc.org", "lee@nyu.edu", "wang@rockefeller.edu"};
+	private static final String[] GRANTS = {"R01 CA012345", "R01-CA12345", "P30 AG023456", "K08HL34567", "U54 MD045678", "T32GM56789"};
+	private static final String[] DESCRIPTORS = {"Aspirin", "aspirin", "Cold Temperature", "Contracts", "Humans", "Neoplasms", "Rare Disease"};
+	private static final String[] JOURNALS = {"Nature", "NATURE", "Cell", "The Lancet"};
+	private static final String[] CO_AUTHORS = {"J.Smith", "P.Albert", "S.Kim", "Y.Wang", "J.Lee", "M.Wells"};
+
+	@Parameter(0)
+	public String name;
+
+	@Parameter(1)
+	public Function<EngineContext, AbstractIndexedClusteringStrategy> strategy;
+
+	private Map<String, Long> meshCountMap;
+
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> strategies() {
+		return Arrays.asList(
+				new Object[] {"email", (Function<EngineContext, AbstractIndexedClusteringStrategy>) EmailFeatureClusteringStrategy::new},
+				new Object[] {"grant", (Function<EngineContext, AbstractIndexedClusteringStrategy>) GrantFeatureClusteringStrategy::new},
+				new Object[] {"meshMajor", (Function<EngineContext, AbstractIndexedClusteringStrategy>) MeshMajorClusteringStrategy::new},
+				new Object[] {"tepid", (Function<EngineContext, AbstractIndexedClusteringStrategy>) TepidClusteringStrategy::new});
+	}
+
+	@Before
+	public void setUp() {
+		meshCountMap = EngineParameters.getMeshCountMap();
+		Map<String, Long> counts = new HashMap<>();
+		counts.put("Aspirin", 1200L);
+		counts.put("Cold Temperature", 3999L);
+		counts.put("Contracts", 250L);
+		counts.put("Humans", 9000000L);
+		counts.put("Neoplasms", 4000L);
+		EngineParameters.setMeshCountMap(counts);
+	}
+
+	@After
+	public void tearDown() {
+		EngineParameters.setMeshCountMap(meshCountMap);
+	}
+
+	@Test
+	public final void testIndexedMergingMatchesPairwiseMerging() {
+		EngineContext pairwiseContext = createEngineContext(false);
+		EngineContext indexedContext = createEngineContext(true);
+		for(long seed = 0; seed < 20; seed++) {
+			Map<Long, ReCiterCluster> pairwiseClusters = new BaselineClusteringStrategy().cluster(createArticles(new Random(seed), 60));
+			pairwiseClusters = strategy.apply(pairwiseContext).cluster(pairwiseClusters);
+
+			Map<Long, ReCiterCluster> indexedClusters = new BaselineClusteringStrategy().cluster(createArticles(new Random(seed), 60));
+			indexedClusters = strategy.apply(indexedContext).cluster(indexedClusters);
+
+			assertEquals(name + " cluster ids for seed " + seed, pairwiseClusters.keySet(), indexedClusters.keySet());
+			for(Long clusterId : pairwiseClusters.keySet()) {
+				assertEquals(name + " articles of cluster " + clusterId + " for seed " + seed,
+						getArticleIds(pairwiseClusters.get(clusterId)), getArticleIds(indexedClusters.get(clusterId)));
+			}
+		}
+	}
+
+	private static EngineContext createEngineContext(boolean indexedClusterMerging) {
+		StrategyParameters strategyParameters = new StrategyParameters();
+		strategyParameters.setIndexedClusterMerging(indexedClusterMerging);
+		strategyParameters.setClusteringGrantsThreshold(2);
+		strategyParameters.setClusterSimilarityThresholdScore(0.2);
+		return new EngineContext(strategyParameters, true);
+	}
+
+	private static List<ReCiterArticle> createArticles(Random random, int numberOfArticles) {
+		List<ReCiterArticle> articles = new ArrayList<>(numberOfArticles);
+		for(int i = 1; i <= numberOfArticles; i++) {
+			ReCiterArticle reCiterArticle = new ReCiterArticle(1000L + i);
+
+			ReCiterArticleAuthors reCiterArticleAuthors = new ReCiterArticleAuthors();
+			for(int j = random.nextInt(3); j > 0; j--) {
+				String affiliation = random.nextInt(3) == 0 ? "Weill Cornell Medicine, New York, NY"
+						: "Weill Cornell Medicine, New York, NY. Electronic address: " + pick(random, EMAILS);
+				reCiterArticleAuthors.addAuthor(new ReCiterAuthor(new AuthorName("J", null, "Smith"), affiliation));
+			}
+			reCiterArticle.setArticleCoAuthors(reCiterArticleAuthors);
+
+			List<ReCiterArticleGrant> grants = new ArrayList<>();
+			for(int j = random.nextInt(4); j > 0; j--) {
+				ReCiterArticleGrant grant = new ReCiterArticleGrant();
+				grant.setGrantID(pick(random, GRANTS));
+				grants.add(grant);
+			}
+			reCiterArticle.setGrantList(grants);
+
+			List<ReCiterArticleMeshHeading> meshHeadings = new ArrayList<>();
+			for(int j = random.nextInt(4); j > 0; j--) {
+				ReCiterMeshHeadingDescriptorName descriptorName = new ReCiterMeshHeadingDescriptorName();
+				descriptorName.setDescriptorName(pick(random, DESCRIPTORS));
+				descriptorName.setMajorTopicYN(random.nextBoolean() ? "Y" : "N");
+				ReCiterArticleMeshHeading meshHeading = new ReCiterArticleMeshHeading();
+				meshHeading.setDescriptorName(descriptorName);
+				meshHeading.setQualifierNameList(new ArrayList<>());
+				meshHeadings.add(meshHeading);
+			}
+			reCiterArticle.setMeshHeadings(meshHeadings);
+
+			ReCiterArticleFeatures reCiterArticleFeatures = new ReCiterArticleFeatures();
+			int featureCount = 0;
+			if(random.nextBoolean()) {
+				reCiterArticleFeatures.setJournalName(pick(random, JOURNALS));
+				featureCount++;
+			}
+			for(int j = random.nextInt(4); j > 0; j--) {
+				reCiterArticleFeatures.getCoAuthors().add(pick(random, CO_AUTHORS));
+			}
+			for(int j = random.nextInt(3); j > 0; j--) {
+				reCiterArticleFeatures.getMeshMajor().add(pick(random, DESCRIPTORS));
+			}
+			for(int j = random.nextInt(3); j > 0; j--) {
+				reCiterArticleFeatures.getAffiliationIds().add(60000000 + random.nextInt(4));
+			}
+			featureCount += reCiterArticleFeatures.getCoAuthors().size() + reCiterArticleFeatures.getMeshMajor().size()
+					+ reCiterArticleFeatures.getAffiliationIds().size();
+			reCiterArticleFeatures.setFeatureCount(featureCount);
+			reCiterArticle.setReCiterArticleFeatures(reCiterArticleFeatures);
+
+			articles.add(reCiterArticle);
+		}
+		return articles;
+	}
+
+	private static String pick(Random random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	private static List<Long> getArticleIds(ReCiterCluster reCiterCluster) {
+		return reCiterCluster.getArticleCluster().stream().map(ReCiterArticle::getArticleId).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,84 @@
+package reciter.algorithm.evidence.targetauthor.articlesize.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import reciter.database.dynamodb.model.ESearchResult;
+import reciter.database.dynamodb.model.QueryType;
+import reciter.engine.EngineContext;
+import reciter.engine.EngineRunSnapshot;
+import reciter.engine.StrategyParameters;
+import reciter.model.article.ReCiterArticle;
+
+/**
+ * The article count evidence depends on the lookup type and the number of candidate articles of the run, both of which
+ * come from the {@link EngineRunSnapshot}.
+ */
+public class ArticleSizeStrategyTest {
+
+	@Test
+	public final void testLenientLookupScoresTheNumberOfArticles() {
+		List<ReCiterArticle> reCiterArticles = createArticles();
+		createStrategy(QueryType.LENIENT_LOOKUP, 300).executeStrategy(reCiterArticles, null);
+
+		for (ReCiterArticle reCiterArticle : reCiterArticles) {
+			assertEquals(300, reCiterArticle.getArticleCountEvidence().getCountArticlesRetrieved());
+			assertEquals(-(300 - 800) / 583.9, reCiterArticle.getArticleCountEvidence().getArticleCountScore(), 1e-9);
+		}
+	}
+
+	@Test
+	public final void testStrictLookupScoresTheLenientThreshold() {
+		List<ReCiterArticle> reCiterArticles = createArticles();
+		createStrategy(QueryType.STRICT_EXCEEDS_THRESHOLD_LOOKUP, 300).executeStrategy(reCiterArticles, null);
+
+		for (ReCiterArticle reCiterArticle : reCiterArticles) {
+			assertEquals(2000, reCiterArticle.getArticleCountEvidence().getCountArticlesRetrieved());
+			assertEquals(-(2000 - 800) / 583.9, reCiterArticle.getArticleCountEvidence().getArticleCountScore(), 1e-9);
+		}
+	}
+
+	@Test
+	public final void testNoCandidateArticles() {
+		List<ReCiterArticle> reCiterArticles = createArticles();
+		createStrategy(QueryType.LENIENT_LOOKUP, 0).executeStrategy(reCiterArticles, null);
+
+		for (ReCiterArticle reCiterArticle : reCiterArticles) {
+			assertNull(reCiterArticle.getArticleCountEvidence());
+		}
+	}
+
+	@Test
+	public final void testSnapshotWithoutSearchResult() {
+		EngineRunSnapshot runSnapshot = new EngineRunSnapshot(null, null).withNumberOfArticles(300);
+		assertNull(runSnapshot.getQueryType());
+		assertEquals(300, runSnapshot.getNumberOfArticles());
+		assertNull(runSnapshot.getESearchResult());
+	}
+
+	private static ArticleSizeStrategy createStrategy(QueryType queryType, int numberOfArticles) {
+		ESearchResult eSearchResult = new ESearchResult("paa2013", new Date(), new ArrayList<>(), queryType);
+		EngineRunSnapshot runSnapshot = new EngineRunSnapshot(eSearchResult, null).withNumberOfArticles(numberOfArticles);
+		assertEquals(queryType, runSnapshot.getQueryType());
+		return new ArticleSizeStrategy(createEngineContext(), runSnapshot);
+	}
+
+	private static EngineContext createEngineContext() {
+		StrategyParameters strategyParameters = new StrategyParameters();
+		strategyParameters.setArticleCountThresholdScore(800);
+		strategyParameters.setArticleCountWeight(583.9);
+		strategyParameters.setSearchStrategyLeninentThreshold(2000);
+		return new EngineContext(strategyParameters, true);
+	}
+
+	private static List<ReCiterArticle> createArticles() {
+		return Arrays.asList(new ReCiterArticle(1001L), new ReCiterArticle(1002L));
+	}
+}
@@ -0,0 +1,91 @@
+package reciter.algorithm.tfidf;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import reciter.model.article.ReCiterArticle;
+
+public class SparseTfIdfTest {
+
+	private static final String[] WORDS = {"cancer", "tumor", "cell", "protein", "kinase", "mouse", "cardiac", "heart", "failure",
+			"receptor", "signaling", "patients", "trial", "of", "in", "the"};
+
+	/**
+	 * The sparse cosine similarity must match the cosine of the dense vectors over the whole vocabulary.
+	 */
+	@Test
+	public void testCosineSimilarityMatchesDenseVectors() {
+		Random random = new Random(7);
+		List<ReCiterArticle> articles = new ArrayList<>();
+		for (int i = 1; i <= 40; i++) {
+			ReCiterArticle reCiterArticle = new ReCiterArticle(i);
+			reCiterArticle.setArticleTitle(randomText(random, random.nextInt(8)));
+			reCiterArticle.setPublicationAbstract(randomText(random, random.nextInt(30)));
+			articles.add(reCiterArticle);
+		}
+		SparseTfIdf sparseTfIdf = SparseTfIdf.of(articles);
+
+		List<Map<String, Integer>> termCounts = new ArrayList<>();
+		Map<String, Integer> documentFrequencies = new HashMap<>();
+		for (ReCiterArticle reCiterArticle : articles) {
+			Map<String, Integer> counts = new HashMap<>();
+			for (String word : (reCiterArticle.getArticleTitle() + " " + reCiterArticle.getPublicationAbstract()).split(" ")) {
+				if (word.length() >= 3) {
+					counts.merge(word, 1, Integer::sum);
+				}
+			}
+			counts.keySet().forEach(word -> documentFrequencies.merge(word, 1, Integer::sum));
+			termCounts.add(counts);
+		}
+		for (int i = 0; i < articles.size(); i++) {
+			for (int j = 0; j < articles.size(); j++) {
+				double expected = denseCosineSimilarity(termCounts.get(i), termCounts.get(j), documentFrequencies, articles.size());
+				assertEquals("articles " + i + " and " + j, expected, sparseTfIdf.cosineSimilarity(articles.get(i), articles.get(j)), 1e-5);
+			}
+		}
+	}
+
+	@Test
+	public void testUnknownArticleHasNoSimilarity() {
+		ReCiterArticle reCiterArticle = new ReCiterArticle(1);
+		reCiterArticle.setArticleTitle("Cardiac failure");
+		SparseTfIdf sparseTfIdf = SparseTfIdf.of(Collections.singletonList(reCiterArticle));
+		assertEquals(1, sparseTfIdf.cosineSimilarity(reCiterArticle, reCiterArticle), 1e-6);
+		assertEquals(0, sparseTfIdf.cosineSimilarity(reCiterArticle, new ReCiterArticle(2)), 0);
+	}
+
+	private static String randomText(Random random, int numberOfWords) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < numberOfWords; i++) {
+			text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return text.toString();
+	}
+
+	private static double denseCosineSimilarity(Map<String, Integer> counts, Map<String, Integer> otherCounts,
+			Map<String, Integer> documentFrequencies, int numberOfArticles) {
+		double dotProduct = 0;
+		double norm = 0;
+		double otherNorm = 0;
+		for (Map.Entry<String, Integer> documentFrequency : documentFrequencies.entrySet()) {
+			double idf = Math.log((1.0 + numberOfArticles) / (1.0 + documentFrequency.getValue())) + 1;
+			double weight = counts.getOrDefault(documentFrequency.getKey(), 0) * idf;
+			double otherWeight = otherCounts.getOrDefault(documentFrequency.getKey(), 0) * idf;
+			dotProduct += weight * otherWeight;
+			norm += weight * weight;
+			otherNorm += otherWeight * otherWeight;
+		}
+		if (norm == 0 || otherNorm == 0) {
+			return 0;
+		}
+		return dotProduct / Math.sqrt(norm * otherNorm);
+	}
+}
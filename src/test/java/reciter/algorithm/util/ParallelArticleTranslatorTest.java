@@ -0,0 +1,137 @@
+package reciter.algorithm.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reciter.engine.StrategyParameters;
+import reciter.model.article.ReCiterArticle;
+import reciter.model.pubmed.PubMedArticle;
+import reciter.model.scopus.ScopusArticle;
+
+/**
+ * A candidate set large enough to be split into ranges must come back in the order of the PubMed articles, the same as
+ * when it is translated by the calling thread, whichever range finishes first.
+ */
+public class ParallelArticleTranslatorTest {
+
+	private static final int ARTICLES = 200;
+
+	private final Set<String> translatingThreads = Collections.synchronizedSet(new HashSet<>());
+
+	private TranslatedArticleCache translatedArticleCache;
+	private ParallelArticleTranslator parallelArticleTranslator;
+	private List<PubMedArticle> pubMedArticles;
+
+	@Before
+	public void setUp() {
+		translatedArticleCache = mock(TranslatedArticleCache.class);
+		// The articles of the first range are the slowest to translate, so the later ranges finish first
+		when(translatedArticleCache.translate(any(PubMedArticle.class), isNull(), anyString(), any(StrategyParameters.class))).thenAnswer(invocation -> {
+			PubMedArticle pubMedArticle = invocation.getArgument(0);
+			long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
+			if (pubMedArticles.indexOf(pubMedArticle) < ARTICLES / 4) {
+				Thread.sleep(1);
+			}
+			translatingThreads.add(Thread.currentThread().getName());
+			return new ReCiterArticle(pmid);
+		});
+		pubMedArticles = createPubMedArticles();
+	}
+
+	@After
+	public void tearDown() {
+		if (parallelArticleTranslator != null) {
+			parallelArticleTranslator.stop();
+		}
+	}
+
+	@Test
+	public final void testArticlesKeepThePubMedOrder() {
+		parallelArticleTranslator = createParallelArticleTranslator(true, 4);
+		List<ReCiterArticle> parallel = translate();
+		Set<String> parallelThreads = new HashSet<>(translatingThreads);
+
+		parallelArticleTranslator.stop();
+		translatingThreads.clear();
+		parallelArticleTranslator = createParallelArticleTranslator(false, 4);
+		List<ReCiterArticle> sequential = translate();
+
+		assertTrue(parallelThreads.size() > 1);
+		assertEquals(Collections.singleton(Thread.currentThread().getName()), translatingThreads);
+		assertEquals(getPmids(pubMedArticles), getArticleIds(parallel));
+		assertEquals(getArticleIds(sequential), getArticleIds(parallel));
+	}
+
+	@Test
+	public final void testFailedRangeFailsTheTranslation() {
+		IllegalStateException failure = new IllegalStateException("Unable to translate the article");
+		PubMedArticle failingPubMedArticle = pubMedArticles.get(ARTICLES - 1);
+		doThrow(failure).when(translatedArticleCache).translate(same(failingPubMedArticle), isNull(), anyString(), any(StrategyParameters.class));
+		parallelArticleTranslator = createParallelArticleTranslator(true, 4);
+
+		try {
+			translate();
+			fail("The failed range must fail the translation");
+		} catch (IllegalStateException e) {
+			assertSame(failure, e);
+		}
+	}
+
+	private List<ReCiterArticle> translate() {
+		return parallelArticleTranslator.translate(pubMedArticles, Collections.<Long, ScopusArticle>emptyMap(), "", new StrategyParameters());
+	}
+
+	private ParallelArticleTranslator createParallelArticleTranslator(boolean parallel, int threads) {
+		ParallelArticleTranslator parallelArticleTranslator = new ParallelArticleTranslator();
+		ReflectionTestUtils.setField(parallelArticleTranslator, "parallel", parallel);
+		ReflectionTestUtils.setField(parallelArticleTranslator, "threads", threads);
+		ReflectionTestUtils.setField(parallelArticleTranslator, "translatedArticleCache", translatedArticleCache);
+		parallelArticleTranslator.start();
+		return parallelArticleTranslator;
+	}
+
+	/**
+	 * Articles in no particular pmid order, as PubMed returns them.
+	 */
+	private static List<PubMedArticle> createPubMedArticles() {
+		List<PubMedArticle> pubMedArticles = new ArrayList<>();
+		for (int i = 0; i < ARTICLES; i++) {
+			long pmid = 30000000L + (i * 7919L) % 1000;
+			PubMedArticle pubMedArticle = mock(PubMedArticle.class, RETURNS_DEEP_STUBS);
+			when(pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid()).thenReturn(pmid);
+			pubMedArticles.add(pubMedArticle);
+		}
+		return pubMedArticles;
+	}
+
+	private static List<Long> getPmids(List<PubMedArticle> pubMedArticles) {
+		return pubMedArticles.stream().map(pubMedArticle -> pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid())
+				.collect(Collectors.toList());
+	}
+
+	private static List<Long> getArticleIds(List<ReCiterArticle> reCiterArticles) {
+		return reCiterArticles.stream().map(ReCiterArticle::getArticleId).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,106 @@
+package reciter.algorithm.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleAuthors;
+import reciter.model.article.ReCiterArticleGrant;
+import reciter.model.article.ReCiterAuthor;
+import reciter.model.identity.AuthorName;
+
+/**
+ * An overlay handed out by the {@link TranslatedArticleCache} is scored for one identity, so nothing written to it may
+ * show up in the cached base.
+ */
+public class TranslatedArticleCacheTest {
+
+	@Test
+	public final void testOverlayCopiesTheBase() {
+		ReCiterArticle base = createBase();
+		ReCiterArticle overlay = TranslatedArticleCache.createOverlay(base);
+
+		assertEquals(base.getArticleId(), overlay.getArticleId());
+		assertEquals("Aspirin use and cancer risk", overlay.getArticleTitle());
+		assertEquals("10.1000/182", overlay.getDoi());
+		assertEquals(1, overlay.getGrantList().size());
+		assertEquals("R01 CA012345", overlay.getGrantList().get(0).getGrantID());
+		assertEquals(2, overlay.getArticleCoAuthors().getAuthors().size());
+		assertEquals("Albert", overlay.getArticleCoAuthors().getAuthors().get(1).getAuthorName().getLastName());
+		assertEquals(2, overlay.getArticleCoAuthors().getSanitizedAuthorMap().size());
+	}
+
+	@Test
+	public final void testOverlayIsIndependentOfTheBase() {
+		ReCiterArticle base = createBase();
+		ReCiterArticle overlay = TranslatedArticleCache.createOverlay(base);
+
+		ReCiterAuthor author = overlay.getArticleCoAuthors().getAuthors().get(1);
+		ReCiterAuthor sanitizedAuthor = overlay.getArticleCoAuthors().getSanitizedAuthorMap().get(author);
+		author.setTargetAuthor(true);
+		author.setValidEmail("paa2013@med.cornell.edu");
+		sanitizedAuthor.setTargetAuthor(true);
+		overlay.getGrantList().get(0).setSanitizedGrantID("CA-12345");
+		overlay.getGrantList().add(new ReCiterArticleGrant());
+		overlay.setArticleTitle("Retracted");
+
+		ReCiterAuthor baseAuthor = base.getArticleCoAuthors().getAuthors().get(1);
+		assertNotSame(baseAuthor, author);
+		assertFalse(baseAuthor.isTargetAuthor());
+		assertNull(baseAuthor.getValidEmail());
+		assertFalse(base.getArticleCoAuthors().getSanitizedAuthorMap().get(baseAuthor).isTargetAuthor());
+		assertEquals(1, base.getGrantList().size());
+		assertNull(base.getGrantList().get(0).getSanitizedGrantID());
+		assertEquals("Aspirin use and cancer risk", base.getArticleTitle());
+
+		ReCiterArticle secondOverlay = TranslatedArticleCache.createOverlay(base);
+		assertFalse(secondOverlay.getArticleCoAuthors().getAuthors().get(1).isTargetAuthor());
+		assertNull(secondOverlay.getGrantList().get(0).getSanitizedGrantID());
+	}
+
+	@Test
+	public final void testReadOnlyPartsAreShared() {
+		ReCiterArticle base = createBase();
+		ReCiterArticle overlay = TranslatedArticleCache.createOverlay(base);
+
+		assertSame(base.getMeshHeadings(), overlay.getMeshHeadings());
+		assertNotSame(base.getGrantList(), overlay.getGrantList());
+		assertNotSame(base.getArticleCoAuthors(), overlay.getArticleCoAuthors());
+		assertTrue(overlay.getArticleCoAuthors().getSanitizedAuthorMap().keySet().containsAll(overlay.getArticleCoAuthors().getAuthors()));
+	}
+
+	private static ReCiterArticle createBase() {
+		ReCiterArticle base = new ReCiterArticle(28216469L);
+		base.setArticleTitle("Aspirin use and cancer risk");
+		base.setDoi("10.1000/182");
+		base.setMeshHeadings(new ArrayList<>());
+
+		List<ReCiterArticleGrant> grants = new ArrayList<>();
+		ReCiterArticleGrant grant = new ReCiterArticleGrant();
+		grant.setGrantID("R01 CA012345");
+		grants.add(grant);
+		base.setGrantList(grants);
+
+		ReCiterArticleAuthors reCiterArticleAuthors = new ReCiterArticleAuthors();
+		Map<ReCiterAuthor, ReCiterAuthor> sanitizedAuthorMap = new LinkedHashMap<>();
+		for (AuthorName authorName : new AuthorName[] {new AuthorName("Jessica", null, "Smith"), new AuthorName("Paul", "J", "Albert")}) {
+			ReCiterAuthor reCiterAuthor = new ReCiterAuthor(authorName, "Weill Cornell Medicine");
+			reCiterArticleAuthors.addAuthor(reCiterAuthor);
+			sanitizedAuthorMap.put(reCiterAuthor, new ReCiterAuthor(authorName, "Weill Cornell Medicine"));
+		}
+		reCiterArticleAuthors.setSanitizedAuthorMap(sanitizedAuthorMap);
+		base.setArticleCoAuthors(reCiterArticleAuthors);
+		return base;
+	}
+}
@@ -0,0 +1,34 @@
+package reciter.database.dynamodb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import reciter.database.dynamodb.model.AnalysisOutput;
+import reciter.engine.analysis.ReCiterFeature;
+
+public class CompressedAttributeTest {
+
+	@Test
+	public void testReCiterFeatureRoundTrip() {
+		ReCiterFeature reCiterFeature = new ReCiterFeature();
+		reCiterFeature.setPersonIdentifier("abc1234");
+		AnalysisOutput analysisOutput = new AnalysisOutput();
+		analysisOutput.setReCiterFeature(reCiterFeature);
+
+		byte[] compressed = CompressedAttribute.RECITER_FEATURE.encode(analysisOutput);
+		ReCiterFeature decoded = CompressedAttribute.RECITER_FEATURE.decode(ByteBuffer.wrap(compressed));
+
+		assertEquals("abc1234", decoded.getPersonIdentifier());
+		assertTrue("gzip header", (compressed[0] & 0xff) == 0x1f && (compressed[1] & 0xff) == 0x8b);
+	}
+
+	@Test
+	public void testMissingMemberIsNotEncoded() {
+		assertNull(CompressedAttribute.RECITER_FEATURE.encode(new AnalysisOutput()));
+	}
+}
@@ -0,0 +1,188 @@
+package reciter.database.dynamodb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.TableNameOverride;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+
+/**
+ * The items must come back in the order of the keys whatever the order DynamoDB answers in, and keys DynamoDB leaves
+ * unprocessed must be asked for again.
+ */
+public class DynamoDbBatchLoaderTest {
+
+	private static final String TABLE_NAME = "Article";
+
+	private DynamoDbBatchLoader dynamoDbBatchLoader;
+
+	@DynamoDBTable(tableName = TABLE_NAME)
+	public static class Article {
+
+		@DynamoDBHashKey(attributeName = "pmid")
+		private long pmid;
+		private String title;
+
+		public long getPmid() {
+			return pmid;
+		}
+
+		public void setPmid(long pmid) {
+			this.pmid = pmid;
+		}
+
+		public String getTitle() {
+			return title;
+		}
+
+		public void setTitle(String title) {
+			this.title = title;
+		}
+	}
+
+	@After
+	public void tearDown() {
+		if (dynamoDbBatchLoader != null) {
+			dynamoDbBatchLoader.stop();
+		}
+	}
+
+	@Test
+	public final void testUnprocessedKeysAreRetried() {
+		AmazonDynamoDB amazonDynamoDB = mock(AmazonDynamoDB.class);
+		when(amazonDynamoDB.batchGetItem(any(BatchGetItemRequest.class))).thenReturn(
+				createResult(TABLE_NAME, Arrays.asList(3L, 1L), Collections.singletonList(2L)),
+				createResult(TABLE_NAME, Collections.singletonList(2L), Collections.emptyList()));
+		dynamoDbBatchLoader = createDynamoDbBatchLoader(amazonDynamoDB, new DynamoDBMapperConfig.Builder().build(), 3);
+
+		List<Long> pmids = dynamoDbBatchLoader.loadAll(Article.class, Arrays.asList(1L, 2L, 3L), Article::getPmid);
+
+		assertEquals(Arrays.asList(1L, 2L, 3L), pmids);
+		ArgumentCaptor<BatchGetItemRequest> requests = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+		verify(amazonDynamoDB, times(2)).batchGetItem(requests.capture());
+		assertEquals(3, requests.getAllValues().get(0).getRequestItems().get(TABLE_NAME).getKeys().size());
+		assertEquals(Collections.singletonList(Collections.singletonMap("pmid", new AttributeValue().withN("2"))),
+				requests.getAllValues().get(1).getRequestItems().get(TABLE_NAME).getKeys());
+	}
+
+	@Test
+	public final void testRetriesAreBounded() {
+		AmazonDynamoDB amazonDynamoDB = mock(AmazonDynamoDB.class);
+		when(amazonDynamoDB.batchGetItem(any(BatchGetItemRequest.class))).thenReturn(
+				createResult(TABLE_NAME, Collections.singletonList(1L), Collections.singletonList(2L)),
+				createResult(TABLE_NAME, Collections.emptyList(), Collections.singletonList(2L)));
+		dynamoDbBatchLoader = createDynamoDbBatchLoader(amazonDynamoDB, new DynamoDBMapperConfig.Builder().build(), 2);
+
+		try {
+			dynamoDbBatchLoader.loadAll(Article.class, Arrays.asList(1L, 2L), Article::getPmid);
+			fail("the unprocessed key should fail the load");
+		} catch (IllegalStateException e) {
+			verify(amazonDynamoDB, times(3)).batchGetItem(any(BatchGetItemRequest.class));
+		}
+	}
+
+	@Test
+	public final void testItemsFollowTheKeysAcrossBatches() {
+		AmazonDynamoDB amazonDynamoDB = mock(AmazonDynamoDB.class);
+		when(amazonDynamoDB.batchGetItem(any(BatchGetItemRequest.class))).thenAnswer(invocation -> {
+			BatchGetItemRequest request = invocation.getArgument(0);
+			List<Long> pmids = new ArrayList<>();
+			for (Map<String, AttributeValue> key : request.getRequestItems().get(TABLE_NAME).getKeys()) {
+				long pmid = Long.parseLong(key.get("pmid").getN());
+				if (pmid != 42L) {
+					pmids.add(pmid);
+				}
+			}
+			Collections.reverse(pmids);
+			return createResult(TABLE_NAME, pmids, Collections.emptyList());
+		});
+		dynamoDbBatchLoader = createDynamoDbBatchLoader(amazonDynamoDB, new DynamoDBMapperConfig.Builder().build(), 3);
+
+		List<Long> keys = new ArrayList<>();
+		for (long pmid = 250; pmid > 0; pmid--) {
+			keys.add(pmid);
+		}
+		keys.add(7L);
+		List<Long> expected = new ArrayList<>(new LinkedHashSet<>(keys));
+		expected.remove(Long.valueOf(42L));
+
+		List<String> titles = dynamoDbBatchLoader.loadAll(Article.class, keys, Article::getTitle);
+
+		assertEquals(expected.size(), titles.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals("Article " + expected.get(i), titles.get(i));
+		}
+		verify(amazonDynamoDB, times(3)).batchGetItem(any(BatchGetItemRequest.class));
+	}
+
+	@Test
+	public final void testTableNameOverride() {
+		AmazonDynamoDB amazonDynamoDB = mock(AmazonDynamoDB.class);
+		when(amazonDynamoDB.batchGetItem(any(BatchGetItemRequest.class))).thenReturn(
+				createResult("test-" + TABLE_NAME, Collections.singletonList(1L), Collections.emptyList()));
+		DynamoDBMapperConfig dynamoDBMapperConfig = new DynamoDBMapperConfig.Builder()
+				.withTableNameOverride(TableNameOverride.withTableNamePrefix("test-")).build();
+		dynamoDbBatchLoader = createDynamoDbBatchLoader(amazonDynamoDB, dynamoDBMapperConfig, 3);
+
+		assertEquals(Collections.singletonList(1L), dynamoDbBatchLoader.loadAll(Article.class, Collections.singletonList(1L), Article::getPmid));
+		ArgumentCaptor<BatchGetItemRequest> request = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+		verify(amazonDynamoDB).batchGetItem(request.capture());
+		assertEquals(Collections.singleton("test-" + TABLE_NAME), request.getValue().getRequestItems().keySet());
+	}
+
+	private static DynamoDbBatchLoader createDynamoDbBatchLoader(AmazonDynamoDB amazonDynamoDB, DynamoDBMapperConfig dynamoDBMapperConfig,
+			int maxRetries) {
+		DynamoDbBatchLoader dynamoDbBatchLoader = new DynamoDbBatchLoader();
+		ReflectionTestUtils.setField(dynamoDbBatchLoader, "threads", 2);
+		ReflectionTestUtils.setField(dynamoDbBatchLoader, "maxRetries", maxRetries);
+		ReflectionTestUtils.setField(dynamoDbBatchLoader, "retryBackoffMillis", 1L);
+		ReflectionTestUtils.setField(dynamoDbBatchLoader, "amazonDynamoDB", amazonDynamoDB);
+		ReflectionTestUtils.setField(dynamoDbBatchLoader, "dynamoDBMapperConfig", dynamoDBMapperConfig);
+		dynamoDbBatchLoader.start();
+		return dynamoDbBatchLoader;
+	}
+
+	private static BatchGetItemResult createResult(String tableName, List<Long> pmids, List<Long> unprocessedPmids) {
+		List<Map<String, AttributeValue>> items = new ArrayList<>();
+		for (Long pmid : pmids) {
+			Map<String, AttributeValue> item = new HashMap<>();
+			item.put("pmid", new AttributeValue().withN(pmid.toString()));
+			item.put("title", new AttributeValue().withS("Article " + pmid));
+			items.add(item);
+		}
+		BatchGetItemResult result = new BatchGetItemResult().withResponses(Collections.singletonMap(tableName, items));
+		if (!unprocessedPmids.isEmpty()) {
+			List<Map<String, AttributeValue>> keys = new ArrayList<>();
+			for (Long pmid : unprocessedPmids) {
+				keys.add(Collections.singletonMap("pmid", new AttributeValue().withN(pmid.toString())));
+			}
+			result.setUnprocessedKeys(Collections.singletonMap(tableName, new KeysAndAttributes().withKeys(keys)));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,71 @@
+package reciter.database.dynamodb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import reciter.engine.analysis.ReCiterFeature;
+import reciter.storage.FileSystemLargeItemStore;
+import reciter.storage.LargeItemStore;
+
+public class DynamoDbS3OperationsTest {
+
+	private static final String BUCKET_NAME = "Reciter-DynamoDb";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private LargeItemStore largeItemStore;
+
+	@Before
+	public void setUp() {
+		largeItemStore = new FileSystemLargeItemStore(temporaryFolder.getRoot().toPath());
+	}
+
+	@Test
+	public void testCompressedRoundTrip() {
+		DynamoDbS3Operations dynamoDbS3Operations = new DynamoDbS3Operations(largeItemStore, true);
+		dynamoDbS3Operations.saveLargeItem(BUCKET_NAME, createReCiterFeature("abc1234"), "AnalysisOutput/abc1234");
+		dynamoDbS3Operations.saveLargeItem(BUCKET_NAME, createReCiterFeature("abc1234-replaced"), "AnalysisOutput/abc1234");
+
+		ReCiterFeature reCiterFeature = dynamoDbS3Operations.retrieveLargeItem(BUCKET_NAME, "AnalysisOutput/abc1234", ReCiterFeature.class);
+		assertEquals("abc1234-replaced", reCiterFeature.getPersonIdentifier());
+	}
+
+	@Test
+	public void testReadsUncompressedItems() throws IOException {
+		byte[] json = "{\"personIdentifier\":\"xyz9876\"}".getBytes(StandardCharsets.UTF_8);
+		largeItemStore.put(BUCKET_NAME, "AnalysisOutput/xyz9876", new ByteArrayInputStream(json), json.length, "application/json", null);
+
+		DynamoDbS3Operations dynamoDbS3Operations = new DynamoDbS3Operations(largeItemStore, true);
+		ReCiterFeature reCiterFeature = dynamoDbS3Operations.retrieveLargeItem(BUCKET_NAME, "AnalysisOutput/xyz9876", ReCiterFeature.class);
+		assertEquals("xyz9876", reCiterFeature.getPersonIdentifier());
+
+		new DynamoDbS3Operations(largeItemStore, false).saveLargeItem(BUCKET_NAME, createReCiterFeature("plain"), "AnalysisOutput/plain");
+		assertEquals("plain", dynamoDbS3Operations.retrieveLargeItem(BUCKET_NAME, "AnalysisOutput/plain", ReCiterFeature.class).getPersonIdentifier());
+	}
+
+	@Test
+	public void testMissingAndDeletedItems() {
+		DynamoDbS3Operations dynamoDbS3Operations = new DynamoDbS3Operations(largeItemStore, true);
+		assertNull(dynamoDbS3Operations.retrieveLargeItem(BUCKET_NAME, "AnalysisOutput/missing", ReCiterFeature.class));
+
+		dynamoDbS3Operations.saveLargeItem(BUCKET_NAME, createReCiterFeature("deleted"), "AnalysisOutput/deleted");
+		dynamoDbS3Operations.deleteLargeItem(BUCKET_NAME, "AnalysisOutput/deleted");
+		assertNull(dynamoDbS3Operations.retrieveLargeItem(BUCKET_NAME, "AnalysisOutput/deleted", ReCiterFeature.class));
+	}
+
+	private static ReCiterFeature createReCiterFeature(String personIdentifier) {
+		ReCiterFeature reCiterFeature = new ReCiterFeature();
+		reCiterFeature.setPersonIdentifier(personIdentifier);
+		return reCiterFeature;
+	}
+}
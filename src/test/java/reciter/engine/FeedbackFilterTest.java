@@ -0,0 +1,96 @@
+package reciter.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import reciter.api.parameters.FilterFeedbackType;
+import reciter.engine.analysis.ReCiterArticleFeature;
+import reciter.engine.analysis.ReCiterArticleFeature.PublicationFeedback;
+import reciter.engine.analysis.ReCiterFeature;
+
+public class FeedbackFilterTest {
+
+	@Test
+	public void testFilterByFeedback() {
+		ReCiterFeature reCiterFeature = createReCiterFeature();
+
+		assertEquals(Arrays.asList(1L, 3L, 4L), pmids(new FeedbackFilter(null, 5).filter(reCiterFeature)));
+		assertEquals(Arrays.asList(1L, 3L, 4L), pmids(new FeedbackFilter(FilterFeedbackType.ALL, 5).filter(reCiterFeature)));
+		assertEquals(Arrays.asList(3L), pmids(new FeedbackFilter(FilterFeedbackType.ACCEPTED_ONLY, 5).filter(reCiterFeature)));
+		assertEquals(Arrays.asList(4L), pmids(new FeedbackFilter(FilterFeedbackType.REJECTED_ONLY, 5).filter(reCiterFeature)));
+		assertEquals(Arrays.asList(1L, 3L), pmids(new FeedbackFilter(FilterFeedbackType.ACCEPTED_AND_NULL, 5).filter(reCiterFeature)));
+		assertEquals(Arrays.asList(1L, 4L), pmids(new FeedbackFilter(FilterFeedbackType.REJECTED_AND_NULL, 5).filter(reCiterFeature)));
+		assertEquals(Arrays.asList(3L, 4L), pmids(new FeedbackFilter(FilterFeedbackType.ACCEPTED_AND_REJECTED, 5).filter(reCiterFeature)));
+		assertEquals(Arrays.asList(1L), pmids(new FeedbackFilter(FilterFeedbackType.NULL, 5).filter(reCiterFeature)));
+	}
+
+	@Test
+	public void testFilterDoesNotModifyTheFeature() {
+		ReCiterFeature reCiterFeature = createReCiterFeature();
+		List<ReCiterArticleFeature> reCiterArticleFeatures = reCiterFeature.getReCiterArticleFeatures();
+
+		ReCiterFeature filtered = new FeedbackFilter(FilterFeedbackType.NULL, 5).filter(reCiterFeature);
+		assertNotSame(reCiterFeature, filtered);
+		assertEquals("abc1234", filtered.getPersonIdentifier());
+		assertEquals(1, filtered.getReCiterArticleFeatures().size());
+		assertSame(reCiterArticleFeatures.get(0), filtered.getReCiterArticleFeatures().get(0));
+
+		assertSame(reCiterArticleFeatures, reCiterFeature.getReCiterArticleFeatures());
+		assertEquals(4, reCiterFeature.getReCiterArticleFeatures().size());
+	}
+
+	@Test
+	public void testFilterWithoutEvidenceCopiesTheSelectedArticles() {
+		ReCiterFeature reCiterFeature = createReCiterFeature();
+
+		ReCiterFeature filtered = new FeedbackFilter(FilterFeedbackType.ACCEPTED_ONLY, 5).filterWithoutEvidence(reCiterFeature);
+		assertEquals(Arrays.asList(3L), pmids(filtered));
+		assertNotSame(reCiterFeature.getReCiterArticleFeatures().get(2), filtered.getReCiterArticleFeatures().get(0));
+		assertEquals(PublicationFeedback.ACCEPTED, filtered.getReCiterArticleFeatures().get(0).getUserAssertion());
+	}
+
+	@Test
+	public void testResponseKeepsTheArticlesBelowTheStorageThreshold() {
+		ReCiterFeature reCiterFeature = createReCiterFeature();
+
+		ReCiterFeature stored = FeedbackFilter.filterForStorage(reCiterFeature, 5);
+		assertEquals(Arrays.asList(1L, 3L, 4L), pmids(stored));
+		assertEquals("abc1234", stored.getPersonIdentifier());
+
+		//A total score below the minimum storage threshold still returns the articles that are not stored
+		assertEquals(4, reCiterFeature.getReCiterArticleFeatures().size());
+		assertEquals(Arrays.asList(1L, 2L, 3L, 4L), pmids(new FeedbackFilter(FilterFeedbackType.ALL, 3).filter(reCiterFeature)));
+	}
+
+	private static List<Long> pmids(ReCiterFeature reCiterFeature) {
+		return reCiterFeature.getReCiterArticleFeatures().stream().map(article -> article.getPmid()).collect(Collectors.toList());
+	}
+
+	private static ReCiterFeature createReCiterFeature() {
+		List<ReCiterArticleFeature> reCiterArticleFeatures = new ArrayList<>();
+		reCiterArticleFeatures.add(createReCiterArticleFeature(1, 6, PublicationFeedback.NULL));
+		reCiterArticleFeatures.add(createReCiterArticleFeature(2, 4, PublicationFeedback.NULL));
+		reCiterArticleFeatures.add(createReCiterArticleFeature(3, 1, PublicationFeedback.ACCEPTED));
+		reCiterArticleFeatures.add(createReCiterArticleFeature(4, 1, PublicationFeedback.REJECTED));
+		ReCiterFeature reCiterFeature = new ReCiterFeature();
+		reCiterFeature.setPersonIdentifier("abc1234");
+		reCiterFeature.setReCiterArticleFeatures(reCiterArticleFeatures);
+		return reCiterFeature;
+	}
+
+	private static ReCiterArticleFeature createReCiterArticleFeature(long pmid, double totalArticleScoreStandardized, PublicationFeedback userAssertion) {
+		ReCiterArticleFeature reCiterArticleFeature = new ReCiterArticleFeature();
+		reCiterArticleFeature.setPmid(pmid);
+		reCiterArticleFeature.setTotalArticleScoreStandardized(totalArticleScoreStandardized);
+		reCiterArticleFeature.setUserAssertion(userAssertion);
+		return reCiterArticleFeature;
+	}
+}
@@ -0,0 +1,94 @@
+package reciter.engine.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import reciter.database.dynamodb.model.AnalysisOutput;
+import reciter.engine.batch.FeatureGenerationJob.Report;
+import reciter.engine.batch.FeatureGenerationJob.UidStatus;
+import reciter.service.AnalysisService;
+
+public class AnalysisOutputBatchWriterTest {
+
+	private AnalysisService analysisService;
+
+	private FeatureGenerationJob job;
+
+	@Before
+	public void setUp() {
+		analysisService = mock(AnalysisService.class);
+		job = new FeatureGenerationJob("job", 5);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testWritesOnceTheBatchIsFull() {
+		AnalysisOutputBatchWriter analysisOutputBatchWriter = new AnalysisOutputBatchWriter(analysisService, 2, job);
+		analysisOutputBatchWriter.write(createAnalysisOutput("a"));
+		verify(analysisService, never()).save(anyCollection());
+
+		analysisOutputBatchWriter.write(createAnalysisOutput("b"));
+		analysisOutputBatchWriter.write(createAnalysisOutput("c"));
+		ArgumentCaptor<Collection<AnalysisOutput>> batches = ArgumentCaptor.forClass(Collection.class);
+		verify(analysisService).save(batches.capture());
+		assertEquals(Arrays.asList("a", "b"), getUids(batches.getValue()));
+
+		analysisOutputBatchWriter.flush();
+		verify(analysisService, times(2)).save(batches.capture());
+		assertEquals(Arrays.asList("c"), getUids(batches.getValue()));
+	}
+
+	@Test
+	public void testFlushWithoutBufferedAnalysis() {
+		new AnalysisOutputBatchWriter(analysisService, 2, job).flush();
+		verify(analysisService, never()).save(anyCollection());
+	}
+
+	@Test
+	public void testFailedWriteIsRecordedAgainstTheBatch() {
+		job.recordProgress("a", UidStatus.COMPLETED, 1, null);
+		job.recordProgress("b", UidStatus.COMPLETED, 1, null);
+		job.recordProgress("c", UidStatus.COMPLETED, 1, null);
+		doThrow(new IllegalStateException("The analysis of [a, b] could not be stored by the batch write")).when(analysisService).save(anyCollection());
+
+		AnalysisOutputBatchWriter analysisOutputBatchWriter = new AnalysisOutputBatchWriter(analysisService, 2, job);
+		analysisOutputBatchWriter.write(createAnalysisOutput("a"));
+		analysisOutputBatchWriter.write(createAnalysisOutput("b"));
+		analysisOutputBatchWriter.write(createAnalysisOutput("c"));
+
+		Report report = job.getReport(3);
+		assertEquals(1, report.getSucceededUids());
+		assertEquals(2, report.getFailedUids());
+		assertEquals(Arrays.asList("a", "b"), report.getProgress().stream().map(FeatureGenerationJob.UidProgress::getUid).collect(Collectors.toList()));
+		assertEquals(UidStatus.STORE_FAILED, report.getProgress().get(0).getStatus());
+	}
+
+	private static AnalysisOutput createAnalysisOutput(String uid) {
+		AnalysisOutput analysisOutput = new AnalysisOutput();
+		analysisOutput.setUid(uid);
+		return analysisOutput;
+	}
+
+	private static List<String> getUids(Collection<AnalysisOutput> analyses) {
+		List<String> uids = new ArrayList<>();
+		for (AnalysisOutput analysisOutput : analyses) {
+			uids.add(analysisOutput.getUid());
+		}
+		return uids;
+	}
+}
@@ -0,0 +1,86 @@
+package reciter.engine.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import reciter.engine.batch.FeatureGenerationJob.Report;
+import reciter.engine.batch.FeatureGenerationJob.Status;
+import reciter.engine.batch.FeatureGenerationJob.UidProgress;
+import reciter.engine.batch.FeatureGenerationJob.UidStatus;
+
+public class FeatureGenerationJobTest {
+
+	@Test
+	public void testStatusTransitions() {
+		FeatureGenerationJob job = new FeatureGenerationJob("job", 2);
+		assertEquals(Status.QUEUED, job.getStatus());
+		assertNull(job.getReport(0).getStartTime());
+
+		job.markRunning();
+		assertEquals(Status.RUNNING, job.getStatus());
+		assertNotNull(job.getReport(0).getStartTime());
+		assertFalse(job.isFinished());
+
+		job.markCompleted();
+		assertEquals(Status.COMPLETED, job.getStatus());
+		assertNotNull(job.getEndTime());
+		assertTrue(job.isFinished());
+	}
+
+	@Test
+	public void testFailureStatus() {
+		FeatureGenerationJob job = new FeatureGenerationJob("job", 2);
+		job.markRunning();
+		job.markFailed(new IllegalStateException("Identity table unavailable"));
+
+		Report report = job.getReport(0);
+		assertEquals(Status.FAILED, report.getStatus());
+		assertEquals("Identity table unavailable", report.getErrorMessage());
+		assertNotNull(report.getEndTime());
+		assertTrue(job.isFinished());
+	}
+
+	@Test
+	public void testReportPagesFromIndex() {
+		FeatureGenerationJob job = new FeatureGenerationJob("job", 4);
+		job.markRunning();
+		job.recordProgress("a", UidStatus.COMPLETED, 10, null);
+		job.recordProgress("b", UidStatus.NOT_FOUND, 5, "The uid was not found in the Identity table");
+		job.recordProgress("c", UidStatus.COMPLETED, 12, null);
+
+		Report report = job.getReport(1);
+		assertEquals(1, report.getFromIndex());
+		assertEquals(Arrays.asList("b", "c"), report.getProgress().stream().map(UidProgress::getUid).collect(Collectors.toList()));
+		assertEquals(3, report.getProcessedUids());
+		assertEquals(2, report.getSucceededUids());
+		assertEquals(1, report.getFailedUids());
+		assertEquals(4, report.getTotalUids());
+
+		assertEquals(3, job.getReport(-1).getProgress().size());
+		assertTrue(job.getReport(3).getProgress().isEmpty());
+		assertTrue(job.getReport(10).getProgress().isEmpty());
+	}
+
+	@Test
+	public void testStoreFailureMovesUidsToFailed() {
+		FeatureGenerationJob job = new FeatureGenerationJob("job", 2);
+		job.recordProgress("a", UidStatus.COMPLETED, 10, null);
+		job.recordProgress("b", UidStatus.COMPLETED, 10, null);
+		job.recordStoreFailure(Arrays.asList("a", "b"), "Throughput exceeded");
+
+		Report report = job.getReport(2);
+		assertEquals(2, report.getProcessedUids());
+		assertEquals(0, report.getSucceededUids());
+		assertEquals(2, report.getFailedUids());
+		assertEquals(UidStatus.STORE_FAILED, report.getProgress().get(0).getStatus());
+		assertEquals("Throughput exceeded", report.getProgress().get(1).getMessage());
+	}
+}
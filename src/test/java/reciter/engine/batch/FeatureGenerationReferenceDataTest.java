@@ -0,0 +1,124 @@
+package reciter.engine.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import reciter.database.dynamodb.model.GoldStandard;
+import reciter.model.identity.Identity;
+import reciter.model.pubmed.PubMedArticle;
+import reciter.service.IdentityService;
+import reciter.service.PubMedService;
+import reciter.service.ScopusService;
+import reciter.service.dynamo.IDynamoDbGoldStandardService;
+
+public class FeatureGenerationReferenceDataTest {
+
+	private IdentityService identityService;
+	private PubMedService pubMedService;
+	private ScopusService scopusService;
+	private IDynamoDbGoldStandardService goldStandardService;
+
+	@Before
+	public void setUp() {
+		identityService = mock(IdentityService.class);
+		pubMedService = mock(PubMedService.class);
+		scopusService = mock(ScopusService.class);
+		goldStandardService = mock(IDynamoDbGoldStandardService.class);
+	}
+
+	@Test
+	public void testPrefetchedIdentitiesAndGoldStandards() {
+		Identity identity = createIdentity("a");
+		GoldStandard goldStandard = mock(GoldStandard.class);
+		when(goldStandard.getUid()).thenReturn("a");
+		when(identityService.findByUids(anyList())).thenReturn(Collections.singletonList(identity));
+		when(goldStandardService.findByUids(anyList())).thenReturn(Collections.singletonList(goldStandard));
+
+		FeatureGenerationReferenceData referenceData = createReferenceData(10);
+		referenceData.prefetch(Arrays.asList("a", "b"));
+
+		assertSame(identity, referenceData.findIdentity("a"));
+		assertSame(goldStandard, referenceData.findGoldStandard("a"));
+		//b was prefetched without a gold standard so it is not looked up again
+		assertNull(referenceData.findGoldStandard("b"));
+		verify(goldStandardService, never()).findByUid("b");
+		//Prefetched records are handed out once
+		referenceData.findIdentity("a");
+		verify(identityService).findByUid("a");
+	}
+
+	@Test
+	public void testPrefetchReadsInBatches() {
+		List<String> uids = new ArrayList<>();
+		for (int i = 0; i < 250; i++) {
+			uids.add("uid" + i);
+		}
+		createReferenceData(10).prefetch(uids);
+		verify(identityService, times(3)).findByUids(anyList());
+		verify(goldStandardService, times(3)).findByUids(anyList());
+	}
+
+	@Test
+	public void testPubMedArticlesAreSharedAndEvicted() {
+		when(pubMedService.findByPmids(anyList())).thenAnswer(invocation -> {
+			List<Long> pmids = invocation.getArgument(0);
+			List<PubMedArticle> pubMedArticles = new ArrayList<>();
+			for (Long pmid : pmids) {
+				pubMedArticles.add(createPubMedArticle(pmid));
+			}
+			return pubMedArticles;
+		});
+		FeatureGenerationReferenceData referenceData = createReferenceData(2);
+
+		List<PubMedArticle> pubMedArticles = referenceData.findPubMedArticles(Arrays.asList(2L, 1L));
+		assertEquals(2, pubMedArticles.size());
+		assertEquals(2L, pubMedArticles.get(0).getMedlinecitation().getMedlinecitationpmid().getPmid());
+
+		//1 and 2 are cached, 3 evicts the least recently used 2
+		assertSame(pubMedArticles.get(1), referenceData.findPubMedArticles(Arrays.asList(1L, 3L)).get(0));
+		verify(pubMedService).findByPmids(Arrays.asList(3L));
+		referenceData.findPubMedArticles(Arrays.asList(2L));
+		verify(pubMedService).findByPmids(Arrays.asList(2L));
+	}
+
+	@Test
+	public void testArticleCacheDisabled() {
+		when(pubMedService.findByPmids(anyList())).thenReturn(Collections.emptyList());
+		FeatureGenerationReferenceData referenceData = createReferenceData(0);
+		referenceData.findPubMedArticles(Arrays.asList(1L));
+		referenceData.findPubMedArticles(Arrays.asList(1L));
+		verify(pubMedService, times(2)).findByPmids(Arrays.asList(1L));
+	}
+
+	private FeatureGenerationReferenceData createReferenceData(int articleCacheSize) {
+		return new FeatureGenerationReferenceData(identityService, pubMedService, scopusService, goldStandardService, articleCacheSize);
+	}
+
+	private static Identity createIdentity(String uid) {
+		Identity identity = new Identity();
+		identity.setUid(uid);
+		return identity;
+	}
+
+	private static PubMedArticle createPubMedArticle(long pmid) {
+		PubMedArticle pubMedArticle = mock(PubMedArticle.class, RETURNS_DEEP_STUBS);
+		when(pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid()).thenReturn(pmid);
+		return pubMedArticle;
+	}
+}
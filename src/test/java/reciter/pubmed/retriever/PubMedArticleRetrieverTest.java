@@ -0,0 +1,159 @@
+package reciter.pubmed.retriever;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import reciter.model.pubmed.PubMedArticle;
+import reciter.utils.UpstreamUnavailableException;
+
+/**
+ * During a bulk run an article returned by the queries of several identities must be fetched once, and fetched again only
+ * after it has been evicted from the {@link PubMedArticleCache}.
+ */
+public class PubMedArticleRetrieverTest {
+
+	private final Map<Long, PubMedArticle> pubMed = new HashMap<>();
+	private final Map<String, List<Long>> queryPmids = new HashMap<>();
+	private final List<String> fetchedQueries = new ArrayList<>();
+	private RuntimeException eSearchFailure = new ResourceAccessException("ESearch is not available");
+
+	private PubMedArticleCache pubMedArticleCache;
+	private PubMedArticleRetriever pubMedArticleRetriever;
+
+	@Before
+	public void setUp() {
+		for(long pmid = 1; pmid <= 5; pmid++) {
+			PubMedArticle pubMedArticle = mock(PubMedArticle.class, RETURNS_DEEP_STUBS);
+			when(pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid()).thenReturn(pmid);
+			when(pubMedArticle.getPubmeddata()).thenReturn(null);
+			pubMed.put(pmid, pubMedArticle);
+		}
+		pubMedArticleCache = createPubMedArticleCache(100);
+		pubMedArticleRetriever = createPubMedArticleRetriever(pubMedArticleCache);
+		queryPmids.put("Albert P[au]", Arrays.asList(1L, 2L, 3L));
+		queryPmids.put("Smith J[au]", Arrays.asList(2L, 3L, 4L));
+	}
+
+	@After
+	public void tearDown() {
+		pubMedArticleCache.endRun();
+	}
+
+	@Test
+	public final void testArticlesSharedByIdentitiesAreFetchedOnce() {
+		List<PubMedArticle> albert = retrievePubMed("Albert P[au]", 3);
+		List<PubMedArticle> smith = retrievePubMed("Smith J[au]", 3);
+
+		assertEquals(Arrays.asList("1,2,3", "4"), fetchedQueries);
+		assertEquals(Arrays.asList(1L, 2L, 3L), getPmids(albert));
+		assertEquals(Arrays.asList(2L, 3L, 4L), getPmids(smith));
+		assertSame(albert.get(1), smith.get(0));
+		assertSame(albert.get(2), smith.get(1));
+	}
+
+	@Test
+	public final void testEvictedArticlesAreFetchedAgain() {
+		pubMedArticleCache.endRun();
+		pubMedArticleCache = createPubMedArticleCache(2);
+		pubMedArticleRetriever = createPubMedArticleRetriever(pubMedArticleCache);
+
+		retrievePubMed("Albert P[au]", 3);
+		List<PubMedArticle> smith = retrievePubMed("Smith J[au]", 3);
+
+		assertEquals(Arrays.asList("1,2,3", "4"), fetchedQueries);
+		assertEquals(Arrays.asList(2L, 3L, 4L), getPmids(smith));
+
+		queryPmids.put("Kim S[au]", Arrays.asList(1L, 4L));
+		retrievePubMed("Kim S[au]", 2);
+
+		assertEquals(Arrays.asList("1,2,3", "4", "1"), fetchedQueries);
+	}
+
+	@Test
+	public final void testQueryIsFetchedWhenPmidsCannotBeResolved() {
+		assertEquals(Collections.emptyList(), retrievePubMed("Wells M[au]", 2));
+		assertEquals(Arrays.asList("Wells M[au]"), fetchedQueries);
+	}
+
+	@Test
+	public final void testQueryIsFetchedWhileTheCircuitOfESearchIsOpen() {
+		eSearchFailure = new UpstreamUnavailableException("The circuit of ESearch is open");
+
+		assertEquals(Collections.emptyList(), retrievePubMed("Wells M[au]", 2));
+		assertEquals(Arrays.asList("Wells M[au]"), fetchedQueries);
+	}
+
+	@Test
+	public final void testQueryIsFetchedOutsideOfABulkRun() {
+		pubMedArticleCache.endRun();
+
+		retrievePubMed("Albert P[au]", 3);
+		retrievePubMed("Smith J[au]", 3);
+
+		assertEquals(Arrays.asList("Albert P[au]", "Smith J[au]"), fetchedQueries);
+	}
+
+	private PubMedArticleRetriever createPubMedArticleRetriever(PubMedArticleCache pubMedArticleCache) {
+		return new PubMedArticleRetriever(null, pubMedArticleCache, null, null) {
+			@Override
+			protected List<Long> resolvePmids(PubMedQuery pubMedQuery, int numberOfPubmedArticles) {
+				List<Long> pmids = queryPmids.get(pubMedQuery.toString());
+				if (pmids == null) {
+					throw eSearchFailure;
+				}
+				return pmids;
+			}
+
+			@Override
+			protected int fetch(String nodeUrl, PubMedQuery pubMedQuery, int numberOfPubmedArticles, Consumer<PubMedArticle> consumer) {
+				fetchedQueries.add(pubMedQuery.toString());
+				List<Long> pmids = pubMedQuery.getStrategyQuery() != null
+						? Arrays.stream(pubMedQuery.getStrategyQuery().split(",")).map(Long::valueOf).collect(Collectors.toList())
+						: queryPmids.getOrDefault(pubMedQuery.toString(), Collections.<Long>emptyList());
+				pmids.stream().map(pubMed::get).forEach(consumer);
+				return pmids.size();
+			}
+		};
+	}
+
+	private List<PubMedArticle> retrievePubMed(String author, int numberOfPubmedArticles) {
+		List<PubMedArticle> pubMedArticles = new ArrayList<>();
+		pubMedArticleRetriever.retrievePubMed(createQuery(author), numberOfPubmedArticles, pubMedArticles::add);
+		return pubMedArticles;
+	}
+
+	private static PubMedArticleCache createPubMedArticleCache(int maximumSize) {
+		PubMedArticleCache pubMedArticleCache = new PubMedArticleCache();
+		ReflectionTestUtils.setField(pubMedArticleCache, "enabled", true);
+		ReflectionTestUtils.setField(pubMedArticleCache, "maximumSize", maximumSize);
+		pubMedArticleCache.beginRun();
+		return pubMedArticleCache;
+	}
+
+	private static PubMedQuery createQuery(String author) {
+		return PubMedQuery.builder().author(author).build();
+	}
+
+	private static List<Long> getPmids(List<PubMedArticle> pubMedArticles) {
+		return pubMedArticles.stream().map(pubMedArticle -> pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid())
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,88 @@
+package reciter.service.dynamo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reciter.database.dynamodb.model.AnalysisOutput;
+import reciter.engine.analysis.ReCiterFeature;
+
+public class AnalysisOutputCacheTest {
+
+	@Test
+	public void testReadThroughAndInvalidation() {
+		AnalysisOutputCache analysisOutputCache = createAnalysisOutputCache(1 << 20, 600);
+		AtomicInteger loads = new AtomicInteger();
+
+		AnalysisOutput first = analysisOutputCache.get("abc1234", uid -> { loads.incrementAndGet(); return createAnalysisOutput(uid, 10); });
+		assertSame(first, analysisOutputCache.get("abc1234", uid -> { loads.incrementAndGet(); return createAnalysisOutput(uid, 10); }));
+		assertEquals(1, loads.get());
+
+		analysisOutputCache.invalidate("abc1234");
+		assertNotSame(first, analysisOutputCache.get("abc1234", uid -> { loads.incrementAndGet(); return createAnalysisOutput(uid, 10); }));
+		assertEquals(2, loads.get());
+
+		AnalysisOutputCache.Statistics statistics = analysisOutputCache.getStatistics();
+		assertEquals(1, statistics.getHits());
+		assertEquals(2, statistics.getMisses());
+		assertEquals(1, statistics.getInvalidations());
+	}
+
+	@Test
+	public void testLoadOverlappingInvalidationIsNotCached() {
+		AnalysisOutputCache analysisOutputCache = createAnalysisOutputCache(1 << 20, 600);
+		analysisOutputCache.get("abc1234", uid -> {
+			analysisOutputCache.invalidate(uid);
+			return createAnalysisOutput(uid, 10);
+		});
+		assertEquals(0, analysisOutputCache.getStatistics().getEntries());
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyUsedBeyondMaximumBytes() {
+		AnalysisOutputCache analysisOutputCache = createAnalysisOutputCache(250000, 600);
+		analysisOutputCache.get("a", uid -> createAnalysisOutput(uid, 100000));
+		analysisOutputCache.get("b", uid -> createAnalysisOutput(uid, 100000));
+		analysisOutputCache.get("a", uid -> createAnalysisOutput(uid, 100000));
+		analysisOutputCache.get("c", uid -> createAnalysisOutput(uid, 100000));
+
+		AnalysisOutputCache.Statistics statistics = analysisOutputCache.getStatistics();
+		assertEquals(2, statistics.getEntries());
+		assertEquals(1, statistics.getEvictions());
+		AtomicInteger loads = new AtomicInteger();
+		analysisOutputCache.get("a", uid -> { loads.incrementAndGet(); return createAnalysisOutput(uid, 100000); });
+		analysisOutputCache.get("b", uid -> { loads.incrementAndGet(); return createAnalysisOutput(uid, 100000); });
+		assertEquals("only the least recently used analysis was evicted", 1, loads.get());
+	}
+
+	@Test
+	public void testExpiredEntriesAreLoadedAgain() {
+		AnalysisOutputCache analysisOutputCache = createAnalysisOutputCache(1 << 20, -1);
+		analysisOutputCache.get("abc1234", uid -> createAnalysisOutput(uid, 10));
+		analysisOutputCache.get("abc1234", uid -> createAnalysisOutput(uid, 10));
+		assertEquals(1, analysisOutputCache.getStatistics().getExpirations());
+		assertEquals(0, analysisOutputCache.getStatistics().getHits());
+	}
+
+	private static AnalysisOutputCache createAnalysisOutputCache(long maximumBytes, long ttlSeconds) {
+		AnalysisOutputCache analysisOutputCache = new AnalysisOutputCache();
+		ReflectionTestUtils.setField(analysisOutputCache, "enabled", true);
+		ReflectionTestUtils.setField(analysisOutputCache, "maximumBytes", maximumBytes);
+		ReflectionTestUtils.setField(analysisOutputCache, "ttlSeconds", ttlSeconds);
+		return analysisOutputCache;
+	}
+
+	private static AnalysisOutput createAnalysisOutput(String uid, int size) {
+		ReCiterFeature reCiterFeature = new ReCiterFeature();
+		reCiterFeature.setPersonIdentifier(uid + new String(new char[size]).replace('\0', 'x'));
+		AnalysisOutput analysisOutput = new AnalysisOutput();
+		analysisOutput.setUid(uid);
+		analysisOutput.setReCiterFeature(reCiterFeature);
+		return analysisOutput;
+	}
+}
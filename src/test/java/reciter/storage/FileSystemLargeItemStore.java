@@ -0,0 +1,58 @@
+package reciter.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * {@link LargeItemStore} in a local directory, with a sub directory per bucket, used in place of S3 by tests. Content
+ * is written to a temporary file first and then moved in place, so a reader never sees a partial item.
+ */
+public class FileSystemLargeItemStore implements LargeItemStore {
+
+	private final Path directory;
+
+	public FileSystemLargeItemStore(Path directory) {
+		this.directory = directory;
+	}
+
+	@Override
+	public void put(String bucketName, String keyName, InputStream content, long contentLength, String contentType,
+			String contentEncoding) throws IOException {
+		Path path = resolve(bucketName, keyName);
+		Files.createDirectories(path.getParent());
+		Path temporaryPath = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+		try {
+			Files.copy(content, temporaryPath, StandardCopyOption.REPLACE_EXISTING);
+			Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporaryPath);
+		}
+	}
+
+	@Override
+	public InputStream get(String bucketName, String keyName) throws IOException {
+		try {
+			return Files.newInputStream(resolve(bucketName, keyName));
+		} catch (NoSuchFileException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public void delete(String bucketName, String keyName) throws IOException {
+		Files.deleteIfExists(resolve(bucketName, keyName));
+	}
+
+	private Path resolve(String bucketName, String keyName) {
+		Path bucket = directory.resolve(bucketName.toLowerCase()).normalize();
+		Path path = bucket.resolve(keyName).normalize();
+		if (!path.startsWith(bucket)) {
+			throw new IllegalArgumentException("Key " + keyName + " is outside of bucket " + bucketName);
+		}
+		return path;
+	}
+}
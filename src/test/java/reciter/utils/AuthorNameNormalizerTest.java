@@ -0,0 +1,67 @@
+package reciter.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import reciter.algorithm.util.ReCiterStringUtil;
+import reciter.utils.AuthorNameNormalizer.Separators;
+
+public class AuthorNameNormalizerTest {
+
+	private static final String NAME_EXCLUDED_SUFFIXES = "Jr,MD PhD,MD-PhD,PhD,MD,III,II,Sr";
+
+	private static final String SUFFIX_REGEX = ",Jr|, Jr|,MD PhD|, MD PhD|,MD-PhD|, MD-PhD|,PhD|, PhD|,MD|, MD|,III|, III|,II|, II|,Sr|, Sr|,Jr|MD PhD|MD-PhD|PhD|MD|III|II|Sr";
+
+	private static final List<String> NAMES = Arrays.asList("", "Smith", "Del Cole", "Garcia-Marquez", "Capetillo Gonzalez de Zarate",
+			"Smith, Jr", "Smith Jr", "Smith,Jr", "Smith Jr.", "Smith MD PhD", "Smith, MD-PhD", "Smith PhD", "Smith III", "Smith II",
+			"Smithii", "Sr", "MD", "O'Brien", "Müller", "Zoë", "Wing Tak \"Jack\"", "Qihui (Jim)", "Eliot A.", "Chi-chao",
+			"Minh-Nhut Yvonne", "Stuebgen\tSr", "Smith Jr\n", "ŁukaszII", " MD");
+
+	/**
+	 * The normalizer must produce exactly the names of the regex based sanitization it replaces.
+	 */
+	@Test
+	public void testNormalizeMatchesRegexSanitization() {
+		AuthorNameNormalizer authorNameNormalizer = AuthorNameNormalizer.forSuffixes(NAME_EXCLUDED_SUFFIXES);
+		for (String name : NAMES) {
+			assertEquals("article first name " + name, ReCiterStringUtil.deAccent(name.replaceAll("[-.\"() ]", "")),
+					authorNameNormalizer.normalize(name, Separators.ARTICLE_FIRST_NAME, false));
+			assertEquals("article last name " + name, ReCiterStringUtil.deAccent(name.replaceAll("[-.\",()\\s]|(" + SUFFIX_REGEX + ")$", "")),
+					authorNameNormalizer.normalize(name, Separators.NAME, true));
+			assertEquals("alias name " + name, ReCiterStringUtil.deAccent(name.replaceAll("[-.\",()\\s]", "")),
+					authorNameNormalizer.normalize(name, Separators.NAME, false));
+			assertEquals("identity name " + name, name.replaceAll("[-.,()\\s]", ""),
+					authorNameNormalizer.sanitize(name, Separators.IDENTITY_NAME, false));
+			assertEquals("identity last name " + name, name.replaceAll("[-.,,()\\s]|(" + SUFFIX_REGEX + ")$", ""),
+					authorNameNormalizer.sanitize(name, Separators.IDENTITY_NAME, true));
+		}
+	}
+
+	@Test
+	public void testStripsTrailingSuffix() {
+		AuthorNameNormalizer authorNameNormalizer = AuthorNameNormalizer.forSuffixes(NAME_EXCLUDED_SUFFIXES);
+		assertEquals("Smith", authorNameNormalizer.sanitize("Smith MD PhD", Separators.NAME, true));
+		assertEquals("Smith", authorNameNormalizer.sanitize("Smith, MD-PhD", Separators.NAME, true));
+		assertEquals("Smith", authorNameNormalizer.sanitize("Smith III", Separators.NAME, true));
+		assertEquals("Smith", authorNameNormalizer.sanitize("Smith Sr", Separators.NAME, true));
+		assertEquals("SmithIII", authorNameNormalizer.sanitize("Smith III", Separators.NAME, false));
+		assertEquals("JrSmith", authorNameNormalizer.sanitize("Jr Smith", Separators.NAME, true));
+		assertEquals("Smithii", authorNameNormalizer.sanitize("Smithii", Separators.NAME, true));
+	}
+
+	@Test
+	public void testStartsAndEndsWith() {
+		for (String value : Arrays.asList("", "a", "ab", "aab", "jonathanm", "jm", "jmj")) {
+			for (String prefix : Arrays.asList("", "a", "j", "jm")) {
+				for (String suffix : Arrays.asList("", "b", "m", "jm")) {
+					assertEquals(value + " " + prefix + " " + suffix, value.matches(prefix + "(.*)" + suffix),
+							AuthorNameNormalizer.startsAndEndsWith(value, prefix, suffix));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package reciter.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import reciter.database.dynamodb.model.Gender;
+
+public class GenderIndexTest {
+
+	@Test
+	public void testLookupIgnoresCaseAndSurroundingWhitespace() {
+		Gender paul = createGender("Paul");
+		Gender paulUpperCase = createGender(" PAUL ");
+		Gender maria = createGender("Maria");
+		GenderIndex genderIndex = new GenderIndex(Arrays.asList(paul, maria, paulUpperCase));
+
+		assertEquals(Arrays.asList(paul, paulUpperCase), genderIndex.findByNames(Collections.singletonList("paul")));
+		assertEquals(Arrays.asList(paul, paulUpperCase), genderIndex.findByNames(Collections.singletonList("  pAuL\t")));
+		assertEquals(Arrays.asList(maria), genderIndex.findByNames(Collections.singletonList("MARIA")));
+		assertTrue(genderIndex.findByNames(Collections.singletonList("Pa ul")).isEmpty());
+	}
+
+	@Test
+	public void testRowsAreReturnedOnceInTableOrder() {
+		Gender paul = createGender("Paul");
+		Gender james = createGender("James");
+		Gender noName = createGender(null);
+		GenderIndex genderIndex = new GenderIndex(Arrays.asList(paul, noName, james));
+
+		assertEquals(Arrays.asList(paul, james), genderIndex.findByNames(Arrays.asList("JAMES", null, "paul", "Paul")));
+	}
+
+	@Test
+	public void testNormalizeMatchesEqualsIgnoreCase() {
+		//The dotless i and the Kelvin sign only equal their ASCII counterparts ignoring case after folding both ways
+		assertEquals(GenderIndex.normalize("I"), GenderIndex.normalize("\u0131"));
+		assertEquals(GenderIndex.normalize("k"), GenderIndex.normalize("\u212A"));
+		assertEquals("ayman", GenderIndex.normalize(" Ayman "));
+	}
+
+	private static Gender createGender(String name) {
+		Gender gender = mock(Gender.class);
+		when(gender.getName()).thenReturn(name);
+		return gender;
+	}
+}
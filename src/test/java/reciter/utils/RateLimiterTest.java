@@ -0,0 +1,69 @@
+package reciter.utils;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Permits must be spaced by the rate limit whatever the number of threads asking for them.
+ */
+public class RateLimiterTest {
+
+	@Test
+	public final void testPermitsAreSpacedByTheRateLimit() {
+		RateLimiter rateLimiter = new RateLimiter(20);
+		long startTime = System.nanoTime();
+		for(int i = 0; i < 6; i++) {
+			rateLimiter.acquire();
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+		assertTrue("elapsed " + elapsedMillis + "ms", elapsedMillis >= 240);
+	}
+
+	@Test
+	public final void testPermitsAreSpacedAcrossThreads() throws InterruptedException {
+		RateLimiter rateLimiter = new RateLimiter(20);
+		ExecutorService executorService = Executors.newFixedThreadPool(3);
+		CountDownLatch acquired = new CountDownLatch(6);
+		long startTime = System.nanoTime();
+		try {
+			for(int i = 0; i < 6; i++) {
+				executorService.execute(() -> {
+					rateLimiter.acquire();
+					acquired.countDown();
+				});
+			}
+			assertTrue(acquired.await(5, TimeUnit.SECONDS));
+		} finally {
+			executorService.shutdownNow();
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+		assertTrue("elapsed " + elapsedMillis + "ms", elapsedMillis >= 240);
+	}
+
+	@Test
+	public final void testNoLimit() {
+		RateLimiter rateLimiter = new RateLimiter(0);
+		long startTime = System.nanoTime();
+		for(int i = 0; i < 1000; i++) {
+			rateLimiter.acquire();
+		}
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) < 100);
+	}
+
+	@Test
+	public final void testInterruptedWaitReturnsWithTheInterruptFlag() {
+		RateLimiter rateLimiter = new RateLimiter(0.5);
+		rateLimiter.acquire();
+		Thread.currentThread().interrupt();
+		long startTime = System.nanoTime();
+		rateLimiter.acquire();
+		assertTrue(Thread.interrupted());
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) < 1000);
+	}
+}
@@ -0,0 +1,164 @@
+package reciter.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+public class RetrievalUpstreamTest {
+
+	@Test
+	public void testCircuitOpensAfterConsecutiveFailuresAndProbes() throws InterruptedException {
+		RetrievalUpstream upstream = new RetrievalUpstream("PubMed", new RateLimiter(0), new CircuitBreaker(2, 50),
+				new AimdConcurrencyLimiter(4, 1, 8, 0.5));
+
+		failWith(upstream, new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+		assertEquals(CircuitBreaker.State.CLOSED, upstream.getStatistics().getState());
+		failWith(upstream, new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+		assertEquals(CircuitBreaker.State.OPEN, upstream.getStatistics().getState());
+
+		try {
+			upstream.execute(() -> "response");
+			fail("The request should be refused while the circuit is open");
+		} catch (UpstreamUnavailableException e) {
+			assertEquals(1, upstream.getStatistics().getRejections());
+		}
+
+		Thread.sleep(60);
+		failWith(upstream, new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+		assertEquals(CircuitBreaker.State.OPEN, upstream.getStatistics().getState());
+
+		Thread.sleep(60);
+		assertEquals("response", upstream.execute(() -> "response"));
+		assertEquals(CircuitBreaker.State.CLOSED, upstream.getStatistics().getState());
+		assertEquals(4, upstream.getStatistics().getRequests());
+		assertEquals(3, upstream.getStatistics().getFailures());
+	}
+
+	@Test
+	public void testClientErrorsDoNotOpenTheCircuit() {
+		RetrievalUpstream upstream = new RetrievalUpstream("Scopus", new RateLimiter(0), new CircuitBreaker(1, 60000),
+				new AimdConcurrencyLimiter(4, 1, 8, 0.5));
+
+		failWith(upstream, new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+		assertEquals(CircuitBreaker.State.CLOSED, upstream.getStatistics().getState());
+		failWith(upstream, new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+		assertEquals(CircuitBreaker.State.OPEN, upstream.getStatistics().getState());
+	}
+
+	@Test
+	public void testLatencyExcludesTheRateLimiterWait() {
+		RetrievalUpstream upstream = new RetrievalUpstream("PubMed", new RateLimiter(10), new CircuitBreaker(2, 50),
+				new AimdConcurrencyLimiter(4, 1, 8, 0.5));
+
+		long startTime = System.nanoTime();
+		for (int i = 0; i < 4; i++) {
+			upstream.execute(() -> "response");
+		}
+		//The rate limiter spaces the requests 100ms apart but the requests themselves return right away
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) >= 250);
+		assertTrue(upstream.getStatistics().getAverageLatencyMillis() < 50);
+	}
+
+	@Test
+	public void testServerErrorsAreRetried() {
+		RetrievalUpstream upstream = new RetrievalUpstream("PubMed", new RateLimiter(0), new CircuitBreaker(1, 60000),
+				new AimdConcurrencyLimiter(4, 1, 8, 0.5), 3, 1);
+		AtomicInteger attempts = new AtomicInteger();
+
+		String response = upstream.execute(() -> {
+			switch (attempts.incrementAndGet()) {
+			case 1:
+				throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+			case 2:
+				throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS);
+			case 3:
+				throw new ResourceAccessException("Read timed out");
+			default:
+				return "response";
+			}
+		});
+
+		assertEquals("response", response);
+		assertEquals(4, upstream.getStatistics().getRequests());
+		assertEquals(0, upstream.getStatistics().getFailures());
+		assertEquals(CircuitBreaker.State.CLOSED, upstream.getStatistics().getState());
+	}
+
+	@Test
+	public void testRetriesAreBounded() {
+		RetrievalUpstream upstream = new RetrievalUpstream("PubMed", new RateLimiter(0), new CircuitBreaker(2, 60000),
+				new AimdConcurrencyLimiter(4, 1, 8, 0.5), 2, 1);
+
+		failWith(upstream, new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+		assertEquals(3, upstream.getStatistics().getRequests());
+		assertEquals(1, upstream.getStatistics().getFailures());
+		assertEquals(CircuitBreaker.State.CLOSED, upstream.getStatistics().getState());
+
+		failWith(upstream, new HttpClientErrorException(HttpStatus.NOT_FOUND));
+		assertEquals(4, upstream.getStatistics().getRequests());
+	}
+
+	@Test
+	public void testEveryRetryWaitsForThePermit() {
+		RetrievalUpstream upstream = new RetrievalUpstream("Scopus", new RateLimiter(10), new CircuitBreaker(2, 50),
+				new AimdConcurrencyLimiter(4, 1, 8, 0.5), 3, 0);
+		AtomicInteger attempts = new AtomicInteger();
+
+		long startTime = System.nanoTime();
+		upstream.execute(() -> {
+			if (attempts.incrementAndGet() < 4) {
+				throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+			}
+			return "response";
+		});
+		//The retries do not back off, so only the rate limiter spaces the four attempts 100ms apart
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) >= 250);
+		assertEquals(4, upstream.getStatistics().getRequests());
+		assertTrue(upstream.getStatistics().getAverageLatencyMillis() < 50);
+	}
+
+	@Test
+	public void testConcurrencyLimitIncreasesAdditivelyAndDecreasesMultiplicatively() throws InterruptedException {
+		AimdConcurrencyLimiter concurrencyLimiter = new AimdConcurrencyLimiter(4, 1, 5, 0.5);
+		for (int i = 0; i < 5; i++) {
+			concurrencyLimiter.acquire();
+			concurrencyLimiter.release(true);
+		}
+		assertEquals(5, concurrencyLimiter.getLimit());
+		for (int i = 0; i < 10; i++) {
+			concurrencyLimiter.acquire();
+			concurrencyLimiter.release(true);
+		}
+		assertEquals(5, concurrencyLimiter.getLimit());
+
+		concurrencyLimiter.acquire();
+		concurrencyLimiter.release(false);
+		assertEquals(2, concurrencyLimiter.getLimit());
+		for (int i = 0; i < 3; i++) {
+			concurrencyLimiter.acquire();
+			concurrencyLimiter.release(false);
+		}
+		assertEquals(1, concurrencyLimiter.getLimit());
+		assertEquals(0, concurrencyLimiter.getInFlight());
+	}
+
+	private static void failWith(RetrievalUpstream upstream, RuntimeException exception) {
+		try {
+			upstream.execute(() -> {
+				throw exception;
+			});
+			fail("The request should fail");
+		} catch (RuntimeException e) {
+			assertEquals(exception, e);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package reciter.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import reciter.database.dynamodb.model.ScienceMetrix;
+import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
+
+/**
+ * The indexes must return what the linear scans over the ScienceMetrix tables returned: the first journal in table order
+ * whose ISSN or EISSN matches, and every category of a subfield in table order.
+ */
+public class ScienceMetrixJournalIndexTest {
+
+	@Test
+	public final void testFirstRowWinsAcrossIssnAndEissn() {
+		ScienceMetrix electronicFirst = createJournal("1111-1111", "0028-4793");
+		ScienceMetrix printSecond = createJournal("0028-4793", "1533-4406");
+		ScienceMetrix printFirst = createJournal("0140-6736", null);
+		ScienceMetrix electronicSecond = createJournal("2222-2222", "0140-6736");
+		ScienceMetrixJournalIndex index = new ScienceMetrixJournalIndex(Arrays.asList(electronicFirst, printSecond, printFirst, electronicSecond));
+
+		assertSame(electronicFirst, index.findByIssnOrEissn("0028-4793"));
+		assertSame(printFirst, index.findByIssnOrEissn("0140-6736"));
+		assertSame(printSecond, index.findByIssnOrEissn("1533-4406"));
+		assertNull(index.findByIssnOrEissn("9999-9999"));
+	}
+
+	@Test
+	public final void testFirstRowWinsForDuplicateIssns() {
+		ScienceMetrix first = createJournal("0036-8075", "1095-9203");
+		ScienceMetrix duplicate = createJournal("0036-8075", "1095-9203");
+		ScienceMetrix eissnDuplicate = createJournal(null, "1095-9203");
+		ScienceMetrixJournalIndex index = new ScienceMetrixJournalIndex(Arrays.asList(first, duplicate, eissnDuplicate));
+
+		assertSame(first, index.findByIssnOrEissn("0036-8075"));
+		assertSame(first, index.findByIssnOrEissn("1095-9203"));
+	}
+
+	@Test
+	public final void testCategoriesOfASubfieldKeepTheTableOrder() {
+		ScienceMetrixDepartmentCategory medicine = createCategory(42, "Medicine");
+		ScienceMetrixDepartmentCategory pathology = createCategory(7, "Pathology");
+		ScienceMetrixDepartmentCategory surgery = createCategory(42, "Surgery");
+		ScienceMetrixDepartmentCategory pediatrics = createCategory(42, "Pediatrics");
+		ScienceMetrixDepartmentCategoryIndex index = new ScienceMetrixDepartmentCategoryIndex(Arrays.asList(medicine, pathology, surgery, pediatrics));
+
+		List<ScienceMetrixDepartmentCategory> categories = index.findBySubfieldId(42);
+		assertEquals(Arrays.asList(medicine, surgery, pediatrics), categories);
+		assertEquals(Arrays.asList(pathology), index.findBySubfieldId(7));
+		assertTrue(index.findBySubfieldId(3).isEmpty());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public final void testCategoriesAreImmutable() {
+		ScienceMetrixDepartmentCategoryIndex index = new ScienceMetrixDepartmentCategoryIndex(Arrays.asList(createCategory(42, "Medicine")));
+		index.findBySubfieldId(42).clear();
+	}
+
+	private static ScienceMetrix createJournal(String issn, String eissn) {
+		ScienceMetrix scienceMetrix = mock(ScienceMetrix.class);
+		when(scienceMetrix.getIssn()).thenReturn(issn);
+		when(scienceMetrix.getEissn()).thenReturn(eissn);
+		return scienceMetrix;
+	}
+
+	private static ScienceMetrixDepartmentCategory createCategory(int subfieldId, String primaryDepartment) {
+		ScienceMetrixDepartmentCategory scienceMetrixDepartmentCategory = mock(ScienceMetrixDepartmentCategory.class);
+		when(scienceMetrixDepartmentCategory.getScienceMetrixJournalSubfieldId()).thenReturn(subfieldId);
+		when(scienceMetrixDepartmentCategory.getPrimaryDepartment()).thenReturn(primaryDepartment);
+		return scienceMetrixDepartmentCategory;
+	}
+}
@@ -0,0 +1,77 @@
+package reciter.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+public class StreamingJsonArrayExtractorTest {
+
+	public static class Article {
+		private long pmid;
+		private String title;
+
+		public long getPmid() {
+			return pmid;
+		}
+
+		public void setPmid(long pmid) {
+			this.pmid = pmid;
+		}
+
+		public String getTitle() {
+			return title;
+		}
+
+		public void setTitle(String title) {
+			this.title = title;
+		}
+	}
+
+	@Test
+	public void testArticlesAreConsumedAsTheyAreParsed() {
+		RestTemplate restTemplate = new RestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+		server.expect(requestTo("http://pubmed/query")).andExpect(method(HttpMethod.POST)).andExpect(content().json("{\"query\":\"smith\"}"))
+				.andRespond(withSuccess("[{\"pmid\":1,\"title\":\"a\",\"journal\":\"j\"},null,{\"pmid\":2,\"title\":\"b\"}]", MediaType.APPLICATION_JSON));
+
+		List<Article> articles = new ArrayList<>();
+		Integer consumed = restTemplate.execute("http://pubmed/query", HttpMethod.POST,
+				restTemplate.httpEntityCallback(Collections.singletonMap("query", "smith"), Article[].class),
+				new StreamingJsonArrayExtractor<>(restTemplate, Article.class, articles::add));
+
+		assertEquals(Integer.valueOf(2), consumed);
+		assertEquals(2, articles.size());
+		assertEquals(1, articles.get(0).getPmid());
+		assertEquals("a", articles.get(0).getTitle());
+		assertEquals(2, articles.get(1).getPmid());
+		server.verify();
+	}
+
+	@Test
+	public void testNullResponseIsEmpty() {
+		RestTemplate restTemplate = new RestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+		server.expect(requestTo("http://scopus/query")).andRespond(withSuccess("null", MediaType.APPLICATION_JSON));
+
+		List<Article> articles = new ArrayList<>();
+		Integer consumed = restTemplate.execute("http://scopus/query", HttpMethod.GET, null,
+				new StreamingJsonArrayExtractor<>(restTemplate, Article.class, articles::add));
+
+		assertEquals(Integer.valueOf(0), consumed);
+		assertTrue(articles.isEmpty());
+		server.verify();
+	}
+}
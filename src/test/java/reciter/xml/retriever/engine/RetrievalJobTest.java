@@ -0,0 +1,84 @@
+package reciter.xml.retriever.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import reciter.xml.retriever.engine.RetrievalJob.Report;
+import reciter.xml.retriever.engine.RetrievalJob.Status;
+import reciter.xml.retriever.engine.RetrievalJob.UidStatus;
+
+public class RetrievalJobTest {
+
+	@Test
+	public final void testCompletedJob() throws InterruptedException {
+		RetrievalJob job = new RetrievalJob("job", 3);
+		assertEquals(Status.QUEUED, job.getStatus());
+
+		job.markRunning();
+		assertEquals(Status.RUNNING, job.getStatus());
+		assertFalse(job.isFinished());
+		assertFalse(job.await(10, TimeUnit.MILLISECONDS));
+
+		job.recordProgress("paa2013", UidStatus.COMPLETED, 100, null);
+		job.recordProgress("jss2001", UidStatus.FAILED, 300, "timeout");
+		job.recordProgress("mjw4001", UidStatus.CANCELLED, 0, null);
+		job.markCompleted();
+
+		assertEquals(Status.COMPLETED, job.getStatus());
+		assertTrue(job.isFinished());
+		assertTrue(job.await(0, TimeUnit.MILLISECONDS));
+		assertNotNull(job.getEndTime());
+
+		Report report = job.getReport(0);
+		assertEquals(3, report.getProcessedUids());
+		assertEquals(1, report.getSucceededUids());
+		assertEquals(1, report.getFailedUids());
+		assertEquals(1, report.getCancelledUids());
+		assertEquals(200, report.getAverageElapsedTime());
+		assertEquals(300, report.getMaxElapsedTime());
+		assertEquals(3, report.getProgress().size());
+	}
+
+	@Test
+	public final void testReportFromIndex() {
+		RetrievalJob job = new RetrievalJob("job", 3);
+		job.markRunning();
+		job.recordProgress("paa2013", UidStatus.COMPLETED, 100, null);
+		job.recordProgress("jss2001", UidStatus.COMPLETED, 100, null);
+
+		assertEquals(1, job.getReport(1).getProgress().size());
+		assertEquals("jss2001", job.getReport(1).getProgress().get(0).getUid());
+		assertEquals(0, job.getReport(5).getProgress().size());
+		assertEquals(2, job.getReport(-1).getProgress().size());
+	}
+
+	@Test
+	public final void testCancelledJob() {
+		RetrievalJob job = new RetrievalJob("job", 2);
+		job.markRunning();
+		job.cancel();
+		assertTrue(job.isCancelRequested());
+		assertEquals(Status.RUNNING, job.getStatus());
+
+		job.markCompleted();
+		assertEquals(Status.CANCELLED, job.getStatus());
+		assertTrue(job.isFinished());
+	}
+
+	@Test
+	public final void testFailedJob() {
+		RetrievalJob job = new RetrievalJob("job", 2);
+		job.markRunning();
+		job.markFailed(new IllegalStateException("Identity table is not available"));
+
+		assertEquals(Status.FAILED, job.getStatus());
+		assertTrue(job.isFinished());
+		assertEquals("Identity table is not available", job.getReport(0).getErrorMessage());
+	}
+}
@@ -0,0 +1,160 @@
+package reciter.xml.retriever.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reciter.model.identity.Identity;
+import reciter.pubmed.retriever.PubMedArticleCache;
+import reciter.xml.retriever.engine.RetrievalJob.Status;
+import reciter.xml.retriever.engine.RetrievalJob.UidProgress;
+import reciter.xml.retriever.engine.RetrievalJob.UidStatus;
+
+public class RetrievalSchedulerTest {
+
+	private PubMedArticleCache pubMedArticleCache;
+	private RetrievalScheduler retrievalScheduler;
+
+	@Before
+	public void setUp() {
+		pubMedArticleCache = mock(PubMedArticleCache.class);
+		retrievalScheduler = new RetrievalScheduler();
+		ReflectionTestUtils.setField(retrievalScheduler, "threads", 1);
+		ReflectionTestUtils.setField(retrievalScheduler, "queueSize", 1);
+		ReflectionTestUtils.setField(retrievalScheduler, "maxRunningJobs", 1);
+		ReflectionTestUtils.setField(retrievalScheduler, "maxQueuedJobs", 1);
+		ReflectionTestUtils.setField(retrievalScheduler, "jobRetentionMinutes", 60L);
+		ReflectionTestUtils.setField(retrievalScheduler, "maxRetries", 0);
+		ReflectionTestUtils.setField(retrievalScheduler, "retryBackoffMillis", 1L);
+		ReflectionTestUtils.setField(retrievalScheduler, "circuitBreakerFailures", 5);
+		ReflectionTestUtils.setField(retrievalScheduler, "circuitBreakerOpenSeconds", 30L);
+		ReflectionTestUtils.setField(retrievalScheduler, "initialConcurrencyLimit", 4);
+		ReflectionTestUtils.setField(retrievalScheduler, "minimumConcurrencyLimit", 1);
+		ReflectionTestUtils.setField(retrievalScheduler, "maximumConcurrencyLimit", 8);
+		ReflectionTestUtils.setField(retrievalScheduler, "concurrencyLimitBackoff", 0.9);
+		ReflectionTestUtils.setField(retrievalScheduler, "pubMedArticleCache", pubMedArticleCache);
+		retrievalScheduler.start();
+	}
+
+	@After
+	public void tearDown() {
+		retrievalScheduler.stop();
+	}
+
+	@Test
+	public final void testEveryUidIsReported() throws InterruptedException {
+		RetrievalJob job = retrievalScheduler.submit(createIdentities("paa2013", "jss2001", "mjw4001"), identity -> {
+			if (identity.getUid().equals("jss2001")) {
+				throw new IOException("PubMed is not available");
+			}
+		});
+		assertSame(job, retrievalScheduler.getJob(job.getJobId()));
+		assertTrue(job.await(5, TimeUnit.SECONDS));
+
+		assertEquals(Status.COMPLETED, job.getStatus());
+		List<UidProgress> progress = job.getReport(0).getProgress();
+		assertEquals(Arrays.asList("paa2013 COMPLETED", "jss2001 FAILED", "mjw4001 COMPLETED"),
+				progress.stream().map(uidProgress -> uidProgress.getUid() + " " + uidProgress.getStatus()).collect(Collectors.toList()));
+		assertEquals("PubMed is not available", progress.get(1).getMessage());
+
+		InOrder inOrder = inOrder(pubMedArticleCache);
+		inOrder.verify(pubMedArticleCache).beginRun();
+		inOrder.verify(pubMedArticleCache).endRun();
+	}
+
+	@Test
+	public final void testSingleUidDoesNotShareArticles() throws InterruptedException {
+		RetrievalJob job = retrievalScheduler.submit(createIdentities("paa2013"), identity -> {});
+		assertTrue(job.await(5, TimeUnit.SECONDS));
+
+		assertEquals(Status.COMPLETED, job.getStatus());
+		verify(pubMedArticleCache, never()).beginRun();
+		verify(pubMedArticleCache, never()).endRun();
+	}
+
+	@Test
+	public final void testCancelSkipsUidsNotStarted() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		RetrievalJob job = retrievalScheduler.submit(createIdentities("paa2013", "jss2001", "mjw4001", "sal2005"), identity -> {
+			started.countDown();
+			await(release);
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		job.cancel();
+		release.countDown();
+		assertTrue(job.await(5, TimeUnit.SECONDS));
+
+		assertEquals(Status.CANCELLED, job.getStatus());
+		assertEquals(1, job.getReport(0).getSucceededUids());
+		assertEquals(3, job.getReport(0).getCancelledUids());
+		assertEquals(UidStatus.COMPLETED, job.getReport(0).getProgress().get(0).getStatus());
+	}
+
+	@Test
+	public final void testJobsAreRejectedWhenTheQueueIsFull() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		RetrievalJob running = retrievalScheduler.submit(createIdentities("paa2013"), identity -> {
+			started.countDown();
+			await(release);
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		RetrievalJob queued = retrievalScheduler.submit(createIdentities("jss2001"), identity -> {});
+		assertEquals(Status.QUEUED, queued.getStatus());
+
+		int jobs = ((Map<?, ?>) ReflectionTestUtils.getField(retrievalScheduler, "jobs")).size();
+		try {
+			retrievalScheduler.submit(createIdentities("mjw4001"), identity -> {});
+			fail("the job should be rejected");
+		} catch (RejectedExecutionException e) {
+			assertEquals(jobs, ((Map<?, ?>) ReflectionTestUtils.getField(retrievalScheduler, "jobs")).size());
+		}
+
+		release.countDown();
+		assertTrue(running.await(5, TimeUnit.SECONDS));
+		assertTrue(queued.await(5, TimeUnit.SECONDS));
+		assertEquals(Status.COMPLETED, queued.getStatus());
+		assertNull(retrievalScheduler.getJob("unknown"));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static List<Identity> createIdentities(String... uids) {
+		List<Identity> identities = new ArrayList<>();
+		for (String uid : uids) {
+			Identity identity = new Identity();
+			identity.setUid(uid);
+			identities.add(identity);
+		}
+		return identities;
+	}
+}
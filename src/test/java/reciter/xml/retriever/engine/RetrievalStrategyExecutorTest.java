@@ -0,0 +1,228 @@
+package reciter.xml.retriever.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reciter.api.parameters.RetrievalRefreshFlag;
+import reciter.database.dynamodb.model.ESearchPmid;
+import reciter.database.dynamodb.model.ESearchResult;
+import reciter.database.dynamodb.model.QueryType;
+import reciter.model.identity.Identity;
+import reciter.model.pubmed.PubMedArticle;
+import reciter.service.ESearchResultService;
+import reciter.service.PubMedService;
+import reciter.xml.retriever.engine.AbstractReCiterRetrievalEngine.RetrievalWriteBehind;
+import reciter.xml.retriever.pubmed.AbstractRetrievalStrategy.RetrievalResult;
+import reciter.xml.retriever.pubmed.RetrievalStrategy;
+
+/**
+ * The results must reach the handler on the calling thread in the order of the strategies whichever strategy finishes
+ * first, so the search results are added to the ESearchResult in that order.
+ */
+public class RetrievalStrategyExecutorTest {
+
+	private RetrievalStrategyExecutor retrievalStrategyExecutor;
+
+	@After
+	public void tearDown() {
+		if (retrievalStrategyExecutor != null) {
+			retrievalStrategyExecutor.stop();
+		}
+	}
+
+	@Test
+	public final void testResultsAreHandledInTheOrderOfTheStrategies() throws IOException {
+		retrievalStrategyExecutor = createRetrievalStrategyExecutor(true, 4);
+		List<RetrievalStrategy> retrievalStrategies = createRetrievalStrategies("A", "B", "C", "D");
+		List<RetrievalResult> retrievalResults = createRetrievalResults(retrievalStrategies.size());
+		List<String> handled = new ArrayList<>();
+		Thread caller = Thread.currentThread();
+
+		// The later strategies finish first
+		retrievalStrategyExecutor.execute("abc1234", retrievalStrategies, retrievalStrategy -> {
+			int index = retrievalStrategies.indexOf(retrievalStrategy);
+			sleep((retrievalStrategies.size() - index) * 30);
+			return retrievalResults.get(index);
+		}, (retrievalStrategy, retrievalResult) -> {
+			assertSame(caller, Thread.currentThread());
+			assertSame(retrievalResults.get(retrievalStrategies.indexOf(retrievalStrategy)), retrievalResult);
+			handled.add(retrievalStrategy.getRetrievalStrategyName());
+		});
+
+		assertEquals(Arrays.asList("A", "B", "C", "D"), handled);
+	}
+
+	@Test
+	public final void testConcurrencyIsCappedForOnePerson() throws IOException {
+		retrievalStrategyExecutor = createRetrievalStrategyExecutor(true, 2);
+		List<RetrievalStrategy> retrievalStrategies = createRetrievalStrategies("A", "B", "C", "D", "E", "F");
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maximumRunning = new AtomicInteger();
+		List<RetrievalResult> retrievalResults = createRetrievalResults(retrievalStrategies.size());
+		List<String> handled = new ArrayList<>();
+
+		retrievalStrategyExecutor.execute("abc1234", retrievalStrategies, retrievalStrategy -> {
+			maximumRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			sleep(20);
+			running.decrementAndGet();
+			return retrievalResults.get(retrievalStrategies.indexOf(retrievalStrategy));
+		}, (retrievalStrategy, retrievalResult) -> handled.add(retrievalStrategy.getRetrievalStrategyName()));
+
+		assertTrue(maximumRunning.get() <= 2);
+		assertEquals(Arrays.asList("A", "B", "C", "D", "E", "F"), handled);
+	}
+
+	@Test
+	public final void testFailedStrategyFailsTheRetrieval() {
+		retrievalStrategyExecutor = createRetrievalStrategyExecutor(true, 4);
+		List<RetrievalStrategy> retrievalStrategies = createRetrievalStrategies("A", "B", "C");
+		IOException failure = new IOException("PubMed unavailable");
+		List<RetrievalResult> retrievalResults = createRetrievalResults(retrievalStrategies.size());
+		List<String> handled = new ArrayList<>();
+
+		try {
+			retrievalStrategyExecutor.execute("abc1234", retrievalStrategies, retrievalStrategy -> {
+				if ("B".equals(retrievalStrategy.getRetrievalStrategyName())) {
+					throw failure;
+				}
+				return retrievalResults.get(retrievalStrategies.indexOf(retrievalStrategy));
+			}, (retrievalStrategy, retrievalResult) -> handled.add(retrievalStrategy.getRetrievalStrategyName()));
+			fail("The failed strategy must fail the retrieval");
+		} catch (IOException e) {
+			assertSame(failure, e);
+		}
+		assertEquals(Collections.singletonList("A"), handled);
+	}
+
+	@Test
+	public final void testSequentialRetrievalHandlesTheSameOrder() throws IOException {
+		retrievalStrategyExecutor = createRetrievalStrategyExecutor(false, 4);
+		List<RetrievalStrategy> retrievalStrategies = createRetrievalStrategies("A", "B", "C");
+		List<String> events = new ArrayList<>();
+		List<RetrievalResult> retrievalResults = createRetrievalResults(retrievalStrategies.size());
+
+		retrievalStrategyExecutor.execute("abc1234", retrievalStrategies, retrievalStrategy -> {
+			events.add("retrieve " + retrievalStrategy.getRetrievalStrategyName());
+			return retrievalResults.get(retrievalStrategies.indexOf(retrievalStrategy));
+		}, (retrievalStrategy, retrievalResult) -> events.add("handle " + retrievalStrategy.getRetrievalStrategyName()));
+
+		assertEquals(Arrays.asList("retrieve A", "handle A", "retrieve B", "handle B", "retrieve C", "handle C"), events);
+	}
+
+	@Test
+	public final void testSearchResultsFollowTheOrderOfTheStrategies() throws IOException {
+		retrievalStrategyExecutor = createRetrievalStrategyExecutor(true, 3);
+		AbstractReCiterRetrievalEngine retrievalEngine = createRetrievalEngine();
+		List<RetrievalStrategy> retrievalStrategies = createRetrievalStrategies("A", "B", "C");
+		List<RetrievalResult> retrievalResults = createRetrievalResults(retrievalStrategies.size());
+		RetrievalWriteBehind retrievalWriteBehind = retrievalEngine.new RetrievalWriteBehind("abc1234");
+		try {
+			retrievalStrategyExecutor.execute("abc1234", retrievalStrategies, retrievalStrategy -> {
+				int index = retrievalStrategies.indexOf(retrievalStrategy);
+				sleep((retrievalStrategies.size() - index) * 30);
+				return retrievalResults.get(index);
+			}, (retrievalStrategy, retrievalResult) -> retrievalWriteBehind.save(retrievalResult.getPubMedArticles().values(),
+					retrievalStrategy.getRetrievalStrategyName(), QueryType.LENIENT_LOOKUP));
+			retrievalWriteBehind.flush();
+		} finally {
+			retrievalEngine.stopWriteBehind();
+		}
+
+		ArgumentCaptor<ESearchResult> eSearchResult = ArgumentCaptor.forClass(ESearchResult.class);
+		verify(retrievalEngine.eSearchResultService).save(eSearchResult.capture());
+		List<ESearchPmid> eSearchPmids = eSearchResult.getValue().getESearchPmids();
+		assertEquals(Arrays.asList("A", "B", "C"),
+				eSearchPmids.stream().map(ESearchPmid::getRetrievalStrategyName).collect(Collectors.toList()));
+		assertEquals(Arrays.asList(Collections.singletonList(0L), Collections.singletonList(1L), Collections.singletonList(2L)),
+				eSearchPmids.stream().map(ESearchPmid::getPmids).collect(Collectors.toList()));
+	}
+
+	private static RetrievalStrategyExecutor createRetrievalStrategyExecutor(boolean pipelined, int concurrency) {
+		RetrievalStrategyExecutor retrievalStrategyExecutor = new RetrievalStrategyExecutor(pipelined, concurrency, 8);
+		retrievalStrategyExecutor.start();
+		return retrievalStrategyExecutor;
+	}
+
+	private static AbstractReCiterRetrievalEngine createRetrievalEngine() {
+		AbstractReCiterRetrievalEngine retrievalEngine = new AbstractReCiterRetrievalEngine() {
+			@Override
+			public RetrievalJob submitArticlesRetrievalByDateRange(List<Identity> identities, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public boolean retrieveArticlesByDateRange(List<Identity> identities, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void retrieveByPmids(String uid, List<Long> pmids) {
+				throw new UnsupportedOperationException();
+			}
+		};
+		retrievalEngine.pubMedService = mock(PubMedService.class);
+		retrievalEngine.eSearchResultService = mock(ESearchResultService.class);
+		when(retrievalEngine.eSearchResultService.findByUid(any())).thenReturn(null);
+		ReflectionTestUtils.setField(retrievalEngine, "writeBehind", true);
+		ReflectionTestUtils.setField(retrievalEngine, "writeBehindBatchSize", 2);
+		ReflectionTestUtils.setField(retrievalEngine, "writeBehindThreads", 1);
+		retrievalEngine.startWriteBehind();
+		return retrievalEngine;
+	}
+
+	private static List<RetrievalStrategy> createRetrievalStrategies(String... retrievalStrategyNames) {
+		List<RetrievalStrategy> retrievalStrategies = new ArrayList<>();
+		for (String retrievalStrategyName : retrievalStrategyNames) {
+			RetrievalStrategy retrievalStrategy = mock(RetrievalStrategy.class);
+			when(retrievalStrategy.getRetrievalStrategyName()).thenReturn(retrievalStrategyName);
+			retrievalStrategies.add(retrievalStrategy);
+		}
+		return retrievalStrategies;
+	}
+
+	/**
+	 * One article per strategy, whose pmid is the index of the strategy.
+	 */
+	private static List<RetrievalResult> createRetrievalResults(int size) {
+		List<RetrievalResult> retrievalResults = new ArrayList<>();
+		for (long pmid = 0; pmid < size; pmid++) {
+			PubMedArticle pubMedArticle = mock(PubMedArticle.class, RETURNS_DEEP_STUBS);
+			when(pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid()).thenReturn(pmid);
+			Map<Long, PubMedArticle> pubMedArticles = new HashMap<>();
+			pubMedArticles.put(pmid, pubMedArticle);
+			retrievalResults.add(new RetrievalResult(pubMedArticles, Collections.emptyList()));
+		}
+		return retrievalResults;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,176 @@
+package reciter.xml.retriever.engine;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reciter.api.parameters.RetrievalRefreshFlag;
+import reciter.database.dynamodb.model.ESearchPmid;
+import reciter.database.dynamodb.model.ESearchResult;
+import reciter.database.dynamodb.model.QueryType;
+import reciter.model.identity.Identity;
+import reciter.model.pubmed.PubMedArticle;
+import reciter.service.ESearchResultService;
+import reciter.service.PubMedService;
+import reciter.xml.retriever.engine.AbstractReCiterRetrievalEngine.RetrievalWriteBehind;
+
+public class RetrievalWriteBehindTest {
+
+	private AbstractReCiterRetrievalEngine retrievalEngine;
+
+	private List<String> events;
+
+	@Before
+	public void setUp() {
+		retrievalEngine = new AbstractReCiterRetrievalEngine() {
+			@Override
+			public RetrievalJob submitArticlesRetrievalByDateRange(List<Identity> identities, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public boolean retrieveArticlesByDateRange(List<Identity> identities, Date startDate, Date endDate, RetrievalRefreshFlag refreshFlag) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void retrieveByPmids(String uid, List<Long> pmids) {
+				throw new UnsupportedOperationException();
+			}
+		};
+		retrievalEngine.pubMedService = mock(PubMedService.class);
+		retrievalEngine.eSearchResultService = mock(ESearchResultService.class);
+		ReflectionTestUtils.setField(retrievalEngine, "writeBehind", true);
+		ReflectionTestUtils.setField(retrievalEngine, "writeBehindBatchSize", 2);
+		ReflectionTestUtils.setField(retrievalEngine, "writeBehindThreads", 1);
+		retrievalEngine.startWriteBehind();
+
+		events = Collections.synchronizedList(new ArrayList<>());
+		doAnswer(invocation -> {
+			ESearchResult eSearchResult = invocation.getArgument(0);
+			events.add("eSearchResult " + eSearchResult.getESearchPmids().size());
+			return null;
+		}).when(retrievalEngine.eSearchResultService).save(any(ESearchResult.class));
+	}
+
+	@After
+	public void tearDown() {
+		retrievalEngine.stopWriteBehind();
+	}
+
+	@Test
+	public void testFlushWaitsForTheArticlesBeforeSavingTheSearchResult() throws IOException {
+		doAnswer(invocation -> {
+			List<PubMedArticle> pubMedArticles = invocation.getArgument(0);
+			Thread.sleep(20);
+			events.add("articles " + getPmids(pubMedArticles));
+			return null;
+		}).when(retrievalEngine.pubMedService).save(anyList());
+
+		RetrievalWriteBehind retrievalWriteBehind = retrievalEngine.new RetrievalWriteBehind("abc1234");
+		retrievalWriteBehind.save(createPubMedArticles(1L, 2L), "EmailRetrievalStrategy", QueryType.LENIENT_LOOKUP);
+		retrievalWriteBehind.save(createPubMedArticles(2L, 3L), "FullNameRetrievalStrategy", QueryType.LENIENT_LOOKUP);
+		verify(retrievalEngine.eSearchResultService, never()).save(any(ESearchResult.class));
+
+		retrievalWriteBehind.flush();
+
+		//Pmid 2 is saved once, the search results of both strategies are added with one write after all articles
+		assertEquals(Arrays.asList("articles [1, 2]", "articles [3]", "eSearchResult 2"), events);
+		ArgumentCaptor<ESearchResult> eSearchResult = ArgumentCaptor.forClass(ESearchResult.class);
+		verify(retrievalEngine.eSearchResultService).save(eSearchResult.capture());
+		assertEquals(Arrays.asList(2L, 3L), eSearchResult.getValue().getESearchPmids().get(1).getPmids());
+
+		retrievalWriteBehind.flush();
+		verify(retrievalEngine.eSearchResultService, times(1)).save(any(ESearchResult.class));
+	}
+
+	@Test
+	public void testFailedArticleWriteSkipsTheSearchResult() {
+		IllegalStateException writeFailure = new IllegalStateException("Throughput exceeded");
+		doThrow(writeFailure).when(retrievalEngine.pubMedService).save(anyList());
+
+		RetrievalWriteBehind retrievalWriteBehind = retrievalEngine.new RetrievalWriteBehind("abc1234");
+		retrievalWriteBehind.save(createPubMedArticles(1L, 2L), "EmailRetrievalStrategy", QueryType.LENIENT_LOOKUP);
+		try {
+			retrievalWriteBehind.flush();
+			fail("The failed write must fail the flush");
+		} catch (IOException e) {
+			assertSame(writeFailure, e.getCause());
+		}
+		verify(retrievalEngine.eSearchResultService, never()).findByUid(any());
+		verify(retrievalEngine.eSearchResultService, never()).save(any(ESearchResult.class));
+	}
+
+	@Test
+	public void testDiscardCancelsQueuedWritesAndKeepsTheSearchResult() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		IllegalStateException writeFailure = new IllegalStateException("Throughput exceeded");
+		doAnswer(invocation -> {
+			started.countDown();
+			release.await(10, TimeUnit.SECONDS);
+			throw writeFailure;
+		}).when(retrievalEngine.pubMedService).save(anyList());
+
+		RetrievalWriteBehind retrievalWriteBehind = retrievalEngine.new RetrievalWriteBehind("abc1234");
+		retrievalWriteBehind.save(createPubMedArticles(1L, 2L), "EmailRetrievalStrategy", QueryType.LENIENT_LOOKUP);
+		retrievalWriteBehind.save(createPubMedArticles(3L, 4L), "FullNameRetrievalStrategy", QueryType.LENIENT_LOOKUP);
+		started.await(10, TimeUnit.SECONDS);
+
+		//The first batch is running on the single writer thread, the second one is queued behind it
+		IOException retrievalFailure = new IOException("PubMed unavailable");
+		Thread discarder = new Thread(() -> retrievalWriteBehind.discard(retrievalFailure));
+		discarder.start();
+		while(discarder.getState() != Thread.State.WAITING && discarder.isAlive()) {
+			Thread.sleep(1);
+		}
+		release.countDown();
+		discarder.join(10000);
+
+		assertArrayEquals(new Throwable[] {writeFailure}, retrievalFailure.getSuppressed());
+		verify(retrievalEngine.pubMedService, times(1)).save(anyList());
+		verify(retrievalEngine.eSearchResultService, never()).save(any(ESearchResult.class));
+	}
+
+	private static List<PubMedArticle> createPubMedArticles(long... pmids) {
+		List<PubMedArticle> pubMedArticles = new ArrayList<>();
+		for(long pmid : pmids) {
+			PubMedArticle pubMedArticle = mock(PubMedArticle.class, RETURNS_DEEP_STUBS);
+			when(pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid()).thenReturn(pmid);
+			pubMedArticles.add(pubMedArticle);
+		}
+		return pubMedArticles;
+	}
+
+	private static List<Long> getPmids(List<PubMedArticle> pubMedArticles) {
+		return pubMedArticles.stream().map(pubMedArticle -> pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid())
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,243 @@
+package reciter.xml.retriever.pubmed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Test;
+
+import reciter.model.pubmed.PubMedArticle;
+import reciter.pubmed.retriever.PubMedQuery;
+
+public class PubMedQueryExecutorTest {
+
+	private PubMedQueryExecutor pubMedQueryExecutor;
+
+	@After
+	public void tearDown() {
+		if (pubMedQueryExecutor != null) {
+			pubMedQueryExecutor.stop();
+		}
+	}
+
+	@Test
+	public void testCountThenFetch() throws IOException {
+		pubMedQueryExecutor = createPubMedQueryExecutor(4);
+		MockPubMedService pubMedService = new MockPubMedService(0);
+		pubMedService.add("a lenient", 2, 1, 2);
+		pubMedService.add("b lenient", 30);
+		pubMedService.add("b strict", 2, 3);
+		pubMedService.add("c lenient", 30);
+		pubMedService.add("c strict", 20);
+		List<PubMedQueryType> pubMedQueries = Arrays.asList(createPubMedQueryType("a"), createPubMedQueryType("b"), createPubMedQueryType("c"));
+
+		Map<Long, PubMedArticle> pubMedArticles = pubMedQueryExecutor.execute("abc1234", pubMedQueries, false, 10, 5,
+				pubMedService::count, pubMedService::fetch);
+
+		assertEquals(new HashSet<>(Arrays.asList(1L, 2L, 3L)), pubMedArticles.keySet());
+		assertTrue(pubMedQueries.get(0).getLenientQuery().isUsed());
+		assertEquals(2, pubMedQueries.get(0).getLenientQuery().getNumResult());
+		assertFalse(pubMedQueries.get(1).getLenientQuery().isUsed());
+		assertTrue(pubMedQueries.get(1).getStrictQuery().isUsed());
+		assertEquals(20, pubMedQueries.get(2).getStrictQuery().getNumResult());
+		assertFalse(pubMedQueries.get(2).getStrictQuery().isUsed());
+		assertEquals(2, pubMedService.fetches.get());
+	}
+
+	@Test
+	public void testConcurrencyIsLimitedPerIdentity() throws IOException {
+		pubMedQueryExecutor = createPubMedQueryExecutor(2);
+		MockPubMedService pubMedService = new MockPubMedService(20);
+		List<PubMedQueryType> pubMedQueries = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			pubMedService.add("q" + i + " strict", i);
+			pubMedQueries.add(createPubMedQueryType("q" + i));
+		}
+
+		Map<Long, PubMedArticle> pubMedArticles = pubMedQueryExecutor.execute("abc1234", pubMedQueries, true, 10, 5,
+				pubMedService::count, pubMedService::fetch);
+
+		assertEquals(8, pubMedArticles.size());
+		assertTrue(pubMedService.maximumConcurrentRequests.get() <= 2);
+	}
+
+	@Test
+	public void testArticleOfTheFirstQueryIsKept() throws IOException {
+		pubMedQueryExecutor = createPubMedQueryExecutor(4);
+		MockPubMedService pubMedService = new MockPubMedService(0);
+		pubMedService.add("a strict", 2, 1, 2);
+		pubMedService.add("b strict", 2, 2, 3);
+		List<PubMedQueryType> pubMedQueries = Arrays.asList(createPubMedQueryType("a"), createPubMedQueryType("b"));
+
+		Map<Long, PubMedArticle> pubMedArticles = pubMedQueryExecutor.execute("abc1234", pubMedQueries, true, 10, 5,
+				pubMedService::count, pubMedService::fetch);
+
+		assertEquals(new HashSet<>(Arrays.asList(1L, 2L, 3L)), pubMedArticles.keySet());
+		assertSame(pubMedService.fetchedArticles.get("a strict").get(1), pubMedArticles.get(2L));
+		assertSame(pubMedService.fetchedArticles.get("b strict").get(1), pubMedArticles.get(3L));
+	}
+
+	@Test
+	public void testStrictQueryAboveThresholdIsSplitByDateRange() throws IOException {
+		pubMedQueryExecutor = createPubMedQueryExecutor(4);
+		DatedPubMedService pubMedService = new DatedPubMedService();
+		for (int i = 0; i < 40; i++) {
+			pubMedService.publicationDates.put(100L + i, LocalDate.of(2010, 1, 1).plusDays(i * 97));
+		}
+		List<PubMedQueryType> pubMedQueries = Arrays.asList(createPubMedQueryType("a"));
+
+		Map<Long, PubMedArticle> pubMedArticles = pubMedQueryExecutor.execute("abc1234", pubMedQueries, true, 10, 5,
+				pubMedService::count, pubMedService::fetch);
+
+		assertEquals(40, pubMedArticles.size());
+		assertEquals(40, pubMedQueries.get(0).getStrictQuery().getNumResult());
+		assertTrue(pubMedQueries.get(0).getStrictQuery().isUsed());
+		assertTrue(pubMedService.maximumFetchSize.get() <= 5);
+	}
+
+	@Test
+	public void testNumberOfSlicesIsBounded() throws IOException {
+		pubMedQueryExecutor = new PubMedQueryExecutor(8, 4, 6, 2000);
+		pubMedQueryExecutor.start();
+		DatedPubMedService pubMedService = new DatedPubMedService();
+		for (int i = 0; i < 40; i++) {
+			pubMedService.publicationDates.put(100L + i, LocalDate.of(2010, 1, 1).plusDays(i * 97));
+		}
+
+		pubMedQueryExecutor.execute("abc1234", Arrays.asList(createPubMedQueryType("a")), true, 10, 1,
+				pubMedService::count, pubMedService::fetch);
+
+		assertEquals(1 + 6, pubMedService.counts.get());
+	}
+
+	private static PubMedQueryExecutor createPubMedQueryExecutor(int concurrency) {
+		PubMedQueryExecutor pubMedQueryExecutor = new PubMedQueryExecutor(8, concurrency, 64, 2000);
+		pubMedQueryExecutor.start();
+		return pubMedQueryExecutor;
+	}
+
+	private static PubMedQueryType createPubMedQueryType(String name) {
+		PubMedQueryType pubMedQueryType = new PubMedQueryType();
+		pubMedQueryType.setLenientQuery(new PubMedQueryResult(PubMedQuery.builder().strategyQuery(name + " lenient").build()));
+		pubMedQueryType.setLenientCountQuery(new PubMedQueryResult(PubMedQuery.builder().strategyQuery(name + " lenient").build()));
+		pubMedQueryType.setStrictQuery(new PubMedQueryResult(PubMedQuery.builder().strategyQuery(name + " strict").build()));
+		pubMedQueryType.setStrictCountQuery(new PubMedQueryResult(PubMedQuery.builder().strategyQuery(name + " strict").build()));
+		return pubMedQueryType;
+	}
+
+	/**
+	 * Answers count and fetch queries by the publication date range of the query like the PubMed service.
+	 */
+	private static class DatedPubMedService {
+		private final Map<Long, LocalDate> publicationDates = new ConcurrentHashMap<>();
+		private final AtomicInteger counts = new AtomicInteger();
+		private final AtomicInteger maximumFetchSize = new AtomicInteger();
+
+		private int count(PubMedQuery pubMedQuery) {
+			counts.incrementAndGet();
+			return pmids(pubMedQuery).size();
+		}
+
+		private void fetch(PubMedQuery pubMedQuery, int numberOfPubmedArticles, Consumer<PubMedArticle> consumer) {
+			List<Long> pmids = pmids(pubMedQuery);
+			for (long pmid : pmids) {
+				PubMedArticle pubMedArticle = mock(PubMedArticle.class, RETURNS_DEEP_STUBS);
+				when(pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid()).thenReturn(pmid);
+				consumer.accept(pubMedArticle);
+			}
+			maximumFetchSize.accumulateAndGet(pmids.size(), Math::max);
+		}
+
+		private List<Long> pmids(PubMedQuery pubMedQuery) {
+			List<Long> pmids = new ArrayList<>();
+			for (Map.Entry<Long, LocalDate> publicationDate : publicationDates.entrySet()) {
+				if (pubMedQuery.getStart() == null || (!publicationDate.getValue().isBefore(toLocalDate(pubMedQuery.getStart()))
+						&& !publicationDate.getValue().isAfter(toLocalDate(pubMedQuery.getEnd())))) {
+					pmids.add(publicationDate.getKey());
+				}
+			}
+			return pmids;
+		}
+
+		private static LocalDate toLocalDate(Date date) {
+			return date.toInstant().atZone(ZoneOffset.UTC).toLocalDate();
+		}
+	}
+
+	/**
+	 * Answers count and fetch queries by strategy query like the PubMed service, taking latency milliseconds per request.
+	 */
+	private static class MockPubMedService {
+		private final long latency;
+		private final Map<String, Integer> counts = new HashMap<>();
+		private final Map<String, List<Long>> pmids = new HashMap<>();
+		private final Map<String, List<PubMedArticle>> fetchedArticles = new ConcurrentHashMap<>();
+		private final AtomicInteger fetches = new AtomicInteger();
+		private final AtomicInteger concurrentRequests = new AtomicInteger();
+		private final AtomicInteger maximumConcurrentRequests = new AtomicInteger();
+
+		private MockPubMedService(long latency) {
+			this.latency = latency;
+		}
+
+		private void add(String strategyQuery, int count, long... queryPmids) {
+			counts.put(strategyQuery, count);
+			List<Long> pmidList = new ArrayList<>();
+			for (long pmid : queryPmids) {
+				pmidList.add(pmid);
+			}
+			if (queryPmids.length == 0 && count < 10) {
+				pmidList.add((long) count);
+			}
+			pmids.put(strategyQuery, pmidList);
+		}
+
+		private int count(PubMedQuery pubMedQuery) {
+			request();
+			return counts.getOrDefault(pubMedQuery.getStrategyQuery(), 0);
+		}
+
+		private void fetch(PubMedQuery pubMedQuery, int numberOfPubmedArticles, Consumer<PubMedArticle> consumer) {
+			request();
+			fetches.incrementAndGet();
+			List<PubMedArticle> pubMedArticles = new ArrayList<>();
+			for (long pmid : pmids.getOrDefault(pubMedQuery.getStrategyQuery(), new ArrayList<>())) {
+				PubMedArticle pubMedArticle = mock(PubMedArticle.class, RETURNS_DEEP_STUBS);
+				when(pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid()).thenReturn(pmid);
+				pubMedArticles.add(pubMedArticle);
+				consumer.accept(pubMedArticle);
+			}
+			fetchedArticles.put(pubMedQuery.getStrategyQuery(), pubMedArticles);
+		}
+
+		private void request() {
+			maximumConcurrentRequests.accumulateAndGet(concurrentRequests.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(latency);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				concurrentRequests.decrementAndGet();
+			}
+		}
+	}
+}